@@ -0,0 +1,44 @@
+package com.warehouse.audit.controller;
+
+import com.warehouse.audit.service.AuditLog;
+import com.warehouse.common.response.ResponseHandler;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.UUID;
+
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/api/v1/audit")
+@Tag(
+        name = "Audit",
+        description = "Who changed a tenant's warehouses, units, customers and bookings"
+)
+public class AuditController {
+    private final AuditLog auditLog;
+
+    @Operation(
+            summary = "Get recent audit entries",
+            description = "The tenant's latest audit entries, newest first, at most 500. Changes are recorded "
+                    + "with the X-Actor header of the request that made them."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Audit entries successfully returned")
+    })
+    @GetMapping
+    public ResponseEntity<Object> getRecent(
+            @RequestParam UUID tenantId,
+            @RequestParam(defaultValue = "50") int limit) {
+        return ResponseHandler.responseBuilder(
+                "Audit entries successfully returned",
+                HttpStatus.OK,
+                auditLog.getRecent(tenantId, limit)
+        );
+    }
+}
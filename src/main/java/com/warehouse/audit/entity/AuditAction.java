@@ -0,0 +1,19 @@
+package com.warehouse.audit.entity;
+
+public enum AuditAction {
+    TENANT_CREATED,
+    TENANT_MOVED,
+    WAREHOUSE_CREATED,
+    WAREHOUSE_UPDATED,
+    WAREHOUSE_DELETED,
+    UNIT_CREATED,
+    UNIT_UPDATED,
+    UNIT_DELETED,
+    CUSTOMER_CREATED,
+    CUSTOMER_UPDATED,
+    CUSTOMER_DELETED,
+    BOOKING_CREATED,
+    BOOKING_UPDATED,
+    BOOKING_DELETED,
+    UNITS_CONSOLIDATED
+}
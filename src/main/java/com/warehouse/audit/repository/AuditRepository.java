@@ -0,0 +1,59 @@
+package com.warehouse.audit.repository;
+
+import com.warehouse.audit.entity.AuditAction;
+import com.warehouse.common.dto.AuditEntry;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+@RequiredArgsConstructor
+public class AuditRepository {
+    private static final String INSERT = """
+            INSERT INTO audit_log (id, tenant_id, actor, action, entity_id, detail, occurred_at)
+            VALUES (?, ?, ?, ?, ?, ?, ?)
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * inserts the entries in JDBC batches of batchSize
+     */
+    public void insert(List<AuditEntry> entries, int batchSize) {
+        jdbcTemplate.batchUpdate(INSERT, entries, batchSize, (ps, entry) -> {
+            ps.setObject(1, entry.id());
+            ps.setObject(2, entry.tenantId());
+            ps.setString(3, entry.actor());
+            ps.setString(4, entry.action().name());
+            ps.setObject(5, entry.entityId());
+            ps.setString(6, entry.detail());
+            ps.setTimestamp(7, Timestamp.from(entry.occurredAt()));
+        });
+    }
+
+    /**
+     * @return the tenant's latest entries, newest first
+     */
+    public List<AuditEntry> findRecent(UUID tenantId, int limit) {
+        return jdbcTemplate.query("""
+                        SELECT id, tenant_id, actor, action, entity_id, detail, occurred_at
+                        FROM audit_log
+                        WHERE tenant_id = ?
+                        ORDER BY id DESC
+                        LIMIT ?
+                        """,
+                (rs, rowNum) -> new AuditEntry(
+                        rs.getObject("id", UUID.class),
+                        rs.getObject("tenant_id", UUID.class),
+                        rs.getString("actor"),
+                        AuditAction.valueOf(rs.getString("action")),
+                        rs.getObject("entity_id", UUID.class),
+                        rs.getString("detail"),
+                        rs.getTimestamp("occurred_at").toInstant()),
+                tenantId, limit);
+    }
+}
@@ -0,0 +1,149 @@
+package com.warehouse.audit.service;
+
+import com.warehouse.audit.entity.AuditAction;
+import com.warehouse.audit.repository.AuditRepository;
+import com.warehouse.common.dto.AuditEntry;
+import com.warehouse.common.id.TimeOrderedUuid;
+import com.warehouse.config.AuditProperties;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Records who changed what. Services call {@link #record} inside the transaction making
+ * the change; the entries are kept with the transaction and, depending on
+ * {@code warehouse.audit.durability}, inserted as one batch just before it commits
+ * (SYNC_ON_COMMIT) or handed to {@link AuditWriter} once it has committed (ASYNC). A
+ * rolled back change leaves no entry either way.
+ */
+@Service
+@RequiredArgsConstructor
+public class AuditLog {
+    public static final String ACTOR_HEADER = "X-Actor";
+    static final int MAX_RECENT = 500;
+    private static final int MAX_ACTOR_LENGTH = 255;
+    private static final ThreadLocal<String> RUN_AS = new ThreadLocal<>();
+
+    private final AuditWriter auditWriter;
+    private final AuditRepository auditRepository;
+    private final AuditProperties properties;
+
+    public void record(UUID tenantId, AuditAction action, UUID entityId) {
+        record(tenantId, action, entityId, null);
+    }
+
+    public void record(UUID tenantId, AuditAction action, UUID entityId, String detail) {
+        AuditEntry entry = new AuditEntry(
+                TimeOrderedUuid.next(), tenantId, actor(), action, entityId, detail, Instant.now());
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            pending().add(entry);
+        } else {
+            write(List.of(entry));
+        }
+    }
+
+    /**
+     * Get a tenant's latest audit entries, newest first. Entries still waiting in the ASYNC
+     * buffer are not included.
+     *
+     * @param tenantId tenant
+     * @param limit    number of entries, at most 500
+     */
+    @Transactional(readOnly = true)
+    public List<AuditEntry> getRecent(UUID tenantId, int limit) {
+        return auditRepository.findRecent(tenantId, Math.max(1, Math.min(limit, MAX_RECENT)));
+    }
+
+    private void write(List<AuditEntry> entries) {
+        if (properties.durability() == AuditProperties.Durability.SYNC_ON_COMMIT) {
+            auditWriter.write(entries);
+        } else {
+            auditWriter.enqueue(entries);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<AuditEntry> pending() {
+        List<AuditEntry> pending = (List<AuditEntry>) TransactionSynchronizationManager.getResource(this);
+        if (pending == null) {
+            List<AuditEntry> entries = new ArrayList<>();
+            TransactionSynchronizationManager.bindResource(this, entries);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void beforeCommit(boolean readOnly) {
+                    if (properties.durability() == AuditProperties.Durability.SYNC_ON_COMMIT) {
+                        auditRepository.insert(entries, properties.batchSize());
+                    }
+                }
+
+                @Override
+                public void afterCommit() {
+                    if (properties.durability() == AuditProperties.Durability.ASYNC) {
+                        auditWriter.enqueue(entries);
+                    }
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(AuditLog.this);
+                }
+            });
+            pending = entries;
+        }
+        return pending;
+    }
+
+    /**
+     * the actor entries recorded on this thread get; background work started by a request
+     * captures it and hands it to {@link #runAs}
+     */
+    public static String currentActor() {
+        return actor();
+    }
+
+    /**
+     * runs the task recording entries as the given actor, restoring the previous one afterwards
+     */
+    public static void runAs(String actor, Runnable task) {
+        String previous = RUN_AS.get();
+        RUN_AS.set(actor);
+        try {
+            task.run();
+        } finally {
+            if (previous == null) {
+                RUN_AS.remove();
+            } else {
+                RUN_AS.set(previous);
+            }
+        }
+    }
+
+    /**
+     * the actor set by {@link #runAs}, else the request's X-Actor header, "anonymous" in a
+     * request without one, "system" outside of requests
+     */
+    private static String actor() {
+        String runAs = RUN_AS.get();
+        if (runAs != null) {
+            return runAs;
+        }
+        if (RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes attributes) {
+            String actor = attributes.getRequest().getHeader(ACTOR_HEADER);
+            if (actor == null || actor.isBlank()) {
+                return "anonymous";
+            }
+            actor = actor.strip();
+            return actor.length() > MAX_ACTOR_LENGTH ? actor.substring(0, MAX_ACTOR_LENGTH) : actor;
+        }
+        return "system";
+    }
+}
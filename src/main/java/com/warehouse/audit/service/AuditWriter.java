@@ -0,0 +1,160 @@
+package com.warehouse.audit.service;
+
+import com.warehouse.audit.repository.AuditRepository;
+import com.warehouse.common.dto.AuditEntry;
+import com.warehouse.common.exceptions.TenantMovingException;
+import com.warehouse.config.AuditProperties;
+import com.warehouse.config.ShardContext;
+import com.warehouse.shards.service.TenantShards;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Writes ASYNC audit entries in the background. Callers add to an {@link AuditRingBuffer}
+ * without taking a lock; every flush-interval the buffer is drained in batches, each
+ * batch split by the tenants' shards and inserted in one transaction per shard.
+ * <p>
+ * Nothing is dropped while the database is reachable: entries that do not fit in the
+ * buffer are written by the caller, and a failed batch is retried on the next flush. Only
+ * when more entries than the buffer holds are waiting to be retried are the oldest dropped.
+ */
+@Slf4j
+@Service
+public class AuditWriter {
+    private final AuditRepository auditRepository;
+    private final AuditProperties properties;
+    private final TenantShards tenantShards;
+    private final TransactionTemplate requiresNew;
+    private final AuditRingBuffer buffer;
+    private final List<AuditEntry> retry = new ArrayList<>();
+
+    private final Timer flushTimer;
+    private final Counter written;
+    private final Counter overflowed;
+    private final Counter dropped;
+
+    public AuditWriter(AuditRepository auditRepository,
+                       AuditProperties properties,
+                       TenantShards tenantShards,
+                       PlatformTransactionManager transactionManager,
+                       MeterRegistry meterRegistry) {
+        this.auditRepository = auditRepository;
+        this.properties = properties;
+        this.tenantShards = tenantShards;
+        this.requiresNew = new TransactionTemplate(transactionManager);
+        this.requiresNew.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.buffer = new AuditRingBuffer(properties.bufferCapacity());
+
+        Gauge.builder("warehouse.audit.buffer.size", buffer, AuditRingBuffer::size)
+                .description("Audit entries waiting to be written")
+                .register(meterRegistry);
+        Gauge.builder("warehouse.audit.buffer.occupancy", buffer, b -> (double) b.size() / b.capacity())
+                .description("Share of the audit buffer in use")
+                .register(meterRegistry);
+        this.flushTimer = meterRegistry.timer("warehouse.audit.flush");
+        this.written = meterRegistry.counter("warehouse.audit.entries", "result", "written");
+        this.overflowed = meterRegistry.counter("warehouse.audit.entries", "result", "overflowed");
+        this.dropped = meterRegistry.counter("warehouse.audit.entries", "result", "dropped");
+    }
+
+    /**
+     * queues entries for the next flush; any that do not fit are written right away
+     */
+    public void enqueue(List<AuditEntry> entries) {
+        List<AuditEntry> overflow = new ArrayList<>();
+        for (AuditEntry entry : entries) {
+            if (!buffer.offer(entry)) {
+                overflow.add(entry);
+            }
+        }
+        if (!overflow.isEmpty()) {
+            overflowed.increment(overflow.size());
+            write(overflow);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${warehouse.audit.flush-interval:200ms}")
+    public synchronized void flush() {
+        List<AuditEntry> failed = takeRetries();
+        if (!failed.isEmpty()) {
+            write(failed);
+        }
+
+        int drained;
+        do {
+            List<AuditEntry> batch = new ArrayList<>(properties.batchSize());
+            drained = buffer.drainTo(batch, properties.batchSize());
+            if (drained > 0) {
+                write(batch);
+            }
+        } while (drained == properties.batchSize());
+    }
+
+    @PreDestroy
+    void shutdown() {
+        flush();
+    }
+
+    /**
+     * writes entries now, each to its tenant's shard; ones that fail are retried on the next flush
+     */
+    void write(List<AuditEntry> entries) {
+        long start = System.nanoTime();
+        Map<String, List<AuditEntry>> byShard = new LinkedHashMap<>();
+        for (AuditEntry entry : entries) {
+            try {
+                byShard.computeIfAbsent(tenantShards.shardOf(entry.tenantId()), shard -> new ArrayList<>()).add(entry);
+            } catch (TenantMovingException e) {
+                retryLater(List.of(entry));
+            }
+        }
+
+        byShard.forEach((shard, shardEntries) -> {
+            try {
+                ShardContext.runOn(shard, () -> requiresNew.executeWithoutResult(
+                        status -> auditRepository.insert(shardEntries, properties.batchSize())));
+                written.increment(shardEntries.size());
+            } catch (RuntimeException e) {
+                log.warn("Failed to write {} audit entries to shard {}, retrying on next flush. Error: {}",
+                        shardEntries.size(), shard, e.getMessage());
+                retryLater(shardEntries);
+            }
+        });
+        flushTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+    }
+
+    private List<AuditEntry> takeRetries() {
+        synchronized (retry) {
+            List<AuditEntry> entries = new ArrayList<>(retry);
+            retry.clear();
+            return entries;
+        }
+    }
+
+    private void retryLater(List<AuditEntry> entries) {
+        synchronized (retry) {
+            retry.addAll(entries);
+            int excess = retry.size() - buffer.capacity();
+            if (excess > 0) {
+                retry.subList(0, excess).clear();
+                dropped.increment(excess);
+                log.error("Dropped {} audit entries that could not be written", excess);
+            }
+        }
+    }
+}
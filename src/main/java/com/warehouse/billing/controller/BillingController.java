@@ -0,0 +1,56 @@
+package com.warehouse.billing.controller;
+
+import com.warehouse.billing.service.BillingRunService;
+import com.warehouse.common.response.ResponseHandler;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.YearMonth;
+
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/api/v1/billing/runs")
+@Tag(
+        name = "Billing",
+        description = "Month-end invoicing of active bookings"
+)
+public class BillingController {
+    private final BillingRunService billingRunService;
+
+    @Operation(
+            summary = "Start or resume a billing run",
+            description = "Bills every active booking for the month in the background. " +
+                    "Running a month again resumes it from its checkpoints without billing a booking twice"
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "202", description = "Billing run started")
+    })
+    @PostMapping("/{month}")
+    public ResponseEntity<Object> startRun(@PathVariable YearMonth month) {
+        billingRunService.runAsync(month);
+        return ResponseHandler.responseBuilder(
+                "Billing run started",
+                HttpStatus.ACCEPTED,
+                billingRunService.getStatus(month)
+        );
+    }
+
+    @Operation(
+            summary = "Get billing run progress",
+            description = "Partitions started and completed, and invoice lines written, for the month"
+    )
+    @GetMapping("/{month}")
+    public ResponseEntity<Object> getRun(@PathVariable YearMonth month) {
+        return ResponseHandler.responseBuilder(
+                "Billing run status successfully returned",
+                HttpStatus.OK,
+                billingRunService.getStatus(month)
+        );
+    }
+}
@@ -0,0 +1,44 @@
+package com.warehouse.billing.entity;
+
+import jakarta.persistence.*;
+import lombok.Data;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * progress of one tenant partition in a billing run; a resumed run continues after
+ * lastBookingId and skips completed partitions
+ */
+@Entity
+@Data
+@Table(
+        name = "billing_checkpoints",
+        uniqueConstraints = @UniqueConstraint(
+                name = "uk_billing_checkpoints_partition",
+                columnNames = {"billing_month", "tenant_id"}
+        )
+)
+public class BillingCheckpoint {
+    @Id
+    private UUID id;
+
+    @Column(name = "billing_month", nullable = false)
+    private LocalDate billingMonth;
+
+    @Column(name = "tenant_id", nullable = false)
+    private UUID tenantId;
+
+    @Column(name = "last_booking_id")
+    private UUID lastBookingId;
+
+    @Column(nullable = false)
+    private Long linesWritten;
+
+    @Column(nullable = false)
+    private Boolean completed;
+
+    @Column(nullable = false)
+    private LocalDateTime updatedAt;
+}
@@ -0,0 +1,60 @@
+package com.warehouse.billing.entity;
+
+import jakarta.persistence.*;
+import lombok.Data;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * one booking's charge for one billing month; at most one per booking and month
+ */
+@Entity
+@Data
+@Table(
+        name = "invoice_lines",
+        uniqueConstraints = @UniqueConstraint(
+                name = "uk_invoice_lines_booking_month",
+                columnNames = {"booking_id", "billing_month"}
+        ),
+        indexes = @Index(name = "idx_invoice_lines_tenant_month", columnList = "tenant_id, billing_month")
+)
+public class InvoiceLine {
+    @Id
+    private UUID id;
+
+    @Column(name = "billing_month", nullable = false)
+    private LocalDate billingMonth;
+
+    @Column(name = "tenant_id", nullable = false)
+    private UUID tenantId;
+
+    @Column(name = "booking_id", nullable = false)
+    private UUID bookingId;
+
+    @Column(name = "customer_id", nullable = false)
+    private UUID customerId;
+
+    @Column(name = "storage_unit_id", nullable = false)
+    private UUID storageUnitId;
+
+    @Column(nullable = false)
+    private LocalDate periodStart;
+
+    @Column(nullable = false)
+    private LocalDate periodEnd;
+
+    @Column(nullable = false)
+    private Integer daysBilled;
+
+    @Column(nullable = false, precision = 10, scale = 2)
+    private BigDecimal monthlyRate;
+
+    @Column(nullable = false, precision = 12, scale = 2)
+    private BigDecimal amount;
+
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+}
@@ -0,0 +1,37 @@
+package com.warehouse.billing.service;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.time.YearMonth;
+
+/**
+ * Prorates a monthly rate by the days a booking covers in the billing month:
+ * amount = monthlyRate * daysCovered / daysInMonth, rounded half-even to cents once, at
+ * the end, so a full month is billed exactly monthlyRate.
+ */
+public final class BillingCalculator {
+    public record Charge(LocalDate periodStart, LocalDate periodEnd, int days, BigDecimal amount) {
+    }
+
+    private BillingCalculator() {
+    }
+
+    /**
+     * @return the charge for the month, or null if the booking does not cover any day of it
+     */
+    public static Charge prorate(BigDecimal monthlyRate, LocalDate startDate, LocalDate endDate, YearMonth month) {
+        LocalDate periodStart = startDate.isAfter(month.atDay(1)) ? startDate : month.atDay(1);
+        LocalDate periodEnd = endDate.isBefore(month.atEndOfMonth()) ? endDate : month.atEndOfMonth();
+        if (periodEnd.isBefore(periodStart)) {
+            return null;
+        }
+
+        int days = periodEnd.getDayOfMonth() - periodStart.getDayOfMonth() + 1;
+        BigDecimal amount = monthlyRate
+                .multiply(BigDecimal.valueOf(days))
+                .divide(BigDecimal.valueOf(month.lengthOfMonth()), 2, RoundingMode.HALF_EVEN);
+
+        return new Charge(periodStart, periodEnd, days, amount);
+    }
+}
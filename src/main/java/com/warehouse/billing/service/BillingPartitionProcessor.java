@@ -0,0 +1,197 @@
+package com.warehouse.billing.service;
+
+import com.warehouse.common.id.TimeOrderedUuid;
+import com.warehouse.config.BillingProperties;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Bills one tenant partition for one month in keyset-ordered chunks. Each chunk is one
+ * transaction: bookings are streamed with the configured fetch size, invoice lines are
+ * written with batched inserts, and the checkpoint is moved past the chunk's last booking.
+ * Lines already written for a booking and month are skipped, so a partition can be rerun.
+ */
+@Component
+@RequiredArgsConstructor
+class BillingPartitionProcessor {
+    private static final UUID BEFORE_FIRST = new UUID(0, 0);
+
+    private static final String SELECT_BOOKINGS = """
+            SELECT b.id, b.customer_id, b.storage_unit_id, b.start_date, b.end_date, b.monthly_rate
+            FROM bookings b
+            JOIN storage_units su ON su.id = b.storage_unit_id
+            JOIN warehouses w ON w.id = su.warehouse_id
+            WHERE w.tenant_id = ?
+            AND b.status = 'ACTIVE'
+            AND b.monthly_rate IS NOT NULL
+            AND b.start_date <= ?
+            AND b.end_date >= ?
+            AND b.id > ?
+            ORDER BY b.id
+            LIMIT ?
+            """;
+
+    private static final String INSERT_LINE = """
+            INSERT INTO invoice_lines (id, billing_month, tenant_id, booking_id, customer_id, storage_unit_id,
+                                       period_start, period_end, days_billed, monthly_rate, amount, created_at)
+            VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)
+            ON CONFLICT (booking_id, billing_month) DO NOTHING
+            """;
+
+    private static final String UPSERT_CHECKPOINT = """
+            INSERT INTO billing_checkpoints (id, billing_month, tenant_id, last_booking_id, lines_written, completed, updated_at)
+            VALUES (?, ?, ?, ?, ?, ?, ?)
+            ON CONFLICT (billing_month, tenant_id) DO UPDATE SET
+                last_booking_id = EXCLUDED.last_booking_id,
+                lines_written = billing_checkpoints.lines_written + EXCLUDED.lines_written,
+                completed = EXCLUDED.completed,
+                updated_at = EXCLUDED.updated_at
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final BillingProperties properties;
+
+    private record Line(UUID bookingId, UUID customerId, UUID storageUnitId,
+                        BigDecimal monthlyRate, BillingCalculator.Charge charge) {
+    }
+
+    private record ChunkResult(UUID lastBookingId, int bookingsRead, long linesWritten) {
+    }
+
+    private record Checkpoint(UUID lastBookingId, boolean completed) {
+    }
+
+    /**
+     * @return invoice lines written by this call
+     */
+    long bill(YearMonth month, UUID tenantId) {
+        Checkpoint checkpoint = readCheckpoint(month, tenantId);
+        if (checkpoint != null && checkpoint.completed()) {
+            return 0;
+        }
+
+        UUID after = checkpoint != null && checkpoint.lastBookingId() != null
+                ? checkpoint.lastBookingId()
+                : BEFORE_FIRST;
+        long written = 0;
+        int chunkSize = Math.max(1, properties.chunkSize());
+
+        while (true) {
+            UUID from = after;
+            ChunkResult chunk = transactionTemplate.execute(status -> billChunk(month, tenantId, from, chunkSize));
+            written += chunk.linesWritten();
+            if (chunk.bookingsRead() < chunkSize) {
+                return written;
+            }
+            after = chunk.lastBookingId();
+        }
+    }
+
+    private ChunkResult billChunk(YearMonth month, UUID tenantId, UUID after, int chunkSize) {
+        int batchSize = Math.max(1, properties.batchSize());
+        List<Line> batch = new ArrayList<>(batchSize);
+        UUID[] lastBookingId = {after};
+        int[] read = {0};
+        long[] written = {0};
+
+        jdbcTemplate.query(
+                connection -> {
+                    PreparedStatement ps = connection.prepareStatement(SELECT_BOOKINGS);
+                    ps.setFetchSize(properties.fetchSize());
+                    ps.setObject(1, tenantId);
+                    ps.setDate(2, Date.valueOf(month.atEndOfMonth()));
+                    ps.setDate(3, Date.valueOf(month.atDay(1)));
+                    ps.setObject(4, after);
+                    ps.setInt(5, chunkSize);
+                    return ps;
+                },
+                rs -> {
+                    UUID bookingId = rs.getObject(1, UUID.class);
+                    BigDecimal monthlyRate = rs.getBigDecimal(6);
+                    BillingCalculator.Charge charge = BillingCalculator.prorate(
+                            monthlyRate,
+                            rs.getDate(4).toLocalDate(),
+                            rs.getDate(5).toLocalDate(),
+                            month);
+
+                    lastBookingId[0] = bookingId;
+                    read[0]++;
+                    if (charge != null) {
+                        batch.add(new Line(bookingId, rs.getObject(2, UUID.class), rs.getObject(3, UUID.class),
+                                monthlyRate, charge));
+                    }
+                    if (batch.size() >= batchSize) {
+                        written[0] += insert(month, tenantId, batch);
+                        batch.clear();
+                    }
+                });
+
+        written[0] += insert(month, tenantId, batch);
+        saveCheckpoint(month, tenantId, lastBookingId[0], written[0], read[0] < chunkSize);
+
+        return new ChunkResult(lastBookingId[0], read[0], written[0]);
+    }
+
+    private long insert(YearMonth month, UUID tenantId, List<Line> lines) {
+        if (lines.isEmpty()) {
+            return 0;
+        }
+
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        int[][] counts = jdbcTemplate.batchUpdate(INSERT_LINE, lines, lines.size(), (ps, line) -> {
+            ps.setObject(1, TimeOrderedUuid.next());
+            ps.setDate(2, Date.valueOf(month.atDay(1)));
+            ps.setObject(3, tenantId);
+            ps.setObject(4, line.bookingId());
+            ps.setObject(5, line.customerId());
+            ps.setObject(6, line.storageUnitId());
+            ps.setDate(7, Date.valueOf(line.charge().periodStart()));
+            ps.setDate(8, Date.valueOf(line.charge().periodEnd()));
+            ps.setInt(9, line.charge().days());
+            ps.setBigDecimal(10, line.monthlyRate());
+            ps.setBigDecimal(11, line.charge().amount());
+            ps.setTimestamp(12, now);
+        });
+
+        long inserted = 0;
+        for (int[] batch : counts) {
+            for (int count : batch) {
+                inserted += count == Statement.SUCCESS_NO_INFO ? 1 : Math.max(count, 0);
+            }
+        }
+        return inserted;
+    }
+
+    private Checkpoint readCheckpoint(YearMonth month, UUID tenantId) {
+        List<Checkpoint> checkpoints = jdbcTemplate.query(
+                "SELECT last_booking_id, completed FROM billing_checkpoints WHERE billing_month = ? AND tenant_id = ?",
+                (rs, rowNum) -> new Checkpoint(rs.getObject(1, UUID.class), rs.getBoolean(2)),
+                Date.valueOf(month.atDay(1)), tenantId);
+        return checkpoints.isEmpty() ? null : checkpoints.get(0);
+    }
+
+    private void saveCheckpoint(YearMonth month, UUID tenantId, UUID lastBookingId, long linesWritten, boolean completed) {
+        jdbcTemplate.update(UPSERT_CHECKPOINT,
+                TimeOrderedUuid.next(),
+                Date.valueOf(month.atDay(1)),
+                tenantId,
+                BEFORE_FIRST.equals(lastBookingId) ? null : lastBookingId,
+                linesWritten,
+                completed,
+                Timestamp.valueOf(LocalDateTime.now()));
+    }
+}
@@ -0,0 +1,159 @@
+package com.warehouse.billing.service;
+
+import com.warehouse.common.dto.BillingRunStatus;
+import com.warehouse.config.BillingProperties;
+import com.warehouse.shards.service.TenantShards;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.sql.Date;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Month-end billing. Every tenant is a partition; partitions are billed in parallel and
+ * checkpointed per chunk, so a run that stops part-way is resumed by running the same
+ * month again. Each partition runs on its tenant's shard.
+ */
+@Slf4j
+@Service
+public class BillingRunService {
+    private final TenantShards tenantShards;
+    private final BillingPartitionProcessor partitionProcessor;
+    private final JdbcTemplate jdbcTemplate;
+    private final BillingProperties properties;
+
+    private final Set<YearMonth> running = ConcurrentHashMap.newKeySet();
+    private final Counter linesCounter;
+    private final Counter failedPartitions;
+    private final Timer partitionTimer;
+
+    public BillingRunService(TenantShards tenantShards,
+                             BillingPartitionProcessor partitionProcessor,
+                             JdbcTemplate jdbcTemplate,
+                             BillingProperties properties,
+                             MeterRegistry meterRegistry) {
+        this.tenantShards = tenantShards;
+        this.partitionProcessor = partitionProcessor;
+        this.jdbcTemplate = jdbcTemplate;
+        this.properties = properties;
+
+        this.linesCounter = meterRegistry.counter("warehouse.billing.lines");
+        this.failedPartitions = meterRegistry.counter("warehouse.billing.partitions", "result", "failed");
+        this.partitionTimer = meterRegistry.timer("warehouse.billing.partition.duration");
+    }
+
+    /**
+     * bills the previous month, early on the first of each month
+     */
+    @Scheduled(cron = "${warehouse.billing.cron:0 0 2 1 * *}")
+    public void billPreviousMonth() {
+        if (!properties.enabled()) {
+            return;
+        }
+        run(YearMonth.now().minusMonths(1));
+    }
+
+    /**
+     * starts or resumes a run in the background
+     */
+    @Async
+    public void runAsync(YearMonth month) {
+        run(month);
+    }
+
+    /**
+     * bills every ACTIVE booking covering the month; partitions already completed are skipped
+     *
+     * @param month billing month
+     * @return invoice lines written by this run
+     */
+    public long run(YearMonth month) {
+        if (!running.add(month)) {
+            throw new IllegalStateException("Billing run for " + month + " is already in progress");
+        }
+
+        try {
+            List<UUID> tenantIds = tenantShards.allTenantIds();
+            log.info("Starting billing run for {} over {} tenant partitions", month, tenantIds.size());
+
+            AtomicLong written = new AtomicLong();
+            ExecutorService executor = Executors.newFixedThreadPool(Math.max(1, properties.parallelism()));
+            try {
+                List<Future<?>> futures = new ArrayList<>();
+                for (UUID tenantId : tenantIds) {
+                    futures.add(executor.submit(() -> written.addAndGet(billPartition(month, tenantId))));
+                }
+                for (Future<?> future : futures) {
+                    try {
+                        future.get();
+                    } catch (Exception e) {
+                        log.warn("Billing partition failed: {}", e.getMessage());
+                    }
+                }
+            } finally {
+                executor.shutdown();
+            }
+
+            log.info("Billing run for {} finished: {} invoice lines written", month, written.get());
+            return written.get();
+        } finally {
+            running.remove(month);
+        }
+    }
+
+    /**
+     * progress of a run, from its checkpoints on every shard
+     */
+    public BillingRunStatus getStatus(YearMonth month) {
+        return tenantShards.mapShards(shard -> shardStatus(month))
+                .stream()
+                .reduce((a, b) -> new BillingRunStatus(month, a.running(),
+                        a.partitionsStarted() + b.partitionsStarted(),
+                        a.partitionsCompleted() + b.partitionsCompleted(),
+                        a.linesWritten() + b.linesWritten()))
+                .orElseThrow();
+    }
+
+    private BillingRunStatus shardStatus(YearMonth month) {
+        return jdbcTemplate.queryForObject("""
+                        SELECT COUNT(*), COUNT(*) FILTER (WHERE completed), COALESCE(SUM(lines_written), 0)
+                        FROM billing_checkpoints
+                        WHERE billing_month = ?
+                        """,
+                (rs, rowNum) -> new BillingRunStatus(
+                        month,
+                        running.contains(month),
+                        rs.getLong(1),
+                        rs.getLong(2),
+                        rs.getLong(3)),
+                Date.valueOf(month.atDay(1)));
+    }
+
+    private long billPartition(YearMonth month, UUID tenantId) {
+        try {
+            long written = partitionTimer.recordCallable(
+                    () -> tenantShards.callForTenant(tenantId, () -> partitionProcessor.bill(month, tenantId)));
+            linesCounter.increment(written);
+            return written;
+        } catch (Exception e) {
+            failedPartitions.increment();
+            log.warn("Billing failed for tenant {} in {}: {}", tenantId, month, e.getMessage());
+            return 0;
+        }
+    }
+}
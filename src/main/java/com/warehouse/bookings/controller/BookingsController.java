@@ -48,6 +48,15 @@ public class BookingsController {
         );
     }
 
+    @PostMapping("/expiring/rebuild")
+    public ResponseEntity<Object> rebuildExpiringIndex(@RequestParam UUID tenantId) {
+        return ResponseHandler.responseBuilder(
+                "Expiring bookings index successfully rebuilt",
+                HttpStatus.OK,
+                Map.of("bookingsIndexed", bookingService.rebuildExpiringIndex(tenantId))
+        );
+    }
+
     @GetMapping("/{bookingId}")
     public ResponseEntity<Object> getBooking(@PathVariable UUID bookingId, @RequestParam UUID tenantId) {
         return ResponseHandler.responseBuilder(
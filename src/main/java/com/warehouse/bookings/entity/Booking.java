@@ -1,5 +1,6 @@
 package com.warehouse.bookings.entity;
 
+import com.warehouse.common.id.TimeOrderedId;
 import com.warehouse.customers.entity.Customer;
 import com.warehouse.storage.entity.StorageUnit;
 import jakarta.persistence.*;
@@ -16,7 +17,7 @@ import java.util.UUID;
 @Table(name = "bookings")
 public class Booking {
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
+    @TimeOrderedId
     private UUID id;
 
     @Column(name = "customer_id", nullable = false)
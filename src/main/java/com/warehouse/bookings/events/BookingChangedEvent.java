@@ -0,0 +1,32 @@
+package com.warehouse.bookings.events;
+
+import lombok.Getter;
+
+import java.util.UUID;
+
+/**
+ * Published inside the transaction that creates, updates or deletes a booking, including
+ * bookings removed together with their unit. Bookings removed together with their
+ * warehouse or customer are published a chunk at a time as a {@link BookingsPurgedEvent}.
+ * {@code before} is null for CREATED and {@code after} is null for DELETED.
+ */
+@Getter
+public class BookingChangedEvent {
+    public enum Type {
+        CREATED,
+        UPDATED,
+        DELETED
+    }
+
+    private final Type type;
+    private final UUID tenantId;
+    private final BookingSnapshot before;
+    private final BookingSnapshot after;
+
+    public BookingChangedEvent(Type type, UUID tenantId, BookingSnapshot before, BookingSnapshot after) {
+        this.type = type;
+        this.tenantId = tenantId;
+        this.before = before;
+        this.after = after;
+    }
+}
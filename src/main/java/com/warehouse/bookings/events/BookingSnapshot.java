@@ -0,0 +1,28 @@
+package com.warehouse.bookings.events;
+
+import com.warehouse.bookings.entity.BookingStatus;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.UUID;
+
+/**
+ * state of a booking at one point in time, with the ids of everything it rolls up into
+ */
+public record BookingSnapshot(
+        UUID bookingId,
+        UUID tenantId,
+        UUID customerId,
+        UUID storageUnitId,
+        UUID warehouseId,
+        Integer capacityKg,
+        LocalDate startDate,
+        LocalDate endDate,
+        BigDecimal monthlyRate,
+        BookingStatus status
+) {
+    public BookingSnapshot withCapacityKg(Integer capacityKg) {
+        return new BookingSnapshot(bookingId, tenantId, customerId, storageUnitId, warehouseId,
+                capacityKg, startDate, endDate, monthlyRate, status);
+    }
+}
@@ -0,0 +1,31 @@
+package com.warehouse.bookings.events;
+
+import lombok.Getter;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Published inside the transaction that deletes a chunk of a warehouse's or customer's
+ * bookings in bulk, instead of a {@link BookingChangedEvent} per booking, so stores derived
+ * from bookings can catch up with one write per chunk.
+ */
+@Getter
+public class BookingsPurgedEvent {
+    public enum Scope {
+        WAREHOUSE,
+        CUSTOMER
+    }
+
+    private final UUID tenantId;
+    private final Scope scope;
+    private final UUID scopeId;
+    private final List<BookingSnapshot> deleted;
+
+    public BookingsPurgedEvent(UUID tenantId, Scope scope, UUID scopeId, List<BookingSnapshot> deleted) {
+        this.tenantId = tenantId;
+        this.scope = scope;
+        this.scopeId = scopeId;
+        this.deleted = List.copyOf(deleted);
+    }
+}
@@ -0,0 +1,45 @@
+package com.warehouse.bookings.index;
+
+import com.warehouse.common.dto.ExpiringBooking;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Per-tenant index of active bookings ordered by end date, so "what expires by this date"
+ * is a range lookup instead of a join. A tenant's index is either fully built or absent.
+ * <p>
+ * Every change bumps a per-tenant change count; {@link #store} only keeps a freshly built
+ * index if no change happened since the count it was given, so a change committed while
+ * the index was being built is never lost.
+ */
+public interface ExpiringBookingIndex {
+    /**
+     * @return active bookings ending on or before the date, by end date; empty if the
+     * tenant's index is not built
+     */
+    Optional<List<ExpiringBooking>> range(UUID tenantId, LocalDate endDate);
+
+    long changeCount(UUID tenantId);
+
+    /**
+     * replaces the tenant's index with the given bookings
+     *
+     * @return false if the tenant changed since {@code expectedChangeCount} and nothing was stored
+     */
+    boolean store(UUID tenantId, List<ExpiringBooking> bookings, long expectedChangeCount);
+
+    /**
+     * adds or replaces one booking, if the tenant's index is built
+     */
+    void put(UUID tenantId, ExpiringBooking booking);
+
+    void remove(UUID tenantId, UUID bookingId);
+
+    /**
+     * drops the tenant's index; it is rebuilt on the next lookup
+     */
+    void invalidate(UUID tenantId);
+}
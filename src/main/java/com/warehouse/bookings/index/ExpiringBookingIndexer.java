@@ -0,0 +1,125 @@
+package com.warehouse.bookings.index;
+
+import com.warehouse.bookings.entity.BookingStatus;
+import com.warehouse.bookings.events.BookingChangedEvent;
+import com.warehouse.bookings.events.BookingSnapshot;
+import com.warehouse.bookings.events.BookingsPurgedEvent;
+import com.warehouse.bookings.repository.BookingViewRepository;
+import com.warehouse.bookings.repository.BookingsRepository;
+import com.warehouse.bookings.service.BookingViewProjector;
+import com.warehouse.common.dto.ExpiringBooking;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Serves expiring-booking lookups from the {@link ExpiringBookingIndex}, building a tenant's
+ * index from {@code booking_view} the first time it is missing, and keeps it current from
+ * committed booking changes. Renaming a customer, unit or warehouse changes the stored
+ * projections, so those writes drop the tenant's index instead.
+ * <p>
+ * If the index store fails, lookups fall back to {@code booking_view}. Either read first
+ * catches the view up with the tenant's committed changes.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ExpiringBookingIndexer {
+    private final ExpiringBookingIndex index;
+    private final BookingsRepository bookingsRepository;
+    private final BookingViewRepository bookingViewRepository;
+    private final BookingViewProjector bookingViewProjector;
+
+    /**
+     * @return active bookings of the tenant ending on or before the date
+     */
+    public List<ExpiringBooking> expiringBy(UUID tenantId, LocalDate endDate) {
+        try {
+            return index.range(tenantId, endDate).orElseGet(() -> build(tenantId).stream()
+                    .filter(booking -> !booking.endDate().isAfter(endDate))
+                    .toList());
+        } catch (RuntimeException e) {
+            log.warn("Expiring booking index lookup failed for tenant {}. Querying booking view. Error: {}",
+                    tenantId, e.getMessage());
+            bookingViewProjector.catchUp(tenantId);
+            return bookingViewRepository.findActiveByTenantIdEndingBy(tenantId, endDate);
+        }
+    }
+
+    /**
+     * rebuilds the tenant's index now
+     *
+     * @return number of active bookings indexed
+     */
+    public int rebuild(UUID tenantId) {
+        return build(tenantId).size();
+    }
+
+    /**
+     * drops the tenant's index once the current transaction commits
+     */
+    public void invalidate(UUID tenantId) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    invalidateNow(tenantId);
+                }
+            });
+        } else {
+            invalidateNow(tenantId);
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void handleBookingChanged(BookingChangedEvent event) {
+        try {
+            BookingSnapshot after = event.getAfter();
+            if (after != null && after.status() == BookingStatus.ACTIVE) {
+                bookingsRepository.findExpiringBookingById(after.bookingId()).ifPresentOrElse(
+                        booking -> index.put(event.getTenantId(), booking),
+                        () -> index.remove(event.getTenantId(), after.bookingId()));
+            } else if (event.getBefore() != null) {
+                index.remove(event.getTenantId(), event.getBefore().bookingId());
+            }
+        } catch (RuntimeException e) {
+            log.warn("Expiring booking index update failed for tenant {}. Dropping index. Error: {}",
+                    event.getTenantId(), e.getMessage());
+            invalidateNow(event.getTenantId());
+        }
+    }
+
+    /**
+     * drops the tenant's index rather than removing a chunk of bulk-deleted bookings one by one
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void handleBookingsPurged(BookingsPurgedEvent event) {
+        invalidateNow(event.getTenantId());
+    }
+
+    private List<ExpiringBooking> build(UUID tenantId) {
+        long changes = index.changeCount(tenantId);
+        bookingViewProjector.catchUp(tenantId);
+        List<ExpiringBooking> bookings = bookingViewRepository.findActiveByTenantId(tenantId);
+        if (!index.store(tenantId, bookings, changes)) {
+            log.debug("Bookings of tenant {} changed while indexing; index not stored", tenantId);
+        }
+        return bookings;
+    }
+
+    private void invalidateNow(UUID tenantId) {
+        try {
+            index.invalidate(tenantId);
+        } catch (RuntimeException e) {
+            log.warn("Expiring booking index invalidation failed for tenant {}. Error: {}", tenantId, e.getMessage());
+        }
+    }
+}
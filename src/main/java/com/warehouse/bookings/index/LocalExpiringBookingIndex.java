@@ -0,0 +1,136 @@
+package com.warehouse.bookings.index;
+
+import com.warehouse.changefeed.service.ChangeFeed;
+import com.warehouse.changefeed.service.ChangeHandler;
+import com.warehouse.common.dto.ExpiringBooking;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Optional;
+import java.util.TreeSet;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-process index for when caches are not backed by Redis (single instance, tests). With
+ * several instances, a tenant's index is dropped when the change feed reports a write to
+ * its bookings, units, customers or warehouses on another node.
+ */
+public class LocalExpiringBookingIndex implements ExpiringBookingIndex, ChangeHandler {
+    private static final Comparator<ExpiringBooking> BY_END_DATE =
+            Comparator.comparing(ExpiringBooking::endDate).thenComparing(ExpiringBooking::bookingId);
+
+    private final Map<UUID, TenantIndex> indexes = new ConcurrentHashMap<>();
+    private final Map<UUID, Long> changeCounts = new ConcurrentHashMap<>();
+
+    @Override
+    public Optional<List<ExpiringBooking>> range(UUID tenantId, LocalDate endDate) {
+        TenantIndex index = indexes.get(tenantId);
+        if (index == null) {
+            return Optional.empty();
+        }
+        synchronized (index) {
+            List<ExpiringBooking> bookings = new ArrayList<>();
+            for (ExpiringBooking booking : index.byEndDate) {
+                if (booking.endDate().isAfter(endDate)) {
+                    break;
+                }
+                bookings.add(booking);
+            }
+            return Optional.of(bookings);
+        }
+    }
+
+    @Override
+    public long changeCount(UUID tenantId) {
+        return changeCounts.getOrDefault(tenantId, 0L);
+    }
+
+    @Override
+    public boolean store(UUID tenantId, List<ExpiringBooking> bookings, long expectedChangeCount) {
+        TenantIndex index = new TenantIndex();
+        bookings.forEach(index::put);
+
+        boolean[] stored = {false};
+        changeCounts.compute(tenantId, (id, count) -> {
+            long current = count == null ? 0 : count;
+            if (current == expectedChangeCount) {
+                indexes.put(tenantId, index);
+                stored[0] = true;
+            }
+            return current;
+        });
+        return stored[0];
+    }
+
+    @Override
+    public void put(UUID tenantId, ExpiringBooking booking) {
+        changeCounts.compute(tenantId, (id, count) -> {
+            TenantIndex index = indexes.get(tenantId);
+            if (index != null) {
+                synchronized (index) {
+                    index.put(booking);
+                }
+            }
+            return count == null ? 1 : count + 1;
+        });
+    }
+
+    @Override
+    public void remove(UUID tenantId, UUID bookingId) {
+        changeCounts.compute(tenantId, (id, count) -> {
+            TenantIndex index = indexes.get(tenantId);
+            if (index != null) {
+                synchronized (index) {
+                    index.remove(bookingId);
+                }
+            }
+            return count == null ? 1 : count + 1;
+        });
+    }
+
+    @Override
+    public void invalidate(UUID tenantId) {
+        changeCounts.compute(tenantId, (id, count) -> {
+            indexes.remove(tenantId);
+            return count == null ? 1 : count + 1;
+        });
+    }
+
+    @Override
+    public void onChanges(Collection<ChangeFeed.Change> changes) {
+        changes.stream()
+                .map(ChangeFeed.Change::tenantId)
+                .distinct()
+                .forEach(this::invalidate);
+    }
+
+    @Override
+    public void onGap() {
+        changeCounts.keySet().forEach(this::invalidate);
+    }
+
+    private static final class TenantIndex {
+        private final NavigableSet<ExpiringBooking> byEndDate = new TreeSet<>(BY_END_DATE);
+        private final Map<UUID, ExpiringBooking> byId = new HashMap<>();
+
+        void put(ExpiringBooking booking) {
+            remove(booking.bookingId());
+            byEndDate.add(booking);
+            byId.put(booking.bookingId(), booking);
+        }
+
+        void remove(UUID bookingId) {
+            ExpiringBooking existing = byId.remove(bookingId);
+            if (existing != null) {
+                byEndDate.remove(existing);
+            }
+        }
+    }
+}
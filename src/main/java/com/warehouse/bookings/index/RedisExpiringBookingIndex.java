@@ -0,0 +1,156 @@
+package com.warehouse.bookings.index;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.warehouse.common.dto.ExpiringBooking;
+import lombok.RequiredArgsConstructor;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.core.RedisOperations;
+import org.springframework.data.redis.core.SessionCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ZSetOperations;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Keeps each tenant's index in Redis, shared by every instance: a sorted set of booking ids
+ * scored by end date (epoch day), a hash of booking id to the JSON projection, a marker
+ * saying the index is built, and a change counter. A rebuild replaces all of it in one
+ * MULTI, watched on the counter. The marker expires after the configured TTL so an index
+ * that drifted is eventually rebuilt; the counter never expires.
+ */
+@RequiredArgsConstructor
+public class RedisExpiringBookingIndex implements ExpiringBookingIndex {
+    private final StringRedisTemplate redisTemplate;
+    private final ObjectMapper objectMapper;
+    private final Duration ttl;
+
+    @Override
+    public Optional<List<ExpiringBooking>> range(UUID tenantId, LocalDate endDate) {
+        if (!Boolean.TRUE.equals(redisTemplate.hasKey(readyKey(tenantId)))) {
+            return Optional.empty();
+        }
+
+        Set<String> ids = redisTemplate.opsForZSet()
+                .rangeByScore(datesKey(tenantId), Double.NEGATIVE_INFINITY, endDate.toEpochDay());
+        if (ids == null || ids.isEmpty()) {
+            return Optional.of(List.of());
+        }
+
+        List<Object> values = redisTemplate.opsForHash().multiGet(bookingsKey(tenantId), new ArrayList<>(ids));
+        List<ExpiringBooking> bookings = new ArrayList<>(values.size());
+        for (Object value : values) {
+            if (value != null) {
+                bookings.add(read((String) value));
+            }
+        }
+        return Optional.of(bookings);
+    }
+
+    @Override
+    public long changeCount(UUID tenantId) {
+        String value = redisTemplate.opsForValue().get(changesKey(tenantId));
+        return value == null ? 0 : Long.parseLong(value);
+    }
+
+    @Override
+    public boolean store(UUID tenantId, List<ExpiringBooking> bookings, long expectedChangeCount) {
+        Set<ZSetOperations.TypedTuple<String>> dates = new HashSet<>();
+        Map<String, String> values = new HashMap<>();
+        for (ExpiringBooking booking : bookings) {
+            String id = booking.bookingId().toString();
+            dates.add(ZSetOperations.TypedTuple.of(id, (double) booking.endDate().toEpochDay()));
+            values.put(id, write(booking));
+        }
+
+        List<Object> results = redisTemplate.execute(new SessionCallback<>() {
+            @Override
+            @SuppressWarnings("unchecked")
+            public List<Object> execute(RedisOperations operations) throws DataAccessException {
+                RedisOperations<String, String> redis = operations;
+                redis.watch(changesKey(tenantId));
+
+                String current = redis.opsForValue().get(changesKey(tenantId));
+                if ((current == null ? 0 : Long.parseLong(current)) != expectedChangeCount) {
+                    redis.unwatch();
+                    return null;
+                }
+
+                redis.multi();
+                redis.delete(List.of(datesKey(tenantId), bookingsKey(tenantId)));
+                if (!dates.isEmpty()) {
+                    redis.opsForZSet().add(datesKey(tenantId), dates);
+                    redis.opsForHash().putAll(bookingsKey(tenantId), values);
+                }
+                redis.opsForValue().set(readyKey(tenantId), "1", ttl);
+                return redis.exec();
+            }
+        });
+        return results != null && !results.isEmpty();
+    }
+
+    @Override
+    public void put(UUID tenantId, ExpiringBooking booking) {
+        redisTemplate.opsForValue().increment(changesKey(tenantId));
+        if (!Boolean.TRUE.equals(redisTemplate.hasKey(readyKey(tenantId)))) {
+            return;
+        }
+        String id = booking.bookingId().toString();
+        redisTemplate.opsForZSet().add(datesKey(tenantId), id, booking.endDate().toEpochDay());
+        redisTemplate.opsForHash().put(bookingsKey(tenantId), id, write(booking));
+    }
+
+    @Override
+    public void remove(UUID tenantId, UUID bookingId) {
+        redisTemplate.opsForValue().increment(changesKey(tenantId));
+        redisTemplate.opsForZSet().remove(datesKey(tenantId), bookingId.toString());
+        redisTemplate.opsForHash().delete(bookingsKey(tenantId), bookingId.toString());
+    }
+
+    @Override
+    public void invalidate(UUID tenantId) {
+        redisTemplate.opsForValue().increment(changesKey(tenantId));
+        redisTemplate.delete(List.of(readyKey(tenantId), datesKey(tenantId), bookingsKey(tenantId)));
+    }
+
+    private String write(ExpiringBooking booking) {
+        try {
+            return objectMapper.writeValueAsString(booking);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize expiring booking " + booking.bookingId(), e);
+        }
+    }
+
+    private ExpiringBooking read(String value) {
+        try {
+            return objectMapper.readValue(value, ExpiringBooking.class);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not read expiring booking from index", e);
+        }
+    }
+
+    private static String datesKey(UUID tenantId) {
+        return "expiring:" + tenantId + ":dates";
+    }
+
+    private static String bookingsKey(UUID tenantId) {
+        return "expiring:" + tenantId + ":bookings";
+    }
+
+    private static String readyKey(UUID tenantId) {
+        return "expiring:" + tenantId + ":ready";
+    }
+
+    private static String changesKey(UUID tenantId) {
+        return "expiring:" + tenantId + ":changes";
+    }
+}
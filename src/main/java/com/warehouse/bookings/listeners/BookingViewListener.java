@@ -0,0 +1,45 @@
+package com.warehouse.bookings.listeners;
+
+import com.warehouse.bookings.events.BookingChangedEvent;
+import com.warehouse.bookings.events.BookingSnapshot;
+import com.warehouse.bookings.events.BookingsPurgedEvent;
+import com.warehouse.bookings.repository.BookingViewRepository;
+import com.warehouse.bookings.repository.BookingViewRepository.Scope;
+import com.warehouse.customers.events.CustomerChangedEvent;
+import com.warehouse.warehouses.events.WarehouseChangedEvent;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * queues the bookings a change affects for re-projection into {@code booking_view}; runs
+ * before commit so a change is never committed without its queue entry
+ */
+@Component
+@RequiredArgsConstructor
+public class BookingViewListener {
+    private final BookingViewRepository bookingViewRepository;
+
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
+    public void handleBookingChanged(BookingChangedEvent event) {
+        BookingSnapshot booking = event.getAfter() != null ? event.getAfter() : event.getBefore();
+        bookingViewRepository.enqueue(event.getTenantId(), Scope.BOOKING, booking.bookingId());
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
+    public void handleBookingsPurged(BookingsPurgedEvent event) {
+        Scope scope = event.getScope() == BookingsPurgedEvent.Scope.WAREHOUSE ? Scope.WAREHOUSE : Scope.CUSTOMER;
+        bookingViewRepository.enqueue(event.getTenantId(), scope, event.getScopeId());
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
+    public void handleCustomerChanged(CustomerChangedEvent event) {
+        bookingViewRepository.enqueue(event.getTenantId(), Scope.CUSTOMER, event.getCustomerId());
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
+    public void handleWarehouseChanged(WarehouseChangedEvent event) {
+        bookingViewRepository.enqueue(event.getTenantId(), Scope.WAREHOUSE, event.getWarehouseId());
+    }
+}
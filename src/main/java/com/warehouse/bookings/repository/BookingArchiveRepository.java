@@ -0,0 +1,86 @@
+package com.warehouse.bookings.repository;
+
+import com.warehouse.bookings.entity.BookingStatus;
+import com.warehouse.bookings.events.BookingSnapshot;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * {@code bookings_archive}: finished bookings moved out of the partitioned bookings table,
+ * with their tenant, warehouse and capacity copied in. Archived bookings leave
+ * {@code booking_view} in the same statement.
+ */
+@Repository
+@RequiredArgsConstructor
+public class BookingArchiveRepository {
+    private static final String MOVE_FINISHED = """
+            WITH doomed AS (
+                SELECT b.id, b.end_date
+                FROM bookings b
+                WHERE b.status <> 'ACTIVE'
+                AND b.end_date < ?
+                ORDER BY b.end_date
+                LIMIT ?
+                FOR UPDATE SKIP LOCKED
+            ), moved AS (
+                DELETE FROM bookings b
+                USING doomed d
+                WHERE b.id = d.id
+                AND b.end_date = d.end_date
+                RETURNING b.*
+            ), unviewed AS (
+                DELETE FROM booking_view v
+                USING doomed d
+                WHERE v.booking_id = d.id
+            )
+            INSERT INTO bookings_archive (id, tenant_id, warehouse_id, customer_id, storage_unit_id, capacity_kg,
+                                          start_date, end_date, monthly_rate, status, created_at, archived_at)
+            SELECT m.id, w.tenant_id, su.warehouse_id, m.customer_id, m.storage_unit_id, su.capacity_kg,
+                   m.start_date, m.end_date, m.monthly_rate, m.status, m.created_at, now()
+            FROM moved m
+            JOIN storage_units su ON su.id = m.storage_unit_id
+            JOIN warehouses w ON w.id = su.warehouse_id
+            RETURNING tenant_id
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * moves up to limit cancelled or completed bookings that ended before cutoff into the archive
+     *
+     * @return tenant of each booking moved
+     */
+    public List<UUID> moveFinishedBefore(LocalDate cutoff, int limit) {
+        return jdbcTemplate.queryForList(MOVE_FINISHED, UUID.class, Date.valueOf(cutoff), limit);
+    }
+
+    /**
+     * snapshots of the tenant's archived bookings, for rebuilding derived stores
+     */
+    public List<BookingSnapshot> findSnapshotsByTenantId(UUID tenantId) {
+        return jdbcTemplate.query("""
+                        SELECT id, tenant_id, customer_id, storage_unit_id, warehouse_id, capacity_kg,
+                               start_date, end_date, monthly_rate, status
+                        FROM bookings_archive
+                        WHERE tenant_id = ?
+                        """,
+                (rs, rowNum) -> new BookingSnapshot(
+                        rs.getObject("id", UUID.class),
+                        rs.getObject("tenant_id", UUID.class),
+                        rs.getObject("customer_id", UUID.class),
+                        rs.getObject("storage_unit_id", UUID.class),
+                        rs.getObject("warehouse_id", UUID.class),
+                        rs.getInt("capacity_kg"),
+                        rs.getObject("start_date", LocalDate.class),
+                        rs.getObject("end_date", LocalDate.class),
+                        rs.getBigDecimal("monthly_rate"),
+                        BookingStatus.valueOf(rs.getString("status"))),
+                tenantId);
+    }
+}
@@ -0,0 +1,240 @@
+package com.warehouse.bookings.repository;
+
+import com.warehouse.bookings.entity.BookingStatus;
+import com.warehouse.common.dto.BookingResponse;
+import com.warehouse.common.dto.ExpiringBooking;
+import com.warehouse.common.id.TimeOrderedUuid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * {@code booking_view}: one flat row per booking with its customer, unit and warehouse
+ * fields copied in, and {@code booking_view_changes}, the queue of bookings to re-project
+ */
+@Repository
+@RequiredArgsConstructor
+public class BookingViewRepository {
+    /**
+     * which bookings a queued change re-projects
+     */
+    public enum Scope {
+        BOOKING("booking_id", "b.id"),
+        CUSTOMER("customer_id", "b.customer_id"),
+        WAREHOUSE("warehouse_id", "su.warehouse_id");
+
+        private final String viewColumn;
+        private final String sourceColumn;
+
+        Scope(String viewColumn, String sourceColumn) {
+            this.viewColumn = viewColumn;
+            this.sourceColumn = sourceColumn;
+        }
+    }
+
+    public record Change(UUID tenantId, Scope scope, UUID key) {
+    }
+
+    /** arbitrary first key of the advisory locks on a tenant's rows of booking_view */
+    private static final int VIEW_LOCK = 0x76696577;
+
+    private static final String EXPIRING_COLUMNS = """
+            SELECT booking_id, customer_company_name, customer_email, start_date, end_date,
+                   warehouse_name, unit_number, capacity_kg, monthly_rate, tenant_id
+            FROM booking_view
+            """;
+
+    private static final RowMapper<ExpiringBooking> EXPIRING_BOOKING = (rs, rowNum) -> new ExpiringBooking(
+            rs.getObject("booking_id", UUID.class),
+            rs.getString("customer_company_name"),
+            rs.getString("customer_email"),
+            rs.getObject("start_date", LocalDate.class),
+            rs.getObject("end_date", LocalDate.class),
+            rs.getString("warehouse_name"),
+            rs.getString("unit_number"),
+            rs.getInt("capacity_kg"),
+            rs.getBigDecimal("monthly_rate"),
+            rs.getObject("tenant_id", UUID.class));
+
+    private static final RowMapper<BookingResponse> BOOKING = (rs, rowNum) -> new BookingResponse(
+            rs.getObject("booking_id", UUID.class),
+            rs.getObject("customer_id", UUID.class),
+            rs.getObject("storage_unit_id", UUID.class),
+            rs.getObject("start_date", LocalDate.class),
+            rs.getObject("end_date", LocalDate.class),
+            rs.getBigDecimal("monthly_rate"),
+            rs.getString("status") == null ? null : BookingStatus.valueOf(rs.getString("status")),
+            rs.getObject("created_at", LocalDateTime.class));
+
+    private static final RowMapper<Change> CHANGE = (rs, rowNum) -> new Change(
+            rs.getObject("tenant_id", UUID.class),
+            Scope.valueOf(rs.getString("scope")),
+            rs.getObject("key", UUID.class));
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * every booking of the tenant
+     */
+    public List<BookingResponse> findByTenantId(UUID tenantId) {
+        return jdbcTemplate.query("""
+                        SELECT booking_id, customer_id, storage_unit_id, start_date, end_date,
+                               monthly_rate, status, created_at
+                        FROM booking_view
+                        WHERE tenant_id = ?
+                        """,
+                BOOKING, tenantId);
+    }
+
+    /**
+     * active bookings of the tenant, ordered by end date
+     */
+    public List<ExpiringBooking> findActiveByTenantId(UUID tenantId) {
+        return jdbcTemplate.query(EXPIRING_COLUMNS + """
+                        WHERE tenant_id = ?
+                        AND status = 'ACTIVE'
+                        ORDER BY end_date
+                        """,
+                EXPIRING_BOOKING, tenantId);
+    }
+
+    /**
+     * active bookings of the tenant ending on or before the date, ordered by end date
+     */
+    public List<ExpiringBooking> findActiveByTenantIdEndingBy(UUID tenantId, LocalDate endDate) {
+        return jdbcTemplate.query(EXPIRING_COLUMNS + """
+                        WHERE tenant_id = ?
+                        AND status = 'ACTIVE'
+                        AND end_date <= ?
+                        ORDER BY end_date
+                        """,
+                EXPIRING_BOOKING, tenantId, Date.valueOf(endDate));
+    }
+
+    /**
+     * queues bookings for re-projection; call inside the transaction making the change
+     */
+    public void enqueue(UUID tenantId, Scope scope, UUID key) {
+        jdbcTemplate.update("INSERT INTO booking_view_changes (id, tenant_id, scope, key) VALUES (?, ?, ?, ?)",
+                TimeOrderedUuid.next(), tenantId, scope.name(), key);
+    }
+
+    public boolean hasPending(UUID tenantId) {
+        return Boolean.TRUE.equals(jdbcTemplate.queryForObject(
+                "SELECT EXISTS (SELECT 1 FROM booking_view_changes WHERE tenant_id = ?)", Boolean.class, tenantId));
+    }
+
+    /**
+     * removes up to limit of the oldest queued changes, skipping those another transaction
+     * holds; they are gone for good once the transaction commits
+     */
+    public List<Change> claimPending(int limit) {
+        return jdbcTemplate.query("""
+                        DELETE FROM booking_view_changes
+                        WHERE id IN (
+                            SELECT id FROM booking_view_changes
+                            ORDER BY id
+                            LIMIT ?
+                            FOR UPDATE SKIP LOCKED
+                        )
+                        RETURNING tenant_id, scope, key
+                        """,
+                CHANGE, limit);
+    }
+
+    /**
+     * removes every queued change of the tenant, waiting for a projector holding some of them
+     */
+    public List<Change> claimPending(UUID tenantId) {
+        return jdbcTemplate.query("""
+                        DELETE FROM booking_view_changes
+                        WHERE id IN (
+                            SELECT id FROM booking_view_changes
+                            WHERE tenant_id = ?
+                            ORDER BY id
+                            FOR UPDATE
+                        )
+                        RETURNING tenant_id, scope, key
+                        """,
+                CHANGE, tenantId);
+    }
+
+    /**
+     * transaction-scoped advisory lock on the tenant's rows of booking_view, released on
+     * commit or rollback. Projections of a tenant's changes claimed by different transactions
+     * take it before refreshing, so each refresh reads the normalized tables only after the
+     * previous one committed and an older projection never overwrites a newer one.
+     * Transactions locking several tenants must lock them in {@link #lockKey} order.
+     */
+    public void lockTenant(UUID tenantId) {
+        jdbcTemplate.query("SELECT pg_advisory_xact_lock(?, ?)", rs -> null, VIEW_LOCK, lockKey(tenantId));
+    }
+
+    public static int lockKey(UUID tenantId) {
+        return Long.hashCode(tenantId.getMostSignificantBits() ^ tenantId.getLeastSignificantBits());
+    }
+
+    /**
+     * @return age in milliseconds of the oldest queued change, 0 when none is queued
+     */
+    public long lagMillis() {
+        Long lag = jdbcTemplate.queryForObject("""
+                        SELECT COALESCE(EXTRACT(EPOCH FROM localtimestamp - MIN(queued_at)) * 1000, 0)::bigint
+                        FROM booking_view_changes
+                        """,
+                Long.class);
+        return lag == null ? 0 : lag;
+    }
+
+    /**
+     * re-projects the bookings matching the keys from the normalized tables, removing rows
+     * of bookings that no longer exist
+     */
+    public void refresh(Scope scope, Collection<UUID> keys) {
+        Object[] ids = keys.toArray();
+        jdbcTemplate.update("""
+                        DELETE FROM booking_view v
+                        WHERE v.%s = ANY (?)
+                        AND NOT EXISTS (SELECT 1 FROM bookings b WHERE b.id = v.booking_id)
+                        """.formatted(scope.viewColumn),
+                ps -> ps.setArray(1, ps.getConnection().createArrayOf("uuid", ids)));
+        jdbcTemplate.update("""
+                        INSERT INTO booking_view (booking_id, tenant_id, customer_id, customer_company_name, customer_email,
+                                                  warehouse_id, warehouse_name, storage_unit_id, unit_number, capacity_kg,
+                                                  start_date, end_date, monthly_rate, status, created_at, projected_at)
+                        SELECT b.id, w.tenant_id, c.id, c.company_name, c.contact_email,
+                               w.id, w.name, su.id, su.unit_number, su.capacity_kg,
+                               b.start_date, b.end_date, b.monthly_rate, b.status, b.created_at, now()
+                        FROM bookings b
+                        JOIN customers c ON c.id = b.customer_id
+                        JOIN storage_units su ON su.id = b.storage_unit_id
+                        JOIN warehouses w ON w.id = su.warehouse_id
+                        WHERE %s = ANY (?)
+                        ON CONFLICT (booking_id) DO UPDATE SET
+                            tenant_id = EXCLUDED.tenant_id,
+                            customer_id = EXCLUDED.customer_id,
+                            customer_company_name = EXCLUDED.customer_company_name,
+                            customer_email = EXCLUDED.customer_email,
+                            warehouse_id = EXCLUDED.warehouse_id,
+                            warehouse_name = EXCLUDED.warehouse_name,
+                            storage_unit_id = EXCLUDED.storage_unit_id,
+                            unit_number = EXCLUDED.unit_number,
+                            capacity_kg = EXCLUDED.capacity_kg,
+                            start_date = EXCLUDED.start_date,
+                            end_date = EXCLUDED.end_date,
+                            monthly_rate = EXCLUDED.monthly_rate,
+                            status = EXCLUDED.status,
+                            created_at = EXCLUDED.created_at,
+                            projected_at = EXCLUDED.projected_at
+                        """.formatted(scope.sourceColumn),
+                ps -> ps.setArray(1, ps.getConnection().createArrayOf("uuid", ids)));
+    }
+}
@@ -1,21 +1,28 @@
 package com.warehouse.bookings.repository;
 
 import com.warehouse.bookings.entity.Booking;
+import com.warehouse.bookings.events.BookingSnapshot;
+import com.warehouse.common.dto.BookingInterval;
+import com.warehouse.common.dto.CustomerCapacity;
 import com.warehouse.common.dto.ExpiringBooking;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
 @Repository
 public interface BookingsRepository extends JpaRepository<Booking, UUID> {
     /**
-     * get bookings that will expire soon for a tenant
+     * one booking as indexed in the expiring-booking index
      */
     @Query("""
             SELECT new com.warehouse.common.dto.ExpiringBooking(
@@ -34,13 +41,9 @@ public interface BookingsRepository extends JpaRepository<Booking, UUID> {
             JOIN Customer c ON b.customerId = c.id
             JOIN StorageUnit su ON b.storageUnitId = su.id
             JOIN Warehouse w ON su.warehouseId = w.id
-            WHERE w.tenantId = :tenantId
-            AND b.endDate <= :endDate
-            AND b.status = 'ACTIVE'
+            WHERE b.id = :bookingId
             """)
-    List<ExpiringBooking> getExpiringBookings(
-            @Param("tenantId") UUID tenantId,
-            @Param("endDate") LocalDate endDate);
+    Optional<ExpiringBooking> findExpiringBookingById(@Param("bookingId") UUID bookingId);
 
     /**
      * Get ALL expiring bookings across ALL tenants (for scheduler)
@@ -80,6 +83,183 @@ public interface BookingsRepository extends JpaRepository<Booking, UUID> {
     List<Booking> findByTenantId(
             @Param("tenantId") UUID tenantId);
 
+    /**
+     * snapshots of a unit's bookings, taken before they are removed together with the unit
+     */
+    @Query("""
+            SELECT new com.warehouse.bookings.events.BookingSnapshot(
+                b.id,
+                w.tenantId,
+                b.customerId,
+                b.storageUnitId,
+                su.warehouseId,
+                su.capacityKg,
+                b.startDate,
+                b.endDate,
+                b.monthlyRate,
+                b.status
+            )
+            FROM Booking b
+            JOIN StorageUnit su ON b.storageUnitId = su.id
+            JOIN Warehouse w ON su.warehouseId = w.id
+            WHERE b.storageUnitId = :storageUnitId
+            """)
+    List<BookingSnapshot> findSnapshotsByStorageUnitId(@Param("storageUnitId") UUID storageUnitId);
+
+    /**
+     * snapshots of a warehouse's bookings, taken before they are removed together with the warehouse
+     */
+    @Query("""
+            SELECT new com.warehouse.bookings.events.BookingSnapshot(
+                b.id,
+                w.tenantId,
+                b.customerId,
+                b.storageUnitId,
+                su.warehouseId,
+                su.capacityKg,
+                b.startDate,
+                b.endDate,
+                b.monthlyRate,
+                b.status
+            )
+            FROM Booking b
+            JOIN StorageUnit su ON b.storageUnitId = su.id
+            JOIN Warehouse w ON su.warehouseId = w.id
+            WHERE su.warehouseId = :warehouseId
+            """)
+    List<BookingSnapshot> findSnapshotsByWarehouseId(@Param("warehouseId") UUID warehouseId);
+
+    /**
+     * snapshots of a customer's bookings, taken before they are removed together with the customer
+     */
+    @Query("""
+            SELECT new com.warehouse.bookings.events.BookingSnapshot(
+                b.id,
+                w.tenantId,
+                b.customerId,
+                b.storageUnitId,
+                su.warehouseId,
+                su.capacityKg,
+                b.startDate,
+                b.endDate,
+                b.monthlyRate,
+                b.status
+            )
+            FROM Booking b
+            JOIN StorageUnit su ON b.storageUnitId = su.id
+            JOIN Warehouse w ON su.warehouseId = w.id
+            WHERE b.customerId = :customerId
+            """)
+    List<BookingSnapshot> findSnapshotsByCustomerId(@Param("customerId") UUID customerId);
+
+    /**
+     * snapshots of every booking of the tenant, for rebuilding derived stores
+     */
+    @Query("""
+            SELECT new com.warehouse.bookings.events.BookingSnapshot(
+                b.id,
+                w.tenantId,
+                b.customerId,
+                b.storageUnitId,
+                su.warehouseId,
+                su.capacityKg,
+                b.startDate,
+                b.endDate,
+                b.monthlyRate,
+                b.status
+            )
+            FROM Booking b
+            JOIN StorageUnit su ON b.storageUnitId = su.id
+            JOIN Warehouse w ON su.warehouseId = w.id
+            WHERE w.tenantId = :tenantId
+            """)
+    List<BookingSnapshot> findSnapshotsByTenantId(@Param("tenantId") UUID tenantId);
+
+    /**
+     * snapshots of the tenant's active bookings that hold an occupied unit
+     */
+    @Query("""
+            SELECT new com.warehouse.bookings.events.BookingSnapshot(
+                b.id,
+                w.tenantId,
+                b.customerId,
+                b.storageUnitId,
+                su.warehouseId,
+                su.capacityKg,
+                b.startDate,
+                b.endDate,
+                b.monthlyRate,
+                b.status
+            )
+            FROM Booking b
+            JOIN StorageUnit su ON b.storageUnitId = su.id
+            JOIN Warehouse w ON su.warehouseId = w.id
+            WHERE w.tenantId = :tenantId
+            AND b.status = 'ACTIVE'
+            AND su.status = 'OCCUPIED'
+            """)
+    List<BookingSnapshot> findActiveSnapshotsByTenantId(@Param("tenantId") UUID tenantId);
+
+    /**
+     * lock bookings in id order, so concurrent bulk moves cannot deadlock
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT b FROM Booking b WHERE b.id IN :ids ORDER BY b.id")
+    List<Booking> findAllByIdWithLock(@Param("ids") Collection<UUID> ids);
+
+    /**
+     * capacity booked by each of the tenant's customers through active bookings
+     */
+    @Query("""
+            SELECT new com.warehouse.common.dto.CustomerCapacity(
+                b.customerId,
+                SUM(su.capacityKg),
+                COUNT(b)
+            )
+            FROM Booking b
+            JOIN StorageUnit su ON b.storageUnitId = su.id
+            JOIN Warehouse w ON su.warehouseId = w.id
+            WHERE w.tenantId = :tenantId
+            AND b.status = 'ACTIVE'
+            GROUP BY b.customerId
+            """)
+    List<CustomerCapacity> getCustomerCapacitiesByTenantId(@Param("tenantId") UUID tenantId);
+
+    /**
+     * date ranges of the tenant's active bookings that overlap [from, to]
+     */
+    @Query("""
+            SELECT new com.warehouse.common.dto.BookingInterval(
+                su.warehouseId,
+                b.startDate,
+                b.endDate
+            )
+            FROM Booking b
+            JOIN StorageUnit su ON b.storageUnitId = su.id
+            JOIN Warehouse w ON su.warehouseId = w.id
+            WHERE w.tenantId = :tenantId
+            AND b.status = 'ACTIVE'
+            AND b.startDate <= :to
+            AND b.endDate >= :from
+            """)
+    List<BookingInterval> findActiveIntervalsByTenantId(
+            @Param("tenantId") UUID tenantId,
+            @Param("from") LocalDate from,
+            @Param("to") LocalDate to);
+
+    /**
+     * get a booking only if its customer belongs to the tenant
+     */
+    @Query("""
+            SELECT b FROM Booking b
+            JOIN Customer c ON b.customerId = c.id
+            WHERE b.id = :bookingId
+            AND c.tenantId = :tenantId
+            """)
+    Optional<Booking> findByIdAndTenantId(
+            @Param("bookingId") UUID bookingId,
+            @Param("tenantId") UUID tenantId);
+
     /**
      * Get unprocessed expiring bookings ... batch processing needs
      */
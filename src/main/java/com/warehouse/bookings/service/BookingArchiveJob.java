@@ -0,0 +1,63 @@
+package com.warehouse.bookings.service;
+
+import com.warehouse.bookings.repository.BookingArchiveRepository;
+import com.warehouse.config.BookingPartitionProperties;
+import com.warehouse.config.TenantCacheGenerations;
+import com.warehouse.shards.service.TenantShards;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.HashSet;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Nightly move of cancelled and completed bookings that ended more than
+ * {@code archive-after-months} ago into {@code bookings_archive}, one batch per
+ * transaction, on every shard. Active bookings are never archived, however old. Revenue rollups keep the
+ * archived bookings' revenue, and a rollup rebuild reads them back from the archive.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class BookingArchiveJob {
+    private final BookingArchiveRepository bookingArchiveRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final TenantCacheGenerations tenantCacheGenerations;
+    private final BookingPartitionProperties properties;
+    private final TenantShards tenantShards;
+
+    @Scheduled(cron = "0 40 2 * * *")
+    public void archive() {
+        if (!properties.enabled()) {
+            return;
+        }
+        LocalDate cutoff = LocalDate.now().minusMonths(properties.archiveAfterMonths());
+        tenantShards.forEachShard(shard ->
+                log.info("Archived {} finished bookings on shard {}", archiveBefore(cutoff), shard));
+    }
+
+    /**
+     * @param cutoff bookings that ended before this day are archived
+     * @return number of bookings archived
+     */
+    public int archiveBefore(LocalDate cutoff) {
+        int batchSize = properties.archiveBatchSize();
+        int total = 0;
+        while (true) {
+            Integer moved = transactionTemplate.execute(status -> {
+                List<UUID> tenants = bookingArchiveRepository.moveFinishedBefore(cutoff, batchSize);
+                new HashSet<>(tenants).forEach(tenantCacheGenerations::bump);
+                return tenants.size();
+            });
+            total += moved;
+            if (moved < batchSize) {
+                return total;
+            }
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package com.warehouse.bookings.service;
+
+import com.warehouse.bookings.entity.Booking;
+import com.warehouse.bookings.events.BookingChangedEvent;
+import com.warehouse.bookings.events.BookingSnapshot;
+import com.warehouse.bookings.events.BookingsPurgedEvent;
+import com.warehouse.bookings.repository.BookingsRepository;
+import com.warehouse.changefeed.service.ChangeFeed;
+import com.warehouse.storage.entity.StorageUnit;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Publishes {@link BookingChangedEvent}s, so stores derived from bookings can be kept up to
+ * date incrementally, and announces each change on the {@link ChangeFeed} for other nodes.
+ * Must be called inside the transaction making the change.
+ */
+@Component
+@RequiredArgsConstructor
+public class BookingChangePublisher {
+    private final ApplicationEventPublisher eventPublisher;
+    private final BookingsRepository bookingsRepository;
+    private final ChangeFeed changeFeed;
+
+    public BookingSnapshot snapshot(Booking booking, StorageUnit unit, UUID tenantId) {
+        return new BookingSnapshot(
+                booking.getId(),
+                tenantId,
+                booking.getCustomerId(),
+                booking.getStorageUnitId(),
+                unit.getWarehouseId(),
+                unit.getCapacityKg(),
+                booking.getStartDate(),
+                booking.getEndDate(),
+                booking.getMonthlyRate(),
+                booking.getStatus()
+        );
+    }
+
+    public void created(BookingSnapshot after) {
+        eventPublisher.publishEvent(
+                new BookingChangedEvent(BookingChangedEvent.Type.CREATED, after.tenantId(), null, after));
+        changeFeed.publish(ChangeFeed.Entity.BOOKING, after.tenantId(), after.bookingId());
+    }
+
+    public void updated(BookingSnapshot before, BookingSnapshot after) {
+        eventPublisher.publishEvent(
+                new BookingChangedEvent(BookingChangedEvent.Type.UPDATED, after.tenantId(), before, after));
+        changeFeed.publish(ChangeFeed.Entity.BOOKING, after.tenantId(), after.bookingId());
+    }
+
+    public void deleted(BookingSnapshot before) {
+        eventPublisher.publishEvent(
+                new BookingChangedEvent(BookingChangedEvent.Type.DELETED, before.tenantId(), before, null));
+        changeFeed.publish(ChangeFeed.Entity.BOOKING, before.tenantId(), before.bookingId());
+    }
+
+    /**
+     * publishes one event for a chunk of a warehouse's or customer's bookings deleted in bulk,
+     * and announces it as a change of that warehouse or customer
+     */
+    public void purged(UUID tenantId, BookingsPurgedEvent.Scope scope, UUID scopeId, List<BookingSnapshot> deleted) {
+        eventPublisher.publishEvent(new BookingsPurgedEvent(tenantId, scope, scopeId, deleted));
+        changeFeed.publish(scope == BookingsPurgedEvent.Scope.WAREHOUSE
+                ? ChangeFeed.Entity.WAREHOUSE : ChangeFeed.Entity.CUSTOMER, tenantId, scopeId);
+    }
+
+    /**
+     * publishes an UPDATED event for every booking of the unit whose capacity is about to change
+     */
+    public void unitCapacityChanging(UUID storageUnitId, int newCapacityKg) {
+        for (BookingSnapshot before : bookingsRepository.findSnapshotsByStorageUnitId(storageUnitId)) {
+            updated(before, before.withCapacityKg(newCapacityKg));
+        }
+    }
+
+    /**
+     * publishes a DELETED event for every booking of the unit, before it is removed with them
+     */
+    public void unitDeleting(UUID storageUnitId) {
+        bookingsRepository.findSnapshotsByStorageUnitId(storageUnitId).forEach(this::deleted);
+    }
+}
@@ -6,6 +6,7 @@ import com.warehouse.bookings.events.BookingExpiringEvent;
 import com.warehouse.bookings.repository.BookingsRepository;
 import com.warehouse.common.dto.ExpiringBooking;
 import com.warehouse.common.exceptions.NotFoundException;
+import com.warehouse.shards.service.TenantShards;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.context.ApplicationEventPublisher;
@@ -13,7 +14,7 @@ import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.LocalDate;
 import java.util.List;
@@ -25,14 +26,20 @@ import java.util.UUID;
 public class BookingExpiryScheduler {
     private final BookingsRepository bookingsRepository;
     private final ApplicationEventPublisher eventPublisher;
+    private final TenantShards tenantShards;
+    private final TransactionTemplate transactionTemplate;
 
     private static final int BATCH_SIZE = 20;
     private static final int MAX_RETRIES = 3;
 
     @Scheduled(cron = "0 0 9 * * *") // run daily at 9am
-    @Transactional
     public void checkExpiringBookings() {
-        log.info("Starting daily expiring bookings check...");
+        tenantShards.forEachShard(shard ->
+                transactionTemplate.executeWithoutResult(status -> checkExpiringBookings(shard)));
+    }
+
+    private void checkExpiringBookings(String shard) {
+        log.info("Starting daily expiring bookings check on shard {}...", shard);
 
         LocalDate sevenDaysFromNow = LocalDate
                 .now().plusDays(7);
@@ -64,9 +71,13 @@ public class BookingExpiryScheduler {
     }
 
     @Scheduled(fixedRate = 3600000) // hourly runs
-    @Transactional
     public void retryFailedNotifications() {
-        log.info("Checking for failed notifications to retry...");
+        tenantShards.forEachShard(shard ->
+                transactionTemplate.executeWithoutResult(status -> retryFailedNotifications(shard)));
+    }
+
+    private void retryFailedNotifications(String shard) {
+        log.info("Checking for failed notifications to retry on shard {}...", shard);
 
         LocalDate sevenDaysFromNow = LocalDate.now().plusDays(7);
         Pageable pageable = PageRequest.of(0, BATCH_SIZE);
@@ -0,0 +1,162 @@
+package com.warehouse.bookings.service;
+
+import com.warehouse.config.BookingPartitionProperties;
+import com.warehouse.shards.service.TenantShards;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Keeps the monthly partitions of {@code bookings} (range-partitioned by end date)
+ * created {@code months-ahead} months in advance on every shard, and drops partitions that
+ * the archive job has emptied.
+ * <p>
+ * A new partition takes over any rows of its month that were parked in
+ * {@code bookings_default}: they are moved into a fresh table, which is then attached, all
+ * in one transaction. Old partitions are only dropped when empty, so a still-active
+ * booking keeps its partition alive.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class BookingPartitionMaintainer {
+    /** arbitrary key of the advisory lock that keeps partition DDL to one instance at a time */
+    private static final long MAINTENANCE_LOCK = 0x626b6e675f707274L;
+    private static final DateTimeFormatter SUFFIX = DateTimeFormatter.ofPattern("yyyy_MM");
+    private static final Pattern MONTHLY_PARTITION = Pattern.compile("bookings_(\\d{4})_(\\d{2})");
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final BookingPartitionProperties properties;
+    private final TenantShards tenantShards;
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(cron = "0 20 2 * * *")
+    public void maintain() {
+        if (!properties.enabled()) {
+            return;
+        }
+        YearMonth now = YearMonth.now();
+        tenantShards.forEachShard(shard -> {
+            int created = ensurePartitions(now.plusMonths(properties.monthsAhead()));
+            int dropped = dropEmptyPartitions(now.minusMonths(properties.archiveAfterMonths()));
+            log.info("Bookings partitions on shard {}: {} created, {} empty ones dropped", shard, created, dropped);
+        });
+    }
+
+    /**
+     * creates the missing monthly partitions from the current month through the given one
+     *
+     * @return number of partitions created
+     */
+    public int ensurePartitions(YearMonth through) {
+        Set<YearMonth> existing = partitions();
+        int created = 0;
+        for (YearMonth month = YearMonth.now(); !month.isAfter(through); month = month.plusMonths(1)) {
+            if (!existing.contains(month) && Boolean.TRUE.equals(transactionTemplate.execute(createPartition(month)))) {
+                created++;
+            }
+        }
+        return created;
+    }
+
+    /**
+     * drops the partitions of months before the given one that hold no bookings
+     *
+     * @return number of partitions dropped
+     */
+    public int dropEmptyPartitions(YearMonth before) {
+        int dropped = 0;
+        for (YearMonth month : partitions()) {
+            if (month.isBefore(before) && Boolean.TRUE.equals(transactionTemplate.execute(dropIfEmpty(month)))) {
+                dropped++;
+            }
+        }
+        return dropped;
+    }
+
+    private TransactionCallback<Boolean> createPartition(YearMonth month) {
+        return status -> {
+            jdbcTemplate.query("SELECT pg_advisory_xact_lock(?)", rs -> null, MAINTENANCE_LOCK);
+            String table = tableName(month);
+            if (exists(table)) {
+                return false;
+            }
+            LocalDate from = month.atDay(1);
+            LocalDate to = month.plusMonths(1).atDay(1);
+
+            jdbcTemplate.execute("CREATE TABLE " + table + " (LIKE bookings INCLUDING DEFAULTS INCLUDING CONSTRAINTS)");
+            int moved = jdbcTemplate.update("""
+                    WITH moved AS (
+                        DELETE FROM bookings_default WHERE end_date >= ? AND end_date < ? RETURNING *
+                    )
+                    INSERT INTO %s SELECT * FROM moved
+                    """.formatted(table), Date.valueOf(from), Date.valueOf(to));
+            jdbcTemplate.execute("ALTER TABLE bookings ATTACH PARTITION " + table
+                    + " FOR VALUES FROM ('" + from + "') TO ('" + to + "')");
+
+            log.info("Created bookings partition {} ({} bookings moved from the default partition)", table, moved);
+            return true;
+        };
+    }
+
+    private TransactionCallback<Boolean> dropIfEmpty(YearMonth month) {
+        return status -> {
+            jdbcTemplate.query("SELECT pg_advisory_xact_lock(?)", rs -> null, MAINTENANCE_LOCK);
+            String table = tableName(month);
+            if (!exists(table)) {
+                return false;
+            }
+            // parent first, the same order inserts take their locks in
+            jdbcTemplate.execute("SET LOCAL lock_timeout = '5s'");
+            jdbcTemplate.execute("LOCK TABLE bookings, " + table + " IN ACCESS EXCLUSIVE MODE");
+            Boolean empty = jdbcTemplate.queryForObject(
+                    "SELECT NOT EXISTS (SELECT 1 FROM " + table + ")", Boolean.class);
+            if (!Boolean.TRUE.equals(empty)) {
+                return false;
+            }
+            jdbcTemplate.execute("DROP TABLE " + table);
+            log.info("Dropped empty bookings partition {}", table);
+            return true;
+        };
+    }
+
+    private Set<YearMonth> partitions() {
+        Set<YearMonth> months = new TreeSet<>();
+        for (String name : jdbcTemplate.queryForList("""
+                SELECT c.relname
+                FROM pg_inherits i
+                JOIN pg_class c ON c.oid = i.inhrelid
+                WHERE i.inhparent = 'bookings'::regclass
+                """, String.class)) {
+            Matcher matcher = MONTHLY_PARTITION.matcher(name);
+            if (matcher.matches()) {
+                months.add(YearMonth.of(Integer.parseInt(matcher.group(1)), Integer.parseInt(matcher.group(2))));
+            }
+        }
+        return months;
+    }
+
+    private boolean exists(String table) {
+        return jdbcTemplate.queryForObject("SELECT to_regclass(?) IS NOT NULL", Boolean.class, table);
+    }
+
+    private static String tableName(YearMonth month) {
+        return "bookings_" + month.format(SUFFIX);
+    }
+}
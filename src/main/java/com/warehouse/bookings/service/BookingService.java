@@ -1,24 +1,36 @@
 package com.warehouse.bookings.service;
 
+import com.warehouse.audit.entity.AuditAction;
+import com.warehouse.audit.service.AuditLog;
 import com.warehouse.bookings.entity.Booking;
 import com.warehouse.bookings.entity.BookingStatus;
+import com.warehouse.bookings.events.BookingSnapshot;
+import com.warehouse.bookings.index.ExpiringBookingIndexer;
+import com.warehouse.bookings.repository.BookingViewRepository;
 import com.warehouse.bookings.repository.BookingsRepository;
+import com.warehouse.common.dto.BookingResponse;
 import com.warehouse.common.dto.CreateBooking;
 import com.warehouse.common.dto.ExpiringBooking;
 import com.warehouse.common.dto.UpdateBooking;
 import com.warehouse.common.exceptions.BookingConflictException;
 import com.warehouse.common.exceptions.NotFoundException;
-import com.warehouse.common.exceptions.UnauthorizedAccessException;
 import com.warehouse.common.mapper.BookingMapper;
+import com.warehouse.config.ReadFromPrimary;
+import com.warehouse.config.TenantCacheGenerations;
 import com.warehouse.customers.entity.Customer;
 import com.warehouse.customers.repository.CustomersRepository;
 import com.warehouse.storage.entity.StorageStatus;
 import com.warehouse.storage.entity.StorageUnit;
+import com.warehouse.storage.events.UnitStatusChangedEvent;
 import com.warehouse.storage.repository.StorageRepository;
+import com.warehouse.storage.service.AvailableUnitsCache;
+import com.warehouse.tenants.service.TenantMembership;
 import jakarta.persistence.OptimisticLockException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Isolation;
@@ -38,6 +50,15 @@ public class BookingService {
     private final BookingMapper bookingMapper;
     private final CustomersRepository customersRepository;
     private final StorageRepository storageRepository;
+    private final TenantCacheGenerations cacheGenerations;
+    private final AvailableUnitsCache availableUnitsCache;
+    private final TenantMembership tenantMembership;
+    private final BookingChangePublisher changePublisher;
+    private final ExpiringBookingIndexer expiringBookingIndexer;
+    private final BookingViewRepository bookingViewRepository;
+    private final BookingViewProjector bookingViewProjector;
+    private final ApplicationEventPublisher eventPublisher;
+    private final AuditLog auditLog;
 
     /**
      * Get bookings that are expiring in a given date
@@ -46,6 +67,7 @@ public class BookingService {
      * @param endDate  given date booking ends
      */
     @Transactional(readOnly = true)
+    @ReadFromPrimary
     public List<ExpiringBooking> getExpiringBookings(
             UUID tenantId,
             LocalDate endDate) {
@@ -57,23 +79,32 @@ public class BookingService {
             throw new IllegalArgumentException("End date cannot be in the past");
         }
 
-        return bookingsRepository.getExpiringBookings(tenantId, endDate);
+        return expiringBookingIndexer.expiringBy(tenantId, endDate);
     }
 
     /**
-     * Get bookings
+     * Rebuild the tenant's expiring-booking index from its active bookings
      *
      * @param tenantId owner of warehouse/storage
+     * @return number of bookings indexed
      */
     @Transactional(readOnly = true)
-    public Object getBookings(UUID tenantId) {
-        List<Booking> bookings = bookingsRepository
-                .findByTenantId(tenantId);
-
-        return bookings
-                .stream()
-                .map(bookingMapper::toDto)
-                .toList();
+    @ReadFromPrimary
+    public int rebuildExpiringIndex(UUID tenantId) {
+        return expiringBookingIndexer.rebuild(tenantId);
+    }
+
+    /**
+     * Get bookings, from the booking view once the tenant's queued changes are projected
+     *
+     * @param tenantId owner of warehouse/storage
+     */
+    @Transactional(readOnly = true)
+    @ReadFromPrimary
+    @Cacheable(value = "bookingLists", key = "@tenantCacheGenerations.key(#tenantId)")
+    public List<BookingResponse> getBookings(UUID tenantId) {
+        bookingViewProjector.catchUp(tenantId);
+        return bookingViewRepository.findByTenantId(tenantId);
     }
 
     /**
@@ -99,6 +130,9 @@ public class BookingService {
     @CacheEvict(value = "tenantStats", key = "#tenantId")
     @Transactional(isolation = Isolation.READ_COMMITTED)
     public Object createBooking(UUID tenantId, CreateBooking request) {
+        tenantMembership.requireCustomer(request.customerId(), tenantId);
+        tenantMembership.requireUnit(request.storageUnitId(), tenantId);
+
         try {
             StorageUnit storageUnit = storageRepository
                     .findByIdWithLock(request.storageUnitId())
@@ -111,15 +145,7 @@ public class BookingService {
             }
 
             Booking booking = new Booking();
-
-            Customer customer = customersRepository.findById(request.customerId())
-                    .orElseThrow(() -> new NotFoundException("Customer not found"));
-
-            if (!customer.getTenantId().equals(tenantId)) {
-                throw new UnauthorizedAccessException(
-                        "Customer does not belong to the same tenant as the storage unit"
-                );
-            }
+            Customer customer = customersRepository.getReferenceById(request.customerId());
 
             booking.setCustomerId(request.customerId());
             booking.setStorageUnitId(request.storageUnitId());
@@ -133,8 +159,14 @@ public class BookingService {
 
             storageUnit.setStatus(StorageStatus.OCCUPIED);
             storageRepository.save(storageUnit);
+            eventPublisher.publishEvent(new UnitStatusChangedEvent(
+                    tenantId, storageUnit.getId(), StorageStatus.AVAILABLE, StorageStatus.OCCUPIED));
 
             Booking newBooking = bookingsRepository.save(booking);
+            changePublisher.created(changePublisher.snapshot(newBooking, storageUnit, tenantId));
+            auditLog.record(tenantId, AuditAction.BOOKING_CREATED, newBooking.getId());
+            cacheGenerations.bump(tenantId);
+            availableUnitsCache.invalidate(tenantId);
             return bookingMapper.toDto(newBooking);
         } catch (OptimisticLockException | ObjectOptimisticLockingFailureException e) {
             log.warn("Optimistic lock failure when booking unit {}: {}",
@@ -160,6 +192,7 @@ public class BookingService {
             UUID tenantId,
             UpdateBooking request) {
         Booking booking = validateBookingOwnership(bookingId, tenantId);
+        BookingSnapshot before = changePublisher.snapshot(booking, booking.getStorageUnit(), tenantId);
 
         if (request.status() != null) {
             booking.setStatus(request.status());
@@ -172,6 +205,9 @@ public class BookingService {
         }
 
         Booking updatedBooking = bookingsRepository.save(booking);
+        changePublisher.updated(before, changePublisher.snapshot(updatedBooking, booking.getStorageUnit(), tenantId));
+        auditLog.record(tenantId, AuditAction.BOOKING_UPDATED, bookingId);
+        cacheGenerations.bump(tenantId);
         return bookingMapper.toDto(updatedBooking);
     }
 
@@ -184,19 +220,13 @@ public class BookingService {
     @Transactional
     public void deleteBooking(UUID bookingId, UUID tenantId) {
         Booking booking = validateBookingOwnership(bookingId, tenantId);
+        changePublisher.deleted(changePublisher.snapshot(booking, booking.getStorageUnit(), tenantId));
+        auditLog.record(tenantId, AuditAction.BOOKING_DELETED, bookingId);
         bookingsRepository.delete(booking);
+        cacheGenerations.bump(tenantId);
     }
 
     private Booking validateBookingOwnership(UUID bookingId, UUID tenantId) {
-        Booking booking = bookingsRepository.findById(bookingId)
-                .orElseThrow(() -> new NotFoundException("Booking not found"));
-
-        Customer customer = customersRepository.findById(booking.getCustomerId())
-                .orElseThrow();
-
-        if (!customer.getTenantId().equals(tenantId)) {
-            throw new UnauthorizedAccessException("Unauthorized Access");
-        }
-        return booking;
+        return tenantMembership.requireBooking(bookingId, tenantId);
     }
 }
@@ -0,0 +1,129 @@
+package com.warehouse.bookings.service;
+
+import com.warehouse.bookings.repository.BookingViewRepository;
+import com.warehouse.bookings.repository.BookingViewRepository.Change;
+import com.warehouse.bookings.repository.BookingViewRepository.Scope;
+import com.warehouse.config.BookingViewProperties;
+import com.warehouse.config.ReadFromPrimary;
+import com.warehouse.shards.service.TenantShards;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Keeps {@code booking_view} up to date. Booking, customer and warehouse changes queue the
+ * affected bookings in {@code booking_view_changes} as part of their own transaction; this
+ * drains the queue every {@code poll-interval} on every shard and re-projects those
+ * bookings from the normalized tables, one batch per transaction.
+ * <p>
+ * Readers that must see their own writes call {@link #catchUp} first, which projects the
+ * tenant's queued changes on the spot. Both paths hold the tenant's view lock while they
+ * refresh, so two projections of the same booking never overlap. The age of the oldest queued change is published
+ * as {@code warehouse.bookings.view.lag}.
+ */
+@Slf4j
+@Component
+public class BookingViewProjector {
+    private final BookingViewRepository bookingViewRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final TransactionTemplate catchUpTemplate;
+    private final BookingViewProperties properties;
+    private final TenantShards tenantShards;
+
+    private final AtomicLong lagMillis = new AtomicLong();
+    private final Counter projectedCounter;
+
+    public BookingViewProjector(BookingViewRepository bookingViewRepository,
+                                PlatformTransactionManager transactionManager,
+                                BookingViewProperties properties,
+                                TenantShards tenantShards,
+                                MeterRegistry meterRegistry) {
+        this.bookingViewRepository = bookingViewRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.catchUpTemplate = new TransactionTemplate(transactionManager);
+        this.catchUpTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.properties = properties;
+        this.tenantShards = tenantShards;
+
+        TimeGauge.builder("warehouse.bookings.view.lag", lagMillis, TimeUnit.MILLISECONDS, AtomicLong::get)
+                .description("age of the oldest booking change not yet in booking_view")
+                .register(meterRegistry);
+        this.projectedCounter = meterRegistry.counter("warehouse.bookings.view.changes");
+    }
+
+    @Scheduled(fixedDelayString = "${warehouse.bookings.view.poll-interval:1s}")
+    public void project() {
+        long lag = 0;
+        for (long shardLag : tenantShards.mapShards(shard -> {
+            long pending = bookingViewRepository.lagMillis();
+            projectPending();
+            return pending;
+        })) {
+            lag = Math.max(lag, shardLag);
+        }
+        lagMillis.set(lag);
+    }
+
+    /**
+     * projects queued changes of the current shard until the queue is empty
+     *
+     * @return number of changes projected
+     */
+    public int projectPending() {
+        int batchSize = properties.batchSize();
+        int total = 0;
+        while (true) {
+            Integer projected = transactionTemplate.execute(status -> apply(bookingViewRepository.claimPending(batchSize)));
+            total += projected;
+            if (projected < batchSize) {
+                return total;
+            }
+        }
+    }
+
+    /**
+     * projects the tenant's queued changes now, in a transaction of its own, so the view
+     * reflects everything the tenant has committed. The queue is checked on the primary: a
+     * replica may not have the latest changes queued yet.
+     */
+    @ReadFromPrimary
+    public void catchUp(UUID tenantId) {
+        if (!bookingViewRepository.hasPending(tenantId)) {
+            return;
+        }
+        catchUpTemplate.executeWithoutResult(status -> apply(bookingViewRepository.claimPending(tenantId)));
+    }
+
+    private int apply(List<Change> changes) {
+        Map<Scope, Set<UUID>> keys = new EnumMap<>(Scope.class);
+        Set<UUID> tenants = new HashSet<>();
+        for (Change change : changes) {
+            keys.computeIfAbsent(change.scope(), scope -> new LinkedHashSet<>()).add(change.key());
+            tenants.add(change.tenantId());
+        }
+        tenants.stream()
+                .sorted(Comparator.comparingInt(BookingViewRepository::lockKey))
+                .forEach(bookingViewRepository::lockTenant);
+        keys.forEach(bookingViewRepository::refresh);
+
+        projectedCounter.increment(changes.size());
+        return changes.size();
+    }
+}
@@ -0,0 +1,111 @@
+package com.warehouse.changefeed.service;
+
+import com.warehouse.config.ChangeFeedProperties;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Announces writes to units, bookings, customers and warehouses to every other node with
+ * PostgreSQL {@code NOTIFY}. A transaction's changes are collected and sent with a single
+ * statement just before it commits; PostgreSQL delivers them only if the commit succeeds.
+ * Each node's {@link ChangeFeedSubscriber} hands them to its {@link ChangeHandler}s.
+ * <p>
+ * The notification goes to the database of the tenant's shard, which every node listens on.
+ */
+@Service
+@RequiredArgsConstructor
+public class ChangeFeed {
+    public enum Entity {
+        UNIT,
+        BOOKING,
+        CUSTOMER,
+        WAREHOUSE
+    }
+
+    /**
+     * @param node        node that made the change
+     * @param publishedAt epoch millis the change was announced at
+     */
+    public record Change(Entity entity, UUID tenantId, UUID id, UUID node, long publishedAt) {
+        static Change parse(String payload) {
+            String[] parts = payload.split(":");
+            return new Change(Entity.valueOf(parts[0]), UUID.fromString(parts[1]), UUID.fromString(parts[2]),
+                    UUID.fromString(parts[3]), Long.parseLong(parts[4]));
+        }
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ChangeFeedProperties properties;
+    private final UUID node = UUID.randomUUID();
+
+    /**
+     * id of this node; its own notifications are ignored by its subscriber
+     */
+    public UUID node() {
+        return node;
+    }
+
+    /**
+     * announces a change once the current transaction commits, or right away without one
+     */
+    public void publish(Entity entity, UUID tenantId, UUID id) {
+        if (!properties.enabled()) {
+            return;
+        }
+        String change = entity + ":" + tenantId + ":" + id;
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            pending().add(change);
+        } else {
+            send(List.of(change));
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private Set<String> pending() {
+        Set<String> pending = (Set<String>) TransactionSynchronizationManager.getResource(this);
+        if (pending == null) {
+            Set<String> changes = new LinkedHashSet<>();
+            TransactionSynchronizationManager.bindResource(this, changes);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void beforeCommit(boolean readOnly) {
+                    send(changes);
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(ChangeFeed.this);
+                }
+            });
+            pending = changes;
+        }
+        return pending;
+    }
+
+    /**
+     * sends each distinct change once, stamped with this node and the time
+     */
+    private void send(Collection<String> changes) {
+        if (changes.isEmpty()) {
+            return;
+        }
+        String stamp = ":" + node + ":" + System.currentTimeMillis();
+        Object[] payloads = changes.stream().map(change -> change + stamp).toArray();
+        jdbcTemplate.query("SELECT pg_notify(?, payload) FROM unnest(?) AS payload",
+                ps -> {
+                    ps.setString(1, properties.channel());
+                    ps.setArray(2, ps.getConnection().createArrayOf("text", payloads));
+                },
+                rs -> {
+                });
+    }
+}
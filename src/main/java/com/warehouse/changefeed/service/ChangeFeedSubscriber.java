@@ -0,0 +1,207 @@
+package com.warehouse.changefeed.service;
+
+import com.warehouse.config.ChangeFeedProperties;
+import com.warehouse.shards.service.TenantShards;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Listens for {@link ChangeFeed} notifications and hands them to every {@link ChangeHandler}.
+ * <p>
+ * Each shard gets a thread holding one connection of the shard's pool with {@code LISTEN}
+ * on the channel. After the first notification arrives the thread keeps collecting for
+ * {@code coalesce-window}, drops this node's own changes and duplicates, and dispatches
+ * the rest as one batch. If the connection breaks, notifications sent meanwhile are lost,
+ * so after reconnecting the handlers are told to drop everything.
+ */
+@Slf4j
+@Component
+public class ChangeFeedSubscriber {
+    private final ChangeFeed changeFeed;
+    private final ChangeFeedProperties properties;
+    private final TenantShards tenantShards;
+    private final List<ChangeHandler> handlers;
+
+    private final Counter received;
+    private final Counter batches;
+    private final Timer lag;
+
+    private final List<Thread> threads = new CopyOnWriteArrayList<>();
+    private volatile boolean running;
+
+    public ChangeFeedSubscriber(ChangeFeed changeFeed,
+                                ChangeFeedProperties properties,
+                                TenantShards tenantShards,
+                                ObjectProvider<ChangeHandler> handlers,
+                                MeterRegistry meterRegistry) {
+        this.changeFeed = changeFeed;
+        this.properties = properties;
+        this.tenantShards = tenantShards;
+        this.handlers = handlers.orderedStream().toList();
+
+        this.received = meterRegistry.counter("warehouse.change_feed.changes");
+        this.batches = meterRegistry.counter("warehouse.change_feed.batches");
+        this.lag = meterRegistry.timer("warehouse.change_feed.lag");
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!properties.enabled() || running) {
+            return;
+        }
+        running = true;
+        for (String shard : tenantShards.names()) {
+            threads.add(Thread.ofPlatform()
+                    .name("change-feed-" + shard)
+                    .daemon()
+                    .start(() -> listen(shard)));
+        }
+    }
+
+    @PreDestroy
+    void stop() {
+        running = false;
+        threads.forEach(Thread::interrupt);
+    }
+
+    private void listen(String shard) {
+        boolean missed = false;
+        while (running) {
+            try (Connection connection = tenantShards.dataSourceOf(shard).getConnection()) {
+                connection.setAutoCommit(true);
+                execute(connection, "LISTEN " + channel());
+                try {
+                    PGConnection listener = connection.unwrap(PGConnection.class);
+                    log.info("Listening for changes on shard {}", shard);
+
+                    if (missed) {
+                        dispatchGap();
+                        missed = false;
+                    }
+                    while (running) {
+                        List<ChangeFeed.Change> changes = receive(listener);
+                        if (!changes.isEmpty()) {
+                            dispatch(changes);
+                        }
+                    }
+                } finally {
+                    // the connection goes back to the pool, which would keep queueing notifications on it
+                    execute(connection, "UNLISTEN *");
+                }
+            } catch (SQLException | RuntimeException e) {
+                if (!running) {
+                    return;
+                }
+                missed = true;
+                log.warn("Change feed listener on shard {} failed, reconnecting in {}. Error: {}",
+                        shard, properties.reconnectDelay(), e.getMessage());
+                try {
+                    Thread.sleep(properties.reconnectDelay());
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    /**
+     * waits up to poll-interval for a notification, then collects for coalesce-window
+     *
+     * @return distinct changes from other nodes, empty if nothing arrived
+     */
+    private List<ChangeFeed.Change> receive(PGConnection listener) throws SQLException {
+        PGNotification[] first = listener.getNotifications(millis(properties.pollInterval()));
+        if (first == null || first.length == 0) {
+            return List.of();
+        }
+
+        Map<String, ChangeFeed.Change> changes = new LinkedHashMap<>();
+        collect(first, changes);
+        long deadline = System.nanoTime() + properties.coalesceWindow().toNanos();
+        for (long left = deadline - System.nanoTime(); left > 0; left = deadline - System.nanoTime()) {
+            collect(listener.getNotifications(millis(Duration.ofNanos(left))), changes);
+        }
+        return new ArrayList<>(changes.values());
+    }
+
+    private void collect(PGNotification[] notifications, Map<String, ChangeFeed.Change> changes) {
+        if (notifications == null) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        for (PGNotification notification : notifications) {
+            ChangeFeed.Change change;
+            try {
+                change = ChangeFeed.Change.parse(notification.getParameter());
+            } catch (RuntimeException e) {
+                log.warn("Ignoring malformed change notification: {}", notification.getParameter());
+                continue;
+            }
+            if (change.node().equals(changeFeed.node())) {
+                continue;
+            }
+            received.increment();
+            lag.record(Math.max(0, now - change.publishedAt()), TimeUnit.MILLISECONDS);
+            changes.putIfAbsent(change.entity() + ":" + change.id(), change);
+        }
+    }
+
+    private void dispatch(List<ChangeFeed.Change> changes) {
+        batches.increment();
+        for (ChangeHandler handler : handlers) {
+            try {
+                handler.onChanges(changes);
+            } catch (RuntimeException e) {
+                log.warn("Change handler {} failed on {} changes. Error: {}",
+                        handler.getClass().getSimpleName(), changes.size(), e.getMessage());
+            }
+        }
+    }
+
+    private void dispatchGap() {
+        log.info("Change feed reconnected; dropping node-local state that may have missed changes");
+        for (ChangeHandler handler : handlers) {
+            try {
+                handler.onGap();
+            } catch (RuntimeException e) {
+                log.warn("Change handler {} failed to reset. Error: {}",
+                        handler.getClass().getSimpleName(), e.getMessage());
+            }
+        }
+    }
+
+    private String channel() {
+        return '"' + properties.channel().replace("\"", "\"\"") + '"';
+    }
+
+    private static void execute(Connection connection, String sql) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute(sql);
+        }
+    }
+
+    private static int millis(Duration duration) {
+        return (int) Math.max(1, duration.toMillis());
+    }
+}
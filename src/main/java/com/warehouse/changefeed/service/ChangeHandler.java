@@ -0,0 +1,19 @@
+package com.warehouse.changefeed.service;
+
+import java.util.Collection;
+
+/**
+ * A node-local store kept in step with writes made on other nodes. Handlers are called from
+ * the change feed's listener threads, so must be thread-safe.
+ */
+public interface ChangeHandler {
+    /**
+     * @param changes distinct changes committed on other nodes since the last call
+     */
+    void onChanges(Collection<ChangeFeed.Change> changes);
+
+    /**
+     * called when the feed reconnected and changes may have been missed; drop everything
+     */
+    void onGap();
+}
@@ -0,0 +1,25 @@
+package com.warehouse.common.dto;
+
+import com.warehouse.audit.entity.AuditAction;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * one audited change
+ *
+ * @param actor    value of the request's X-Actor header, {@code anonymous} without one, {@code system}
+ *                 outside of a request
+ * @param entityId what was changed, null for actions on several entities
+ * @param detail   optional free text, e.g. the shard a tenant moved to
+ */
+public record AuditEntry(
+        UUID id,
+        UUID tenantId,
+        String actor,
+        AuditAction action,
+        UUID entityId,
+        String detail,
+        Instant occurredAt
+) {
+}
@@ -0,0 +1,9 @@
+package com.warehouse.common.dto;
+
+import java.util.List;
+
+public record AvailableUnitsSnapshot(
+        List<StorageUnitResponse> units,
+        long loadedAtEpochMillis
+) {
+}
@@ -0,0 +1,12 @@
+package com.warehouse.common.dto;
+
+import java.time.YearMonth;
+
+public record BillingRunStatus(
+        YearMonth month,
+        boolean running,
+        long partitionsStarted,
+        long partitionsCompleted,
+        long linesWritten
+) {
+}
@@ -0,0 +1,11 @@
+package com.warehouse.common.dto;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+public record BookingInterval(
+        UUID warehouseId,
+        LocalDate startDate,
+        LocalDate endDate
+) {
+}
@@ -0,0 +1,12 @@
+package com.warehouse.common.dto;
+
+import java.util.UUID;
+
+public record BookingMove(
+        UUID bookingId,
+        UUID fromUnitId,
+        UUID fromWarehouseId,
+        UUID toUnitId,
+        UUID toWarehouseId
+) {
+}
@@ -0,0 +1,11 @@
+package com.warehouse.common.dto;
+
+import java.util.List;
+import java.util.UUID;
+
+public record ConsolidationPlan(
+        UUID tenantId,
+        List<UUID> warehousesEmptied,
+        List<BookingMove> moves
+) {
+}
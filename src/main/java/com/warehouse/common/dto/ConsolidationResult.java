@@ -0,0 +1,11 @@
+package com.warehouse.common.dto;
+
+import java.util.List;
+import java.util.UUID;
+
+public record ConsolidationResult(
+        int bookingsMoved,
+        List<UUID> warehousesEmptied,
+        List<UUID> warehousesSkipped
+) {
+}
@@ -0,0 +1,10 @@
+package com.warehouse.common.dto;
+
+import java.util.UUID;
+
+public record CustomerCapacity(
+        UUID customerId,
+        long bookedCapacityKg,
+        long activeBookings
+) {
+}
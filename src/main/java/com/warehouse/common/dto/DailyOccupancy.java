@@ -0,0 +1,10 @@
+package com.warehouse.common.dto;
+
+import java.time.LocalDate;
+
+public record DailyOccupancy(
+        LocalDate date,
+        int occupiedUnits,
+        double occupancyRate
+) {
+}
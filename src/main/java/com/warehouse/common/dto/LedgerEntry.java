@@ -0,0 +1,19 @@
+package com.warehouse.common.dto;
+
+import com.warehouse.ledger.events.LedgerEventType;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * one event of an aggregate's history with the aggregate's state after it; state is a
+ * booking snapshot or a unit status, null once a booking is deleted
+ */
+public record LedgerEntry(
+        UUID aggregateId,
+        int version,
+        LedgerEventType type,
+        Instant recordedAt,
+        Object state
+) {
+}
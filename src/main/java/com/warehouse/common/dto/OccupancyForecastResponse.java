@@ -0,0 +1,11 @@
+package com.warehouse.common.dto;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public record OccupancyForecastResponse(
+        LocalDate from,
+        int days,
+        List<WarehouseForecast> warehouses
+) {
+}
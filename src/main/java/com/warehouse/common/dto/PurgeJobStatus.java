@@ -0,0 +1,33 @@
+package com.warehouse.common.dto;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * progress of a background purge of a warehouse or customer
+ *
+ * @param bookingsDeleted bookings removed so far
+ * @param error           why the purge failed, null unless FAILED
+ */
+public record PurgeJobStatus(
+        UUID jobId,
+        Target target,
+        UUID targetId,
+        UUID tenantId,
+        State state,
+        long bookingsDeleted,
+        Instant startedAt,
+        Instant finishedAt,
+        String error
+) {
+    public enum Target {
+        WAREHOUSE,
+        CUSTOMER
+    }
+
+    public enum State {
+        RUNNING,
+        COMPLETED,
+        FAILED
+    }
+}
@@ -0,0 +1,12 @@
+package com.warehouse.common.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+import java.util.UUID;
+
+public record QuoteRequest(
+        @Schema(description = "Units to price; all the tenant's available units when empty")
+        List<UUID> unitIds
+) {
+}
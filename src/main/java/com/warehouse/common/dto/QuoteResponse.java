@@ -0,0 +1,10 @@
+package com.warehouse.common.dto;
+
+import java.time.Instant;
+import java.util.List;
+
+public record QuoteResponse(
+        Instant occupancyAsOf,
+        List<UnitQuote> quotes
+) {
+}
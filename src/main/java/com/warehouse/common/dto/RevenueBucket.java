@@ -0,0 +1,10 @@
+package com.warehouse.common.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+public record RevenueBucket(
+        LocalDate bucketStart,
+        BigDecimal amount
+) {
+}
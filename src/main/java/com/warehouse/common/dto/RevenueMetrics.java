@@ -0,0 +1,10 @@
+package com.warehouse.common.dto;
+
+import java.math.BigDecimal;
+
+public record RevenueMetrics(
+        BigDecimal today,
+        BigDecimal currentMonth,
+        BigDecimal previousMonth
+) {
+}
@@ -0,0 +1,18 @@
+package com.warehouse.common.dto;
+
+import com.warehouse.revenue.entity.RevenueGranularity;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+public record RevenueResponse(
+        UUID scopeId,
+        RevenueGranularity granularity,
+        LocalDate from,
+        LocalDate to,
+        BigDecimal total,
+        List<RevenueBucket> buckets
+) {
+}
@@ -0,0 +1,7 @@
+package com.warehouse.common.dto;
+
+public record ShardSummary(
+        String name,
+        long tenants
+) {
+}
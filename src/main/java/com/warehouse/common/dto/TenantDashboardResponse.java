@@ -0,0 +1,17 @@
+package com.warehouse.common.dto;
+
+import java.util.List;
+
+/**
+ * tenant's complete business view; components that timed out or failed are null and
+ * listed in degradedComponents
+ */
+public record TenantDashboardResponse(
+        TenantResponse companyInfo,
+        TenantStatResponse warehouseSummary,
+        List<BookingResponse> recentBookings,
+        List<ExpiringBooking> expiringBookings,
+        RevenueMetrics revenueMetrics,
+        List<String> degradedComponents
+) {
+}
@@ -0,0 +1,11 @@
+package com.warehouse.common.dto;
+
+import java.util.UUID;
+
+public record TenantMoveResult(
+        UUID tenantId,
+        String fromShard,
+        String toShard,
+        long rowsCopied
+) {
+}
@@ -0,0 +1,28 @@
+package com.warehouse.common.dto;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * progress of a background move of a tenant to another shard
+ *
+ * @param rowsCopied rows copied to the target, known once the move has COMPLETED
+ * @param error      why the move failed, null unless FAILED
+ */
+public record TenantMoveStatus(
+        UUID jobId,
+        UUID tenantId,
+        String fromShard,
+        String toShard,
+        State state,
+        long rowsCopied,
+        Instant startedAt,
+        Instant finishedAt,
+        String error
+) {
+    public enum State {
+        RUNNING,
+        COMPLETED,
+        FAILED
+    }
+}
@@ -0,0 +1,17 @@
+package com.warehouse.common.dto;
+
+import java.util.UUID;
+
+public record TenantStatSummary(
+        UUID tenantId,
+        long totalWarehouses,
+        long totalCustomers,
+        long totalBookings,
+        long totalUnits,
+        long occupiedUnits
+) {
+    public TenantStatResponse toResponse() {
+        double occupancyRate = totalUnits == 0 ? 0 : occupiedUnits * 100.0 / totalUnits;
+        return new TenantStatResponse(totalWarehouses, totalCustomers, totalBookings, occupancyRate);
+    }
+}
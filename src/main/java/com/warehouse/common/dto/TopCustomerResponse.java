@@ -0,0 +1,11 @@
+package com.warehouse.common.dto;
+
+import java.util.UUID;
+
+public record TopCustomerResponse(
+        UUID customerId,
+        String companyName,
+        long bookedCapacityKg,
+        long activeBookings
+) {
+}
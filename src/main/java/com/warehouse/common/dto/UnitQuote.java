@@ -0,0 +1,13 @@
+package com.warehouse.common.dto;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+public record UnitQuote(
+        UUID unitId,
+        UUID warehouseId,
+        int capacityKg,
+        double occupancyRate,
+        BigDecimal monthlyRate
+) {
+}
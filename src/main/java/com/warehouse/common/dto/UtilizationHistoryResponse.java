@@ -0,0 +1,16 @@
+package com.warehouse.common.dto;
+
+import com.warehouse.utilization.entity.UtilizationResolution;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+public record UtilizationHistoryResponse(
+        UUID warehouseId,
+        UtilizationResolution resolution,
+        LocalDateTime from,
+        LocalDateTime to,
+        List<UtilizationPointResponse> points
+) {
+}
@@ -0,0 +1,13 @@
+package com.warehouse.common.dto;
+
+import java.time.LocalDateTime;
+
+public record UtilizationPointResponse(
+        LocalDateTime bucketStart,
+        int totalUnits,
+        double occupancyAvg,
+        double occupancyMin,
+        double occupancyMax,
+        long samples
+) {
+}
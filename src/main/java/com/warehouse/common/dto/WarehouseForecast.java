@@ -0,0 +1,12 @@
+package com.warehouse.common.dto;
+
+import java.util.List;
+import java.util.UUID;
+
+public record WarehouseForecast(
+        UUID warehouseId,
+        String warehouseName,
+        long totalUnits,
+        List<DailyOccupancy> days
+) {
+}
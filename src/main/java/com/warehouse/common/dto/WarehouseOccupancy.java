@@ -0,0 +1,9 @@
+package com.warehouse.common.dto;
+
+import java.util.UUID;
+
+public record WarehouseOccupancy(
+        UUID warehouseId,
+        double occupancyRate
+) {
+}
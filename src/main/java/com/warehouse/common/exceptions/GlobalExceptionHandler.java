@@ -149,6 +149,43 @@ public class GlobalExceptionHandler {
     }
 
 
+    @ExceptionHandler(TenantEmailTakenException.class)
+    public ResponseEntity<ErrorResponse> handleTenantEmailTakenException(
+            TenantEmailTakenException ex,
+            WebRequest request
+    ) {
+        log.warn("Tenant Email Taken: {} - {}", ex.getMessage(), request.getDescription(false));
+        HttpStatus status = HttpStatus.CONFLICT;
+        return new ResponseEntity<>(
+                new ErrorResponse(
+                        ex.getMessage(),
+                        null,
+                        request.getDescription(false),
+                        status.value()
+                ),
+                status
+        );
+    }
+
+    @ExceptionHandler(TenantMovingException.class)
+    public ResponseEntity<ErrorResponse> handleTenantMovingException(
+            TenantMovingException ex,
+            WebRequest request
+    ) {
+        log.warn("Tenant Moving: {} - {}", ex.getMessage(), request.getDescription(false));
+        HttpStatus status = HttpStatus.SERVICE_UNAVAILABLE;
+        return new ResponseEntity<>(
+                new ErrorResponse(
+                        ex.getMessage(),
+                        null,
+                        request.getDescription(false),
+                        status.value()
+                ),
+                status
+        );
+    }
+
+
     @ExceptionHandler(Exception.class)
     public ResponseEntity<ErrorResponse> handleGlobalException(
             Exception ex, WebRequest request) {
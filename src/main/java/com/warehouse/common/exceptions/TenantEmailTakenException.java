@@ -0,0 +1,11 @@
+package com.warehouse.common.exceptions;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.CONFLICT)
+public class TenantEmailTakenException extends RuntimeException {
+    public TenantEmailTakenException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,11 @@
+package com.warehouse.common.exceptions;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+public class TenantMovingException extends RuntimeException {
+    public TenantMovingException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,54 @@
+package com.warehouse.common.id;
+
+import org.hibernate.engine.config.spi.ConfigurationService;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.generator.BeforeExecutionGenerator;
+import org.hibernate.generator.EventType;
+import org.hibernate.generator.EventTypeSets;
+import org.hibernate.generator.GeneratorCreationContext;
+
+import java.lang.reflect.Member;
+import java.util.EnumSet;
+import java.util.Locale;
+import java.util.UUID;
+
+/**
+ * Hibernate id generator behind {@link TimeOrderedId}. The style is read from the
+ * {@value #STYLE_SETTING} setting ({@code spring.jpa.properties.warehouse.ids.style}):
+ * {@code TIME_ORDERED} (default) for version 7 ids, {@code RANDOM} for version 4 ids as
+ * {@code GenerationType.UUID} produced. Both are plain {@code uuid} values, so switching
+ * style never affects rows already written.
+ */
+public class TimeOrderedUuidGenerator implements BeforeExecutionGenerator {
+    public static final String STYLE_SETTING = "warehouse.ids.style";
+
+    public enum Style {
+        TIME_ORDERED,
+        RANDOM
+    }
+
+    private final Style style;
+
+    public TimeOrderedUuidGenerator(TimeOrderedId config, Member member, GeneratorCreationContext context) {
+        Object setting = context.getServiceRegistry()
+                .requireService(ConfigurationService.class)
+                .getSettings()
+                .get(STYLE_SETTING);
+        this.style = setting == null
+                ? Style.TIME_ORDERED
+                : Style.valueOf(setting.toString().trim().toUpperCase(Locale.ROOT));
+    }
+
+    @Override
+    public Object generate(SharedSessionContractImplementor session,
+                           Object owner,
+                           Object currentValue,
+                           EventType eventType) {
+        return style == Style.TIME_ORDERED ? TimeOrderedUuid.next() : UUID.randomUUID();
+    }
+
+    @Override
+    public EnumSet<EventType> getEventTypes() {
+        return EventTypeSets.INSERT_ONLY;
+    }
+}
@@ -0,0 +1,30 @@
+package com.warehouse.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * settings for the audit log
+ *
+ * @param durability     SYNC_ON_COMMIT writes a transaction's audit rows in the transaction itself, just
+ *                       before it commits; ASYNC queues them once it has committed and writes them in the
+ *                       background, so a crash can lose the last flush-interval of entries
+ * @param bufferCapacity entries the ASYNC queue holds, rounded up to a power of two; when full, entries
+ *                       are written by the caller instead
+ * @param batchSize      entries per batched insert
+ * @param flushInterval  delay between background flushes
+ */
+@ConfigurationProperties(prefix = "warehouse.audit")
+public record AuditProperties(
+        @DefaultValue("ASYNC") Durability durability,
+        @DefaultValue("65536") int bufferCapacity,
+        @DefaultValue("1000") int batchSize,
+        @DefaultValue("200ms") Duration flushInterval
+) {
+    public enum Durability {
+        SYNC_ON_COMMIT,
+        ASYNC
+    }
+}
@@ -0,0 +1,23 @@
+package com.warehouse.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * settings for the month-end billing run
+ *
+ * @param enabled     whether the scheduled run bills the previous month
+ * @param parallelism tenant partitions billed concurrently (each holds a DB connection)
+ * @param chunkSize   bookings per transaction; a checkpoint is written after each chunk
+ * @param fetchSize   rows the JDBC driver fetches per round trip while streaming a chunk
+ * @param batchSize   invoice lines per batched insert
+ */
+@ConfigurationProperties(prefix = "warehouse.billing")
+public record BillingProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue("4") int parallelism,
+        @DefaultValue("5000") int chunkSize,
+        @DefaultValue("1000") int fetchSize,
+        @DefaultValue("1000") int batchSize
+) {
+}
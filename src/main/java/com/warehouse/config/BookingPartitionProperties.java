@@ -0,0 +1,21 @@
+package com.warehouse.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * settings for the monthly bookings partitions and the booking archive
+ *
+ * @param enabled            whether partition maintenance and archival run
+ * @param monthsAhead        months of partitions kept created ahead of the current one
+ * @param archiveAfterMonths months after its end date at which a finished booking is archived
+ * @param archiveBatchSize   bookings moved into the archive per transaction
+ */
+@ConfigurationProperties(prefix = "warehouse.bookings.partitions")
+public record BookingPartitionProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue("24") int monthsAhead,
+        @DefaultValue("12") int archiveAfterMonths,
+        @DefaultValue("5000") int archiveBatchSize
+) {
+}
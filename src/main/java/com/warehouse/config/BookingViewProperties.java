@@ -0,0 +1,19 @@
+package com.warehouse.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * settings for the {@code booking_view} read model
+ *
+ * @param pollInterval how often queued changes are projected into the view
+ * @param batchSize    queued changes projected per transaction
+ */
+@ConfigurationProperties(prefix = "warehouse.bookings.view")
+public record BookingViewProperties(
+        @DefaultValue("1s") Duration pollInterval,
+        @DefaultValue("1000") int batchSize
+) {
+}
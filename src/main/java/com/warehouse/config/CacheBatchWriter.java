@@ -0,0 +1,82 @@
+package com.warehouse.config;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.redis.cache.RedisCache;
+import org.springframework.data.redis.cache.RedisCacheConfiguration;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.connection.RedisStringCommands;
+import org.springframework.data.redis.core.types.Expiration;
+import org.springframework.stereotype.Component;
+
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * Writes many entries into a cache at once. Redis caches get a single pipelined round trip
+ * per batch, any other cache falls back to individual puts.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class CacheBatchWriter {
+    private final CacheManager cacheManager;
+    private final RedisConnectionFactory redisConnectionFactory;
+
+    /**
+     * @param cacheName cache to write to
+     * @param entries   cache key to value
+     */
+    public void putAll(String cacheName, Map<?, ?> entries) {
+        if (entries.isEmpty()) {
+            return;
+        }
+
+        Cache cache = cacheManager.getCache(cacheName);
+        if (cache == null) {
+            throw new IllegalArgumentException("Unknown cache: " + cacheName);
+        }
+
+        if (cache instanceof RedisCache redisCache) {
+            pipeline(redisCache, entries);
+        } else {
+            entries.forEach(cache::put);
+        }
+    }
+
+    private void pipeline(RedisCache cache, Map<?, ?> entries) {
+        RedisCacheConfiguration config = cache.getCacheConfiguration();
+        String prefix = config.usePrefix() ? config.getKeyPrefixFor(cache.getName()) : "";
+
+        try (RedisConnection connection = redisConnectionFactory.getConnection()) {
+            connection.openPipeline();
+            try {
+                entries.forEach((key, value) -> {
+                    byte[] rawKey = toBytes(config.getKeySerializationPair()
+                            .write(prefix + config.getConversionService().convert(key, String.class)));
+                    byte[] rawValue = toBytes(config.getValueSerializationPair().write(value));
+                    Duration ttl = config.getTtlFunction().getTimeToLive(key, value);
+
+                    connection.stringCommands().set(
+                            rawKey,
+                            rawValue,
+                            ttl.isZero() || ttl.isNegative() ? Expiration.persistent() : Expiration.from(ttl),
+                            RedisStringCommands.SetOption.upsert());
+                });
+            } finally {
+                connection.closePipeline();
+            }
+        }
+        log.debug("Pipelined {} entries into cache {}", entries.size(), cache.getName());
+    }
+
+    private static byte[] toBytes(ByteBuffer buffer) {
+        byte[] bytes = new byte[buffer.remaining()];
+        buffer.get(bytes);
+        return bytes;
+    }
+}
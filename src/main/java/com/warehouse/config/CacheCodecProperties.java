@@ -0,0 +1,27 @@
+package com.warehouse.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.util.Map;
+
+/**
+ * value codec used per Redis cache
+ *
+ * @param caches               cache name to codec; caches not listed use JSON
+ * @param compressionThreshold encoded size in bytes above which COMPACT values are deflated, 0 disables compression
+ */
+@ConfigurationProperties(prefix = "warehouse.cache.codec")
+public record CacheCodecProperties(
+        @DefaultValue Map<String, Codec> caches,
+        @DefaultValue("1024") int compressionThreshold
+) {
+    public enum Codec {
+        JSON,
+        COMPACT
+    }
+
+    public Codec codecFor(String cacheName) {
+        return caches.getOrDefault(cacheName, Codec.JSON);
+    }
+}
@@ -0,0 +1,38 @@
+package com.warehouse.config;
+
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.cache.CacheAutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.data.redis.RedisAutoConfiguration;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.data.redis.cache.RedisCacheManager;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+/**
+ * Picks where cache generations live from the cache manager actually in use, so it runs
+ * after the cache auto-configuration (registered in AutoConfiguration.imports).
+ */
+@AutoConfiguration(after = {CacheAutoConfiguration.class, RedisAutoConfiguration.class})
+public class CacheGenerationConfig {
+
+    @Bean
+    @ConditionalOnBean(RedisCacheManager.class)
+    public CacheGenerationStore redisCacheGenerationStore(StringRedisTemplate redisTemplate) {
+        return new RedisCacheGenerationStore(redisTemplate);
+    }
+
+    @Bean
+    @ConditionalOnMissingBean(RedisCacheManager.class)
+    public CacheGenerationStore localCacheGenerationStore() {
+        return new LocalCacheGenerationStore();
+    }
+
+    @Bean
+    @ConditionalOnMissingBean(RedisCacheManager.class)
+    public LocalCacheChangeHandler localCacheChangeHandler(TenantCacheGenerations cacheGenerations,
+                                                           CacheManager cacheManager) {
+        return new LocalCacheChangeHandler(cacheGenerations, cacheManager);
+    }
+}
@@ -0,0 +1,13 @@
+package com.warehouse.config;
+
+import java.util.UUID;
+
+/**
+ * Per-tenant generation counters used to version cache keys. Bumping a counter makes every
+ * entry keyed with the old generation unreachable without touching the entries themselves.
+ */
+public interface CacheGenerationStore {
+    long current(String namespace, UUID tenantId);
+
+    void increment(String namespace, UUID tenantId);
+}
@@ -0,0 +1,18 @@
+package com.warehouse.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * entry TTL per Redis cache
+ *
+ * @param caches cache name to TTL; caches not listed keep the default from RedisConfig
+ */
+@ConfigurationProperties(prefix = "warehouse.cache.ttl")
+public record CacheTtlProperties(
+        @DefaultValue Map<String, Duration> caches
+) {
+}
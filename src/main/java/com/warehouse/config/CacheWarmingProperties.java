@@ -0,0 +1,24 @@
+package com.warehouse.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * settings for warming the tenantStats cache on startup
+ *
+ * @param mode        BULK aggregates chunks of tenants per query, SEQUENTIAL calls getStats per tenant
+ * @param parallelism number of chunks warmed concurrently (each holds a DB connection)
+ * @param chunkSize   tenants per aggregate query and per pipelined cache write
+ */
+@ConfigurationProperties(prefix = "warehouse.cache.warming")
+public record CacheWarmingProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue("BULK") Mode mode,
+        @DefaultValue("4") int parallelism,
+        @DefaultValue("500") int chunkSize
+) {
+    public enum Mode {
+        BULK,
+        SEQUENTIAL
+    }
+}
@@ -1,47 +1,157 @@
 package com.warehouse.config;
 
-import com.warehouse.tenants.entity.Tenant;
+import com.warehouse.common.dto.TenantStatResponse;
+import com.warehouse.common.dto.TenantStatSummary;
+import com.warehouse.shards.service.TenantShards;
 import com.warehouse.tenants.repository.TenantRepository;
 import com.warehouse.tenants.service.TenantService;
-import lombok.RequiredArgsConstructor;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.boot.context.event.ApplicationReadyEvent;
 import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Component;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
 
 @Slf4j
 @Component
-@RequiredArgsConstructor
 public class CacheWarmingService {
+    private static final String CACHE_NAME = "tenantStats";
+
     private final TenantService tenantService;
     private final TenantRepository tenantRepository;
+    private final TenantShards tenantShards;
+    private final CacheBatchWriter cacheBatchWriter;
+    private final CacheWarmingProperties properties;
+
+    private final AtomicInteger totalTenants = new AtomicInteger();
+    private final AtomicInteger processedTenants = new AtomicInteger();
+    private final Counter warmedCounter;
+    private final Counter failedCounter;
+    private final Timer warmingTimer;
+
+    public CacheWarmingService(TenantService tenantService,
+                               TenantRepository tenantRepository,
+                               TenantShards tenantShards,
+                               CacheBatchWriter cacheBatchWriter,
+                               CacheWarmingProperties properties,
+                               MeterRegistry meterRegistry) {
+        this.tenantService = tenantService;
+        this.tenantRepository = tenantRepository;
+        this.tenantShards = tenantShards;
+        this.cacheBatchWriter = cacheBatchWriter;
+        this.properties = properties;
+
+        meterRegistry.gauge("warehouse.cache.warming.tenants.total", totalTenants);
+        meterRegistry.gauge("warehouse.cache.warming.tenants.processed", processedTenants);
+        this.warmedCounter = meterRegistry.counter("warehouse.cache.warming.tenants", "result", "warmed");
+        this.failedCounter = meterRegistry.counter("warehouse.cache.warming.tenants", "result", "failed");
+        this.warmingTimer = meterRegistry.timer("warehouse.cache.warming.duration");
+    }
 
     @EventListener(ApplicationReadyEvent.class)
     public void warmCache() {
-        log.info("Starting cache warming...");
+        if (!properties.enabled()) {
+            log.info("Cache warming disabled");
+            return;
+        }
+
+        log.info("Starting cache warming ({} mode)...", properties.mode());
 
         try {
-            var tenantIds = tenantRepository.findAll()
-                    .stream()
-                    .map(Tenant::getId)
-                    .toList();
+            Map<String, List<UUID>> tenantsByShard = tenantShards.tenantsByShard();
+            List<UUID> tenantIds = tenantsByShard.values().stream().flatMap(List::stream).toList();
+            totalTenants.set(tenantIds.size());
+            processedTenants.set(0);
 
             log.info("Warming cache for {} tenants", tenantIds.size());
 
-            for (UUID tenantId : tenantIds) {
-                try{
-                    tenantService.getStats(tenantId);
-                    log.debug("Warmed cache for tenant: {}", tenantId);
-                } catch (Exception e){
-                    log.warn("Failed to warm cache for tenant {}: {}", tenantId, e.getMessage());
+            warmingTimer.record(() -> {
+                if (properties.mode() == CacheWarmingProperties.Mode.SEQUENTIAL) {
+                    warmSequentially(tenantIds);
+                } else {
+                    warmInBulk(tenantsByShard);
                 }
-            }
+            });
 
-            log.info("Cache warming completed successfully");
+            log.info("Cache warming completed: {} warmed, {} failed",
+                    (long) warmedCounter.count(), (long) failedCounter.count());
         } catch (Exception e) {
             log.error("Cache warming failed: {}", e.getMessage(), e);
         }
     }
+
+    private void warmSequentially(List<UUID> tenantIds) {
+        for (UUID tenantId : tenantIds) {
+            try {
+                tenantService.getStats(tenantId);
+                warmedCounter.increment();
+                log.debug("Warmed cache for tenant: {}", tenantId);
+            } catch (Exception e) {
+                failedCounter.increment();
+                log.warn("Failed to warm cache for tenant {}: {}", tenantId, e.getMessage());
+            } finally {
+                processedTenants.incrementAndGet();
+            }
+        }
+    }
+
+    /**
+     * splits each shard's tenants into chunks; each chunk is one aggregate query on its shard
+     * and one pipelined cache write
+     */
+    private void warmInBulk(Map<String, List<UUID>> tenantsByShard) {
+        int chunkSize = Math.max(1, properties.chunkSize());
+        int parallelism = Math.max(1, properties.parallelism());
+
+        ExecutorService executor = Executors.newFixedThreadPool(parallelism);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            tenantsByShard.forEach((shard, tenantIds) -> {
+                for (int i = 0; i < tenantIds.size(); i += chunkSize) {
+                    List<UUID> chunk = tenantIds.subList(i, Math.min(i + chunkSize, tenantIds.size()));
+                    futures.add(executor.submit(() -> ShardContext.runOn(shard, () -> warmChunk(chunk))));
+                }
+            });
+            for (Future<?> future : futures) {
+                try {
+                    future.get();
+                } catch (Exception e) {
+                    log.warn("Cache warming chunk failed: {}", e.getMessage());
+                }
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    private void warmChunk(List<UUID> chunk) {
+        try {
+            Map<UUID, TenantStatResponse> stats = new HashMap<>();
+            for (TenantStatSummary summary : tenantRepository.getStatisticsForTenants(chunk)) {
+                stats.put(summary.tenantId(), summary.toResponse());
+            }
+
+            cacheBatchWriter.putAll(CACHE_NAME, stats);
+
+            warmedCounter.increment(stats.size());
+            failedCounter.increment(chunk.size() - stats.size());
+        } catch (Exception e) {
+            failedCounter.increment(chunk.size());
+            log.warn("Failed to warm cache for {} tenants: {}", chunk.size(), e.getMessage());
+        } finally {
+            int processed = processedTenants.addAndGet(chunk.size());
+            log.info("Cache warming progress: {}/{} tenants", processed, totalTenants.get());
+        }
+    }
 }
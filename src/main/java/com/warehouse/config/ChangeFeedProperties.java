@@ -0,0 +1,25 @@
+package com.warehouse.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * settings for the LISTEN/NOTIFY change feed that keeps node-local caches in step across instances
+ *
+ * @param enabled        whether writes are announced and each node listens; only needed with several instances
+ * @param channel        NOTIFY channel, the same on every node
+ * @param pollInterval   longest a listener waits for notifications before checking it should stop
+ * @param coalesceWindow how long a listener keeps collecting after the first notification before handing the batch on
+ * @param reconnectDelay wait before reconnecting a listener whose connection broke
+ */
+@ConfigurationProperties(prefix = "warehouse.change-feed")
+public record ChangeFeedProperties(
+        @DefaultValue("false") boolean enabled,
+        @DefaultValue("warehouse_changes") String channel,
+        @DefaultValue("500ms") Duration pollInterval,
+        @DefaultValue("20ms") Duration coalesceWindow,
+        @DefaultValue("1s") Duration reconnectDelay
+) {
+}
@@ -0,0 +1,129 @@
+package com.warehouse.config;
+
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Binary (Jackson Smile) cache value serializer for a single known type.
+ * <p>
+ * Because the type is fixed per cache no class names are written, UUIDs are stored as
+ * 16 raw bytes and repeated property names are back-referenced. Payloads larger than
+ * the compression threshold are deflated. Every payload starts with a one byte header
+ * saying which of the two it is.
+ */
+public class CompactCacheSerializer<T> implements RedisSerializer<T> {
+    private static final byte PLAIN = 1;
+    private static final byte DEFLATED = 2;
+
+    private static final ObjectMapper SMILE_MAPPER = new ObjectMapper(new SmileFactory())
+            .registerModule(new JavaTimeModule());
+
+    private final JavaType type;
+    private final int compressionThreshold;
+
+    /**
+     * @param type                 the type every value in the cache has
+     * @param compressionThreshold encoded size in bytes above which values are deflated, 0 disables compression
+     */
+    public CompactCacheSerializer(JavaType type, int compressionThreshold) {
+        this.type = type;
+        this.compressionThreshold = compressionThreshold;
+    }
+
+    @Override
+    public byte[] serialize(T value) throws SerializationException {
+        if (value == null) {
+            return new byte[0];
+        }
+
+        byte[] encoded;
+        try {
+            encoded = SMILE_MAPPER.writerFor(type).writeValueAsBytes(value);
+        } catch (IOException e) {
+            throw new SerializationException("Could not write " + type + " as Smile", e);
+        }
+
+        if (compressionThreshold > 0 && encoded.length > compressionThreshold) {
+            return withHeader(DEFLATED, deflate(encoded));
+        }
+        return withHeader(PLAIN, encoded);
+    }
+
+    @Override
+    public T deserialize(byte[] bytes) throws SerializationException {
+        if (bytes == null || bytes.length == 0) {
+            return null;
+        }
+
+        byte[] body = Arrays.copyOfRange(bytes, 1, bytes.length);
+        byte[] encoded = switch (bytes[0]) {
+            case PLAIN -> body;
+            case DEFLATED -> inflate(body);
+            // e.g. an entry written by the JSON serializer before the codec was switched
+            default -> throw new SerializationException("Unknown compact cache header: " + bytes[0]);
+        };
+
+        try {
+            return SMILE_MAPPER.readerFor(type).readValue(encoded);
+        } catch (IOException e) {
+            throw new SerializationException("Could not read Smile as " + type, e);
+        }
+    }
+
+    private static byte[] withHeader(byte header, byte[] body) {
+        byte[] result = new byte[body.length + 1];
+        result[0] = header;
+        System.arraycopy(body, 0, result, 1, body.length);
+        return result;
+    }
+
+    private static byte[] deflate(byte[] input) {
+        Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+        try {
+            deflater.setInput(input);
+            deflater.finish();
+
+            ByteArrayOutputStream out = new ByteArrayOutputStream(input.length / 2);
+            byte[] buffer = new byte[1024];
+            while (!deflater.finished()) {
+                out.write(buffer, 0, deflater.deflate(buffer));
+            }
+            return out.toByteArray();
+        } finally {
+            deflater.end();
+        }
+    }
+
+    private static byte[] inflate(byte[] input) {
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(input);
+
+            ByteArrayOutputStream out = new ByteArrayOutputStream(input.length * 3);
+            byte[] buffer = new byte[1024];
+            while (!inflater.finished()) {
+                int read = inflater.inflate(buffer);
+                if (read == 0 && inflater.needsInput()) {
+                    throw new SerializationException("Truncated compressed cache value");
+                }
+                out.write(buffer, 0, read);
+            }
+            return out.toByteArray();
+        } catch (DataFormatException e) {
+            throw new SerializationException("Corrupt compressed cache value", e);
+        } finally {
+            inflater.end();
+        }
+    }
+}
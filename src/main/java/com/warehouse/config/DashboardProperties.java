@@ -0,0 +1,27 @@
+package com.warehouse.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * settings for the tenant dashboard
+ *
+ * @param defaultTimeout     how long a component may take before the dashboard is returned without it
+ * @param timeouts           component name to timeout, overriding defaultTimeout
+ * @param recentBookings     number of most recent bookings shown
+ * @param expiringWithinDays bookings ending within this many days are shown as expiring
+ */
+@ConfigurationProperties(prefix = "warehouse.dashboard")
+public record DashboardProperties(
+        @DefaultValue("2s") Duration defaultTimeout,
+        @DefaultValue Map<String, Duration> timeouts,
+        @DefaultValue("10") int recentBookings,
+        @DefaultValue("30") int expiringWithinDays
+) {
+    public Duration timeoutFor(String component) {
+        return timeouts.getOrDefault(component, defaultTimeout);
+    }
+}
@@ -0,0 +1,125 @@
+package com.warehouse.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.flywaydb.core.Flyway;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.flyway.FlywayProperties;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Replaces the single auto-configured pool once read replicas or shards are enabled:
+ * <pre>
+ * lazy proxy -> {@link ShardRoutingDataSource} -> primary: {@link ReplicaRoutingDataSource} or the primary pool
+ *                                               -> other shards: one pool each
+ * </pre>
+ * The primary pool keeps reading {@code spring.datasource.*} and
+ * {@code spring.datasource.hikari.*}. Flyway migrates the primary as usual; the other shards
+ * are migrated with the same scripts when their pools are created.
+ */
+@Configuration
+@ConditionalOnExpression("${warehouse.replicas.enabled:false} or ${warehouse.shards.enabled:false}")
+public class DataSourceRoutingConfig {
+
+    @Bean
+    @ConfigurationProperties(prefix = "spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder()
+                .type(HikariDataSource.class)
+                .build();
+        dataSource.setPoolName("primary");
+        return dataSource;
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "warehouse.replicas.enabled", havingValue = "true")
+    public ReplicaRoutingDataSource replicaRoutingDataSource(HikariDataSource primaryDataSource,
+                                                             DataSourceProperties dataSourceProperties,
+                                                             ReplicaProperties replicaProperties) {
+        if (replicaProperties.nodes().isEmpty()) {
+            throw new IllegalStateException("warehouse.replicas.enabled is set but no replica nodes are configured");
+        }
+
+        Map<String, HikariDataSource> replicas = new LinkedHashMap<>();
+        for (int i = 0; i < replicaProperties.nodes().size(); i++) {
+            ReplicaProperties.Node node = replicaProperties.nodes().get(i);
+            String name = node.name() != null ? node.name() : "replica-" + i;
+
+            HikariDataSource replica = pool(name, node.url(), node.username(), node.password(),
+                    node.maximumPoolSize(), primaryDataSource, dataSourceProperties);
+            replica.setReadOnly(true);
+            replicas.put(name, replica);
+        }
+
+        return new ReplicaRoutingDataSource(primaryDataSource, replicas, replicaProperties.maxLag());
+    }
+
+    @Bean
+    public ShardRoutingDataSource shardRoutingDataSource(HikariDataSource primaryDataSource,
+                                                         ObjectProvider<ReplicaRoutingDataSource> replicaRoutingDataSource,
+                                                         DataSourceProperties dataSourceProperties,
+                                                         ShardProperties shardProperties,
+                                                         FlywayProperties flywayProperties) {
+        Map<String, HikariDataSource> shards = new LinkedHashMap<>();
+        if (shardProperties.enabled()) {
+            for (ShardProperties.Node node : shardProperties.nodes()) {
+                if (node.name() == null || ShardContext.PRIMARY.equals(node.name()) || shards.containsKey(node.name())) {
+                    throw new IllegalStateException("Shard names must be set, unique and not '" + ShardContext.PRIMARY + "'");
+                }
+                HikariDataSource shard = pool("shard-" + node.name(), node.url(), node.username(), node.password(),
+                        node.maximumPoolSize(), primaryDataSource, dataSourceProperties);
+                migrate(shard, flywayProperties);
+                shards.put(node.name(), shard);
+            }
+        }
+
+        DataSource replicas = replicaRoutingDataSource.getIfAvailable();
+        return new ShardRoutingDataSource(replicas != null ? replicas : primaryDataSource, shards);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(ShardRoutingDataSource shardRoutingDataSource) {
+        return new LazyConnectionDataSourceProxy(shardRoutingDataSource);
+    }
+
+    private static HikariDataSource pool(String name,
+                                         String url,
+                                         String username,
+                                         String password,
+                                         int maximumPoolSize,
+                                         HikariDataSource primary,
+                                         DataSourceProperties primaryProperties) {
+        HikariDataSource pool = new HikariDataSource();
+        pool.setPoolName(name);
+        pool.setJdbcUrl(url);
+        pool.setUsername(username != null ? username : primaryProperties.determineUsername());
+        pool.setPassword(password != null ? password : primaryProperties.determinePassword());
+        pool.setDriverClassName(primary.getDriverClassName());
+        pool.setMaximumPoolSize(maximumPoolSize);
+        return pool;
+    }
+
+    private static void migrate(DataSource shard, FlywayProperties properties) {
+        Boolean transactionalLock = properties.getPostgresql().getTransactionalLock();
+        Flyway.configure()
+                .configuration(transactionalLock == null ? Map.of()
+                        : Map.of("flyway.postgresql.transactional.lock", transactionalLock.toString()))
+                .dataSource(shard)
+                .locations(properties.getLocations().toArray(String[]::new))
+                .baselineOnMigrate(properties.isBaselineOnMigrate())
+                .baselineVersion(properties.getBaselineVersion())
+                .load()
+                .migrate();
+    }
+}
@@ -0,0 +1,40 @@
+package com.warehouse.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.warehouse.bookings.index.ExpiringBookingIndex;
+import com.warehouse.bookings.index.LocalExpiringBookingIndex;
+import com.warehouse.bookings.index.RedisExpiringBookingIndex;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.cache.CacheAutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.data.redis.RedisAutoConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.data.redis.cache.RedisCacheManager;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.time.Duration;
+
+/**
+ * Keeps the index next to the caches: in Redis when the cache manager in use is Redis,
+ * in process otherwise. Registered in AutoConfiguration.imports like {@link CacheGenerationConfig}.
+ */
+@AutoConfiguration(after = {CacheAutoConfiguration.class, RedisAutoConfiguration.class})
+public class ExpiringBookingIndexConfig {
+
+    @Bean
+    @ConditionalOnBean(RedisCacheManager.class)
+    public ExpiringBookingIndex redisExpiringBookingIndex(
+            StringRedisTemplate redisTemplate,
+            ObjectMapper objectMapper,
+            @Value("${warehouse.expiring-index.ttl:24h}") Duration ttl) {
+        return new RedisExpiringBookingIndex(redisTemplate, objectMapper, ttl);
+    }
+
+    @Bean
+    @ConditionalOnMissingBean(RedisCacheManager.class)
+    public LocalExpiringBookingIndex localExpiringBookingIndex() {
+        return new LocalExpiringBookingIndex();
+    }
+}
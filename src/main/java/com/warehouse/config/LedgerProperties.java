@@ -0,0 +1,17 @@
+package com.warehouse.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * settings for the booking and unit ledger
+ *
+ * @param snapshotEvery    an aggregate's snapshot is refreshed on every this many of its events
+ * @param replayFetchSize  ledger rows fetched per round trip while replaying
+ */
+@ConfigurationProperties(prefix = "warehouse.ledger")
+public record LedgerProperties(
+        @DefaultValue("50") int snapshotEvery,
+        @DefaultValue("10000") int replayFetchSize
+) {
+}
@@ -0,0 +1,52 @@
+package com.warehouse.config;
+
+import com.warehouse.changefeed.service.ChangeFeed;
+import com.warehouse.changefeed.service.ChangeHandler;
+import com.warehouse.storage.service.AvailableUnitsCache;
+import lombok.RequiredArgsConstructor;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+
+import java.util.Collection;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+/**
+ * Invalidates the in-process caches of tenants written to on other nodes: bumps their list
+ * and availability generations and evicts their stats. Only registered when caches are not
+ * backed by Redis, where every node already shares the generations.
+ */
+@RequiredArgsConstructor
+public class LocalCacheChangeHandler implements ChangeHandler {
+    private static final String TENANT_STATS = "tenantStats";
+
+    private final TenantCacheGenerations cacheGenerations;
+    private final CacheManager cacheManager;
+
+    @Override
+    public void onChanges(Collection<ChangeFeed.Change> changes) {
+        Set<UUID> tenants = changes.stream()
+                .map(ChangeFeed.Change::tenantId)
+                .collect(Collectors.toSet());
+
+        Cache tenantStats = cacheManager.getCache(TENANT_STATS);
+        for (UUID tenantId : tenants) {
+            cacheGenerations.bump(tenantId);
+            cacheGenerations.bump(AvailableUnitsCache.GENERATION_NAMESPACE, tenantId);
+            if (tenantStats != null) {
+                tenantStats.evict(tenantId);
+            }
+        }
+    }
+
+    @Override
+    public void onGap() {
+        for (String name : cacheManager.getCacheNames()) {
+            Cache cache = cacheManager.getCache(name);
+            if (cache != null) {
+                cache.clear();
+            }
+        }
+    }
+}
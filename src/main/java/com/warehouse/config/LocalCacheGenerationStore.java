@@ -0,0 +1,24 @@
+package com.warehouse.config;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-process generations for when caches are not backed by Redis (single instance, tests).
+ */
+public class LocalCacheGenerationStore implements CacheGenerationStore {
+    private final Map<String, AtomicLong> generations = new ConcurrentHashMap<>();
+
+    @Override
+    public long current(String namespace, UUID tenantId) {
+        AtomicLong generation = generations.get(namespace + ":" + tenantId);
+        return generation == null ? 0 : generation.get();
+    }
+
+    @Override
+    public void increment(String namespace, UUID tenantId) {
+        generations.computeIfAbsent(namespace + ":" + tenantId, k -> new AtomicLong()).incrementAndGet();
+    }
+}
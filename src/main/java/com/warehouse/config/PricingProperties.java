@@ -0,0 +1,32 @@
+package com.warehouse.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+
+/**
+ * settings for occupancy-based unit pricing
+ *
+ * @param baseRatePerKg   monthly rate per kg of capacity at normal occupancy
+ * @param minimumRate     lowest monthly rate quoted for any unit
+ * @param discountBelow   occupancy (%) below which rates are discounted
+ * @param maxDiscount     discount applied to an empty warehouse, e.g. 0.15 for 15%
+ * @param surgeAbove      occupancy (%) above which rates are raised
+ * @param maxSurge        surcharge applied to a full warehouse, e.g. 0.5 for 50%
+ * @param refreshInterval how often the occupancy snapshot is reloaded
+ * @param maxUnits        most units priced in one quote
+ */
+@ConfigurationProperties(prefix = "warehouse.pricing")
+public record PricingProperties(
+        @DefaultValue("1.50") BigDecimal baseRatePerKg,
+        @DefaultValue("25.00") BigDecimal minimumRate,
+        @DefaultValue("40") double discountBelow,
+        @DefaultValue("0.15") double maxDiscount,
+        @DefaultValue("80") double surgeAbove,
+        @DefaultValue("0.5") double maxSurge,
+        @DefaultValue("30s") Duration refreshInterval,
+        @DefaultValue("10000") int maxUnits
+) {
+}
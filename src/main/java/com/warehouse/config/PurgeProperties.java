@@ -0,0 +1,21 @@
+package com.warehouse.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * settings for deleting warehouses and customers together with their bookings
+ *
+ * @param chunkSize    bookings removed per DELETE statement; a background purge commits after each chunk
+ * @param parallelism  background purges run concurrently on this node
+ * @param jobRetention how long a finished background purge can still be looked up
+ */
+@ConfigurationProperties(prefix = "warehouse.purge")
+public record PurgeProperties(
+        @DefaultValue("1000") int chunkSize,
+        @DefaultValue("2") int parallelism,
+        @DefaultValue("1h") Duration jobRetention
+) {
+}
@@ -0,0 +1,18 @@
+package com.warehouse.config;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Keeps a read-only service method's queries on the primary when read replicas are enabled.
+ * For reads that fill a cache under a key a write has just moved on: a replica can be up to
+ * max-lag behind and would store rows from before the write under the new key.
+ *
+ * @see ReplicaRoutingDataSource#callOnPrimary
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface ReadFromPrimary {
+}
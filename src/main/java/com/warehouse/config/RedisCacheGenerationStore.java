@@ -0,0 +1,30 @@
+package com.warehouse.config;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.util.UUID;
+
+/**
+ * Keeps generations in Redis so every instance sees the same counter. The counters never
+ * expire: a reset counter could make old entries reachable again.
+ */
+@RequiredArgsConstructor
+public class RedisCacheGenerationStore implements CacheGenerationStore {
+    private final StringRedisTemplate redisTemplate;
+
+    @Override
+    public long current(String namespace, UUID tenantId) {
+        String value = redisTemplate.opsForValue().get(key(namespace, tenantId));
+        return value == null ? 0 : Long.parseLong(value);
+    }
+
+    @Override
+    public void increment(String namespace, UUID tenantId) {
+        redisTemplate.opsForValue().increment(key(namespace, tenantId));
+    }
+
+    private static String key(String namespace, UUID tenantId) {
+        return "generation:" + namespace + ":" + tenantId;
+    }
+}
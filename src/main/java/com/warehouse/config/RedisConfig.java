@@ -1,6 +1,17 @@
 package com.warehouse.config;
 
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.type.TypeFactory;
+import com.warehouse.common.dto.AvailableUnitsSnapshot;
+import com.warehouse.common.dto.BookingResponse;
+import com.warehouse.common.dto.CustomerResponse;
+import com.warehouse.common.dto.OccupancyForecastResponse;
+import com.warehouse.common.dto.RevenueMetrics;
+import com.warehouse.common.dto.StorageUnitResponse;
+import com.warehouse.common.dto.TenantStatResponse;
+import com.warehouse.common.dto.WarehouseResponse;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.cache.RedisCacheManagerBuilderCustomizer;
 import org.springframework.cache.Cache;
 import org.springframework.cache.annotation.CachingConfigurer;
 import org.springframework.cache.annotation.EnableCaching;
@@ -12,11 +23,29 @@ import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSeriali
 import org.springframework.data.redis.serializer.RedisSerializationContext;
 
 import java.time.Duration;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 @Configuration
 @EnableCaching
 @Slf4j
 public class RedisConfig implements CachingConfigurer {
+    /**
+     * value type of each cache, needed by codecs that do not embed class names
+     */
+    private static final Map<String, JavaType> CACHE_VALUE_TYPES = Map.of(
+            "tenantStats", TypeFactory.defaultInstance().constructType(TenantStatResponse.class),
+            "warehouseLists", listOf(WarehouseResponse.class),
+            "customerLists", listOf(CustomerResponse.class),
+            "storageUnitLists", listOf(StorageUnitResponse.class),
+            "bookingLists", listOf(BookingResponse.class),
+            "availableUnits", TypeFactory.defaultInstance().constructType(AvailableUnitsSnapshot.class),
+            "revenueMetrics", TypeFactory.defaultInstance().constructType(RevenueMetrics.class),
+            "occupancyForecast", TypeFactory.defaultInstance().constructType(OccupancyForecastResponse.class)
+    );
+
     @Bean
     public RedisCacheConfiguration cacheConfiguration() {
         return RedisCacheConfiguration.defaultCacheConfig()
@@ -30,6 +59,49 @@ public class RedisConfig implements CachingConfigurer {
                 );
     }
 
+    /**
+     * applies the per-cache codec and TTL settings on top of the default configuration
+     */
+    @Bean
+    public RedisCacheManagerBuilderCustomizer perCacheConfigurationCustomizer(
+            RedisCacheConfiguration cacheConfiguration,
+            CacheCodecProperties codecProperties,
+            CacheTtlProperties ttlProperties) {
+        return builder -> {
+            Set<String> cacheNames = new HashSet<>(codecProperties.caches().keySet());
+            cacheNames.addAll(ttlProperties.caches().keySet());
+
+            for (String cacheName : cacheNames) {
+                RedisCacheConfiguration config = cacheConfiguration;
+
+                if (codecProperties.codecFor(cacheName) == CacheCodecProperties.Codec.COMPACT) {
+                    JavaType valueType = CACHE_VALUE_TYPES.get(cacheName);
+                    if (valueType == null) {
+                        throw new IllegalStateException("No value type registered for compact cache " + cacheName);
+                    }
+                    config = config.serializeValuesWith(
+                            RedisSerializationContext.SerializationPair.fromSerializer(
+                                    new CompactCacheSerializer<>(valueType, codecProperties.compressionThreshold())
+                            )
+                    );
+                }
+
+                Duration ttl = ttlProperties.caches().get(cacheName);
+                if (ttl != null) {
+                    config = config.entryTtl(ttl);
+                }
+
+                builder.withCacheConfiguration(cacheName, config);
+                log.info("Cache {}: codec {}, ttl {}", cacheName, codecProperties.codecFor(cacheName),
+                        ttl != null ? ttl : config.getTtl());
+            }
+        };
+    }
+
+    private static JavaType listOf(Class<?> elementType) {
+        return TypeFactory.defaultInstance().constructCollectionType(List.class, elementType);
+    }
+
     @Bean
     @Override
     public CacheErrorHandler errorHandler() {
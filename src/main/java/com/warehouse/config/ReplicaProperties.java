@@ -0,0 +1,43 @@
+package com.warehouse.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * settings for routing read-only transactions to read replicas
+ *
+ * @param enabled          whether read-only transactions may use the replicas
+ * @param maxLag           replay lag above which a replica is skipped until it catches up
+ * @param lagCheckInterval how often each replica's lag is measured
+ * @param nodes            replicas; each gets its own connection pool
+ */
+@ConfigurationProperties(prefix = "warehouse.replicas")
+public record ReplicaProperties(
+        @DefaultValue("false") boolean enabled,
+        @DefaultValue("2s") Duration maxLag,
+        @DefaultValue("2s") Duration lagCheckInterval,
+        List<Node> nodes
+) {
+    public ReplicaProperties {
+        nodes = nodes == null ? List.of() : List.copyOf(nodes);
+    }
+
+    /**
+     * @param name            pool name suffix, used in logs and metrics
+     * @param url             JDBC url of the replica
+     * @param username        defaults to the primary's username
+     * @param password        defaults to the primary's password
+     * @param maximumPoolSize connections kept open to the replica
+     */
+    public record Node(
+            String name,
+            String url,
+            String username,
+            String password,
+            @DefaultValue("10") int maximumPoolSize
+    ) {
+    }
+}
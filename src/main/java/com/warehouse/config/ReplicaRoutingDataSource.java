@@ -0,0 +1,138 @@
+package com.warehouse.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Sends read-only transactions to a read replica and everything else to the primary.
+ * <p>
+ * Replicas are picked round-robin among those whose last measured replay lag is within
+ * {@code maxLag}; a replica that lags further, or cannot be reached, is skipped until a
+ * later check finds it caught up. With no usable replica, reads fall back to the primary.
+ * Replicas start out unusable and join after their first lag check. Reads that must see the
+ * latest writes run through {@link #callOnPrimary}, usually via {@link ReadFromPrimary}.
+ * <p>
+ * The lookup key is decided when a connection is first taken, so this must sit behind a
+ * {@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy}: the JPA
+ * transaction manager opens its connection before the transaction is marked read-only.
+ */
+@Slf4j
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource implements AutoCloseable {
+    static final String PRIMARY = "primary";
+
+    /* milliseconds behind; 0 once everything received is replayed, and on a primary, where the replay functions return null */
+    private static final String LAG_SQL = """
+            SELECT CASE WHEN pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0
+                        ELSE COALESCE(EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()) * 1000, 0)
+                   END""";
+
+    private static final ThreadLocal<Boolean> PRIMARY_ONLY = new ThreadLocal<>();
+
+    private final List<Replica> replicas;
+    private final Duration maxLag;
+    private final AtomicInteger next = new AtomicInteger();
+
+    public ReplicaRoutingDataSource(DataSource primary, Map<String, HikariDataSource> replicas, Duration maxLag) {
+        this.replicas = replicas.entrySet().stream()
+                .map(entry -> new Replica(entry.getKey(), entry.getValue()))
+                .toList();
+        this.maxLag = maxLag;
+
+        Map<Object, Object> targets = new HashMap<>(replicas);
+        targets.put(PRIMARY, primary);
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(primary);
+    }
+
+    /**
+     * runs the task with read-only transactions on the primary. Only affects transactions
+     * whose connection is first used inside the task.
+     */
+    public static <T> T callOnPrimary(Supplier<T> task) {
+        if (PRIMARY_ONLY.get() != null) {
+            return task.get();
+        }
+        PRIMARY_ONLY.set(Boolean.TRUE);
+        try {
+            return task.get();
+        } finally {
+            PRIMARY_ONLY.remove();
+        }
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly() || PRIMARY_ONLY.get() != null) {
+            return PRIMARY;
+        }
+        int size = replicas.size();
+        int start = Math.floorMod(next.getAndIncrement(), Math.max(size, 1));
+        for (int i = 0; i < size; i++) {
+            Replica replica = replicas.get((start + i) % size);
+            if (replica.usable) {
+                return replica.name;
+            }
+        }
+        return PRIMARY;
+    }
+
+    /**
+     * Measure the replay lag of every replica and mark which ones may serve reads
+     */
+    @Scheduled(fixedDelayString = "${warehouse.replicas.lag-check-interval:2s}")
+    public void checkLag() {
+        for (Replica replica : replicas) {
+            boolean usable;
+            try (Connection connection = replica.dataSource.getConnection();
+                 Statement statement = connection.createStatement();
+                 ResultSet rs = statement.executeQuery(LAG_SQL)) {
+                rs.next();
+                long lagMillis = rs.getLong(1);
+                usable = lagMillis <= maxLag.toMillis();
+                if (!usable && replica.usable) {
+                    log.warn("Replica {} is {} ms behind, sending its reads to the primary", replica.name, lagMillis);
+                }
+            } catch (SQLException e) {
+                usable = false;
+                if (replica.usable) {
+                    log.warn("Replica {} is unreachable, sending its reads to the primary", replica.name, e);
+                }
+            }
+            if (usable && !replica.usable) {
+                log.info("Replica {} is serving reads", replica.name);
+            }
+            replica.usable = usable;
+        }
+    }
+
+    @Override
+    public void close() {
+        replicas.forEach(replica -> replica.dataSource.close());
+    }
+
+    private static final class Replica {
+        private final String name;
+        private final HikariDataSource dataSource;
+        private volatile boolean usable;
+
+        private Replica(String name, HikariDataSource dataSource) {
+            this.name = name;
+            this.dataSource = dataSource;
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package com.warehouse.config;
+
+import com.warehouse.changefeed.service.ChangeFeed;
+import com.warehouse.changefeed.service.ChangeHandler;
+import com.warehouse.customers.entity.Customer;
+import com.warehouse.warehouses.entity.Warehouse;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.Cache;
+import org.hibernate.SessionFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+
+/**
+ * Evicts customers and warehouses written on other nodes from this node's second-level
+ * cache, along with the query region of their lookups, which may still hold their ids.
+ */
+@Component
+@RequiredArgsConstructor
+public class SecondLevelCacheChangeHandler implements ChangeHandler {
+    private final EntityManagerFactory entityManagerFactory;
+
+    @Override
+    public void onChanges(Collection<ChangeFeed.Change> changes) {
+        Cache cache = cache();
+        boolean customers = false;
+        boolean warehouses = false;
+        for (ChangeFeed.Change change : changes) {
+            if (change.entity() == ChangeFeed.Entity.CUSTOMER) {
+                cache.evictEntityData(Customer.class, change.id());
+                customers = true;
+            } else if (change.entity() == ChangeFeed.Entity.WAREHOUSE) {
+                cache.evictEntityData(Warehouse.class, change.id());
+                warehouses = true;
+            }
+        }
+        if (customers) {
+            cache.evictQueryRegion("customer-lookups");
+        }
+        if (warehouses) {
+            cache.evictQueryRegion("warehouse-lookups");
+        }
+    }
+
+    @Override
+    public void onGap() {
+        cache().evictAllRegions();
+    }
+
+    private Cache cache() {
+        return entityManagerFactory.unwrap(SessionFactory.class).getCache();
+    }
+}
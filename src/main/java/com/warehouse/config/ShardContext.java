@@ -0,0 +1,47 @@
+package com.warehouse.config;
+
+import java.util.function.Supplier;
+
+/**
+ * The shard the current thread's database work goes to, read by
+ * {@link ShardRoutingDataSource} when a connection is first used. Unset means
+ * {@value #PRIMARY}. Tenant-scoped service calls set it through
+ * {@code TenantShardAspect}; cross-tenant jobs set it per shard via {@code TenantShards}.
+ */
+public final class ShardContext {
+    public static final String PRIMARY = "primary";
+
+    private static final ThreadLocal<String> CURRENT = new ThreadLocal<>();
+
+    private ShardContext() {
+    }
+
+    public static String current() {
+        String shard = CURRENT.get();
+        return shard != null ? shard : PRIMARY;
+    }
+
+    /**
+     * runs the task with the given shard as the current one, restoring the previous one afterwards
+     */
+    public static <T> T callOn(String shard, Supplier<T> task) {
+        String previous = CURRENT.get();
+        CURRENT.set(shard);
+        try {
+            return task.get();
+        } finally {
+            if (previous == null) {
+                CURRENT.remove();
+            } else {
+                CURRENT.set(previous);
+            }
+        }
+    }
+
+    public static void runOn(String shard, Runnable task) {
+        callOn(shard, () -> {
+            task.run();
+            return null;
+        });
+    }
+}
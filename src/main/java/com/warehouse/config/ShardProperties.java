@@ -0,0 +1,46 @@
+package com.warehouse.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * settings for spreading tenants over several databases
+ *
+ * @param enabled         whether tenants are routed to shards; off, everything uses the primary database
+ * @param directoryTtl    how long a tenant's shard is cached; a tenant being moved is unavailable this long
+ * @param newTenantShards shards new tenants may be placed on (the least populated one wins); empty means all
+ * @param nodes           shards besides the primary database, which is always shard {@code primary}
+ * @param moveJobRetention how long a finished tenant move can still be looked up
+ */
+@ConfigurationProperties(prefix = "warehouse.shards")
+public record ShardProperties(
+        @DefaultValue("false") boolean enabled,
+        @DefaultValue("10s") Duration directoryTtl,
+        List<String> newTenantShards,
+        List<Node> nodes,
+        @DefaultValue("1h") Duration moveJobRetention
+) {
+    public ShardProperties {
+        newTenantShards = newTenantShards == null ? List.of() : List.copyOf(newTenantShards);
+        nodes = nodes == null ? List.of() : List.copyOf(nodes);
+    }
+
+    /**
+     * @param name            shard name stored in the tenant directory; must never change
+     * @param url             JDBC url of the shard's database
+     * @param username        defaults to the primary's username
+     * @param password        defaults to the primary's password
+     * @param maximumPoolSize connections kept open to the shard
+     */
+    public record Node(
+            String name,
+            String url,
+            String username,
+            String password,
+            @DefaultValue("10") int maximumPoolSize
+    ) {
+    }
+}
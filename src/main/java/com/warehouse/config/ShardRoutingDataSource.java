@@ -0,0 +1,57 @@
+package com.warehouse.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+import javax.sql.DataSource;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Sends each connection to the database of the shard in {@link ShardContext}. The primary
+ * shard's target may itself be a {@link ReplicaRoutingDataSource}; other shards are plain
+ * pools. Like the replica router, this must sit behind a lazy connection proxy so the
+ * shard is picked at the first statement.
+ */
+public class ShardRoutingDataSource extends AbstractRoutingDataSource implements AutoCloseable {
+    private final Map<String, DataSource> shards = new LinkedHashMap<>();
+
+    public ShardRoutingDataSource(DataSource primary, Map<String, HikariDataSource> others) {
+        shards.put(ShardContext.PRIMARY, primary);
+        shards.putAll(others);
+
+        setTargetDataSources(new LinkedHashMap<>(shards));
+        setDefaultTargetDataSource(primary);
+        setLenientFallback(false);
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        return ShardContext.current();
+    }
+
+    public Set<String> names() {
+        return shards.keySet();
+    }
+
+    /**
+     * @return the shard's own DataSource, bypassing routing
+     */
+    public DataSource shard(String name) {
+        DataSource dataSource = shards.get(name);
+        if (dataSource == null) {
+            throw new IllegalArgumentException("Unknown shard: " + name);
+        }
+        return dataSource;
+    }
+
+    @Override
+    public void close() {
+        shards.forEach((name, dataSource) -> {
+            if (!ShardContext.PRIMARY.equals(name) && dataSource instanceof HikariDataSource pool) {
+                pool.close();
+            }
+        });
+    }
+}
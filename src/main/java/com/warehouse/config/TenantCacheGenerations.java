@@ -0,0 +1,71 @@
+package com.warehouse.config;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.UUID;
+
+/**
+ * Builds versioned cache keys for tenant-scoped caches, e.g.
+ * {@code @Cacheable(value = "warehouseLists", key = "@tenantCacheGenerations.key(#tenantId)")}.
+ * A write calls {@link #bump(UUID)} which invalidates every list view of the tenant at once;
+ * the orphaned entries age out by TTL.
+ */
+@Slf4j
+@Component("tenantCacheGenerations")
+@RequiredArgsConstructor
+public class TenantCacheGenerations {
+    public static final String LISTS = "lists";
+
+    private final CacheGenerationStore generationStore;
+
+    /**
+     * @return cache key for the tenant's list views at the current generation
+     */
+    public String key(UUID tenantId) {
+        return key(LISTS, tenantId);
+    }
+
+    public String key(String namespace, UUID tenantId) {
+        try {
+            return tenantId + ":" + generationStore.current(namespace, tenantId);
+        } catch (RuntimeException e) {
+            // a key nobody will ever ask for again: the read goes to the DB, same as a cache outage
+            log.warn("Cache generation lookup failed for tenant {}. Bypassing cache. Error: {}",
+                    tenantId, e.getMessage());
+            return tenantId + ":unversioned:" + UUID.randomUUID();
+        }
+    }
+
+    /**
+     * invalidates the tenant's list views once the current transaction commits
+     */
+    public void bump(UUID tenantId) {
+        bump(LISTS, tenantId);
+    }
+
+    public void bump(String namespace, UUID tenantId) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    increment(namespace, tenantId);
+                }
+            });
+        } else {
+            increment(namespace, tenantId);
+        }
+    }
+
+    private void increment(String namespace, UUID tenantId) {
+        try {
+            generationStore.increment(namespace, tenantId);
+        } catch (RuntimeException e) {
+            log.warn("Cache generation bump failed for tenant {}. List caches may serve stale data until TTL. Error: {}",
+                    tenantId, e.getMessage());
+        }
+    }
+}
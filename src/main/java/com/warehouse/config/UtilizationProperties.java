@@ -0,0 +1,21 @@
+package com.warehouse.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * settings for utilization history
+ *
+ * @param enabled             whether snapshots and compaction run
+ * @param fiveMinuteRetention age after which 5-minute points are rolled into hourly points
+ * @param hourlyRetention     age after which hourly points are rolled into daily points
+ */
+@ConfigurationProperties(prefix = "warehouse.utilization")
+public record UtilizationProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue("2d") Duration fiveMinuteRetention,
+        @DefaultValue("30d") Duration hourlyRetention
+) {
+}
@@ -0,0 +1,60 @@
+package com.warehouse.consolidation.controller;
+
+import com.warehouse.common.dto.ConsolidationPlan;
+import com.warehouse.common.response.ResponseHandler;
+import com.warehouse.consolidation.service.ConsolidationService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.UUID;
+
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/api/v1/consolidation")
+@Tag(
+        name = "Consolidation",
+        description = "Move bookings so occupancy is concentrated in fewer warehouses"
+)
+public class ConsolidationController {
+    private final ConsolidationService consolidationService;
+
+    @Operation(
+            summary = "Plan consolidation",
+            description = "Proposes booking moves from the tenant's least used warehouses into available units " +
+                    "of its most used ones. Nothing is changed"
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Consolidation plan successfully created")
+    })
+    @GetMapping("/plan")
+    public ResponseEntity<Object> plan(@RequestParam UUID tenantId) {
+        return ResponseHandler.responseBuilder(
+                "Consolidation plan successfully created",
+                HttpStatus.OK,
+                consolidationService.plan(tenantId)
+        );
+    }
+
+    @Operation(
+            summary = "Apply consolidation plan",
+            description = "Moves the plan's bookings, one source warehouse at a time. Warehouses whose bookings " +
+                    "or target units changed since the plan was made are skipped"
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Consolidation plan applied")
+    })
+    @PostMapping("/apply")
+    public ResponseEntity<Object> apply(@RequestParam UUID tenantId, @RequestBody ConsolidationPlan plan) {
+        return ResponseHandler.responseBuilder(
+                "Consolidation plan applied",
+                HttpStatus.OK,
+                consolidationService.apply(tenantId, plan)
+        );
+    }
+}
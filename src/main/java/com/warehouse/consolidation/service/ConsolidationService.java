@@ -0,0 +1,163 @@
+package com.warehouse.consolidation.service;
+
+import com.warehouse.audit.entity.AuditAction;
+import com.warehouse.audit.service.AuditLog;
+import com.warehouse.bookings.entity.Booking;
+import com.warehouse.bookings.entity.BookingStatus;
+import com.warehouse.bookings.events.BookingSnapshot;
+import com.warehouse.bookings.repository.BookingsRepository;
+import com.warehouse.bookings.service.BookingChangePublisher;
+import com.warehouse.common.dto.BookingMove;
+import com.warehouse.common.dto.ConsolidationPlan;
+import com.warehouse.common.dto.ConsolidationResult;
+import com.warehouse.common.dto.PricedUnit;
+import com.warehouse.common.exceptions.BookingConflictException;
+import com.warehouse.config.TenantCacheGenerations;
+import com.warehouse.storage.entity.StorageStatus;
+import com.warehouse.storage.entity.StorageUnit;
+import com.warehouse.storage.events.UnitStatusChangedEvent;
+import com.warehouse.storage.repository.StorageRepository;
+import com.warehouse.storage.service.AvailableUnitsCache;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Plans and applies moves of bookings that consolidate a tenant's occupancy into fewer
+ * warehouses. See {@link ConsolidationSolver} for how moves are chosen.
+ * <p>
+ * A plan is applied one source warehouse at a time, each in its own transaction: the
+ * units involved and then the bookings are locked in id order, the plan is checked
+ * against their current state, and all of the warehouse's moves are written together.
+ * A warehouse whose part of the plan is stale is skipped and the rest still applies.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ConsolidationService {
+    private final BookingsRepository bookingsRepository;
+    private final StorageRepository storageRepository;
+    private final BookingChangePublisher changePublisher;
+    private final TenantCacheGenerations cacheGenerations;
+    private final AvailableUnitsCache availableUnitsCache;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final AuditLog auditLog;
+
+    /**
+     * Propose booking moves that empty as many of the tenant's warehouses as possible
+     *
+     * @param tenantId tenant
+     */
+    @Transactional(readOnly = true)
+    public ConsolidationPlan plan(UUID tenantId) {
+        List<BookingSnapshot> occupied = bookingsRepository.findActiveSnapshotsByTenantId(tenantId);
+        List<PricedUnit> available = storageRepository.findPricedUnitsByStatus(tenantId, StorageStatus.AVAILABLE, Limit.unlimited());
+
+        long started = System.nanoTime();
+        ConsolidationPlan plan = ConsolidationSolver.plan(tenantId, occupied, available);
+        log.info("Consolidation plan for tenant {}: {} moves emptying {} warehouses ({} units, {} ms)",
+                tenantId, plan.moves().size(), plan.warehousesEmptied().size(),
+                occupied.size() + available.size(), (System.nanoTime() - started) / 1_000_000);
+        return plan;
+    }
+
+    /**
+     * Apply a plan's moves, one source warehouse per transaction
+     *
+     * @param tenantId tenant owning every unit in the plan
+     * @param plan     plan from {@link #plan}
+     */
+    public ConsolidationResult apply(UUID tenantId, ConsolidationPlan plan) {
+        Map<UUID, List<BookingMove>> movesByWarehouse = new LinkedHashMap<>();
+        for (BookingMove move : plan.moves()) {
+            movesByWarehouse.computeIfAbsent(move.fromWarehouseId(), id -> new ArrayList<>()).add(move);
+        }
+
+        int moved = 0;
+        List<UUID> emptied = new ArrayList<>();
+        List<UUID> skipped = new ArrayList<>();
+
+        for (Map.Entry<UUID, List<BookingMove>> entry : movesByWarehouse.entrySet()) {
+            try {
+                transactionTemplate.executeWithoutResult(status -> {
+                    moveAll(tenantId, entry.getValue());
+                    auditLog.record(tenantId, AuditAction.UNITS_CONSOLIDATED, entry.getKey(),
+                            "moved " + entry.getValue().size() + " bookings");
+                });
+                moved += entry.getValue().size();
+                emptied.add(entry.getKey());
+            } catch (BookingConflictException e) {
+                log.warn("Skipped consolidating warehouse {}: {}", entry.getKey(), e.getMessage());
+                skipped.add(entry.getKey());
+            }
+        }
+
+        if (moved > 0) {
+            cacheGenerations.bump(tenantId);
+            availableUnitsCache.invalidate(tenantId);
+        }
+
+        return new ConsolidationResult(moved, emptied, skipped);
+    }
+
+    private void moveAll(UUID tenantId, List<BookingMove> moves) {
+        Set<UUID> unitIds = new HashSet<>();
+        Set<UUID> bookingIds = new HashSet<>();
+        for (BookingMove move : moves) {
+            unitIds.add(move.fromUnitId());
+            unitIds.add(move.toUnitId());
+            bookingIds.add(move.bookingId());
+        }
+        if (unitIds.size() != moves.size() * 2 || bookingIds.size() != moves.size()) {
+            throw new BookingConflictException("Plan moves a booking or unit more than once");
+        }
+
+        Map<UUID, StorageUnit> units = storageRepository.findAllByIdAndTenantIdWithLock(unitIds, tenantId).stream()
+                .collect(Collectors.toMap(StorageUnit::getId, Function.identity()));
+        Map<UUID, Booking> bookings = bookingsRepository.findAllByIdWithLock(bookingIds).stream()
+                .collect(Collectors.toMap(Booking::getId, Function.identity()));
+
+        for (BookingMove move : moves) {
+            StorageUnit from = units.get(move.fromUnitId());
+            StorageUnit to = units.get(move.toUnitId());
+            Booking booking = bookings.get(move.bookingId());
+
+            if (from == null || to == null || booking == null) {
+                throw new BookingConflictException("Booking or unit in plan no longer exists");
+            }
+            if (!booking.getStorageUnitId().equals(from.getId()) || booking.getStatus() != BookingStatus.ACTIVE
+                    || from.getStatus() != StorageStatus.OCCUPIED) {
+                throw new BookingConflictException("Booking " + booking.getId() + " changed since the plan was made");
+            }
+            if (to.getStatus() != StorageStatus.AVAILABLE || to.getCapacityKg() < from.getCapacityKg()) {
+                throw new BookingConflictException("Unit " + to.getId() + " can no longer take booking " + booking.getId());
+            }
+
+            BookingSnapshot before = changePublisher.snapshot(booking, from, tenantId);
+            booking.setStorageUnitId(to.getId());
+            booking.setStorageUnit(to);
+            from.setStatus(StorageStatus.AVAILABLE);
+            to.setStatus(StorageStatus.OCCUPIED);
+            changePublisher.updated(before, changePublisher.snapshot(booking, to, tenantId));
+            eventPublisher.publishEvent(new UnitStatusChangedEvent(
+                    tenantId, from.getId(), StorageStatus.OCCUPIED, StorageStatus.AVAILABLE));
+            eventPublisher.publishEvent(new UnitStatusChangedEvent(
+                    tenantId, to.getId(), StorageStatus.AVAILABLE, StorageStatus.OCCUPIED));
+        }
+    }
+}
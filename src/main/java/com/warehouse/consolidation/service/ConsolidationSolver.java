@@ -0,0 +1,144 @@
+package com.warehouse.consolidation.service;
+
+import com.warehouse.bookings.events.BookingSnapshot;
+import com.warehouse.common.dto.BookingMove;
+import com.warehouse.common.dto.ConsolidationPlan;
+import com.warehouse.common.dto.PricedUnit;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.UUID;
+
+/**
+ * Greedy planner that empties the least used warehouses into the most used ones.
+ * <p>
+ * Warehouses holding bookings are ranked by occupied units, most first. Starting from the
+ * least occupied, each warehouse tries to move all its bookings into available units of
+ * warehouses ranked above it, largest booking first, each into the smallest unit that is
+ * at least as large as the one it leaves (best fit, from a {@link TreeMap} of free units
+ * keyed by capacity). If any booking does not fit, the warehouse keeps all of them.
+ * Planning stops at the first warehouse that has received bookings, so no warehouse is
+ * both filled and emptied. Runs in O(n log n) over the units.
+ */
+public final class ConsolidationSolver {
+
+    private ConsolidationSolver() {
+    }
+
+    /**
+     * @param tenantId  tenant the plan is for
+     * @param occupied  active bookings holding occupied units
+     * @param available available units
+     */
+    public static ConsolidationPlan plan(UUID tenantId, List<BookingSnapshot> occupied, List<PricedUnit> available) {
+        Map<UUID, List<BookingSnapshot>> bookingsByWarehouse = new HashMap<>();
+        for (BookingSnapshot booking : occupied) {
+            bookingsByWarehouse.computeIfAbsent(booking.warehouseId(), id -> new ArrayList<>()).add(booking);
+        }
+
+        Map<UUID, Integer> availableCount = new HashMap<>();
+        for (PricedUnit unit : available) {
+            availableCount.merge(unit.warehouseId(), 1, Integer::sum);
+        }
+
+        List<UUID> ranked = new ArrayList<>(bookingsByWarehouse.keySet());
+        ranked.sort(Comparator
+                .comparing((UUID id) -> bookingsByWarehouse.get(id).size(), Comparator.reverseOrder())
+                .thenComparing(id -> availableCount.getOrDefault(id, 0), Comparator.reverseOrder())
+                .thenComparing(Comparator.naturalOrder()));
+
+        Map<UUID, Integer> rankOf = HashMap.newHashMap(ranked.size());
+        for (int i = 0; i < ranked.size(); i++) {
+            rankOf.put(ranked.get(i), i);
+        }
+
+        FreeUnits free = new FreeUnits();
+        for (PricedUnit unit : available) {
+            Integer rank = rankOf.get(unit.warehouseId());
+            if (rank != null) {
+                free.add(new Slot(unit, rank));
+            }
+        }
+
+        boolean[] received = new boolean[ranked.size()];
+        List<UUID> emptied = new ArrayList<>();
+        List<BookingMove> moves = new ArrayList<>();
+
+        for (int donor = ranked.size() - 1; donor > 0 && !received[donor]; donor--) {
+            List<BookingSnapshot> bookings = bookingsByWarehouse.get(ranked.get(donor));
+            bookings.sort(Comparator.comparing(BookingSnapshot::capacityKg).reversed());
+
+            List<Slot> taken = new ArrayList<>(bookings.size());
+            for (BookingSnapshot booking : bookings) {
+                Slot slot = free.takeBestFit(booking.capacityKg(), donor);
+                if (slot == null) {
+                    break;
+                }
+                taken.add(slot);
+            }
+
+            if (taken.size() < bookings.size()) {
+                taken.forEach(free::giveBack);
+                continue;
+            }
+
+            for (int i = 0; i < bookings.size(); i++) {
+                BookingSnapshot booking = bookings.get(i);
+                Slot slot = taken.get(i);
+                received[slot.rank()] = true;
+                moves.add(new BookingMove(booking.bookingId(), booking.storageUnitId(), booking.warehouseId(),
+                        slot.unit().unitId(), slot.unit().warehouseId()));
+            }
+            emptied.add(ranked.get(donor));
+        }
+
+        return new ConsolidationPlan(tenantId, emptied, moves);
+    }
+
+    private record Slot(PricedUnit unit, int rank) {
+    }
+
+    /**
+     * available units keyed by capacity. Units of warehouses at or below the current donor's
+     * rank are dropped lazily when met, since donors only move up the ranking.
+     */
+    private static final class FreeUnits {
+        private final TreeMap<Integer, ArrayDeque<Slot>> byCapacity = new TreeMap<>();
+
+        void add(Slot slot) {
+            byCapacity.computeIfAbsent(slot.unit().capacityKg(), capacity -> new ArrayDeque<>()).addLast(slot);
+        }
+
+        void giveBack(Slot slot) {
+            byCapacity.computeIfAbsent(slot.unit().capacityKg(), capacity -> new ArrayDeque<>()).addFirst(slot);
+        }
+
+        Slot takeBestFit(int minCapacityKg, int donorRank) {
+            Map.Entry<Integer, ArrayDeque<Slot>> entry = byCapacity.ceilingEntry(minCapacityKg);
+            while (entry != null) {
+                ArrayDeque<Slot> slots = entry.getValue();
+                Slot slot = null;
+                while (!slots.isEmpty()) {
+                    Slot head = slots.pollFirst();
+                    if (head.rank() < donorRank) {
+                        slot = head;
+                        break;
+                    }
+                }
+                if (slots.isEmpty()) {
+                    byCapacity.remove(entry.getKey());
+                }
+                if (slot != null) {
+                    return slot;
+                }
+                entry = byCapacity.higherEntry(entry.getKey());
+            }
+            return null;
+        }
+    }
+}
@@ -4,6 +4,7 @@ import com.warehouse.common.dto.CustomerRequest;
 import com.warehouse.common.dto.UpdateCustomer;
 import com.warehouse.common.response.ResponseHandler;
 import com.warehouse.customers.service.CustomerService;
+import com.warehouse.purge.service.PurgeJobs;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
@@ -24,6 +25,7 @@ import java.util.UUID;
 public class CustomerController {
 
     private final CustomerService customerService;
+    private final PurgeJobs purgeJobs;
 
     @GetMapping("?tenantId={id}")
     public ResponseEntity<Object> getCustomers(
@@ -76,8 +78,16 @@ public class CustomerController {
     @DeleteMapping("/{customerId}?tenantId={id}")
     public ResponseEntity<Object> deleteCustomer(
             @PathVariable UUID customerId,
-            @RequestParam UUID tenantId
+            @RequestParam UUID tenantId,
+            @RequestParam(defaultValue = "false") boolean async
     ) {
+        if (async) {
+            return ResponseHandler.responseBuilder(
+                    "Customer purge started",
+                    HttpStatus.ACCEPTED,
+                    purgeJobs.purgeCustomer(tenantId, customerId)
+            );
+        }
         customerService.deleteCustomer(customerId, tenantId);
         return ResponseHandler.responseBuilder(
                 "Customer successfully deleted",
@@ -1,10 +1,12 @@
 package com.warehouse.customers.entity;
 
-
 import com.warehouse.bookings.entity.Booking;
+import com.warehouse.common.id.TimeOrderedId;
 import com.warehouse.tenants.entity.Tenant;
 import jakarta.persistence.*;
 import lombok.Data;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.CreationTimestamp;
 
 import java.time.LocalDateTime;
@@ -14,9 +16,11 @@ import java.util.UUID;
 @Entity
 @Data
 @Table(name = "customers")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "customers")
 public class Customer {
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
+    @TimeOrderedId
     private UUID id;
 
     @Column(name = "tenant_id", nullable = false)
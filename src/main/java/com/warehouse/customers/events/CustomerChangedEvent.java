@@ -0,0 +1,20 @@
+package com.warehouse.customers.events;
+
+import lombok.Getter;
+
+import java.util.UUID;
+
+/**
+ * Published inside the transaction that changes a customer's name or contact email, so
+ * stores that copy those fields can refresh them.
+ */
+@Getter
+public class CustomerChangedEvent {
+    private final UUID tenantId;
+    private final UUID customerId;
+
+    public CustomerChangedEvent(UUID tenantId, UUID customerId) {
+        this.tenantId = tenantId;
+        this.customerId = customerId;
+    }
+}
@@ -1,7 +1,12 @@
 package com.warehouse.customers.repository;
 
 import com.warehouse.customers.entity.Customer;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -12,5 +17,12 @@ import java.util.UUID;
 public interface CustomersRepository extends JpaRepository<Customer, UUID> {
     List<Customer> findByTenantId(UUID tenantId);
 
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = "customer-lookups")
+    })
     Optional<Customer> findByIdAndTenantId(UUID id, UUID tenantId);
+
+    @Query("SELECT c.tenantId FROM Customer c WHERE c.id = :customerId")
+    Optional<UUID> findTenantIdById(@Param("customerId") UUID customerId);
 }
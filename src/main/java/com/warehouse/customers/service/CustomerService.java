@@ -1,16 +1,27 @@
 package com.warehouse.customers.service;
 
+import com.warehouse.audit.entity.AuditAction;
+import com.warehouse.audit.service.AuditLog;
+import com.warehouse.bookings.index.ExpiringBookingIndexer;
+import com.warehouse.changefeed.service.ChangeFeed;
 import com.warehouse.common.dto.CustomerRequest;
 import com.warehouse.common.dto.CustomerResponse;
 import com.warehouse.common.dto.UpdateCustomer;
 import com.warehouse.common.exceptions.NotFoundException;
 import com.warehouse.common.mapper.CustomerMapper;
+import com.warehouse.config.ReadFromPrimary;
+import com.warehouse.config.TenantCacheGenerations;
 import com.warehouse.customers.entity.Customer;
+import com.warehouse.customers.events.CustomerChangedEvent;
 import com.warehouse.customers.repository.CustomersRepository;
+import com.warehouse.purge.service.PurgeService;
 import com.warehouse.tenants.entity.Tenant;
 import com.warehouse.tenants.repository.TenantRepository;
+import com.warehouse.tenants.service.TenantMembership;
 import lombok.RequiredArgsConstructor;
 import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -25,6 +36,13 @@ public class CustomerService {
     private final CustomersRepository customersRepository;
     private final CustomerMapper customerMapper;
     private final TenantRepository tenantRepository;
+    private final TenantCacheGenerations cacheGenerations;
+    private final ExpiringBookingIndexer expiringBookingIndexer;
+    private final TenantMembership tenantMembership;
+    private final PurgeService purgeService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ChangeFeed changeFeed;
+    private final AuditLog auditLog;
 
     /**
      * gets a list of a tenant's customer
@@ -33,6 +51,8 @@ public class CustomerService {
      * @return a list of customers belonging to the tenant
      */
     @Transactional(readOnly = true)
+    @ReadFromPrimary
+    @Cacheable(value = "customerLists", key = "@tenantCacheGenerations.key(#tenantId)")
     public List<CustomerResponse> getCustomers(UUID tenantId) {
         List<Customer> customers = customersRepository.findByTenantId(tenantId);
         return customers
@@ -79,6 +99,9 @@ public class CustomerService {
         customer.setTenantId(tenant.getId());
 
         Customer newCustomer = customersRepository.save(customer);
+        changeFeed.publish(ChangeFeed.Entity.CUSTOMER, tenantId, newCustomer.getId());
+        auditLog.record(tenantId, AuditAction.CUSTOMER_CREATED, newCustomer.getId());
+        cacheGenerations.bump(tenantId);
         return customerMapper.toDto(newCustomer);
     }
 
@@ -94,32 +117,38 @@ public class CustomerService {
             UUID tenantId,
             UUID customerId,
             UpdateCustomer request) {
-        Tenant tenant = tenantRepository.findById(tenantId)
-                .orElseThrow(() -> new NotFoundException("Tenant not found. Customer can't be updated."));
-
-        Customer customer = customersRepository.findById(customerId)
+        Customer customer = customersRepository.findByIdAndTenantId(customerId, tenantId)
                 .orElseThrow(() -> new NotFoundException("Customer not found. Customer details can't be updated."));
 
         customer.setCompanyName(request.companyName());
         customer.setContactEmail(request.contactEmail());
 
         Customer updatedCustomer = customersRepository.save(customer);
+        changeFeed.publish(ChangeFeed.Entity.CUSTOMER, tenantId, customerId);
+        auditLog.record(tenantId, AuditAction.CUSTOMER_UPDATED, customerId);
+        cacheGenerations.bump(tenantId);
+        expiringBookingIndexer.invalidate(tenantId);
+        eventPublisher.publishEvent(new CustomerChangedEvent(tenantId, customerId));
         return customerMapper.toDto(updatedCustomer);
     }
 
     /**
-     * delete a customer
+     * delete a customer; their bookings are removed with set-based deletes first
      *
      * @param customerId the customer
      * @param tenantId   the tenant
+     * @return number of bookings deleted with the customer
      */
-    public void deleteCustomer(UUID customerId, UUID tenantId) {
-        Tenant tenant = tenantRepository.findById(tenantId)
-                .orElseThrow(() -> new NotFoundException("Tenant not found. Customer can't be deleted."));
-
+    public long deleteCustomer(UUID customerId, UUID tenantId) {
         Customer customer = customersRepository.findByIdAndTenantId(customerId, tenantId)
                 .orElseThrow(() -> new NotFoundException("Customer not found."));
 
+        long bookingsDeleted = purgeService.purgeCustomer(tenantId, customerId);
         customersRepository.delete(customer);
+        tenantMembership.forgetCustomer(customerId);
+        changeFeed.publish(ChangeFeed.Entity.CUSTOMER, tenantId, customerId);
+        auditLog.record(tenantId, AuditAction.CUSTOMER_DELETED, customerId);
+        cacheGenerations.bump(tenantId);
+        return bookingsDeleted;
     }
 }
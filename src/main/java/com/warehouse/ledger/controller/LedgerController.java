@@ -0,0 +1,64 @@
+package com.warehouse.ledger.controller;
+
+import com.warehouse.common.response.ResponseHandler;
+import com.warehouse.ledger.service.LedgerService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.UUID;
+
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/api/v1/ledger")
+@Tag(
+        name = "Ledger",
+        description = "Recorded history of bookings and storage unit statuses"
+)
+public class LedgerController {
+    private final LedgerService ledgerService;
+
+    @Operation(
+            summary = "Get aggregate's history",
+            description = "Every recorded event of a booking or storage unit with its state after the event"
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "History successfully returned"),
+            @ApiResponse(responseCode = "404", description = "No ledger entries for the aggregate")
+    })
+    @GetMapping("/{aggregateId}")
+    public ResponseEntity<Object> getHistory(
+            @PathVariable UUID aggregateId,
+            @RequestParam UUID tenantId) {
+        return ResponseHandler.responseBuilder(
+                "History successfully returned",
+                HttpStatus.OK,
+                ledgerService.getHistory(tenantId, aggregateId)
+        );
+    }
+
+    @Operation(
+            summary = "Get aggregate's state at a version",
+            description = "State of a booking or storage unit right after its given event"
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "State successfully returned"),
+            @ApiResponse(responseCode = "404", description = "No ledger entries for the aggregate")
+    })
+    @GetMapping("/{aggregateId}/versions/{version}")
+    public ResponseEntity<Object> getStateAt(
+            @PathVariable UUID aggregateId,
+            @PathVariable int version,
+            @RequestParam UUID tenantId) {
+        return ResponseHandler.responseBuilder(
+                "State successfully returned",
+                HttpStatus.OK,
+                ledgerService.stateAt(tenantId, aggregateId, version)
+        );
+    }
+}
@@ -0,0 +1,27 @@
+package com.warehouse.ledger.events;
+
+/**
+ * kinds of aggregate the ledger records; the code is what is stored
+ */
+public enum LedgerAggregate {
+    BOOKING(1),
+    UNIT(2);
+
+    private final short code;
+
+    LedgerAggregate(int code) {
+        this.code = (short) code;
+    }
+
+    public short code() {
+        return code;
+    }
+
+    public static LedgerAggregate fromCode(short code) {
+        return switch (code) {
+            case 1 -> BOOKING;
+            case 2 -> UNIT;
+            default -> throw new IllegalArgumentException("Unknown ledger aggregate code: " + code);
+        };
+    }
+}
@@ -0,0 +1,207 @@
+package com.warehouse.ledger.events;
+
+import com.warehouse.bookings.entity.BookingStatus;
+import com.warehouse.bookings.events.BookingSnapshot;
+import com.warehouse.storage.entity.StorageStatus;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.ByteBuffer;
+import java.time.LocalDate;
+import java.util.Objects;
+import java.util.UUID;
+
+/**
+ * Binary payloads of ledger events and snapshots.
+ * <p>
+ * A booking payload is a one byte mask of the fields present followed by those fields in
+ * mask order: ids as 16 bytes, capacity as an int, dates as epoch-day ints, the rate as a
+ * long of hundredths and the status as its ordinal plus one (0 for none). A created event
+ * and a snapshot carry every field, an update only the fields it changed, so a status
+ * change is 2 bytes. A unit payload is its status byte.
+ */
+public final class LedgerCodec {
+    private static final int CUSTOMER = 1;
+    private static final int UNIT = 1 << 1;
+    private static final int WAREHOUSE = 1 << 2;
+    private static final int CAPACITY = 1 << 3;
+    private static final int START = 1 << 4;
+    private static final int END = 1 << 5;
+    private static final int RATE = 1 << 6;
+    private static final int STATUS = 1 << 7;
+    private static final int ALL = 0xFF;
+
+    private static final int NO_CAPACITY = Integer.MIN_VALUE;
+    private static final long NO_RATE = Long.MIN_VALUE;
+
+    private static final BookingStatus[] BOOKING_STATUSES = BookingStatus.values();
+    private static final StorageStatus[] STORAGE_STATUSES = StorageStatus.values();
+
+    private LedgerCodec() {
+    }
+
+    /**
+     * @param before state before the change, null for a new booking
+     * @param after  state after the change, null for a deleted booking (an empty mask)
+     */
+    public static byte[] encodeBooking(BookingSnapshot before, BookingSnapshot after) {
+        if (after == null) {
+            return new byte[]{0};
+        }
+        int mask = before == null ? ALL : changedFields(before, after);
+        ByteBuffer buffer = ByteBuffer.allocate(size(mask));
+        buffer.put((byte) mask);
+        if ((mask & CUSTOMER) != 0) {
+            putUuid(buffer, after.customerId());
+        }
+        if ((mask & UNIT) != 0) {
+            putUuid(buffer, after.storageUnitId());
+        }
+        if ((mask & WAREHOUSE) != 0) {
+            putUuid(buffer, after.warehouseId());
+        }
+        if ((mask & CAPACITY) != 0) {
+            buffer.putInt(after.capacityKg() == null ? NO_CAPACITY : after.capacityKg());
+        }
+        if ((mask & START) != 0) {
+            buffer.putInt((int) after.startDate().toEpochDay());
+        }
+        if ((mask & END) != 0) {
+            buffer.putInt((int) after.endDate().toEpochDay());
+        }
+        if ((mask & RATE) != 0) {
+            buffer.putLong(after.monthlyRate() == null
+                    ? NO_RATE : after.monthlyRate().setScale(2, RoundingMode.HALF_UP).unscaledValue().longValueExact());
+        }
+        if ((mask & STATUS) != 0) {
+            buffer.put((byte) (after.status() == null ? 0 : after.status().ordinal() + 1));
+        }
+        return buffer.array();
+    }
+
+    /**
+     * @param state   booking before the event, null if it did not exist
+     * @param payload a created or updated event's payload, or a snapshot
+     * @return booking after the event
+     * @throws IllegalStateException if the payload holds only some fields and there is no
+     *                               state to take the others from
+     */
+    public static BookingSnapshot applyBooking(BookingSnapshot state, UUID bookingId, UUID tenantId, byte[] payload) {
+        ByteBuffer buffer = ByteBuffer.wrap(payload);
+        int mask = buffer.get() & 0xFF;
+        if (mask == 0) {
+            return state;
+        }
+        if (state == null && mask != ALL) {
+            throw new IllegalStateException("Ledger of booking " + bookingId
+                    + " has an update of fields 0x" + Integer.toHexString(mask)
+                    + " with no earlier state; its created event is missing");
+        }
+
+        UUID customerId = (mask & CUSTOMER) != 0 ? getUuid(buffer) : state.customerId();
+        UUID storageUnitId = (mask & UNIT) != 0 ? getUuid(buffer) : state.storageUnitId();
+        UUID warehouseId = (mask & WAREHOUSE) != 0 ? getUuid(buffer) : state.warehouseId();
+        Integer capacityKg = (mask & CAPACITY) != 0 ? capacity(buffer.getInt()) : state.capacityKg();
+        LocalDate startDate = (mask & START) != 0 ? LocalDate.ofEpochDay(buffer.getInt()) : state.startDate();
+        LocalDate endDate = (mask & END) != 0 ? LocalDate.ofEpochDay(buffer.getInt()) : state.endDate();
+        BigDecimal monthlyRate = (mask & RATE) != 0 ? rate(buffer.getLong()) : state.monthlyRate();
+        BookingStatus status = (mask & STATUS) != 0 ? bookingStatus(buffer.get()) : state.status();
+
+        return new BookingSnapshot(bookingId, tenantId, customerId, storageUnitId, warehouseId,
+                capacityKg, startDate, endDate, monthlyRate, status);
+    }
+
+    public static byte[] encodeUnitStatus(StorageStatus status) {
+        return new byte[]{(byte) (status == null ? 0 : status.ordinal() + 1)};
+    }
+
+    public static StorageStatus decodeUnitStatus(byte[] payload) {
+        return payload[0] == 0 ? null : STORAGE_STATUSES[payload[0] - 1];
+    }
+
+    /**
+     * folds one event into its aggregate's state: a {@link BookingSnapshot} for bookings, a
+     * {@link StorageStatus} for units
+     */
+    public static Object apply(Object state, LedgerEvent event) {
+        return switch (event.type().aggregate()) {
+            case BOOKING -> event.type() == LedgerEventType.BOOKING_DELETED
+                    ? null
+                    : applyBooking((BookingSnapshot) state, event.aggregateId(), event.tenantId(), event.payload());
+            case UNIT -> decodeUnitStatus(event.payload());
+        };
+    }
+
+    public static byte[] encodeState(LedgerAggregate aggregate, Object state) {
+        return switch (aggregate) {
+            case BOOKING -> encodeBooking(null, (BookingSnapshot) state);
+            case UNIT -> encodeUnitStatus((StorageStatus) state);
+        };
+    }
+
+    public static Object decodeState(LedgerAggregate aggregate, UUID aggregateId, UUID tenantId, byte[] state) {
+        return switch (aggregate) {
+            case BOOKING -> applyBooking(null, aggregateId, tenantId, state);
+            case UNIT -> decodeUnitStatus(state);
+        };
+    }
+
+    private static int changedFields(BookingSnapshot before, BookingSnapshot after) {
+        int mask = 0;
+        if (!Objects.equals(before.customerId(), after.customerId())) {
+            mask |= CUSTOMER;
+        }
+        if (!Objects.equals(before.storageUnitId(), after.storageUnitId())) {
+            mask |= UNIT;
+        }
+        if (!Objects.equals(before.warehouseId(), after.warehouseId())) {
+            mask |= WAREHOUSE;
+        }
+        if (!Objects.equals(before.capacityKg(), after.capacityKg())) {
+            mask |= CAPACITY;
+        }
+        if (!Objects.equals(before.startDate(), after.startDate())) {
+            mask |= START;
+        }
+        if (!Objects.equals(before.endDate(), after.endDate())) {
+            mask |= END;
+        }
+        if (before.monthlyRate() == null ? after.monthlyRate() != null
+                : after.monthlyRate() == null || before.monthlyRate().compareTo(after.monthlyRate()) != 0) {
+            mask |= RATE;
+        }
+        if (before.status() != after.status()) {
+            mask |= STATUS;
+        }
+        return mask;
+    }
+
+    private static int size(int mask) {
+        int size = 1;
+        size += Integer.bitCount(mask & (CUSTOMER | UNIT | WAREHOUSE)) * 16;
+        size += Integer.bitCount(mask & (CAPACITY | START | END)) * 4;
+        size += (mask & RATE) != 0 ? 8 : 0;
+        size += (mask & STATUS) != 0 ? 1 : 0;
+        return size;
+    }
+
+    private static void putUuid(ByteBuffer buffer, UUID id) {
+        buffer.putLong(id.getMostSignificantBits()).putLong(id.getLeastSignificantBits());
+    }
+
+    private static UUID getUuid(ByteBuffer buffer) {
+        return new UUID(buffer.getLong(), buffer.getLong());
+    }
+
+    private static Integer capacity(int value) {
+        return value == NO_CAPACITY ? null : value;
+    }
+
+    private static BigDecimal rate(long hundredths) {
+        return hundredths == NO_RATE ? null : BigDecimal.valueOf(hundredths, 2);
+    }
+
+    private static BookingStatus bookingStatus(byte value) {
+        return value == 0 ? null : BOOKING_STATUSES[value - 1];
+    }
+}
@@ -0,0 +1,27 @@
+package com.warehouse.ledger.events;
+
+import com.warehouse.common.id.TimeOrderedUuid;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * one row of the ledger, payload still encoded; decode it with {@link LedgerCodec}
+ *
+ * @param version position in the aggregate's own history, starting at 1
+ */
+public record LedgerEvent(
+        UUID id,
+        UUID tenantId,
+        UUID aggregateId,
+        int version,
+        LedgerEventType type,
+        byte[] payload
+) {
+    /**
+     * when the event was recorded, read from its time-ordered id
+     */
+    public Instant recordedAt() {
+        return Instant.ofEpochMilli(TimeOrderedUuid.timestampOf(id));
+    }
+}
@@ -0,0 +1,43 @@
+package com.warehouse.ledger.events;
+
+/**
+ * kinds of ledger event; the code is what is stored, so codes must never be reused
+ */
+public enum LedgerEventType {
+    BOOKING_CREATED(1, LedgerAggregate.BOOKING),
+    BOOKING_UPDATED(2, LedgerAggregate.BOOKING),
+    BOOKING_DELETED(3, LedgerAggregate.BOOKING),
+    UNIT_STATUS_CHANGED(4, LedgerAggregate.UNIT);
+
+    private static final LedgerEventType[] BY_CODE = new LedgerEventType[5];
+
+    static {
+        for (LedgerEventType type : values()) {
+            BY_CODE[type.code] = type;
+        }
+    }
+
+    private final short code;
+    private final LedgerAggregate aggregate;
+
+    LedgerEventType(int code, LedgerAggregate aggregate) {
+        this.code = (short) code;
+        this.aggregate = aggregate;
+    }
+
+    public short code() {
+        return code;
+    }
+
+    public LedgerAggregate aggregate() {
+        return aggregate;
+    }
+
+    public static LedgerEventType fromCode(short code) {
+        LedgerEventType type = code > 0 && code < BY_CODE.length ? BY_CODE[code] : null;
+        if (type == null) {
+            throw new IllegalArgumentException("Unknown ledger event code: " + code);
+        }
+        return type;
+    }
+}
@@ -0,0 +1,53 @@
+package com.warehouse.ledger.listeners;
+
+import com.warehouse.bookings.events.BookingChangedEvent;
+import com.warehouse.bookings.events.BookingSnapshot;
+import com.warehouse.bookings.events.BookingsPurgedEvent;
+import com.warehouse.ledger.events.LedgerCodec;
+import com.warehouse.ledger.events.LedgerEventType;
+import com.warehouse.ledger.service.LedgerService;
+import com.warehouse.storage.events.UnitStatusChangedEvent;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * appends booking and unit status changes to the ledger; runs before commit so a change is
+ * never committed without its ledger event
+ */
+@Component
+@RequiredArgsConstructor
+public class LedgerListener {
+    private final LedgerService ledgerService;
+
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
+    public void handleBookingChanged(BookingChangedEvent event) {
+        BookingSnapshot booking = event.getAfter() != null ? event.getAfter() : event.getBefore();
+        byte[] payload = LedgerCodec.encodeBooking(event.getBefore(), event.getAfter());
+
+        LedgerEventType type = switch (event.getType()) {
+            case CREATED -> LedgerEventType.BOOKING_CREATED;
+            case UPDATED -> LedgerEventType.BOOKING_UPDATED;
+            case DELETED -> LedgerEventType.BOOKING_DELETED;
+        };
+        // an update that changed none of the recorded fields has an empty mask
+        if (type == LedgerEventType.BOOKING_UPDATED && payload.length == 1) {
+            return;
+        }
+
+        ledgerService.append(event.getTenantId(), booking.bookingId(), type, payload);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
+    public void handleBookingsPurged(BookingsPurgedEvent event) {
+        ledgerService.appendDeletions(event.getTenantId(),
+                event.getDeleted().stream().map(BookingSnapshot::bookingId).toList());
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
+    public void handleUnitStatusChanged(UnitStatusChangedEvent event) {
+        ledgerService.append(event.getTenantId(), event.getUnitId(), LedgerEventType.UNIT_STATUS_CHANGED,
+                LedgerCodec.encodeUnitStatus(event.getTo()));
+    }
+}
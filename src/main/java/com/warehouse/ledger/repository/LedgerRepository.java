@@ -0,0 +1,154 @@
+package com.warehouse.ledger.repository;
+
+import com.warehouse.common.id.TimeOrderedUuid;
+import com.warehouse.ledger.events.LedgerAggregate;
+import com.warehouse.ledger.events.LedgerEvent;
+import com.warehouse.ledger.events.LedgerEventType;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+/**
+ * {@code ledger_events}, the append-only event log, and {@code ledger_snapshots}, the
+ * latest full state of each aggregate
+ */
+@Repository
+@RequiredArgsConstructor
+public class LedgerRepository {
+    private static final String EVENT_COLUMNS = "SELECT id, tenant_id, aggregate_id, version, type, payload FROM ledger_events ";
+
+    private static final RowMapper<LedgerEvent> EVENT = (rs, rowNum) -> event(rs);
+
+    public record Snapshot(UUID aggregateId, UUID tenantId, int version, LedgerAggregate aggregate, byte[] state) {
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * appends an event after the aggregate's latest one; concurrent appends to the same
+     * aggregate fail on the (aggregate_id, version) key rather than interleave
+     *
+     * @return version given to the event
+     */
+    public int append(UUID tenantId, UUID aggregateId, LedgerEventType type, byte[] payload) {
+        return jdbcTemplate.queryForObject("""
+                        INSERT INTO ledger_events (id, tenant_id, aggregate_id, version, type, payload)
+                        SELECT ?, ?, ?, COALESCE(MAX(version), 0) + 1, ?, ?
+                        FROM ledger_events
+                        WHERE aggregate_id = ?
+                        RETURNING version
+                        """,
+                Integer.class, TimeOrderedUuid.next(), tenantId, aggregateId, type.code(), payload, aggregateId);
+    }
+
+    /**
+     * appends the same event to each aggregate after its latest one, in one statement
+     *
+     * @see #append
+     */
+    public void appendAll(UUID tenantId, Collection<UUID> aggregateIds, LedgerEventType type, byte[] payload) {
+        Object[] ids = aggregateIds.stream().map(aggregateId -> TimeOrderedUuid.next()).toArray();
+        Object[] aggregates = aggregateIds.toArray();
+        jdbcTemplate.update("""
+                        INSERT INTO ledger_events (id, tenant_id, aggregate_id, version, type, payload)
+                        SELECT e.id, ?, e.aggregate_id,
+                               COALESCE((SELECT MAX(l.version) FROM ledger_events l WHERE l.aggregate_id = e.aggregate_id), 0) + 1,
+                               ?, ?
+                        FROM unnest(?::uuid[], ?::uuid[]) AS e(id, aggregate_id)
+                        """,
+                ps -> {
+                    ps.setObject(1, tenantId);
+                    ps.setShort(2, type.code());
+                    ps.setBytes(3, payload);
+                    ps.setArray(4, ps.getConnection().createArrayOf("uuid", ids));
+                    ps.setArray(5, ps.getConnection().createArrayOf("uuid", aggregates));
+                });
+    }
+
+    /**
+     * the aggregate's events with afterVersion < version <= toVersion, oldest first
+     */
+    public List<LedgerEvent> findEvents(UUID tenantId, UUID aggregateId, int afterVersion, int toVersion) {
+        return jdbcTemplate.query(EVENT_COLUMNS + """
+                        WHERE aggregate_id = ?
+                        AND version > ?
+                        AND version <= ?
+                        AND tenant_id = ?
+                        ORDER BY version
+                        """,
+                EVENT, aggregateId, afterVersion, toVersion, tenantId);
+    }
+
+    public Optional<Snapshot> findSnapshot(UUID tenantId, UUID aggregateId) {
+        return jdbcTemplate.query("""
+                        SELECT aggregate_id, tenant_id, version, type, state
+                        FROM ledger_snapshots
+                        WHERE aggregate_id = ?
+                        AND tenant_id = ?
+                        """,
+                (rs, rowNum) -> new Snapshot(
+                        rs.getObject("aggregate_id", UUID.class),
+                        rs.getObject("tenant_id", UUID.class),
+                        rs.getInt("version"),
+                        LedgerAggregate.fromCode(rs.getShort("type")),
+                        rs.getBytes("state")),
+                aggregateId, tenantId).stream().findFirst();
+    }
+
+    public void saveSnapshot(Snapshot snapshot) {
+        jdbcTemplate.update("""
+                        INSERT INTO ledger_snapshots (aggregate_id, tenant_id, version, type, state)
+                        VALUES (?, ?, ?, ?, ?)
+                        ON CONFLICT (aggregate_id) DO UPDATE SET
+                            version = EXCLUDED.version,
+                            state = EXCLUDED.state
+                        WHERE ledger_snapshots.version < EXCLUDED.version
+                        """,
+                snapshot.aggregateId(), snapshot.tenantId(), snapshot.version(),
+                snapshot.aggregate().code(), snapshot.state());
+    }
+
+    /**
+     * streams events in the order they were recorded, fetchSize rows per round trip; must
+     * run inside a transaction, or the driver reads the whole result into memory
+     *
+     * @param tenantId only this tenant's events, or every event when null
+     * @return number of events streamed
+     */
+    public long stream(UUID tenantId, int fetchSize, Consumer<LedgerEvent> consumer) {
+        String sql = EVENT_COLUMNS + (tenantId == null ? "ORDER BY id" : "WHERE tenant_id = ? ORDER BY id");
+        long[] count = {0};
+        jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement(sql);
+            statement.setFetchSize(fetchSize);
+            if (tenantId != null) {
+                statement.setObject(1, tenantId);
+            }
+            return statement;
+        }, rs -> {
+            consumer.accept(event(rs));
+            count[0]++;
+        });
+        return count[0];
+    }
+
+    private static LedgerEvent event(ResultSet rs) throws SQLException {
+        return new LedgerEvent(
+                rs.getObject(1, UUID.class),
+                rs.getObject(2, UUID.class),
+                rs.getObject(3, UUID.class),
+                rs.getInt(4),
+                LedgerEventType.fromCode(rs.getShort(5)),
+                rs.getBytes(6));
+    }
+}
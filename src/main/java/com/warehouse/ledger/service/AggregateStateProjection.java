@@ -0,0 +1,34 @@
+package com.warehouse.ledger.service;
+
+import com.warehouse.ledger.events.LedgerCodec;
+import com.warehouse.ledger.events.LedgerEvent;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * latest state of every aggregate replayed: a booking snapshot per booking, a status per
+ * unit. Deleted bookings are dropped.
+ */
+public class AggregateStateProjection implements LedgerProjection {
+    private final Map<UUID, Object> states = new HashMap<>();
+
+    @Override
+    public void apply(LedgerEvent event) {
+        Object state = LedgerCodec.apply(states.get(event.aggregateId()), event);
+        if (state == null) {
+            states.remove(event.aggregateId());
+        } else {
+            states.put(event.aggregateId(), state);
+        }
+    }
+
+    public Object state(UUID aggregateId) {
+        return states.get(aggregateId);
+    }
+
+    public Map<UUID, Object> states() {
+        return states;
+    }
+}
@@ -0,0 +1,11 @@
+package com.warehouse.ledger.service;
+
+import com.warehouse.ledger.events.LedgerEvent;
+
+/**
+ * anything rebuilt by replaying the ledger; events arrive in the order they were recorded
+ */
+@FunctionalInterface
+public interface LedgerProjection {
+    void apply(LedgerEvent event);
+}
@@ -0,0 +1,76 @@
+package com.warehouse.ledger.service;
+
+import com.warehouse.config.LedgerProperties;
+import com.warehouse.ledger.repository.LedgerRepository;
+import com.warehouse.shards.service.TenantShards;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.UUID;
+
+/**
+ * Rebuilds projections by streaming the ledger through them. Rows are read with a cursor,
+ * {@code replay-fetch-size} per round trip, in one read-only transaction per shard, so a
+ * replay of millions of events holds only the projection in memory and can be served by a
+ * read replica.
+ */
+@Slf4j
+@Service
+public class LedgerReplayer {
+    private final LedgerRepository ledgerRepository;
+    private final TransactionTemplate readOnlyTemplate;
+    private final LedgerProperties properties;
+    private final TenantShards tenantShards;
+    private final Timer replayTimer;
+
+    public LedgerReplayer(LedgerRepository ledgerRepository,
+                          PlatformTransactionManager transactionManager,
+                          LedgerProperties properties,
+                          TenantShards tenantShards,
+                          MeterRegistry meterRegistry) {
+        this.ledgerRepository = ledgerRepository;
+        this.readOnlyTemplate = new TransactionTemplate(transactionManager);
+        this.readOnlyTemplate.setReadOnly(true);
+        this.properties = properties;
+        this.tenantShards = tenantShards;
+        this.replayTimer = meterRegistry.timer("warehouse.ledger.replay");
+    }
+
+    /**
+     * replays every event on every shard, shard by shard
+     *
+     * @return number of events replayed
+     */
+    public long replayAll(LedgerProjection projection) {
+        return tenantShards.mapShards(shard -> stream(null, projection))
+                .stream()
+                .mapToLong(Long::longValue)
+                .sum();
+    }
+
+    /**
+     * replays one tenant's events
+     *
+     * @return number of events replayed
+     */
+    public long replay(UUID tenantId, LedgerProjection projection) {
+        return stream(tenantId, projection);
+    }
+
+    private long stream(UUID tenantId, LedgerProjection projection) {
+        long start = System.nanoTime();
+        Long events = readOnlyTemplate.execute(status ->
+                ledgerRepository.stream(tenantId, properties.replayFetchSize(), projection::apply));
+        long nanos = System.nanoTime() - start;
+        replayTimer.record(Duration.ofNanos(nanos));
+
+        log.info("Replayed {} ledger events in {} ms ({} events/s)", events, nanos / 1_000_000,
+                nanos == 0 ? 0 : events * 1_000_000_000L / nanos);
+        return events;
+    }
+}
@@ -0,0 +1,111 @@
+package com.warehouse.ledger.service;
+
+import com.warehouse.common.dto.LedgerEntry;
+import com.warehouse.common.exceptions.NotFoundException;
+import com.warehouse.config.LedgerProperties;
+import com.warehouse.ledger.events.LedgerCodec;
+import com.warehouse.ledger.events.LedgerEvent;
+import com.warehouse.ledger.events.LedgerEventType;
+import com.warehouse.ledger.repository.LedgerRepository;
+import com.warehouse.ledger.repository.LedgerRepository.Snapshot;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Appends to the ledger and answers history queries. Every {@code snapshot-every}-th event
+ * of an aggregate also refreshes the aggregate's snapshot, so its state at any later
+ * version is rebuilt from the snapshot and fewer than that many events.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class LedgerService {
+    private final LedgerRepository ledgerRepository;
+    private final LedgerProperties properties;
+
+    /**
+     * appends an event; call inside the transaction making the change
+     */
+    public void append(UUID tenantId, UUID aggregateId, LedgerEventType type, byte[] payload) {
+        int version = ledgerRepository.append(tenantId, aggregateId, type, payload);
+        if (version % properties.snapshotEvery() == 0) {
+            Object state;
+            try {
+                state = stateAt(tenantId, aggregateId, version);
+            } catch (IllegalStateException e) {
+                // a broken history must not roll back the change being recorded
+                log.warn("Ledger snapshot of {} at version {} skipped. Error: {}", aggregateId, version, e.getMessage());
+                return;
+            }
+            if (state != null) {
+                ledgerRepository.saveSnapshot(new Snapshot(aggregateId, tenantId, version, type.aggregate(),
+                        LedgerCodec.encodeState(type.aggregate(), state)));
+            }
+        }
+    }
+
+    /**
+     * appends a BOOKING_DELETED event to each booking with one statement; call inside the
+     * transaction deleting them. A deleted booking has no state to snapshot.
+     */
+    public void appendDeletions(UUID tenantId, Collection<UUID> bookingIds) {
+        ledgerRepository.appendAll(tenantId, bookingIds, LedgerEventType.BOOKING_DELETED,
+                LedgerCodec.encodeBooking(null, null));
+    }
+
+    /**
+     * Get every event of an aggregate with the state after it
+     *
+     * @param tenantId    owner of the aggregate
+     * @param aggregateId booking or unit
+     */
+    @Transactional(readOnly = true)
+    public List<LedgerEntry> getHistory(UUID tenantId, UUID aggregateId) {
+        List<LedgerEvent> events = ledgerRepository.findEvents(tenantId, aggregateId, 0, Integer.MAX_VALUE);
+        if (events.isEmpty()) {
+            throw new NotFoundException("No ledger entries for " + aggregateId);
+        }
+
+        List<LedgerEntry> history = new ArrayList<>(events.size());
+        Object state = null;
+        for (LedgerEvent event : events) {
+            state = LedgerCodec.apply(state, event);
+            history.add(new LedgerEntry(aggregateId, event.version(), event.type(), event.recordedAt(), state));
+        }
+        return history;
+    }
+
+    /**
+     * Get an aggregate's state right after one of its events, starting from its snapshot
+     * when the snapshot is not newer
+     *
+     * @return a booking snapshot or unit status, null if the booking was deleted by then
+     */
+    @Transactional(readOnly = true)
+    public Object stateAt(UUID tenantId, UUID aggregateId, int version) {
+        Optional<Snapshot> snapshot = ledgerRepository.findSnapshot(tenantId, aggregateId)
+                .filter(candidate -> candidate.version() <= version);
+
+        Object state = snapshot
+                .map(s -> LedgerCodec.decodeState(s.aggregate(), aggregateId, tenantId, s.state()))
+                .orElse(null);
+        int from = snapshot.map(Snapshot::version).orElse(0);
+
+        List<LedgerEvent> events = ledgerRepository.findEvents(tenantId, aggregateId, from, version);
+        if (snapshot.isEmpty() && events.isEmpty()) {
+            throw new NotFoundException("No ledger entries for " + aggregateId);
+        }
+        for (LedgerEvent event : events) {
+            state = LedgerCodec.apply(state, event);
+        }
+        return state;
+    }
+}
@@ -0,0 +1,47 @@
+package com.warehouse.pricing.controller;
+
+import com.warehouse.common.dto.QuoteRequest;
+import com.warehouse.common.response.ResponseHandler;
+import com.warehouse.pricing.service.PricingService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.UUID;
+
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/api/v1/pricing")
+@Tag(
+        name = "Pricing",
+        description = "Monthly rate quotes based on unit capacity and warehouse occupancy"
+)
+public class PricingController {
+    private final PricingService pricingService;
+
+    @Operation(
+            summary = "Quote monthly rates",
+            description = "Monthly rate of each given unit, or of all the tenant's available units when none " +
+                    "are given. Rates follow the occupancy of each unit's warehouse as of the latest snapshot"
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Quotes successfully returned"),
+            @ApiResponse(responseCode = "400", description = "Too many units requested"),
+            @ApiResponse(responseCode = "404", description = "Storage unit not found")
+    })
+    @PostMapping("/quotes")
+    public ResponseEntity<Object> quote(
+            @RequestParam UUID tenantId,
+            @RequestBody(required = false) QuoteRequest request) {
+        return ResponseHandler.responseBuilder(
+                "Quotes successfully returned",
+                HttpStatus.OK,
+                pricingService.quote(tenantId, request)
+        );
+    }
+}
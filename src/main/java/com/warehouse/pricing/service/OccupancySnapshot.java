@@ -0,0 +1,52 @@
+package com.warehouse.pricing.service;
+
+import com.warehouse.common.dto.WarehouseOccupancy;
+
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Immutable occupancy rate of every warehouse at one point in time. Rates sit in a
+ * primitive array indexed by a slot per warehouse, so looking one up allocates nothing.
+ */
+public final class OccupancySnapshot {
+    private final Map<UUID, Integer> slots;
+    private final double[] occupancyRates;
+    private final Instant takenAt;
+
+    private OccupancySnapshot(Map<UUID, Integer> slots, double[] occupancyRates, Instant takenAt) {
+        this.slots = slots;
+        this.occupancyRates = occupancyRates;
+        this.takenAt = takenAt;
+    }
+
+    public static OccupancySnapshot of(List<WarehouseOccupancy> warehouses, Instant takenAt) {
+        Map<UUID, Integer> slots = HashMap.newHashMap(warehouses.size());
+        double[] rates = new double[warehouses.size()];
+        for (int i = 0; i < rates.length; i++) {
+            WarehouseOccupancy warehouse = warehouses.get(i);
+            slots.put(warehouse.warehouseId(), i);
+            rates[i] = warehouse.occupancyRate();
+        }
+        return new OccupancySnapshot(slots, rates, takenAt);
+    }
+
+    /**
+     * @return occupancy rate (0-100) of the warehouse, 0 if it was created after the snapshot
+     */
+    public double occupancyOf(UUID warehouseId) {
+        Integer slot = slots.get(warehouseId);
+        return slot == null ? 0 : occupancyRates[slot];
+    }
+
+    public int size() {
+        return occupancyRates.length;
+    }
+
+    public Instant takenAt() {
+        return takenAt;
+    }
+}
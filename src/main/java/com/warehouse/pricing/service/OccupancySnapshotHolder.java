@@ -0,0 +1,55 @@
+package com.warehouse.pricing.service;
+
+import com.warehouse.common.dto.WarehouseOccupancy;
+import com.warehouse.config.PricingProperties;
+import com.warehouse.shards.service.TenantShards;
+import com.warehouse.storage.repository.StorageRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Keeps the latest {@link OccupancySnapshot}. The snapshot is rebuilt from one grouped
+ * query per shard every refresh-interval and swapped in atomically, so quotes always see the rates
+ * of a single refresh and only wait on the database when the scheduled refreshes have stalled.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class OccupancySnapshotHolder {
+    private final StorageRepository storageRepository;
+    private final TenantShards tenantShards;
+    private final PricingProperties properties;
+    private final AtomicReference<OccupancySnapshot> current = new AtomicReference<>();
+
+    @Scheduled(fixedDelayString = "${warehouse.pricing.refresh-interval:30s}")
+    public OccupancySnapshot refresh() {
+        List<WarehouseOccupancy> warehouses = tenantShards
+                .mapShards(shard -> storageRepository.getWarehouseOccupancyRates())
+                .stream()
+                .flatMap(List::stream)
+                .toList();
+        OccupancySnapshot snapshot = OccupancySnapshot.of(warehouses, Instant.now());
+        current.set(snapshot);
+        log.debug("Refreshed occupancy snapshot of {} warehouses", snapshot.size());
+        return snapshot;
+    }
+
+    /**
+     * @return latest snapshot, loading one if no refresh has run yet or the last one is more
+     * than two refresh intervals old, e.g. while the scheduler thread is busy with another job
+     */
+    public OccupancySnapshot current() {
+        OccupancySnapshot snapshot = current.get();
+        Instant staleBefore = Instant.now().minus(properties.refreshInterval().multipliedBy(2));
+        if (snapshot == null || snapshot.takenAt().isBefore(staleBefore)) {
+            return refresh();
+        }
+        return snapshot;
+    }
+}
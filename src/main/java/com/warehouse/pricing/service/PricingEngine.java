@@ -0,0 +1,63 @@
+package com.warehouse.pricing.service;
+
+import com.warehouse.config.PricingProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Prices units from their capacity and their warehouse's occupancy. Rates are worked out
+ * in cents on primitive arrays so a quote of thousands of units allocates nothing per unit.
+ * <p>
+ * The base rate is scaled linearly down to {@code 1 - maxDiscount} as occupancy falls
+ * from {@code discountBelow} to 0%, and up to {@code 1 + maxSurge} as it rises from
+ * {@code surgeAbove} to 100%; it is never below the minimum rate.
+ */
+@Component
+public class PricingEngine {
+    private final double baseCentsPerKg;
+    private final long minimumCents;
+    private final double discountBelow;
+    private final double maxDiscount;
+    private final double surgeAbove;
+    private final double maxSurge;
+
+    public PricingEngine(PricingProperties properties) {
+        this.baseCentsPerKg = properties.baseRatePerKg().movePointRight(2).doubleValue();
+        this.minimumCents = properties.minimumRate().movePointRight(2).longValue();
+        this.discountBelow = properties.discountBelow();
+        this.maxDiscount = properties.maxDiscount();
+        this.surgeAbove = properties.surgeAbove();
+        this.maxSurge = properties.maxSurge();
+    }
+
+    /**
+     * prices the first {@code count} units into {@code rateCents}
+     *
+     * @param capacityKg     capacity of each unit
+     * @param occupancyRates occupancy (0-100) of each unit's warehouse
+     * @param rateCents      receives the monthly rate of each unit, in cents
+     * @param count          number of units
+     */
+    public void quote(int[] capacityKg, double[] occupancyRates, long[] rateCents, int count) {
+        for (int i = 0; i < count; i++) {
+            rateCents[i] = quoteCents(capacityKg[i], occupancyRates[i]);
+        }
+    }
+
+    /**
+     * @return monthly rate of one unit, in cents
+     */
+    public long quoteCents(int capacityKg, double occupancyRate) {
+        long cents = Math.round(capacityKg * baseCentsPerKg * multiplier(occupancyRate));
+        return Math.max(cents, minimumCents);
+    }
+
+    private double multiplier(double occupancyRate) {
+        if (occupancyRate < discountBelow) {
+            return 1 - maxDiscount * (discountBelow - occupancyRate) / discountBelow;
+        }
+        if (occupancyRate > surgeAbove) {
+            return 1 + maxSurge * (Math.min(occupancyRate, 100) - surgeAbove) / (100 - surgeAbove);
+        }
+        return 1;
+    }
+}
@@ -0,0 +1,82 @@
+package com.warehouse.pricing.service;
+
+import com.warehouse.common.dto.PricedUnit;
+import com.warehouse.common.dto.QuoteRequest;
+import com.warehouse.common.dto.QuoteResponse;
+import com.warehouse.common.dto.UnitQuote;
+import com.warehouse.common.exceptions.NotFoundException;
+import com.warehouse.config.PricingProperties;
+import com.warehouse.storage.entity.StorageStatus;
+import com.warehouse.storage.repository.StorageRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+@Service
+@RequiredArgsConstructor
+public class PricingService {
+    private final StorageRepository storageRepository;
+    private final OccupancySnapshotHolder occupancySnapshots;
+    private final PricingEngine pricingEngine;
+    private final PricingProperties properties;
+
+    /**
+     * Quote the monthly rate of many units at once. Units are loaded with one query and
+     * priced against the latest occupancy snapshot.
+     *
+     * @param tenantId owner of the units
+     * @param request  units to price; all available units when empty
+     */
+    @Transactional(readOnly = true)
+    public QuoteResponse quote(UUID tenantId, QuoteRequest request) {
+        List<PricedUnit> units = loadUnits(tenantId, request);
+        OccupancySnapshot snapshot = occupancySnapshots.current();
+
+        int count = units.size();
+        int[] capacityKg = new int[count];
+        double[] occupancyRates = new double[count];
+        long[] rateCents = new long[count];
+        for (int i = 0; i < count; i++) {
+            PricedUnit unit = units.get(i);
+            capacityKg[i] = unit.capacityKg();
+            occupancyRates[i] = snapshot.occupancyOf(unit.warehouseId());
+        }
+
+        pricingEngine.quote(capacityKg, occupancyRates, rateCents, count);
+
+        List<UnitQuote> quotes = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            PricedUnit unit = units.get(i);
+            quotes.add(new UnitQuote(unit.unitId(), unit.warehouseId(), capacityKg[i],
+                    occupancyRates[i], BigDecimal.valueOf(rateCents[i], 2)));
+        }
+
+        return new QuoteResponse(snapshot.takenAt(), quotes);
+    }
+
+    private List<PricedUnit> loadUnits(UUID tenantId, QuoteRequest request) {
+        if (request == null || request.unitIds() == null || request.unitIds().isEmpty()) {
+            return storageRepository.findPricedUnitsByStatus(
+                    tenantId, StorageStatus.AVAILABLE, Limit.of(properties.maxUnits()));
+        }
+
+        Set<UUID> unitIds = new HashSet<>(request.unitIds());
+        if (unitIds.size() > properties.maxUnits()) {
+            throw new IllegalArgumentException("Cannot quote more than " + properties.maxUnits() + " units at once");
+        }
+
+        List<PricedUnit> units = storageRepository.findPricedUnits(tenantId, unitIds);
+        if (units.size() != unitIds.size()) {
+            throw new NotFoundException("Storage unit not found");
+        }
+        return units;
+    }
+}
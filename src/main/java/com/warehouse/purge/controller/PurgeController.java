@@ -0,0 +1,42 @@
+package com.warehouse.purge.controller;
+
+import com.warehouse.common.response.ResponseHandler;
+import com.warehouse.purge.service.PurgeJobs;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.UUID;
+
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/api/v1/purges")
+@Tag(
+        name = "Purges",
+        description = "Background deletes of warehouses and customers with their bookings"
+)
+public class PurgeController {
+    private final PurgeJobs purgeJobs;
+
+    @Operation(
+            summary = "Get purge progress",
+            description = "State and bookings deleted so far of a purge started with async=true on a warehouse or customer delete"
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Purge status successfully returned"),
+            @ApiResponse(responseCode = "404", description = "Purge job not found")
+    })
+    @GetMapping("/{jobId}")
+    public ResponseEntity<Object> getPurge(@PathVariable UUID jobId) {
+        return ResponseHandler.responseBuilder(
+                "Purge status successfully returned",
+                HttpStatus.OK,
+                purgeJobs.getStatus(jobId)
+        );
+    }
+}
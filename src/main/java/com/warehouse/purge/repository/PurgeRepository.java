@@ -0,0 +1,82 @@
+package com.warehouse.purge.repository;
+
+import com.warehouse.bookings.entity.BookingStatus;
+import com.warehouse.bookings.events.BookingSnapshot;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Set-based deletes of a warehouse's or customer's dependent rows. Bookings go first, a
+ * chunk per statement taken in id order, and each statement returns the deleted bookings
+ * so their DELETED events can be published without loading them beforehand.
+ */
+@Repository
+@RequiredArgsConstructor
+public class PurgeRepository {
+    private static final String DELETE_BOOKINGS = """
+            DELETE FROM bookings b
+            USING storage_units su
+            WHERE su.id = b.storage_unit_id
+            AND b.id IN (
+                SELECT b2.id
+                FROM bookings b2
+                JOIN storage_units su2 ON su2.id = b2.storage_unit_id
+                WHERE %s = ?
+                ORDER BY b2.id
+                LIMIT ?
+            )
+            RETURNING b.id, b.customer_id, b.storage_unit_id, su.warehouse_id, su.capacity_kg,
+                      b.start_date, b.end_date, b.monthly_rate, b.status
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * deletes up to limit of the warehouse's bookings
+     *
+     * @return the deleted bookings
+     */
+    public List<BookingSnapshot> deleteWarehouseBookings(UUID tenantId, UUID warehouseId, int limit) {
+        return jdbcTemplate.query(DELETE_BOOKINGS.formatted("su2.warehouse_id"), snapshotMapper(tenantId),
+                warehouseId, limit);
+    }
+
+    /**
+     * deletes up to limit of the customer's bookings
+     *
+     * @return the deleted bookings
+     */
+    public List<BookingSnapshot> deleteCustomerBookings(UUID tenantId, UUID customerId, int limit) {
+        return jdbcTemplate.query(DELETE_BOOKINGS.formatted("b2.customer_id"), snapshotMapper(tenantId),
+                customerId, limit);
+    }
+
+    /**
+     * deletes the warehouse's storage units; their bookings must be deleted first
+     */
+    public int deleteWarehouseUnits(UUID warehouseId) {
+        return jdbcTemplate.update("DELETE FROM storage_units WHERE warehouse_id = ?", warehouseId);
+    }
+
+    private static RowMapper<BookingSnapshot> snapshotMapper(UUID tenantId) {
+        return (rs, rowNum) -> {
+            String status = rs.getString("status");
+            return new BookingSnapshot(
+                    rs.getObject("id", UUID.class),
+                    tenantId,
+                    rs.getObject("customer_id", UUID.class),
+                    rs.getObject("storage_unit_id", UUID.class),
+                    rs.getObject("warehouse_id", UUID.class),
+                    rs.getObject("capacity_kg", Integer.class),
+                    rs.getDate("start_date").toLocalDate(),
+                    rs.getDate("end_date").toLocalDate(),
+                    rs.getBigDecimal("monthly_rate"),
+                    status == null ? null : BookingStatus.valueOf(status));
+        };
+    }
+}
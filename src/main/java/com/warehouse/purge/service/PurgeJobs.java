@@ -0,0 +1,178 @@
+package com.warehouse.purge.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.warehouse.audit.service.AuditLog;
+import com.warehouse.common.dto.PurgeJobStatus;
+import com.warehouse.common.exceptions.NotFoundException;
+import com.warehouse.config.PurgeProperties;
+import com.warehouse.customers.service.CustomerService;
+import com.warehouse.warehouses.service.WarehouseService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.ToIntFunction;
+import java.util.function.ToLongFunction;
+
+/**
+ * Deletes warehouses and customers with very many bookings in the background. The bookings
+ * are removed a chunk per transaction on the tenant's shard, so no transaction holds more than chunk-size rows
+ * locked; the last, short transaction is the ordinary delete, which removes any bookings
+ * added meanwhile, the units and the warehouse or customer itself.
+ * <p>
+ * A failed purge leaves the warehouse or customer in place with fewer bookings and can be
+ * started again. The deletes are audited as the actor who started the purge. Jobs are tracked
+ * on the node that runs them and kept for job-retention after they finish; starting a purge of
+ * a target already being purged returns that job.
+ */
+@Slf4j
+@Service
+public class PurgeJobs {
+    private final PurgeService purgeService;
+    private final WarehouseService warehouseService;
+    private final CustomerService customerService;
+    private final PurgeProperties properties;
+
+    private final ExecutorService executor;
+    private final Cache<UUID, Job> jobs;
+    private final Map<UUID, Job> running = new ConcurrentHashMap<>();
+    private final Counter bookingsDeleted;
+    private final Counter completed;
+    private final Counter failed;
+
+    public PurgeJobs(PurgeService purgeService,
+                     WarehouseService warehouseService,
+                     CustomerService customerService,
+                     PurgeProperties properties,
+                     MeterRegistry meterRegistry) {
+        this.purgeService = purgeService;
+        this.warehouseService = warehouseService;
+        this.customerService = customerService;
+        this.properties = properties;
+
+        this.executor = Executors.newFixedThreadPool(Math.max(1, properties.parallelism()));
+        this.jobs = Caffeine.newBuilder().expireAfterWrite(properties.jobRetention()).build();
+        this.bookingsDeleted = meterRegistry.counter("warehouse.purge.bookings");
+        this.completed = meterRegistry.counter("warehouse.purge.jobs", "result", "completed");
+        this.failed = meterRegistry.counter("warehouse.purge.jobs", "result", "failed");
+    }
+
+    /**
+     * starts deleting the warehouse with its units and bookings in the background
+     *
+     * @throws NotFoundException if the tenant has no such warehouse
+     */
+    public PurgeJobStatus purgeWarehouse(UUID tenantId, UUID warehouseId) {
+        warehouseService.getWarehouse(tenantId, warehouseId);
+        return start(PurgeJobStatus.Target.WAREHOUSE, warehouseId, tenantId,
+                id -> purgeService.purgeWarehouseChunk(tenantId, id),
+                id -> warehouseService.deleteWarehouse(tenantId, id));
+    }
+
+    /**
+     * starts deleting the customer with their bookings in the background
+     *
+     * @throws NotFoundException if the tenant has no such customer
+     */
+    public PurgeJobStatus purgeCustomer(UUID tenantId, UUID customerId) {
+        customerService.getCustomer(customerId, tenantId);
+        return start(PurgeJobStatus.Target.CUSTOMER, customerId, tenantId,
+                id -> purgeService.purgeCustomerChunk(tenantId, id),
+                id -> customerService.deleteCustomer(id, tenantId));
+    }
+
+    public PurgeJobStatus getStatus(UUID jobId) {
+        Job job = jobs.getIfPresent(jobId);
+        if (job == null) {
+            throw new NotFoundException("Purge job not found");
+        }
+        return job.status();
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private PurgeJobStatus start(PurgeJobStatus.Target target, UUID targetId, UUID tenantId,
+                                 ToIntFunction<UUID> chunk, ToLongFunction<UUID> finish) {
+        Job job = new Job(UUID.randomUUID(), target, targetId, tenantId);
+        Job existing = running.putIfAbsent(targetId, job);
+        if (existing != null) {
+            return existing.status();
+        }
+        jobs.put(job.id, job);
+        String actor = AuditLog.currentActor();
+        executor.execute(() -> AuditLog.runAs(actor, () -> run(job, chunk, finish)));
+        return job.status();
+    }
+
+    private void run(Job job, ToIntFunction<UUID> chunk, ToLongFunction<UUID> finish) {
+        try {
+            int deleted;
+            do {
+                deleted = chunk.applyAsInt(job.targetId);
+                job.deleted(deleted);
+            } while (deleted == properties.chunkSize());
+            job.deleted(finish.applyAsLong(job.targetId));
+
+            job.finish(PurgeJobStatus.State.COMPLETED, null);
+            completed.increment();
+            log.info("Purged {} {} of tenant {}: {} bookings deleted",
+                    job.target, job.targetId, job.tenantId, job.deleted.get());
+        } catch (RuntimeException e) {
+            job.finish(PurgeJobStatus.State.FAILED, e.getMessage());
+            failed.increment();
+            log.warn("Purge of {} {} of tenant {} failed after {} bookings. Error: {}",
+                    job.target, job.targetId, job.tenantId, job.deleted.get(), e.getMessage());
+        } finally {
+            running.remove(job.targetId, job);
+            // refresh the entry so it is kept for job-retention after finishing
+            jobs.put(job.id, job);
+        }
+    }
+
+    private final class Job {
+        private final UUID id;
+        private final PurgeJobStatus.Target target;
+        private final UUID targetId;
+        private final UUID tenantId;
+        private final Instant startedAt = Instant.now();
+        private final AtomicLong deleted = new AtomicLong();
+        private volatile PurgeJobStatus.State state = PurgeJobStatus.State.RUNNING;
+        private volatile Instant finishedAt;
+        private volatile String error;
+
+        private Job(UUID id, PurgeJobStatus.Target target, UUID targetId, UUID tenantId) {
+            this.id = id;
+            this.target = target;
+            this.targetId = targetId;
+            this.tenantId = tenantId;
+        }
+
+        private void deleted(long bookings) {
+            deleted.addAndGet(bookings);
+            bookingsDeleted.increment(bookings);
+        }
+
+        private void finish(PurgeJobStatus.State state, String error) {
+            this.error = error;
+            this.finishedAt = Instant.now();
+            this.state = state;
+        }
+
+        private PurgeJobStatus status() {
+            return new PurgeJobStatus(id, target, targetId, tenantId, state, deleted.get(), startedAt, finishedAt, error);
+        }
+    }
+}
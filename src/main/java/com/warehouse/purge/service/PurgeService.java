@@ -0,0 +1,86 @@
+package com.warehouse.purge.service;
+
+import com.warehouse.bookings.events.BookingSnapshot;
+import com.warehouse.bookings.events.BookingsPurgedEvent;
+import com.warehouse.bookings.service.BookingChangePublisher;
+import com.warehouse.config.PurgeProperties;
+import com.warehouse.purge.repository.PurgeRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Removes the bookings and units of a warehouse or customer being deleted with set-based
+ * DELETEs instead of loading them through the entities' cascades. Each chunk publishes one
+ * {@link BookingsPurgedEvent} with the deleted bookings, so the stores derived from bookings
+ * stay in step with a write per chunk rather than per booking.
+ */
+@Service
+@RequiredArgsConstructor
+@Transactional
+public class PurgeService {
+    private final PurgeRepository purgeRepository;
+    private final BookingChangePublisher changePublisher;
+    private final PurgeProperties properties;
+
+    /**
+     * deletes up to chunk-size of the warehouse's bookings
+     *
+     * @return bookings deleted; fewer than chunk-size once none are left
+     */
+    public int purgeWarehouseChunk(UUID tenantId, UUID warehouseId) {
+        return published(tenantId, BookingsPurgedEvent.Scope.WAREHOUSE, warehouseId,
+                purgeRepository.deleteWarehouseBookings(tenantId, warehouseId, properties.chunkSize()));
+    }
+
+    /**
+     * deletes up to chunk-size of the customer's bookings
+     *
+     * @return bookings deleted; fewer than chunk-size once none are left
+     */
+    public int purgeCustomerChunk(UUID tenantId, UUID customerId) {
+        return published(tenantId, BookingsPurgedEvent.Scope.CUSTOMER, customerId,
+                purgeRepository.deleteCustomerBookings(tenantId, customerId, properties.chunkSize()));
+    }
+
+    /**
+     * deletes every booking and then every unit of the warehouse, leaving the warehouse row
+     *
+     * @return bookings deleted
+     */
+    public long purgeWarehouse(UUID tenantId, UUID warehouseId) {
+        long deleted = 0;
+        int chunk;
+        do {
+            chunk = purgeWarehouseChunk(tenantId, warehouseId);
+            deleted += chunk;
+        } while (chunk == properties.chunkSize());
+        purgeRepository.deleteWarehouseUnits(warehouseId);
+        return deleted;
+    }
+
+    /**
+     * deletes every booking of the customer, leaving the customer row
+     *
+     * @return bookings deleted
+     */
+    public long purgeCustomer(UUID tenantId, UUID customerId) {
+        long deleted = 0;
+        int chunk;
+        do {
+            chunk = purgeCustomerChunk(tenantId, customerId);
+            deleted += chunk;
+        } while (chunk == properties.chunkSize());
+        return deleted;
+    }
+
+    private int published(UUID tenantId, BookingsPurgedEvent.Scope scope, UUID scopeId, List<BookingSnapshot> deleted) {
+        if (!deleted.isEmpty()) {
+            changePublisher.purged(tenantId, scope, scopeId, deleted);
+        }
+        return deleted.size();
+    }
+}
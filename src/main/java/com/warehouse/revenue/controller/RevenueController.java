@@ -0,0 +1,69 @@
+package com.warehouse.revenue.controller;
+
+import com.warehouse.common.response.ResponseHandler;
+import com.warehouse.revenue.entity.RevenueGranularity;
+import com.warehouse.revenue.service.RevenueRollupService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/api/v1/revenue")
+@Tag(
+        name = "Revenue",
+        description = "Revenue earned from bookings, per day or month, for a tenant or one of its warehouses"
+)
+public class RevenueController {
+    private final RevenueRollupService revenueRollupService;
+
+    @Operation(
+            summary = "Get tenant's revenue",
+            description = "Revenue of all the tenant's warehouses between two dates, in daily or monthly buckets"
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Revenue successfully returned")
+    })
+    @GetMapping
+    public ResponseEntity<Object> getTenantRevenue(
+            @RequestParam UUID tenantId,
+            @RequestParam LocalDate from,
+            @RequestParam LocalDate to,
+            @RequestParam(defaultValue = "DAY") RevenueGranularity granularity) {
+        return ResponseHandler.responseBuilder(
+                "Revenue successfully returned",
+                HttpStatus.OK,
+                revenueRollupService.getTenantRevenue(tenantId, from, to, granularity)
+        );
+    }
+
+    @Operation(
+            summary = "Get warehouse's revenue",
+            description = "Revenue of one warehouse between two dates, in daily or monthly buckets"
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Revenue successfully returned"),
+            @ApiResponse(responseCode = "404", description = "Warehouse not found")
+    })
+    @GetMapping("/warehouses/{warehouseId}")
+    public ResponseEntity<Object> getWarehouseRevenue(
+            @PathVariable UUID warehouseId,
+            @RequestParam UUID tenantId,
+            @RequestParam LocalDate from,
+            @RequestParam LocalDate to,
+            @RequestParam(defaultValue = "DAY") RevenueGranularity granularity) {
+        return ResponseHandler.responseBuilder(
+                "Revenue successfully returned",
+                HttpStatus.OK,
+                revenueRollupService.getWarehouseRevenue(tenantId, warehouseId, from, to, granularity)
+        );
+    }
+}
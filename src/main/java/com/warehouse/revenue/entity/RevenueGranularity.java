@@ -0,0 +1,15 @@
+package com.warehouse.revenue.entity;
+
+import java.time.LocalDate;
+
+public enum RevenueGranularity {
+    DAY,
+    MONTH;
+
+    /**
+     * first day of the bucket the date falls in
+     */
+    public LocalDate bucketOf(LocalDate date) {
+        return this == DAY ? date : date.withDayOfMonth(1);
+    }
+}
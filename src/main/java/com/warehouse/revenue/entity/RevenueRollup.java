@@ -0,0 +1,47 @@
+package com.warehouse.revenue.entity;
+
+import jakarta.persistence.*;
+import lombok.Data;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.UUID;
+
+/**
+ * Revenue earned in one bucket (a day or a month) by one warehouse or a whole tenant.
+ * Maintained from booking changes, never recomputed on read.
+ */
+@Entity
+@Data
+@Table(
+        name = "revenue_rollups",
+        uniqueConstraints = @UniqueConstraint(
+                name = "uk_revenue_rollups_bucket",
+                columnNames = {"scope", "scope_id", "granularity", "bucket_start"}
+        ),
+        indexes = @Index(name = "idx_revenue_rollups_tenant", columnList = "tenant_id")
+)
+public class RevenueRollup {
+    @Id
+    private UUID id;
+
+    @Column(name = "tenant_id", nullable = false)
+    private UUID tenantId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 16)
+    private RevenueScope scope;
+
+    @Column(name = "scope_id", nullable = false)
+    private UUID scopeId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 16)
+    private RevenueGranularity granularity;
+
+    @Column(name = "bucket_start", nullable = false)
+    private LocalDate bucketStart;
+
+    @Column(nullable = false, precision = 19, scale = 6)
+    private BigDecimal amount;
+}
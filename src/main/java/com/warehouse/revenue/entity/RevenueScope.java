@@ -0,0 +1,6 @@
+package com.warehouse.revenue.entity;
+
+public enum RevenueScope {
+    WAREHOUSE,
+    TENANT
+}
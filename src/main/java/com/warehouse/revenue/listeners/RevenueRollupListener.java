@@ -0,0 +1,29 @@
+package com.warehouse.revenue.listeners;
+
+import com.warehouse.bookings.events.BookingChangedEvent;
+import com.warehouse.bookings.events.BookingsPurgedEvent;
+import com.warehouse.revenue.service.RevenueRollupService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * keeps revenue rollups in step with bookings; runs before commit so a booking change and
+ * its revenue change commit or roll back together
+ */
+@Component
+@RequiredArgsConstructor
+public class RevenueRollupListener {
+    private final RevenueRollupService revenueRollupService;
+
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
+    public void handleBookingChanged(BookingChangedEvent event) {
+        revenueRollupService.apply(event);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
+    public void handleBookingsPurged(BookingsPurgedEvent event) {
+        revenueRollupService.applyPurged(event);
+    }
+}
@@ -0,0 +1,28 @@
+package com.warehouse.revenue.repository;
+
+import com.warehouse.revenue.entity.RevenueGranularity;
+import com.warehouse.revenue.entity.RevenueRollup;
+import com.warehouse.revenue.entity.RevenueScope;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface RevenueRollupRepository extends JpaRepository<RevenueRollup, UUID> {
+    List<RevenueRollup> findByScopeAndScopeIdAndGranularityAndBucketStartBetweenOrderByBucketStart(
+            RevenueScope scope,
+            UUID scopeId,
+            RevenueGranularity granularity,
+            LocalDate from,
+            LocalDate to);
+
+    List<RevenueRollup> findByScopeAndScopeIdAndGranularityAndBucketStartIn(
+            RevenueScope scope,
+            UUID scopeId,
+            RevenueGranularity granularity,
+            Collection<LocalDate> bucketStarts);
+}
@@ -0,0 +1,79 @@
+package com.warehouse.revenue.service;
+
+import com.warehouse.revenue.repository.RevenueRollupRepository;
+import com.warehouse.shards.service.TenantShards;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Builds revenue rollups for bookings that existed before rollups were maintained. Each
+ * tenant is rebuilt in its own transaction under the same lock as live updates, so it is
+ * safe to run while bookings are being changed.
+ */
+@Slf4j
+@Component
+public class RevenueBackfillJob {
+    public enum Mode {
+        /** only when no rollups exist yet */
+        IF_EMPTY,
+        ALWAYS,
+        NEVER
+    }
+
+    private final RevenueRollupService revenueRollupService;
+    private final RevenueRollupRepository revenueRollupRepository;
+    private final TenantShards tenantShards;
+    private final Mode mode;
+
+    public RevenueBackfillJob(RevenueRollupService revenueRollupService,
+                              RevenueRollupRepository revenueRollupRepository,
+                              TenantShards tenantShards,
+                              @Value("${warehouse.revenue.backfill:IF_EMPTY}") Mode mode) {
+        this.revenueRollupService = revenueRollupService;
+        this.revenueRollupRepository = revenueRollupRepository;
+        this.tenantShards = tenantShards;
+        this.mode = mode;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillOnStartup() {
+        if (mode == Mode.NEVER || (mode == Mode.IF_EMPTY && rollupCount() > 0)) {
+            return;
+        }
+        backfill();
+    }
+
+    /**
+     * rebuilds the rollups of every tenant
+     */
+    public void backfill() {
+        List<UUID> tenantIds = tenantShards.allTenantIds();
+        log.info("Starting revenue backfill for {} tenants", tenantIds.size());
+
+        int bookings = 0;
+        int failed = 0;
+        for (UUID tenantId : tenantIds) {
+            try {
+                bookings += revenueRollupService.rebuildTenant(tenantId);
+            } catch (Exception e) {
+                failed++;
+                log.warn("Revenue backfill failed for tenant {}: {}", tenantId, e.getMessage());
+            }
+        }
+
+        log.info("Revenue backfill completed: {} bookings rolled up, {} tenants failed", bookings, failed);
+    }
+
+    private long rollupCount() {
+        return tenantShards.mapShards(shard -> revenueRollupRepository.count())
+                .stream()
+                .mapToLong(Long::longValue)
+                .sum();
+    }
+}
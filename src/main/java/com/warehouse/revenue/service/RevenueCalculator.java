@@ -0,0 +1,82 @@
+package com.warehouse.revenue.service;
+
+import com.warehouse.bookings.entity.BookingStatus;
+import com.warehouse.bookings.events.BookingSnapshot;
+import com.warehouse.revenue.entity.RevenueGranularity;
+import com.warehouse.revenue.entity.RevenueScope;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Spreads a booking's monthly rate over the days it covers: each day earns
+ * monthlyRate / days in that month, and each month earns the sum of its days. Cancelled
+ * bookings earn nothing.
+ */
+public final class RevenueCalculator {
+    static final int SCALE = 6;
+
+    public record Bucket(RevenueScope scope, UUID scopeId, RevenueGranularity granularity, LocalDate bucketStart) {
+    }
+
+    private RevenueCalculator() {
+    }
+
+    /**
+     * adds the booking's revenue, multiplied by sign (1 or -1), to every bucket it touches
+     */
+    public static void accumulate(BookingSnapshot booking, int sign, Map<Bucket, BigDecimal> into) {
+        if (!earnsRevenue(booking)) {
+            return;
+        }
+
+        BigDecimal signedRate = booking.monthlyRate().multiply(BigDecimal.valueOf(sign));
+        YearMonth month = YearMonth.from(booking.startDate());
+        YearMonth lastMonth = YearMonth.from(booking.endDate());
+
+        for (; !month.isAfter(lastMonth); month = month.plusMonths(1)) {
+            LocalDate first = max(month.atDay(1), booking.startDate());
+            LocalDate last = min(month.atEndOfMonth(), booking.endDate());
+            int days = last.getDayOfMonth() - first.getDayOfMonth() + 1;
+
+            BigDecimal perDay = signedRate.divide(BigDecimal.valueOf(month.lengthOfMonth()), SCALE, RoundingMode.HALF_EVEN);
+            BigDecimal perMonth = perDay.multiply(BigDecimal.valueOf(days));
+
+            add(into, booking, RevenueGranularity.MONTH, month.atDay(1), perMonth);
+            for (LocalDate day = first; !day.isAfter(last); day = day.plusDays(1)) {
+                add(into, booking, RevenueGranularity.DAY, day, perDay);
+            }
+        }
+    }
+
+    private static boolean earnsRevenue(BookingSnapshot booking) {
+        return booking.status() != BookingStatus.CANCELLED
+                && booking.monthlyRate() != null
+                && booking.startDate() != null
+                && booking.endDate() != null
+                && !booking.endDate().isBefore(booking.startDate());
+    }
+
+    private static void add(Map<Bucket, BigDecimal> into,
+                            BookingSnapshot booking,
+                            RevenueGranularity granularity,
+                            LocalDate bucketStart,
+                            BigDecimal amount) {
+        into.merge(new Bucket(RevenueScope.WAREHOUSE, booking.warehouseId(), granularity, bucketStart),
+                amount, BigDecimal::add);
+        into.merge(new Bucket(RevenueScope.TENANT, booking.tenantId(), granularity, bucketStart),
+                amount, BigDecimal::add);
+    }
+
+    private static LocalDate max(LocalDate a, LocalDate b) {
+        return a.isAfter(b) ? a : b;
+    }
+
+    private static LocalDate min(LocalDate a, LocalDate b) {
+        return a.isBefore(b) ? a : b;
+    }
+}
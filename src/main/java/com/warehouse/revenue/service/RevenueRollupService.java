@@ -0,0 +1,209 @@
+package com.warehouse.revenue.service;
+
+import com.warehouse.bookings.events.BookingChangedEvent;
+import com.warehouse.bookings.events.BookingSnapshot;
+import com.warehouse.bookings.events.BookingsPurgedEvent;
+import com.warehouse.bookings.repository.BookingArchiveRepository;
+import com.warehouse.bookings.repository.BookingsRepository;
+import com.warehouse.common.dto.RevenueBucket;
+import com.warehouse.common.dto.RevenueMetrics;
+import com.warehouse.common.dto.RevenueResponse;
+import com.warehouse.common.exceptions.NotFoundException;
+import com.warehouse.config.ReadFromPrimary;
+import com.warehouse.revenue.entity.RevenueGranularity;
+import com.warehouse.revenue.entity.RevenueRollup;
+import com.warehouse.revenue.entity.RevenueScope;
+import com.warehouse.revenue.repository.RevenueRollupRepository;
+import com.warehouse.warehouses.repository.WarehouseRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class RevenueRollupService {
+    private final RevenueRollupRepository revenueRollupRepository;
+    private final RevenueRollupWriter writer;
+    private final BookingsRepository bookingsRepository;
+    private final BookingArchiveRepository bookingArchiveRepository;
+    private final WarehouseRepository warehouseRepository;
+
+    /**
+     * applies the difference between the booking's old and new revenue to its buckets
+     *
+     * @param event booking change, applied in the transaction that made it
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void apply(BookingChangedEvent event) {
+        Map<RevenueCalculator.Bucket, BigDecimal> deltas = new HashMap<>();
+        if (event.getBefore() != null) {
+            RevenueCalculator.accumulate(event.getBefore(), -1, deltas);
+        }
+        if (event.getAfter() != null) {
+            RevenueCalculator.accumulate(event.getAfter(), 1, deltas);
+        }
+        deltas.values().removeIf(amount -> amount.signum() == 0);
+
+        if (deltas.isEmpty()) {
+            return;
+        }
+
+        writer.lockTenant(event.getTenantId());
+        writer.addAll(event.getTenantId(), deltas);
+    }
+
+    /**
+     * removes the revenue of bulk-deleted bookings from their buckets in one batch
+     *
+     * @param event bookings deleted, applied in the transaction that deleted them
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void applyPurged(BookingsPurgedEvent event) {
+        Map<RevenueCalculator.Bucket, BigDecimal> deltas = new HashMap<>();
+        for (BookingSnapshot before : event.getDeleted()) {
+            RevenueCalculator.accumulate(before, -1, deltas);
+        }
+        deltas.values().removeIf(amount -> amount.signum() == 0);
+
+        if (deltas.isEmpty()) {
+            return;
+        }
+
+        writer.lockTenant(event.getTenantId());
+        writer.addAll(event.getTenantId(), deltas);
+    }
+
+    /**
+     * recomputes every bucket of the tenant from its bookings, archived ones included
+     *
+     * @param tenantId tenant
+     * @return number of bookings rolled up
+     */
+    @Transactional
+    public int rebuildTenant(UUID tenantId) {
+        writer.lockTenant(tenantId);
+
+        List<BookingSnapshot> bookings = new ArrayList<>(bookingsRepository.findSnapshotsByTenantId(tenantId));
+        bookings.addAll(bookingArchiveRepository.findSnapshotsByTenantId(tenantId));
+        Map<RevenueCalculator.Bucket, BigDecimal> amounts = new HashMap<>();
+        for (BookingSnapshot booking : bookings) {
+            RevenueCalculator.accumulate(booking, 1, amounts);
+        }
+
+        writer.deleteTenant(tenantId);
+        writer.addAll(tenantId, amounts);
+        return bookings.size();
+    }
+
+    /**
+     * Get revenue of a warehouse per day or month
+     *
+     * @param tenantId    owner of the warehouse
+     * @param warehouseId warehouse
+     * @param from        first day, inclusive
+     * @param to          last day, inclusive
+     * @param granularity DAY or MONTH buckets
+     */
+    @Transactional(readOnly = true)
+    public RevenueResponse getWarehouseRevenue(UUID tenantId,
+                                               UUID warehouseId,
+                                               LocalDate from,
+                                               LocalDate to,
+                                               RevenueGranularity granularity) {
+        warehouseRepository.findByIdAndTenantId(warehouseId, tenantId)
+                .orElseThrow(() -> new NotFoundException("Warehouse not found"));
+
+        return read(RevenueScope.WAREHOUSE, warehouseId, from, to, granularity);
+    }
+
+    /**
+     * Get revenue of all the tenant's warehouses per day or month
+     *
+     * @param tenantId    tenant
+     * @param from        first day, inclusive
+     * @param to          last day, inclusive
+     * @param granularity DAY or MONTH buckets
+     */
+    @Transactional(readOnly = true)
+    public RevenueResponse getTenantRevenue(UUID tenantId,
+                                            LocalDate from,
+                                            LocalDate to,
+                                            RevenueGranularity granularity) {
+        return read(RevenueScope.TENANT, tenantId, from, to, granularity);
+    }
+
+    /**
+     * Get revenue earned today, this month and last month
+     *
+     * @param tenantId tenant
+     */
+    @Transactional(readOnly = true)
+    @ReadFromPrimary
+    @Cacheable(value = "revenueMetrics",
+            key = "@tenantCacheGenerations.key(#tenantId) + ':' + T(java.time.LocalDate).now()")
+    public RevenueMetrics getRevenueMetrics(UUID tenantId) {
+        LocalDate today = LocalDate.now();
+        LocalDate currentMonth = RevenueGranularity.MONTH.bucketOf(today);
+        LocalDate previousMonth = currentMonth.minusMonths(1);
+
+        BigDecimal todayAmount = sum(revenueRollupRepository.findByScopeAndScopeIdAndGranularityAndBucketStartIn(
+                RevenueScope.TENANT, tenantId, RevenueGranularity.DAY, List.of(today)));
+
+        Map<LocalDate, BigDecimal> months = new HashMap<>();
+        revenueRollupRepository.findByScopeAndScopeIdAndGranularityAndBucketStartIn(
+                        RevenueScope.TENANT, tenantId, RevenueGranularity.MONTH, List.of(currentMonth, previousMonth))
+                .forEach(rollup -> months.put(rollup.getBucketStart(), rollup.getAmount()));
+
+        return new RevenueMetrics(
+                todayAmount,
+                round(months.getOrDefault(currentMonth, BigDecimal.ZERO)),
+                round(months.getOrDefault(previousMonth, BigDecimal.ZERO))
+        );
+    }
+
+    private RevenueResponse read(RevenueScope scope,
+                                 UUID scopeId,
+                                 LocalDate from,
+                                 LocalDate to,
+                                 RevenueGranularity granularity) {
+        if (from == null || to == null) {
+            throw new IllegalArgumentException("Select a from and to date");
+        }
+        if (from.isAfter(to)) {
+            throw new IllegalArgumentException("From date cannot be after to date");
+        }
+
+        List<RevenueRollup> rollups = revenueRollupRepository
+                .findByScopeAndScopeIdAndGranularityAndBucketStartBetweenOrderByBucketStart(
+                        scope, scopeId, granularity, granularity.bucketOf(from), to);
+
+        List<RevenueBucket> buckets = rollups.stream()
+                .map(rollup -> new RevenueBucket(rollup.getBucketStart(), round(rollup.getAmount())))
+                .toList();
+
+        return new RevenueResponse(scopeId, granularity, from, to, sum(rollups), buckets);
+    }
+
+    private static BigDecimal sum(List<RevenueRollup> rollups) {
+        return round(rollups.stream()
+                .map(RevenueRollup::getAmount)
+                .reduce(BigDecimal.ZERO, BigDecimal::add));
+    }
+
+    private static BigDecimal round(BigDecimal amount) {
+        return amount.setScale(2, RoundingMode.HALF_EVEN);
+    }
+}
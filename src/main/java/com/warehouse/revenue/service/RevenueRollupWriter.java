@@ -0,0 +1,70 @@
+package com.warehouse.revenue.service;
+
+import com.warehouse.common.id.TimeOrderedUuid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Writes revenue deltas with batched upserts. Callers must hold the tenant's lock (see
+ * {@link #lockTenant}) so deltas and rebuilds of the same tenant never interleave.
+ */
+@Component
+@RequiredArgsConstructor
+class RevenueRollupWriter {
+    private static final int BATCH_SIZE = 500;
+
+    private static final String UPSERT = """
+            INSERT INTO revenue_rollups (id, tenant_id, scope, scope_id, granularity, bucket_start, amount)
+            VALUES (?, ?, ?, ?, ?, ?, ?)
+            ON CONFLICT (scope, scope_id, granularity, bucket_start)
+            DO UPDATE SET amount = revenue_rollups.amount + EXCLUDED.amount
+            """;
+
+    private static final Comparator<RevenueCalculator.Bucket> BUCKET_ORDER = Comparator
+            .comparing((RevenueCalculator.Bucket bucket) -> bucket.scope())
+            .thenComparing(RevenueCalculator.Bucket::scopeId)
+            .thenComparing(RevenueCalculator.Bucket::granularity)
+            .thenComparing(RevenueCalculator.Bucket::bucketStart);
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * transaction-scoped advisory lock on the tenant's rollups, released on commit or rollback
+     */
+    void lockTenant(UUID tenantId) {
+        long key = tenantId.getMostSignificantBits() ^ tenantId.getLeastSignificantBits();
+        jdbcTemplate.query("SELECT pg_advisory_xact_lock(?)", rs -> null, key);
+    }
+
+    /**
+     * adds each amount to its bucket, creating buckets that do not exist yet
+     */
+    void addAll(UUID tenantId, Map<RevenueCalculator.Bucket, BigDecimal> amounts) {
+        List<Map.Entry<RevenueCalculator.Bucket, BigDecimal>> rows = new ArrayList<>(amounts.entrySet());
+        rows.sort(Map.Entry.comparingByKey(BUCKET_ORDER));
+
+        jdbcTemplate.batchUpdate(UPSERT, rows, BATCH_SIZE, (ps, row) -> {
+            RevenueCalculator.Bucket bucket = row.getKey();
+            ps.setObject(1, TimeOrderedUuid.next());
+            ps.setObject(2, tenantId);
+            ps.setString(3, bucket.scope().name());
+            ps.setObject(4, bucket.scopeId());
+            ps.setString(5, bucket.granularity().name());
+            ps.setDate(6, Date.valueOf(bucket.bucketStart()));
+            ps.setBigDecimal(7, row.getValue());
+        });
+    }
+
+    void deleteTenant(UUID tenantId) {
+        jdbcTemplate.update("DELETE FROM revenue_rollups WHERE tenant_id = ?", tenantId);
+    }
+}
@@ -0,0 +1,76 @@
+package com.warehouse.shards.controller;
+
+import com.warehouse.common.response.ResponseHandler;
+import com.warehouse.shards.service.TenantMoveJobs;
+import com.warehouse.shards.service.TenantShards;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.UUID;
+
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/api/v1/shards")
+@Tag(
+        name = "Shards",
+        description = "Databases tenants are spread over, and moving tenants between them"
+)
+public class ShardController {
+    private final TenantShards tenantShards;
+    private final TenantMoveJobs tenantMoveJobs;
+
+    @Operation(
+            summary = "List shards",
+            description = "Every shard with the number of tenants the directory places on it"
+    )
+    @GetMapping
+    public ResponseEntity<Object> getShards() {
+        return ResponseHandler.responseBuilder(
+                "Shards successfully returned",
+                HttpStatus.OK,
+                tenantShards.summary()
+        );
+    }
+
+    @Operation(
+            summary = "Move a tenant to another shard",
+            description = "Starts copying all of the tenant's data to the target shard and removing it from the current one " +
+                    "in the background; follow it with GET /api/v1/shards/moves/{jobId}. " +
+                    "The tenant's requests are answered with 503 while the move runs"
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "202", description = "Tenant move started"),
+            @ApiResponse(responseCode = "404", description = "Tenant or shard not found")
+    })
+    @PostMapping("/tenants/{tenantId}/move")
+    public ResponseEntity<Object> moveTenant(@PathVariable UUID tenantId, @RequestParam String targetShard) {
+        return ResponseHandler.responseBuilder(
+                "Tenant move started",
+                HttpStatus.ACCEPTED,
+                tenantMoveJobs.move(tenantId, targetShard)
+        );
+    }
+
+    @Operation(
+            summary = "Get tenant move progress",
+            description = "State of a move started with POST /api/v1/shards/tenants/{tenantId}/move, and the rows copied once it completes"
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Move status successfully returned"),
+            @ApiResponse(responseCode = "404", description = "Move job not found")
+    })
+    @GetMapping("/moves/{jobId}")
+    public ResponseEntity<Object> getMove(@PathVariable UUID jobId) {
+        return ResponseHandler.responseBuilder(
+                "Move status successfully returned",
+                HttpStatus.OK,
+                tenantMoveJobs.getStatus(jobId)
+        );
+    }
+}
@@ -0,0 +1,127 @@
+package com.warehouse.shards.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.warehouse.common.dto.TenantMoveResult;
+import com.warehouse.common.dto.TenantMoveStatus;
+import com.warehouse.common.exceptions.NotFoundException;
+import com.warehouse.config.ShardProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Runs {@link TenantShardMover} moves in the background, one at a time, so the request
+ * starting a move returns before the directory-ttl wait and the copy.
+ * <p>
+ * The shard and the tenant are checked when the move is started. Jobs are tracked on the
+ * node that runs them and kept for move-job-retention after they finish; starting a move
+ * of a tenant already being moved returns that job.
+ */
+@Slf4j
+@Service
+public class TenantMoveJobs {
+    private final TenantShardMover tenantShardMover;
+
+    private final ExecutorService executor = Executors.newSingleThreadExecutor();
+    private final Cache<UUID, Job> jobs;
+    private final Map<UUID, Job> running = new ConcurrentHashMap<>();
+    private final Counter completed;
+    private final Counter failed;
+
+    public TenantMoveJobs(TenantShardMover tenantShardMover,
+                          ShardProperties properties,
+                          MeterRegistry meterRegistry) {
+        this.tenantShardMover = tenantShardMover;
+
+        this.jobs = Caffeine.newBuilder().expireAfterWrite(properties.moveJobRetention()).build();
+        this.completed = meterRegistry.counter("warehouse.shards.moves", "result", "completed");
+        this.failed = meterRegistry.counter("warehouse.shards.moves", "result", "failed");
+    }
+
+    /**
+     * starts moving the tenant to the target shard in the background
+     *
+     * @throws NotFoundException if the shard or the tenant does not exist
+     */
+    public TenantMoveStatus move(UUID tenantId, String targetShard) {
+        String sourceShard = tenantShardMover.sourceShard(tenantId, targetShard);
+        Job job = new Job(UUID.randomUUID(), tenantId, sourceShard, targetShard);
+        Job existing = running.putIfAbsent(tenantId, job);
+        if (existing != null) {
+            return existing.status();
+        }
+        jobs.put(job.id, job);
+        executor.execute(() -> run(job));
+        return job.status();
+    }
+
+    public TenantMoveStatus getStatus(UUID jobId) {
+        Job job = jobs.getIfPresent(jobId);
+        if (job == null) {
+            throw new NotFoundException("Move job not found");
+        }
+        return job.status();
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private void run(Job job) {
+        try {
+            TenantMoveResult result = tenantShardMover.move(job.tenantId, job.toShard);
+            job.rowsCopied = result.rowsCopied();
+            job.finish(TenantMoveStatus.State.COMPLETED, null);
+            completed.increment();
+        } catch (RuntimeException e) {
+            job.finish(TenantMoveStatus.State.FAILED, e.getMessage());
+            failed.increment();
+            log.warn("Move of tenant {} from shard {} to {} failed. Error: {}",
+                    job.tenantId, job.fromShard, job.toShard, e.getMessage());
+        } finally {
+            running.remove(job.tenantId, job);
+            // refresh the entry so it is kept for move-job-retention after finishing
+            jobs.put(job.id, job);
+        }
+    }
+
+    private static final class Job {
+        private final UUID id;
+        private final UUID tenantId;
+        private final String fromShard;
+        private final String toShard;
+        private final Instant startedAt = Instant.now();
+        private volatile long rowsCopied;
+        private volatile TenantMoveStatus.State state = TenantMoveStatus.State.RUNNING;
+        private volatile Instant finishedAt;
+        private volatile String error;
+
+        private Job(UUID id, UUID tenantId, String fromShard, String toShard) {
+            this.id = id;
+            this.tenantId = tenantId;
+            this.fromShard = fromShard;
+            this.toShard = toShard;
+        }
+
+        private void finish(TenantMoveStatus.State state, String error) {
+            this.error = error;
+            this.finishedAt = Instant.now();
+            this.state = state;
+        }
+
+        private TenantMoveStatus status() {
+            return new TenantMoveStatus(id, tenantId, fromShard, toShard, state, rowsCopied, startedAt, finishedAt, error);
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package com.warehouse.shards.service;
+
+import com.warehouse.config.ShardContext;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Routes every service call that takes a {@code UUID tenantId} to the tenant's shard, so
+ * controllers, the dashboard's parallel loads and per-tenant job steps need no changes.
+ * It runs before the transaction and cache interceptors, so the transaction's connection
+ * is taken from the right shard. A call for a tenant on another shard than an already
+ * running transaction is rejected rather than silently reading the wrong database.
+ */
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class TenantShardAspect {
+    private static final int NO_TENANT = -1;
+
+    private final ObjectProvider<TenantShards> tenantShards;
+    private final Map<Method, Integer> tenantParameters = new ConcurrentHashMap<>();
+
+    public TenantShardAspect(ObjectProvider<TenantShards> tenantShards) {
+        this.tenantShards = tenantShards;
+    }
+
+    @Around("execution(public * com.warehouse..service..*(.., java.util.UUID, ..))"
+            + " && !within(com.warehouse.shards..*)")
+    public Object route(ProceedingJoinPoint joinPoint) throws Throwable {
+        TenantShards shards = tenantShards.getObject();
+        if (!shards.isSharded()) {
+            return joinPoint.proceed();
+        }
+
+        MethodSignature signature = (MethodSignature) joinPoint.getSignature();
+        int index = tenantParameters.computeIfAbsent(signature.getMethod(), method -> tenantParameter(signature));
+        Object tenantId = index == NO_TENANT ? null : joinPoint.getArgs()[index];
+        if (tenantId == null) {
+            return joinPoint.proceed();
+        }
+
+        String shard = shards.shardOf((UUID) tenantId);
+        String current = ShardContext.current();
+        if (shard.equals(current)) {
+            return joinPoint.proceed();
+        }
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            throw new IllegalStateException("Tenant " + tenantId + " lives on shard " + shard
+                    + " but the current transaction runs on shard " + current);
+        }
+
+        return ShardContext.callOn(shard, () -> {
+            try {
+                return joinPoint.proceed();
+            } catch (RuntimeException | Error e) {
+                throw e;
+            } catch (Throwable e) {
+                throw new IllegalStateException(e);
+            }
+        });
+    }
+
+    private static int tenantParameter(MethodSignature signature) {
+        String[] names = signature.getParameterNames();
+        Class<?>[] types = signature.getParameterTypes();
+        for (int i = 0; i < types.length; i++) {
+            if (types[i] == UUID.class && names != null && "tenantId".equals(names[i])) {
+                return i;
+            }
+        }
+        return NO_TENANT;
+    }
+}
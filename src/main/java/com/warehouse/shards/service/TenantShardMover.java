@@ -0,0 +1,168 @@
+package com.warehouse.shards.service;
+
+import com.warehouse.audit.entity.AuditAction;
+import com.warehouse.audit.service.AuditLog;
+import com.warehouse.common.dto.TenantMoveResult;
+import com.warehouse.common.exceptions.NotFoundException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.ResultSetMetaData;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Moves one tenant's rows to another shard:
+ * <ol>
+ *     <li>mark the tenant as moving and wait {@code directory-ttl}, so every instance has
+ *     stopped serving it (requests get 503 until the move ends)</li>
+ *     <li>in one transaction on the target, clear any leftovers of an earlier attempt and
+ *     copy every table, parents first</li>
+ *     <li>point the directory at the target and clear the moving flag</li>
+ *     <li>delete the rows from the source, children first</li>
+ * </ol>
+ * A move that fails before step 3 leaves the tenant on the source and can be retried.
+ * Row ids are kept, so caches and in-memory indexes stay valid.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class TenantShardMover {
+    private static final int BATCH_SIZE = 500;
+
+    /* parents before children; every filter takes the tenant id once */
+    private static final List<TenantTable> TABLES = List.of(
+            new TenantTable("tenants", "id = ?"),
+            new TenantTable("warehouses", "tenant_id = ?"),
+            new TenantTable("storage_units", "warehouse_id IN (SELECT id FROM warehouses WHERE tenant_id = ?)"),
+            new TenantTable("customers", "tenant_id = ?"),
+            new TenantTable("bookings", "customer_id IN (SELECT id FROM customers WHERE tenant_id = ?)"),
+            new TenantTable("bookings_archive", "tenant_id = ?"),
+            new TenantTable("booking_view", "tenant_id = ?"),
+            new TenantTable("booking_view_changes", "tenant_id = ?"),
+            new TenantTable("ledger_events", "tenant_id = ?"),
+            new TenantTable("ledger_snapshots", "tenant_id = ?"),
+            new TenantTable("audit_log", "tenant_id = ?"),
+            new TenantTable("invoice_lines", "tenant_id = ?"),
+            new TenantTable("billing_checkpoints", "tenant_id = ?"),
+            new TenantTable("revenue_rollups", "tenant_id = ?"),
+            new TenantTable("utilization_points", "tenant_id = ?")
+    );
+
+    private final TenantShards tenantShards;
+    private final AuditLog auditLog;
+
+    private record TenantTable(String name, String filter) {
+    }
+
+    /**
+     * @return the shard the tenant is on now
+     * @throws NotFoundException if the shard or the tenant does not exist
+     */
+    public String sourceShard(UUID tenantId, String targetShard) {
+        if (!tenantShards.names().contains(targetShard)) {
+            throw new NotFoundException("Shard not found: " + targetShard);
+        }
+        String sourceShard = tenantShards.shardOf(tenantId);
+        JdbcTemplate source = new JdbcTemplate(tenantShards.dataSourceOf(sourceShard));
+        if (source.queryForObject("SELECT COUNT(*) FROM tenants WHERE id = ?", Long.class, tenantId) == 0) {
+            throw new NotFoundException("Tenant not found");
+        }
+        return sourceShard;
+    }
+
+    public TenantMoveResult move(UUID tenantId, String targetShard) {
+        String sourceShard = sourceShard(tenantId, targetShard);
+        if (sourceShard.equals(targetShard)) {
+            return new TenantMoveResult(tenantId, sourceShard, targetShard, 0);
+        }
+
+        JdbcTemplate source = new JdbcTemplate(tenantShards.dataSourceOf(sourceShard));
+        JdbcTemplate target = new JdbcTemplate(tenantShards.dataSourceOf(targetShard));
+
+        log.info("Moving tenant {} from shard {} to {}", tenantId, sourceShard, targetShard);
+        tenantShards.beginMove(tenantId, sourceShard);
+        long copied;
+        try {
+            Thread.sleep(tenantShards.directoryTtl().toMillis());
+            copied = inTransaction(tenantShards.dataSourceOf(targetShard), () -> {
+                delete(target, tenantId);
+                long rows = 0;
+                for (TenantTable table : TABLES) {
+                    rows += copy(table, tenantId, source, target);
+                }
+                return rows;
+            });
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            tenantShards.endMove(tenantId, sourceShard);
+            throw new IllegalStateException("Interrupted while moving tenant " + tenantId, e);
+        } catch (RuntimeException e) {
+            tenantShards.endMove(tenantId, sourceShard);
+            throw e;
+        }
+
+        tenantShards.endMove(tenantId, targetShard);
+        inTransaction(tenantShards.dataSourceOf(sourceShard), () -> delete(source, tenantId));
+
+        log.info("Moved tenant {} from shard {} to {}: {} rows", tenantId, sourceShard, targetShard, copied);
+        auditLog.record(tenantId, AuditAction.TENANT_MOVED, tenantId, "from " + sourceShard + " to " + targetShard);
+        return new TenantMoveResult(tenantId, sourceShard, targetShard, copied);
+    }
+
+    private static long copy(TenantTable table, UUID tenantId, JdbcTemplate source, JdbcTemplate target) {
+        AtomicLong copied = new AtomicLong();
+        List<Object[]> batch = new ArrayList<>(BATCH_SIZE);
+        String[] insert = new String[1];
+
+        source.query("SELECT * FROM " + table.name() + " WHERE " + table.filter(), rs -> {
+            ResultSetMetaData meta = rs.getMetaData();
+            int columns = meta.getColumnCount();
+            if (insert[0] == null) {
+                List<String> names = new ArrayList<>(columns);
+                for (int i = 1; i <= columns; i++) {
+                    names.add(meta.getColumnName(i));
+                }
+                insert[0] = "INSERT INTO " + table.name() + " (" + String.join(", ", names) + ") VALUES ("
+                        + String.join(", ", Collections.nCopies(columns, "?")) + ")";
+            }
+            Object[] row = new Object[columns];
+            for (int i = 0; i < columns; i++) {
+                row[i] = rs.getObject(i + 1);
+            }
+            batch.add(row);
+            if (batch.size() == BATCH_SIZE) {
+                target.batchUpdate(insert[0], batch);
+                copied.addAndGet(batch.size());
+                batch.clear();
+            }
+        }, tenantId);
+
+        if (!batch.isEmpty()) {
+            target.batchUpdate(insert[0], batch);
+            copied.addAndGet(batch.size());
+        }
+        return copied.get();
+    }
+
+    private static long delete(JdbcTemplate jdbcTemplate, UUID tenantId) {
+        long deleted = 0;
+        for (TenantTable table : TABLES.reversed()) {
+            deleted += jdbcTemplate.update("DELETE FROM " + table.name() + " WHERE " + table.filter(), tenantId);
+        }
+        return deleted;
+    }
+
+    private static <T> T inTransaction(DataSource dataSource, Supplier<T> work) {
+        return new TransactionTemplate(new DataSourceTransactionManager(dataSource)).execute(status -> work.get());
+    }
+}
@@ -0,0 +1,272 @@
+package com.warehouse.shards.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.warehouse.common.dto.ShardSummary;
+import com.warehouse.common.exceptions.TenantMovingException;
+import com.warehouse.config.ShardContext;
+import com.warehouse.config.ShardProperties;
+import com.warehouse.config.ShardRoutingDataSource;
+import com.warehouse.tenants.repository.TenantRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * The tenant directory and the shards behind it.
+ * <p>
+ * The directory ({@code tenant_shards} in the primary database) maps each tenant to the
+ * shard holding all of its rows; tenants without an entry live on the primary. Entries are
+ * cached for {@code directory-ttl}, which is why a tenant is marked as moving for that long
+ * before {@link TenantShardMover} copies it. With sharding disabled there is a single shard,
+ * {@link ShardContext#PRIMARY}, and no lookups are made.
+ * <p>
+ * Cross-tenant jobs use {@link #forEachShard} and {@link #mapShards} to run once per shard.
+ */
+@Slf4j
+@Component
+public class TenantShards {
+    private final ShardProperties properties;
+    private final ShardRoutingDataSource routing;
+    private final TenantRepository tenantRepository;
+    private final JdbcTemplate directory;
+    private final Cache<UUID, Entry> entries;
+
+    private record Entry(String shard, boolean moving) {
+    }
+
+    public TenantShards(ShardProperties properties,
+                        ObjectProvider<ShardRoutingDataSource> routing,
+                        DataSource dataSource,
+                        TenantRepository tenantRepository) {
+        this.properties = properties;
+        this.routing = properties.enabled() ? routing.getObject() : null;
+        this.tenantRepository = tenantRepository;
+        this.directory = new JdbcTemplate(this.routing != null ? this.routing.shard(ShardContext.PRIMARY) : dataSource);
+        this.entries = Caffeine.newBuilder()
+                .expireAfterWrite(properties.directoryTtl())
+                .maximumSize(100_000)
+                .build();
+    }
+
+    public boolean isSharded() {
+        return routing != null;
+    }
+
+    public List<String> names() {
+        return routing != null ? List.copyOf(routing.names()) : List.of(ShardContext.PRIMARY);
+    }
+
+    /**
+     * @return the shard holding the tenant's data
+     * @throws TenantMovingException if the tenant is being moved to another shard
+     */
+    public String shardOf(UUID tenantId) {
+        if (!isSharded()) {
+            return ShardContext.PRIMARY;
+        }
+        Entry entry = entries.get(tenantId, this::load);
+        if (entry.moving()) {
+            throw new TenantMovingException("Tenant is being moved to another shard, try again shortly");
+        }
+        return entry.shard();
+    }
+
+    /**
+     * runs the task on the tenant's shard
+     */
+    public <T> T callForTenant(UUID tenantId, Supplier<T> task) {
+        return ShardContext.callOn(shardOf(tenantId), task);
+    }
+
+    /**
+     * runs the task once on every shard, one after another
+     */
+    public void forEachShard(Consumer<String> task) {
+        for (String shard : names()) {
+            ShardContext.runOn(shard, () -> task.accept(shard));
+        }
+    }
+
+    /**
+     * @return the task's result on every shard, in shard order
+     */
+    public <T> List<T> mapShards(Function<String, T> task) {
+        List<T> results = new ArrayList<>();
+        forEachShard(shard -> results.add(task.apply(shard)));
+        return results;
+    }
+
+    /**
+     * @return ids of the tenants each shard holds; a tenant in the middle of a move is
+     * listed on the shard the directory still points to
+     */
+    public Map<String, List<UUID>> tenantsByShard() {
+        Map<String, List<UUID>> tenants = new LinkedHashMap<>();
+        Map<UUID, String> owners = isSharded() ? owners() : Map.of();
+        forEachShard(shard -> {
+            List<UUID> ids = tenantRepository.findAllTenantIds();
+            if (isSharded()) {
+                ids = ids.stream()
+                        .filter(id -> shard.equals(owners.getOrDefault(id, ShardContext.PRIMARY)))
+                        .toList();
+            }
+            tenants.put(shard, ids);
+        });
+        return tenants;
+    }
+
+    public List<UUID> allTenantIds() {
+        return tenantsByShard().values().stream().flatMap(List::stream).toList();
+    }
+
+    /**
+     * @return the shard a new tenant should be created on: the least populated of the
+     * shards accepting new tenants
+     */
+    public String placeNewTenant() {
+        if (!isSharded()) {
+            return ShardContext.PRIMARY;
+        }
+        List<String> candidates = properties.newTenantShards().isEmpty() ? names() : properties.newTenantShards();
+        Map<String, Long> counts = tenantCounts();
+        return candidates.stream()
+                .filter(names()::contains)
+                .min((a, b) -> Long.compare(counts.getOrDefault(a, 0L), counts.getOrDefault(b, 0L)))
+                .orElse(ShardContext.PRIMARY);
+    }
+
+    /**
+     * @return whether a tenant on any shard already uses the email
+     */
+    public boolean isEmailRegistered(String email) {
+        return Boolean.TRUE.equals(directory.queryForObject(
+                "SELECT EXISTS (SELECT 1 FROM tenant_shards WHERE email = ?)", Boolean.class, email));
+    }
+
+    /**
+     * records the shard a new tenant was created on
+     *
+     * @throws DuplicateKeyException if a tenant on any shard already uses the email
+     */
+    public void register(UUID tenantId, String shard, String email) {
+        directory.update("INSERT INTO tenant_shards (tenant_id, shard, email) VALUES (?, ?, ?)", tenantId, shard, email);
+        entries.invalidate(tenantId);
+    }
+
+    public List<ShardSummary> summary() {
+        Map<String, Long> counts = tenantCounts();
+        return names().stream()
+                .map(shard -> new ShardSummary(shard, counts.getOrDefault(shard, 0L)))
+                .toList();
+    }
+
+    /**
+     * marks the tenant as moving, so every instance stops serving it within {@code directory-ttl}
+     */
+    void beginMove(UUID tenantId, String currentShard) {
+        directory.update("""
+                INSERT INTO tenant_shards (tenant_id, shard, moving) VALUES (?, ?, true)
+                ON CONFLICT (tenant_id) DO UPDATE SET moving = true
+                """, tenantId, currentShard);
+        entries.invalidate(tenantId);
+    }
+
+    void endMove(UUID tenantId, String shard) {
+        directory.update("UPDATE tenant_shards SET shard = ?, moving = false WHERE tenant_id = ?", shard, tenantId);
+        entries.invalidate(tenantId);
+    }
+
+    /**
+     * @return the shard's own DataSource, outside of routing and of any surrounding transaction
+     */
+    public DataSource dataSourceOf(String shard) {
+        if (!isSharded()) {
+            if (!ShardContext.PRIMARY.equals(shard)) {
+                throw new IllegalArgumentException("Unknown shard: " + shard);
+            }
+            return directory.getDataSource();
+        }
+        return routing.shard(shard);
+    }
+
+    /**
+     * fills in the emails of directory entries created before the directory kept them;
+     * the migration adding the column could only read the primary's tenants
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillEmails() {
+        Map<String, List<UUID>> missing = new HashMap<>();
+        directory.query("SELECT tenant_id, shard FROM tenant_shards WHERE email IS NULL",
+                rs -> {
+                    missing.computeIfAbsent(rs.getString(2), shard -> new ArrayList<>())
+                            .add(rs.getObject(1, UUID.class));
+                });
+        missing.forEach((shard, tenantIds) -> {
+            if (!names().contains(shard)) {
+                log.warn("Tenant directory names unknown shard {} for {} tenants", shard, tenantIds.size());
+                return;
+            }
+            Object[] ids = tenantIds.toArray();
+            new JdbcTemplate(dataSourceOf(shard)).query(
+                    "SELECT id, email FROM tenants WHERE id = ANY (?)",
+                    ps -> ps.setArray(1, ps.getConnection().createArrayOf("uuid", ids)),
+                    rs -> {
+                        UUID tenantId = rs.getObject(1, UUID.class);
+                        try {
+                            directory.update("UPDATE tenant_shards SET email = ? WHERE tenant_id = ?",
+                                    rs.getString(2), tenantId);
+                        } catch (DuplicateKeyException e) {
+                            log.warn("Tenant {} on shard {} shares its email with a tenant on another shard",
+                                    tenantId, shard);
+                        }
+                    });
+        });
+    }
+
+    Duration directoryTtl() {
+        return properties.directoryTtl();
+    }
+
+    private Entry load(UUID tenantId) {
+        List<Entry> found = directory.query(
+                "SELECT shard, moving FROM tenant_shards WHERE tenant_id = ?",
+                (rs, rowNum) -> new Entry(rs.getString(1), rs.getBoolean(2)),
+                tenantId);
+        return found.isEmpty() ? new Entry(ShardContext.PRIMARY, false) : found.get(0);
+    }
+
+    private Map<UUID, String> owners() {
+        Map<UUID, String> owners = new HashMap<>();
+        directory.query("SELECT tenant_id, shard FROM tenant_shards",
+                rs -> {
+                    owners.put(rs.getObject(1, UUID.class), rs.getString(2));
+                });
+        return owners;
+    }
+
+    private Map<String, Long> tenantCounts() {
+        Map<String, Long> counts = new HashMap<>();
+        directory.query("SELECT shard, COUNT(*) FROM tenant_shards GROUP BY shard",
+                rs -> {
+                    counts.put(rs.getString(1), rs.getLong(2));
+                });
+        return counts;
+    }
+}
@@ -59,6 +59,18 @@ public class StorageController {
     }
 
 
+    @GetMapping("/top-customers")
+    public ResponseEntity<Object> getTopCustomersByCapacity(
+            @RequestParam UUID tenantId,
+            @RequestParam(defaultValue = "10") int k
+    ) {
+        return ResponseHandler.responseBuilder(
+                "Top customers successfully returned",
+                HttpStatus.OK,
+                storageService.getTopCustomersByCapacity(tenantId, k)
+        );
+    }
+
     @GetMapping("/{unitId}?tenantId={tenantId}")
     public ResponseEntity<Object> getStorageUnit(
             @RequestParam UUID tenantId,
@@ -1,6 +1,7 @@
 package com.warehouse.storage.entity;
 
 import com.warehouse.bookings.entity.Booking;
+import com.warehouse.common.id.TimeOrderedId;
 import com.warehouse.warehouses.entity.Warehouse;
 import jakarta.persistence.*;
 import lombok.Data;
@@ -15,7 +16,7 @@ import java.util.UUID;
 @Table(name = "storage_units")
 public class StorageUnit {
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
+    @TimeOrderedId
     private UUID id;
 
     @Column(name = "warehouse_id", nullable = false)
@@ -0,0 +1,25 @@
+package com.warehouse.storage.events;
+
+import com.warehouse.storage.entity.StorageStatus;
+import lombok.Getter;
+
+import java.util.UUID;
+
+/**
+ * Published inside the transaction that creates a storage unit or changes its status.
+ * {@code from} is null for a new unit.
+ */
+@Getter
+public class UnitStatusChangedEvent {
+    private final UUID tenantId;
+    private final UUID unitId;
+    private final StorageStatus from;
+    private final StorageStatus to;
+
+    public UnitStatusChangedEvent(UUID tenantId, UUID unitId, StorageStatus from, StorageStatus to) {
+        this.tenantId = tenantId;
+        this.unitId = unitId;
+        this.from = from;
+        this.to = to;
+    }
+}
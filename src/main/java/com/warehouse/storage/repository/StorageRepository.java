@@ -1,15 +1,20 @@
 package com.warehouse.storage.repository;
 
+import com.warehouse.common.dto.PricedUnit;
+import com.warehouse.common.dto.WarehouseOccupancy;
+import com.warehouse.common.dto.WarehouseUnits;
 import com.warehouse.common.dto.WarehouseUtilization;
 import com.warehouse.storage.entity.StorageStatus;
 import com.warehouse.storage.entity.StorageUnit;
 import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -37,6 +42,19 @@ public interface StorageRepository extends JpaRepository<StorageUnit, UUID> {
             @Param("minCapacityKg") Integer minCapacityKg,
             @Param("storageStatus") StorageStatus storageStatus);
 
+    /**
+     * lock the tenant's units in id order, so concurrent bulk moves cannot deadlock
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("""
+            SELECT su FROM StorageUnit su
+            JOIN Warehouse w ON su.warehouseId = w.id
+            WHERE su.id IN :ids AND w.tenantId = :tenantId
+            ORDER BY su.id
+            """)
+    List<StorageUnit> findAllByIdAndTenantIdWithLock(@Param("ids") Collection<UUID> ids,
+                                                     @Param("tenantId") UUID tenantId);
+
     /**
      * get warehouse utilization metrics
      */
@@ -81,6 +99,67 @@ public interface StorageRepository extends JpaRepository<StorageUnit, UUID> {
             @Param("tenantId") UUID tenantId
     );
 
+    /**
+     * number of units in each of the tenant's warehouses, including empty warehouses
+     */
+    @Query("""
+            SELECT new com.warehouse.common.dto.WarehouseUnits(
+                w.id,
+                w.name,
+                COUNT(su.id)
+            )
+            FROM Warehouse w
+            LEFT JOIN StorageUnit su ON w.id = su.warehouseId
+            WHERE w.tenantId = :tenantId
+            GROUP BY w.id, w.name
+            ORDER BY w.name
+            """)
+    List<WarehouseUnits> countUnitsByTenant(@Param("tenantId") UUID tenantId);
+
+    /**
+     * occupancy rate of every warehouse, 0 for warehouses without units
+     */
+    @Query("""
+            SELECT new com.warehouse.common.dto.WarehouseOccupancy(
+                w.id,
+                CAST(CASE WHEN COUNT(su.id) = 0 THEN 0
+                          ELSE COUNT(CASE WHEN su.status = 'OCCUPIED' THEN 1 END) * 100.0 / COUNT(su.id)
+                     END AS double)
+            )
+            FROM Warehouse w
+            LEFT JOIN StorageUnit su ON w.id = su.warehouseId
+            GROUP BY w.id
+            """)
+    List<WarehouseOccupancy> getWarehouseOccupancyRates();
+
+    /**
+     * warehouse and capacity of the given units that belong to the tenant
+     */
+    @Query("""
+            SELECT new com.warehouse.common.dto.PricedUnit(su.id, su.warehouseId, su.capacityKg)
+            FROM StorageUnit su
+            JOIN Warehouse w ON su.warehouseId = w.id
+            WHERE w.tenantId = :tenantId
+            AND su.id IN :unitIds
+            """)
+    List<PricedUnit> findPricedUnits(@Param("tenantId") UUID tenantId,
+                                     @Param("unitIds") Collection<UUID> unitIds);
+
+    /**
+     * warehouse and capacity of the tenant's units in a status
+     */
+    @Query("""
+            SELECT new com.warehouse.common.dto.PricedUnit(su.id, su.warehouseId, su.capacityKg)
+            FROM StorageUnit su
+            JOIN Warehouse w ON su.warehouseId = w.id
+            WHERE w.tenantId = :tenantId
+            AND su.status = :status
+            ORDER BY su.capacityKg ASC
+            """)
+    List<PricedUnit> findPricedUnitsByStatus(@Param("tenantId") UUID tenantId,
+                                             @Param("status") StorageStatus status,
+                                             Limit limit);
+
     /**
      * find units by warehouse
      */
@@ -98,4 +177,11 @@ public interface StorageRepository extends JpaRepository<StorageUnit, UUID> {
     Optional<StorageUnit> findUnitByTenantId(@Param("unitId") UUID unitId,
                                             @Param("tenantId") UUID tenantId);
 
+    @Query("""
+            SELECT w.tenantId FROM StorageUnit su
+            JOIN Warehouse w ON su.warehouseId = w.id
+            WHERE su.id = :unitId
+            """)
+    Optional<UUID> findTenantIdByUnitId(@Param("unitId") UUID unitId);
+
 }
@@ -0,0 +1,129 @@
+package com.warehouse.storage.service;
+
+import com.warehouse.common.dto.AvailableUnitsSnapshot;
+import com.warehouse.common.dto.StorageUnitResponse;
+import com.warehouse.config.TenantCacheGenerations;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.IntFunction;
+import java.util.function.Supplier;
+
+/**
+ * Short-lived cache of available unit searches. Searches are grouped into capacity buckets
+ * (a search for 130 kg is answered from the 100 kg bucket and filtered in memory), and
+ * keys carry the tenant's availability generation so a change to one tenant's units only
+ * invalidates that tenant's searches.
+ */
+@Slf4j
+@Component
+public class AvailableUnitsCache {
+    public static final String CACHE_NAME = "availableUnits";
+    public static final String GENERATION_NAMESPACE = "availability";
+
+    private final CacheManager cacheManager;
+    private final TenantCacheGenerations cacheGenerations;
+    private final int bucketSizeKg;
+
+    private final Counter hits;
+    private final Counter misses;
+    private final Timer staleness;
+
+    public AvailableUnitsCache(CacheManager cacheManager,
+                               TenantCacheGenerations cacheGenerations,
+                               MeterRegistry meterRegistry,
+                               @Value("${warehouse.cache.available-units.bucket-size-kg:50}") int bucketSizeKg) {
+        this.cacheManager = cacheManager;
+        this.cacheGenerations = cacheGenerations;
+        this.bucketSizeKg = Math.max(1, bucketSizeKg);
+
+        this.hits = meterRegistry.counter("warehouse.cache.available_units.requests", "result", "hit");
+        this.misses = meterRegistry.counter("warehouse.cache.available_units.requests", "result", "miss");
+        meterRegistry.gauge("warehouse.cache.available_units.hit.ratio", this, AvailableUnitsCache::hitRatio);
+        this.staleness = meterRegistry.timer("warehouse.cache.available_units.staleness");
+    }
+
+    /**
+     * @param tenantId      tenant
+     * @param minCapacityKg minimum capacity asked for
+     * @param loader        loads every available unit of at least the given capacity, ordered as the search is
+     * @return the available units with at least minCapacityKg
+     */
+    public List<StorageUnitResponse> get(UUID tenantId,
+                                         int minCapacityKg,
+                                         IntFunction<List<StorageUnitResponse>> loader) {
+        int bucketFloor = (minCapacityKg / bucketSizeKg) * bucketSizeKg;
+        String key = cacheGenerations.key(GENERATION_NAMESPACE, tenantId) + ":" + bucketFloor;
+
+        AvailableUnitsSnapshot snapshot = read(key);
+        if (snapshot != null) {
+            hits.increment();
+            staleness.record(Duration.ofMillis(System.currentTimeMillis() - snapshot.loadedAtEpochMillis()));
+        } else {
+            misses.increment();
+            snapshot = new AvailableUnitsSnapshot(loader.apply(bucketFloor), System.currentTimeMillis());
+            write(key, snapshot);
+        }
+
+        if (bucketFloor == minCapacityKg) {
+            return snapshot.units();
+        }
+        return snapshot.units()
+                .stream()
+                .filter(unit -> unit.capacityKg() >= minCapacityKg)
+                .toList();
+    }
+
+    /**
+     * invalidates the tenant's searches once the current transaction commits
+     */
+    public void invalidate(UUID tenantId) {
+        cacheGenerations.bump(GENERATION_NAMESPACE, tenantId);
+    }
+
+    private double hitRatio() {
+        double total = hits.count() + misses.count();
+        return total == 0 ? 0 : hits.count() / total;
+    }
+
+    private AvailableUnitsSnapshot read(String key) {
+        return withCache(() -> {
+            Cache.ValueWrapper wrapper = cache().get(key);
+            return wrapper == null ? null : (AvailableUnitsSnapshot) wrapper.get();
+        }, "GET", key);
+    }
+
+    private void write(String key, AvailableUnitsSnapshot snapshot) {
+        withCache(() -> {
+            cache().put(key, snapshot);
+            return null;
+        }, "PUT", key);
+    }
+
+    private <T> T withCache(Supplier<T> operation, String name, String key) {
+        try {
+            return operation.get();
+        } catch (RuntimeException e) {
+            log.warn("Cache {} failed for key: {} in cache: {}. Falling back to DB. Error: {}",
+                    name, key, CACHE_NAME, e.getMessage());
+            return null;
+        }
+    }
+
+    private Cache cache() {
+        Cache cache = cacheManager.getCache(CACHE_NAME);
+        if (cache == null) {
+            throw new IllegalStateException("Cache " + CACHE_NAME + " is not configured");
+        }
+        return cache;
+    }
+}
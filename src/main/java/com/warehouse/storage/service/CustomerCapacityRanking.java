@@ -0,0 +1,58 @@
+package com.warehouse.storage.service;
+
+import com.warehouse.common.dto.CustomerCapacity;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.UUID;
+
+/**
+ * One tenant's customers ordered by booked capacity. Updates are O(log n) and reading the
+ * top K is O(K + log n), so any K can be served without re-aggregating bookings.
+ */
+class CustomerCapacityRanking {
+    private static final Comparator<CustomerCapacity> ORDER = Comparator
+            .comparingLong(CustomerCapacity::bookedCapacityKg).reversed()
+            .thenComparing(CustomerCapacity::customerId);
+
+    private final Map<UUID, CustomerCapacity> byCustomer = new HashMap<>();
+    private final TreeSet<CustomerCapacity> ordered = new TreeSet<>(ORDER);
+
+    CustomerCapacityRanking(List<CustomerCapacity> initial) {
+        for (CustomerCapacity capacity : initial) {
+            byCustomer.put(capacity.customerId(), capacity);
+            ordered.add(capacity);
+        }
+    }
+
+    synchronized void add(UUID customerId, long capacityKgDelta, long bookingsDelta) {
+        CustomerCapacity current = byCustomer.remove(customerId);
+        long capacityKg = capacityKgDelta;
+        long bookings = bookingsDelta;
+        if (current != null) {
+            ordered.remove(current);
+            capacityKg += current.bookedCapacityKg();
+            bookings += current.activeBookings();
+        }
+
+        if (bookings > 0) {
+            CustomerCapacity updated = new CustomerCapacity(customerId, capacityKg, bookings);
+            byCustomer.put(customerId, updated);
+            ordered.add(updated);
+        }
+    }
+
+    synchronized List<CustomerCapacity> top(int k) {
+        List<CustomerCapacity> top = new ArrayList<>(Math.min(k, ordered.size()));
+        Iterator<CustomerCapacity> iterator = ordered.iterator();
+        while (top.size() < k && iterator.hasNext()) {
+            top.add(iterator.next());
+        }
+        return top;
+    }
+}
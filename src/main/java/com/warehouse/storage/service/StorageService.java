@@ -1,29 +1,54 @@
 package com.warehouse.storage.service;
 
+import com.warehouse.audit.entity.AuditAction;
+import com.warehouse.audit.service.AuditLog;
+import com.warehouse.bookings.service.BookingChangePublisher;
+import com.warehouse.changefeed.service.ChangeFeed;
 import com.warehouse.common.dto.CreateStorageUnit;
+import com.warehouse.common.dto.CustomerCapacity;
 import com.warehouse.common.dto.StorageUnitResponse;
+import com.warehouse.common.dto.TopCustomerResponse;
 import com.warehouse.common.dto.UpdateUnit;
 import com.warehouse.common.dto.WarehouseUtilization;
 import com.warehouse.common.exceptions.CapacityReductionNotAllowedException;
 import com.warehouse.common.exceptions.InvalidCapacityException;
 import com.warehouse.common.exceptions.NotFoundException;
 import com.warehouse.common.mapper.StorageMapper;
+import com.warehouse.config.ReadFromPrimary;
+import com.warehouse.config.TenantCacheGenerations;
+import com.warehouse.customers.entity.Customer;
+import com.warehouse.customers.repository.CustomersRepository;
 import com.warehouse.storage.entity.StorageStatus;
 import com.warehouse.storage.entity.StorageUnit;
+import com.warehouse.storage.events.UnitStatusChangedEvent;
 import com.warehouse.storage.repository.StorageRepository;
+import com.warehouse.tenants.service.TenantMembership;
 import lombok.RequiredArgsConstructor;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 public class StorageService {
     private final StorageRepository storageRepository;
     private final StorageMapper storageMapper;
+    private final TenantCacheGenerations cacheGenerations;
+    private final AvailableUnitsCache availableUnitsCache;
+    private final TenantMembership tenantMembership;
+    private final BookingChangePublisher bookingChangePublisher;
+    private final TopCustomersIndex topCustomersIndex;
+    private final CustomersRepository customersRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ChangeFeed changeFeed;
+    private final AuditLog auditLog;
 
     /**
      * Get available storage units for a tenant, with a minimum capacity
@@ -33,7 +58,8 @@ public class StorageService {
      * @return a list of available storage units (storages with status as available)
      */
     @Transactional(readOnly = true)
-    public List<StorageUnit> getAvailableUnits(
+    @ReadFromPrimary
+    public List<StorageUnitResponse> getAvailableUnits(
             UUID tenantId,
             Integer minCapacityKg
     ) {
@@ -45,10 +71,14 @@ public class StorageService {
             minCapacityKg = 0;
         }
 
-        return storageRepository.findAvailableUnitsByTenantAndCapacity(
-                tenantId,
-                minCapacityKg,
-                StorageStatus.AVAILABLE);
+        return availableUnitsCache.get(tenantId, minCapacityKg, bucketFloor ->
+                storageRepository.findAvailableUnitsByTenantAndCapacity(
+                                tenantId,
+                                bucketFloor,
+                                StorageStatus.AVAILABLE)
+                        .stream()
+                        .map(storageMapper::toDto)
+                        .toList());
     }
 
     /**
@@ -93,6 +123,8 @@ public class StorageService {
      * @return a list of storage unit of the given tenant
      */
     @Transactional(readOnly = true)
+    @ReadFromPrimary
+    @Cacheable(value = "storageUnitLists", key = "@tenantCacheGenerations.key(#tenantId)")
     public List<StorageUnitResponse> getAllStorageUnits(UUID tenantId) {
         List<StorageUnit> units = storageRepository.findByWarehouse_TenantId(tenantId);
         return units.stream()
@@ -133,6 +165,11 @@ public class StorageService {
         newStorage.setCreatedAt(LocalDateTime.now());
 
         StorageUnit unit = storageRepository.save(newStorage);
+        eventPublisher.publishEvent(new UnitStatusChangedEvent(tenantId, unit.getId(), null, unit.getStatus()));
+        changeFeed.publish(ChangeFeed.Entity.UNIT, tenantId, unit.getId());
+        auditLog.record(tenantId, AuditAction.UNIT_CREATED, unit.getId());
+        cacheGenerations.bump(tenantId);
+        availableUnitsCache.invalidate(tenantId);
 
         return storageMapper.toDto(unit);
     }
@@ -154,14 +191,22 @@ public class StorageService {
 
         if (request.capacityKg() != null) {
             validateCapacityUpdate(unit, request.capacityKg());
+            if (!request.capacityKg().equals(unit.getCapacityKg())) {
+                bookingChangePublisher.unitCapacityChanging(unitId, request.capacityKg());
+            }
             unit.setCapacityKg(request.capacityKg());
         }
 
-        if (request.status() != null) {
+        if (request.status() != null && request.status() != unit.getStatus()) {
+            eventPublisher.publishEvent(new UnitStatusChangedEvent(tenantId, unitId, unit.getStatus(), request.status()));
             unit.setStatus(request.status());
         }
 
         StorageUnit updatedUnit = storageRepository.save(unit);
+        changeFeed.publish(ChangeFeed.Entity.UNIT, tenantId, unitId);
+        auditLog.record(tenantId, AuditAction.UNIT_UPDATED, unitId);
+        cacheGenerations.bump(tenantId);
+        availableUnitsCache.invalidate(tenantId);
         return storageMapper.toDto(updatedUnit);
     }
 
@@ -177,11 +222,42 @@ public class StorageService {
                 .findUnitByTenantId(unitId, tenantId)
                 .orElseThrow(() -> new NotFoundException("Storage Unit not found"));
 
+        bookingChangePublisher.unitDeleting(unitId);
         storageRepository.delete(unit);
+        tenantMembership.forgetUnit(unitId);
+        changeFeed.publish(ChangeFeed.Entity.UNIT, tenantId, unitId);
+        auditLog.record(tenantId, AuditAction.UNIT_DELETED, unitId);
+        cacheGenerations.bump(tenantId);
+        availableUnitsCache.invalidate(tenantId);
     }
 
-    // getWarehouseRevenue(UUID warehouseId)
-    // getTopCustomersByCapacity(UUID tenantId)
+    /**
+     * Get the customers with the most capacity booked through active bookings
+     *
+     * @param tenantId tenant id
+     * @param k        number of customers to return
+     * @return up to k customers, largest booked capacity first
+     */
+    @Transactional(readOnly = true)
+    public List<TopCustomerResponse> getTopCustomersByCapacity(UUID tenantId, int k) {
+        if (k <= 0) {
+            throw new IllegalArgumentException("Number of customers must be positive");
+        }
+
+        List<CustomerCapacity> top = topCustomersIndex.top(tenantId, k);
+        Map<UUID, String> names = customersRepository
+                .findAllById(top.stream().map(CustomerCapacity::customerId).toList())
+                .stream()
+                .collect(Collectors.toMap(Customer::getId, Customer::getCompanyName));
+
+        return top.stream()
+                .map(capacity -> new TopCustomerResponse(
+                        capacity.customerId(),
+                        names.get(capacity.customerId()),
+                        capacity.bookedCapacityKg(),
+                        capacity.activeBookings()))
+                .toList();
+    }
 
     private void validateCapacityUpdate(StorageUnit unit, Integer newCapacity) {
         if (newCapacity <= 0) {
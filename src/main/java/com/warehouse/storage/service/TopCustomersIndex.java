@@ -0,0 +1,179 @@
+package com.warehouse.storage.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.warehouse.bookings.entity.BookingStatus;
+import com.warehouse.bookings.events.BookingChangedEvent;
+import com.warehouse.bookings.events.BookingSnapshot;
+import com.warehouse.bookings.events.BookingsPurgedEvent;
+import com.warehouse.bookings.repository.BookingsRepository;
+import com.warehouse.changefeed.service.ChangeFeed;
+import com.warehouse.changefeed.service.ChangeHandler;
+import com.warehouse.common.dto.CustomerCapacity;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Consumer;
+
+/**
+ * Per-tenant ranking of customers by capacity booked through active bookings.
+ * <p>
+ * A tenant's ranking is built with one aggregate query over that tenant's bookings the
+ * first time it is asked for, then kept current from committed booking changes. A change
+ * counts as in flight from just before its transaction commits until its delta has been
+ * applied; a ranking built while any change of its stripe was in flight is served but not
+ * kept, since the query may already include a change whose delta is still to come.
+ * Rankings of tenants whose bookings changed on another node are dropped when the change
+ * feed reports it; bookings purged with their warehouse or customer are reported as a
+ * change of that warehouse or customer.
+ */
+@Component
+public class TopCustomersIndex implements ChangeHandler {
+    private static final int STRIPES = 64;
+
+    private final BookingsRepository bookingsRepository;
+    private final Cache<UUID, CustomerCapacityRanking> rankings;
+
+    private final Object[] locks = new Object[STRIPES];
+    private final AtomicLongArray changeCounts = new AtomicLongArray(STRIPES);
+    private final AtomicLongArray inFlight = new AtomicLongArray(STRIPES);
+
+    public TopCustomersIndex(BookingsRepository bookingsRepository,
+                             @Value("${warehouse.top-customers.max-tenants:1000}") long maxTenants) {
+        this.bookingsRepository = bookingsRepository;
+        this.rankings = Caffeine.newBuilder().maximumSize(maxTenants).build();
+        for (int i = 0; i < STRIPES; i++) {
+            locks[i] = new Object();
+        }
+    }
+
+    /**
+     * @param tenantId tenant
+     * @param k        number of customers to return
+     * @return up to k customers with the most booked capacity, largest first
+     */
+    public List<CustomerCapacity> top(UUID tenantId, int k) {
+        CustomerCapacityRanking ranking = rankings.getIfPresent(tenantId);
+        if (ranking == null) {
+            ranking = load(tenantId);
+        }
+        return ranking.top(k);
+    }
+
+    @EventListener
+    public void handleBookingChanged(BookingChangedEvent event) {
+        onCommit(event.getTenantId(), ranking -> {
+            apply(ranking, event.getBefore(), -1);
+            apply(ranking, event.getAfter(), 1);
+        });
+    }
+
+    @EventListener
+    public void handleBookingsPurged(BookingsPurgedEvent event) {
+        onCommit(event.getTenantId(), ranking -> event.getDeleted().forEach(before -> apply(ranking, before, -1)));
+    }
+
+    /**
+     * applies the delta to the tenant's ranking once the change commits, counting the change
+     * as in flight from just before the commit until then
+     */
+    private void onCommit(UUID tenantId, Consumer<CustomerCapacityRanking> delta) {
+        int stripe = stripe(tenantId);
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            changeCounts.incrementAndGet(stripe);
+            applyCommitted(stripe, tenantId, delta);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            private boolean committing;
+
+            @Override
+            public void beforeCommit(boolean readOnly) {
+                committing = true;
+                inFlight.incrementAndGet(stripe);
+                changeCounts.incrementAndGet(stripe);
+            }
+
+            @Override
+            public void afterCommit() {
+                applyCommitted(stripe, tenantId, delta);
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                if (committing) {
+                    inFlight.decrementAndGet(stripe);
+                }
+            }
+        });
+    }
+
+    private void applyCommitted(int stripe, UUID tenantId, Consumer<CustomerCapacityRanking> delta) {
+        synchronized (locks[stripe]) {
+            CustomerCapacityRanking ranking = rankings.getIfPresent(tenantId);
+            if (ranking != null) {
+                delta.accept(ranking);
+            }
+        }
+    }
+
+    @Override
+    public void onChanges(Collection<ChangeFeed.Change> changes) {
+        changes.stream()
+                .filter(change -> change.entity() != ChangeFeed.Entity.UNIT)
+                .map(ChangeFeed.Change::tenantId)
+                .distinct()
+                .forEach(this::forget);
+    }
+
+    @Override
+    public void onGap() {
+        for (int stripe = 0; stripe < STRIPES; stripe++) {
+            changeCounts.incrementAndGet(stripe);
+        }
+        rankings.invalidateAll();
+    }
+
+    private void forget(UUID tenantId) {
+        int stripe = stripe(tenantId);
+        synchronized (locks[stripe]) {
+            changeCounts.incrementAndGet(stripe);
+            rankings.invalidate(tenantId);
+        }
+    }
+
+    private CustomerCapacityRanking load(UUID tenantId) {
+        int stripe = stripe(tenantId);
+        long changesBefore = changeCounts.get(stripe);
+        boolean quiet = inFlight.get(stripe) == 0;
+
+        CustomerCapacityRanking ranking =
+                new CustomerCapacityRanking(bookingsRepository.getCustomerCapacitiesByTenantId(tenantId));
+
+        synchronized (locks[stripe]) {
+            if (!quiet || changeCounts.get(stripe) != changesBefore) {
+                return ranking;
+            }
+            CustomerCapacityRanking existing = rankings.asMap().putIfAbsent(tenantId, ranking);
+            return existing != null ? existing : ranking;
+        }
+    }
+
+    private static void apply(CustomerCapacityRanking ranking, BookingSnapshot booking, int sign) {
+        if (booking == null || booking.status() != BookingStatus.ACTIVE || booking.capacityKg() == null) {
+            return;
+        }
+        ranking.add(booking.customerId(), (long) sign * booking.capacityKg(), sign);
+    }
+
+    private static int stripe(UUID tenantId) {
+        return Math.floorMod(tenantId.hashCode(), STRIPES);
+    }
+}
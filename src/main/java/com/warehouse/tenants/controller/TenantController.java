@@ -2,6 +2,7 @@ package com.warehouse.tenants.controller;
 
 import com.warehouse.common.dto.CreateTenant;
 import com.warehouse.common.response.ResponseHandler;
+import com.warehouse.tenants.service.TenantDashboardService;
 import com.warehouse.tenants.service.TenantService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -25,6 +26,7 @@ import java.util.UUID;
 )
 public class TenantController {
     private final TenantService tenantService;
+    private final TenantDashboardService tenantDashboardService;
 
     // get tenant profile (self-lookup)
     @Operation(
@@ -76,17 +78,29 @@ public class TenantController {
         );
     }
 
-    //    GET /tenants/dashboard?tenantId={id}
-//    @GetMapping("/dashboard?tenantId={tenantId}")
-//    public ResponseEntity<Object> dashboard(
-//            @RequestParam UUID tenantId
-//    ) {
-//        return ResponseHandler.responseBuilder(
-//                "Dashboard info successfully returned",
-//                HttpStatus.OK,
-//                tenantService.getDashboard(tenantId)
-//        );
-//    }
+    @Operation(
+            summary = "Get tenant's dashboard",
+            description = "Get company info, warehouse summary, recent and expiring bookings and revenue in one call. " +
+                    "Components that could not be loaded in time are omitted and listed in degradedComponents"
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Dashboard info successfully returned"),
+            @ApiResponse(responseCode = "404", description = "Tenant not found")
+    })
+    @GetMapping("/dashboard")
+    public ResponseEntity<Object> dashboard(
+            @Parameter(
+                    description = "ID of the tenant (warehouse company). In production, this would come from JWT claims rather than a query parameter",
+                    required = true
+            )
+            @RequestParam UUID tenantId
+    ) {
+        return ResponseHandler.responseBuilder(
+                "Dashboard info successfully returned",
+                HttpStatus.OK,
+                tenantDashboardService.getDashboard(tenantId)
+        );
+    }
 
 // Tenant settings
 //    PATCH /tenants/settings?tenantId={id}
@@ -98,7 +112,8 @@ public class TenantController {
     )
     @ApiResponses(value = {
             @ApiResponse(responseCode = "201", description = "Tenant created successfully"),
-            @ApiResponse(responseCode = "400", description = "Invalid input data")
+            @ApiResponse(responseCode = "400", description = "Invalid input data"),
+            @ApiResponse(responseCode = "409", description = "A tenant with this email already exists")
     })
     @PostMapping
     public ResponseEntity<Object> createTenant(
@@ -1,12 +1,15 @@
 package com.warehouse.tenants.repository;
 
 import com.warehouse.common.dto.TenantStatResponse;
+import com.warehouse.common.dto.TenantStatSummary;
 import com.warehouse.tenants.entity.Tenant;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -31,4 +34,35 @@ public interface TenantRepository extends JpaRepository<Tenant, UUID> {
             WHERE t.id = :tenantId
             """)
     TenantStatResponse getStatisticsForTenant(@Param("tenantId") UUID tenantId);
+
+    /**
+     * ids of every tenant, without loading the entities (for cache warming)
+     */
+    @Query("SELECT t.id FROM Tenant t ORDER BY t.id")
+    List<UUID> findAllTenantIds();
+
+    /**
+     * statistics for a chunk of tenants in a single round trip. Each figure is aggregated
+     * independently, so unlike the join in getStatisticsForTenant nothing fans out.
+     */
+    @Query("""
+            SELECT new com.warehouse.common.dto.TenantStatSummary(
+                t.id,
+                (SELECT COUNT(w.id) FROM Warehouse w WHERE w.tenantId = t.id),
+                (SELECT COUNT(c.id) FROM Customer c WHERE c.tenantId = t.id),
+                (SELECT COUNT(b.id) FROM Booking b
+                    JOIN Customer bc ON b.customerId = bc.id
+                    WHERE bc.tenantId = t.id),
+                (SELECT COUNT(su.id) FROM StorageUnit su
+                    JOIN Warehouse sw ON su.warehouseId = sw.id
+                    WHERE sw.tenantId = t.id),
+                (SELECT COUNT(osu.id) FROM StorageUnit osu
+                    JOIN Warehouse ow ON osu.warehouseId = ow.id
+                    WHERE ow.tenantId = t.id
+                    AND osu.status = 'OCCUPIED')
+            )
+            FROM Tenant t
+            WHERE t.id IN :tenantIds
+            """)
+    List<TenantStatSummary> getStatisticsForTenants(@Param("tenantIds") Collection<UUID> tenantIds);
 }
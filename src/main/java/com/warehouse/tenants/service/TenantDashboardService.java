@@ -0,0 +1,172 @@
+package com.warehouse.tenants.service;
+
+import com.warehouse.bookings.service.BookingService;
+import com.warehouse.common.dto.BookingResponse;
+import com.warehouse.common.dto.ExpiringBooking;
+import com.warehouse.common.dto.RevenueMetrics;
+import com.warehouse.common.dto.TenantDashboardResponse;
+import com.warehouse.common.dto.TenantResponse;
+import com.warehouse.common.dto.TenantStatResponse;
+import com.warehouse.config.DashboardProperties;
+import com.warehouse.revenue.service.RevenueRollupService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Builds the tenant dashboard by loading every component concurrently on virtual threads.
+ * <p>
+ * Each component goes through its own cache (second-level cache for the tenant, Redis for
+ * stats, bookings and revenue) and has its own timeout, counted from the start of the
+ * request, so the dashboard takes as long as its slowest component rather than the sum of
+ * all of them. A component that times out or fails is left out and reported as degraded;
+ * only a missing tenant fails the whole request.
+ */
+@Slf4j
+@Service
+public class TenantDashboardService {
+    static final String COMPANY_INFO = "companyInfo";
+    static final String WAREHOUSE_SUMMARY = "warehouseSummary";
+    static final String RECENT_BOOKINGS = "recentBookings";
+    static final String EXPIRING_BOOKINGS = "expiringBookings";
+    static final String REVENUE_METRICS = "revenueMetrics";
+
+    private final TenantService tenantService;
+    private final BookingService bookingService;
+    private final RevenueRollupService revenueRollupService;
+    private final DashboardProperties properties;
+    private final MeterRegistry meterRegistry;
+
+    /*
+     * Not closed per request: closing waits for every task, including ones that timed out
+     * and are still blocked in a query, which would put the slowest query back on the
+     * request's latency.
+     */
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+    public TenantDashboardService(TenantService tenantService,
+                                  BookingService bookingService,
+                                  RevenueRollupService revenueRollupService,
+                                  DashboardProperties properties,
+                                  MeterRegistry meterRegistry) {
+        this.tenantService = tenantService;
+        this.bookingService = bookingService;
+        this.revenueRollupService = revenueRollupService;
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * get tenant's complete business view
+     *
+     * @param tenantId tenant
+     * @return company info, warehouse summary, recent and expiring bookings and revenue
+     */
+    public TenantDashboardResponse getDashboard(UUID tenantId) {
+        long startNanos = System.nanoTime();
+        LocalDate expiringBy = LocalDate.now().plusDays(properties.expiringWithinDays());
+
+        Future<TenantResponse> companyInfo =
+                fork(COMPANY_INFO, () -> tenantService.getProfile(tenantId));
+        Future<TenantStatResponse> warehouseSummary =
+                fork(WAREHOUSE_SUMMARY, () -> tenantService.getStats(tenantId));
+        Future<List<BookingResponse>> recentBookings =
+                fork(RECENT_BOOKINGS, () -> recentBookings(tenantId));
+        Future<List<ExpiringBooking>> expiringBookings =
+                fork(EXPIRING_BOOKINGS, () -> bookingService.getExpiringBookings(tenantId, expiringBy));
+        Future<RevenueMetrics> revenueMetrics =
+                fork(REVENUE_METRICS, () -> revenueRollupService.getRevenueMetrics(tenantId));
+
+        List<String> degraded = new ArrayList<>();
+
+        TenantResponse tenant;
+        try {
+            tenant = join(COMPANY_INFO, companyInfo, startNanos, degraded);
+        } catch (RuntimeException e) {
+            cancelAll(warehouseSummary, recentBookings, expiringBookings, revenueMetrics);
+            throw e;
+        }
+
+        return new TenantDashboardResponse(
+                tenant,
+                join(WAREHOUSE_SUMMARY, warehouseSummary, startNanos, degraded),
+                join(RECENT_BOOKINGS, recentBookings, startNanos, degraded),
+                join(EXPIRING_BOOKINGS, expiringBookings, startNanos, degraded),
+                join(REVENUE_METRICS, revenueMetrics, startNanos, degraded),
+                List.copyOf(degraded)
+        );
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private List<BookingResponse> recentBookings(UUID tenantId) {
+        return bookingService.getBookings(tenantId)
+                .stream()
+                .sorted(Comparator.comparing(BookingResponse::createdAt,
+                        Comparator.nullsLast(Comparator.reverseOrder())))
+                .limit(properties.recentBookings())
+                .toList();
+    }
+
+    private <T> Future<T> fork(String component, Callable<T> task) {
+        Timer timer = meterRegistry.timer("warehouse.dashboard.component", "component", component);
+        return executor.submit(() -> timer.recordCallable(task));
+    }
+
+    /**
+     * waits for a component until its deadline; on timeout or failure records it as degraded
+     * and returns null. Failures of the company info component are rethrown (e.g. tenant not
+     * found), since without a tenant there is no dashboard.
+     */
+    private <T> T join(String component, Future<T> future, long startNanos, List<String> degraded) {
+        long deadlineNanos = startNanos + properties.timeoutFor(component).toNanos();
+        try {
+            return future.get(Math.max(0, deadlineNanos - System.nanoTime()), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            log.warn("Dashboard component {} timed out after {}", component, properties.timeoutFor(component));
+            degrade(component, "timeout", degraded);
+        } catch (ExecutionException e) {
+            if (COMPANY_INFO.equals(component) && e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            log.warn("Dashboard component {} failed: {}", component, e.getCause().getMessage());
+            degrade(component, "failed", degraded);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            future.cancel(true);
+            degrade(component, "interrupted", degraded);
+        }
+        return null;
+    }
+
+    private void degrade(String component, String reason, List<String> degraded) {
+        degraded.add(component);
+        meterRegistry.counter("warehouse.dashboard.degraded", "component", component, "reason", reason)
+                .increment();
+    }
+
+    private static void cancelAll(Future<?>... futures) {
+        for (Future<?> future : futures) {
+            future.cancel(true);
+        }
+    }
+}
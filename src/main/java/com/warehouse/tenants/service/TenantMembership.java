@@ -0,0 +1,119 @@
+package com.warehouse.tenants.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.warehouse.bookings.entity.Booking;
+import com.warehouse.bookings.repository.BookingsRepository;
+import com.warehouse.changefeed.service.ChangeFeed;
+import com.warehouse.changefeed.service.ChangeHandler;
+import com.warehouse.common.exceptions.NotFoundException;
+import com.warehouse.common.exceptions.UnauthorizedAccessException;
+import com.warehouse.customers.repository.CustomersRepository;
+import com.warehouse.storage.repository.StorageRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.UUID;
+
+/**
+ * Answers "does this belong to that tenant" in one round trip or none.
+ * <p>
+ * Customers and storage units never change tenant, so their owning tenant is kept in a
+ * bounded local cache; entries are only dropped when the row is deleted, here or, as
+ * reported by the change feed, on another node. Bookings are checked with a single joined
+ * query instead of booking + customer lookups.
+ */
+@Component
+public class TenantMembership implements ChangeHandler {
+    private final BookingsRepository bookingsRepository;
+    private final CustomersRepository customersRepository;
+    private final StorageRepository storageRepository;
+
+    private final Cache<UUID, UUID> customerTenants;
+    private final Cache<UUID, UUID> unitTenants;
+
+    public TenantMembership(BookingsRepository bookingsRepository,
+                            CustomersRepository customersRepository,
+                            StorageRepository storageRepository,
+                            @Value("${warehouse.tenant-membership.max-entries:100000}") long maxEntries) {
+        this.bookingsRepository = bookingsRepository;
+        this.customersRepository = customersRepository;
+        this.storageRepository = storageRepository;
+        this.customerTenants = Caffeine.newBuilder().maximumSize(maxEntries).build();
+        this.unitTenants = Caffeine.newBuilder().maximumSize(maxEntries).build();
+    }
+
+    /**
+     * @return the booking, if it belongs to the tenant
+     * @throws NotFoundException if it does not exist or belongs to another tenant
+     */
+    public Booking requireBooking(UUID bookingId, UUID tenantId) {
+        return bookingsRepository.findByIdAndTenantId(bookingId, tenantId)
+                .orElseThrow(() -> new NotFoundException("Booking not found"));
+    }
+
+    /**
+     * @throws NotFoundException           if the customer does not exist
+     * @throws UnauthorizedAccessException if the customer belongs to another tenant
+     */
+    public void requireCustomer(UUID customerId, UUID tenantId) {
+        UUID owner = customerTenants.get(customerId,
+                id -> customersRepository.findTenantIdById(id).orElse(null));
+        if (owner == null) {
+            throw new NotFoundException("Customer not found");
+        }
+        if (!owner.equals(tenantId)) {
+            throw new UnauthorizedAccessException("Customer does not belong to the same tenant as the storage unit");
+        }
+    }
+
+    /**
+     * @throws NotFoundException           if the unit does not exist
+     * @throws UnauthorizedAccessException if the unit belongs to another tenant
+     */
+    public void requireUnit(UUID unitId, UUID tenantId) {
+        UUID owner = unitTenants.get(unitId,
+                id -> storageRepository.findTenantIdByUnitId(id).orElse(null));
+        if (owner == null) {
+            throw new NotFoundException("Storage Unit not found");
+        }
+        if (!owner.equals(tenantId)) {
+            throw new UnauthorizedAccessException("Storage unit does not belong to the tenant");
+        }
+    }
+
+    public void forgetCustomer(UUID customerId) {
+        customerTenants.invalidate(customerId);
+    }
+
+    public void forgetUnit(UUID unitId) {
+        unitTenants.invalidate(unitId);
+    }
+
+    /**
+     * drops every cached unit of the tenant, e.g. after a warehouse and its units were deleted
+     */
+    public void forgetUnitsOf(UUID tenantId) {
+        unitTenants.asMap().values().removeIf(tenantId::equals);
+    }
+
+    @Override
+    public void onChanges(Collection<ChangeFeed.Change> changes) {
+        for (ChangeFeed.Change change : changes) {
+            switch (change.entity()) {
+                case CUSTOMER -> forgetCustomer(change.id());
+                case UNIT -> forgetUnit(change.id());
+                case WAREHOUSE -> forgetUnitsOf(change.tenantId());
+                case BOOKING -> {
+                }
+            }
+        }
+    }
+
+    @Override
+    public void onGap() {
+        customerTenants.invalidateAll();
+        unitTenants.invalidateAll();
+    }
+}
@@ -1,16 +1,23 @@
 package com.warehouse.tenants.service;
 
+import com.warehouse.audit.entity.AuditAction;
+import com.warehouse.audit.service.AuditLog;
 import com.warehouse.common.dto.CreateTenant;
 import com.warehouse.common.dto.TenantResponse;
 import com.warehouse.common.dto.TenantStatResponse;
 import com.warehouse.common.exceptions.NotFoundException;
+import com.warehouse.common.exceptions.TenantEmailTakenException;
 import com.warehouse.common.mapper.TenantMapper;
+import com.warehouse.config.ReadFromPrimary;
+import com.warehouse.config.ShardContext;
+import com.warehouse.shards.service.TenantShards;
 import com.warehouse.tenants.entity.Tenant;
 import com.warehouse.tenants.repository.TenantRepository;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.cache.annotation.Cacheable;
+import org.springframework.dao.DuplicateKeyException;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
@@ -22,6 +29,8 @@ import java.util.UUID;
 public class TenantService {
     private final TenantRepository tenantRepository;
     private final TenantMapper tenantMapper;
+    private final TenantShards tenantShards;
+    private final AuditLog auditLog;
 
     /**
      * get profile of the tenant
@@ -43,34 +52,40 @@ public class TenantService {
      * @param tenantId tenant
      * @return information of tenant's operation
      */
+    @ReadFromPrimary
     @Cacheable(value = "tenantStats", key = "#tenantId")
     public TenantStatResponse getStats(UUID tenantId) {
         return tenantRepository.getStatisticsForTenant(tenantId);
     }
 
     /**
-     * register a new tenant
+     * register a new tenant on the least populated shard and record it in the tenant directory,
+     * which keeps emails unique across shards
      * @param request new tenant information
      * @return dto of new tenant
+     * @throws TenantEmailTakenException if a tenant on any shard already uses the email
      */
     public Object createTenant(CreateTenant request) {
+        if (tenantShards.isEmailRegistered(request.email())) {
+            throw new TenantEmailTakenException("A tenant with this email already exists");
+        }
         Tenant tenant = new Tenant();
         tenant.setCompanyName(request.companyName());
         tenant.setEmail(request.email());
         tenant.setCreatedAt(LocalDateTime.now());
 
-        Tenant saved = tenantRepository.save(tenant);
+        String shard = tenantShards.placeNewTenant();
+        Tenant saved = ShardContext.callOn(shard, () -> tenantRepository.save(tenant));
+        try {
+            tenantShards.register(saved.getId(), shard, saved.getEmail());
+        } catch (RuntimeException e) {
+            ShardContext.runOn(shard, () -> tenantRepository.deleteById(saved.getId()));
+            if (e instanceof DuplicateKeyException) {
+                throw new TenantEmailTakenException("A tenant with this email already exists");
+            }
+            throw e;
+        }
+        auditLog.record(saved.getId(), AuditAction.TENANT_CREATED, saved.getId());
         return tenantMapper.toDto(saved);
     }
-
-    // Tenant's complete business view
-//    Response: {
-//        companyInfo,
-//                warehouseSummary,
-//                recentBookings,
-//                expiringBookings,
-//                revenueMetrics
-//    }
-//    public Object getDashboard(UUID tenantId) {
-//    }
 }
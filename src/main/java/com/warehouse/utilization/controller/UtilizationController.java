@@ -0,0 +1,50 @@
+package com.warehouse.utilization.controller;
+
+import com.warehouse.common.response.ResponseHandler;
+import com.warehouse.utilization.entity.UtilizationResolution;
+import com.warehouse.utilization.service.UtilizationHistoryService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/api/v1/utilization")
+@Tag(
+        name = "Utilization",
+        description = "Historical occupancy of a tenant's warehouses"
+)
+public class UtilizationController {
+    private final UtilizationHistoryService utilizationHistoryService;
+
+    @Operation(
+            summary = "Get warehouse's utilization history",
+            description = "Occupancy of one warehouse over a time range, in 5-minute, hourly or daily points. " +
+                    "When no resolution is given it is picked from the length of the range"
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Utilization history successfully returned"),
+            @ApiResponse(responseCode = "404", description = "Warehouse not found")
+    })
+    @GetMapping("/warehouses/{warehouseId}")
+    public ResponseEntity<Object> getWarehouseHistory(
+            @PathVariable UUID warehouseId,
+            @RequestParam UUID tenantId,
+            @RequestParam LocalDateTime from,
+            @RequestParam LocalDateTime to,
+            @RequestParam(required = false) UtilizationResolution resolution) {
+        return ResponseHandler.responseBuilder(
+                "Utilization history successfully returned",
+                HttpStatus.OK,
+                utilizationHistoryService.getHistory(tenantId, warehouseId, from, to, resolution)
+        );
+    }
+}
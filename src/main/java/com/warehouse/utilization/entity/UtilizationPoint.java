@@ -0,0 +1,52 @@
+package com.warehouse.utilization.entity;
+
+import jakarta.persistence.*;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Utilization of one warehouse over one bucket. Rows are only ever inserted; compaction
+ * replaces old fine-grained rows with one coarser row per hour or day, keeping the mean,
+ * minimum and maximum occupancy and the number of samples merged.
+ */
+@Entity
+@Data
+@IdClass(UtilizationPointId.class)
+@Table(
+        name = "utilization_points",
+        indexes = @Index(name = "idx_utilization_points_warehouse_time", columnList = "warehouse_id, bucket_start")
+)
+public class UtilizationPoint {
+    @Id
+    @Column(name = "warehouse_id")
+    private UUID warehouseId;
+
+    @Id
+    @Enumerated(EnumType.STRING)
+    @Column(length = 16)
+    private UtilizationResolution resolution;
+
+    @Id
+    @Column(name = "bucket_start")
+    private LocalDateTime bucketStart;
+
+    @Column(name = "tenant_id", nullable = false)
+    private UUID tenantId;
+
+    @Column(nullable = false)
+    private Integer totalUnits;
+
+    @Column(nullable = false)
+    private Float occupancyAvg;
+
+    @Column(nullable = false)
+    private Float occupancyMin;
+
+    @Column(nullable = false)
+    private Float occupancyMax;
+
+    @Column(nullable = false)
+    private Short samples;
+}
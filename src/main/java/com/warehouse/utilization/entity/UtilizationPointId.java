@@ -0,0 +1,18 @@
+package com.warehouse.utilization.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class UtilizationPointId implements Serializable {
+    private UUID warehouseId;
+    private UtilizationResolution resolution;
+    private LocalDateTime bucketStart;
+}
@@ -0,0 +1,26 @@
+package com.warehouse.utilization.entity;
+
+import java.time.Duration;
+
+public enum UtilizationResolution {
+    FIVE_MINUTES(Duration.ofMinutes(5)),
+    HOURLY(Duration.ofHours(1)),
+    DAILY(Duration.ofDays(1));
+
+    private final Duration width;
+
+    UtilizationResolution(Duration width) {
+        this.width = width;
+    }
+
+    public Duration width() {
+        return width;
+    }
+
+    /**
+     * @return the PostgreSQL interval literal of the bucket width, e.g. for date_bin
+     */
+    public String interval() {
+        return width.toSeconds() + " seconds";
+    }
+}
@@ -0,0 +1,95 @@
+package com.warehouse.utilization.service;
+
+import com.warehouse.common.dto.UtilizationHistoryResponse;
+import com.warehouse.common.dto.UtilizationPointResponse;
+import com.warehouse.common.exceptions.NotFoundException;
+import com.warehouse.utilization.entity.UtilizationResolution;
+import com.warehouse.warehouses.repository.WarehouseRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Reads a warehouse's utilization history. Points of every resolution are binned to the
+ * requested width in the database, so a range that spans compacted and fresh points
+ * comes back as one evenly spaced series of at most a few hundred rows.
+ */
+@Service
+@RequiredArgsConstructor
+public class UtilizationHistoryService {
+    private static final String HISTORY = """
+            SELECT bucket, MAX(total_units) AS total_units,
+                   SUM(occupancy_avg * samples) / SUM(samples) AS occupancy_avg,
+                   MIN(occupancy_min) AS occupancy_min, MAX(occupancy_max) AS occupancy_max,
+                   SUM(samples) AS samples
+            FROM (
+                SELECT p.*, date_bin(CAST(? AS interval), p.bucket_start, TIMESTAMP '2000-01-01') AS bucket
+                FROM utilization_points p
+                WHERE p.warehouse_id = ?
+                AND p.bucket_start >= ?
+                AND p.bucket_start < ?
+            ) points
+            GROUP BY bucket
+            ORDER BY bucket
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final WarehouseRepository warehouseRepository;
+
+    /**
+     * Get utilization of a warehouse over a time range
+     *
+     * @param tenantId    owner of the warehouse
+     * @param warehouseId warehouse
+     * @param from        start of the range, inclusive
+     * @param to          end of the range, exclusive
+     * @param resolution  bucket width; picked from the length of the range when null
+     */
+    @Transactional(readOnly = true)
+    public UtilizationHistoryResponse getHistory(UUID tenantId,
+                                                 UUID warehouseId,
+                                                 LocalDateTime from,
+                                                 LocalDateTime to,
+                                                 UtilizationResolution resolution) {
+        if (from == null || to == null) {
+            throw new IllegalArgumentException("Select a from and to time");
+        }
+        if (!from.isBefore(to)) {
+            throw new IllegalArgumentException("From time must be before to time");
+        }
+
+        warehouseRepository.findByIdAndTenantId(warehouseId, tenantId)
+                .orElseThrow(() -> new NotFoundException("Warehouse not found"));
+
+        UtilizationResolution width = resolution != null ? resolution : resolutionFor(Duration.between(from, to));
+
+        List<UtilizationPointResponse> points = jdbcTemplate.query(HISTORY,
+                (rs, rowNum) -> new UtilizationPointResponse(
+                        rs.getTimestamp("bucket").toLocalDateTime(),
+                        rs.getInt("total_units"),
+                        rs.getDouble("occupancy_avg"),
+                        rs.getDouble("occupancy_min"),
+                        rs.getDouble("occupancy_max"),
+                        rs.getLong("samples")),
+                width.interval(), warehouseId, Timestamp.valueOf(from), Timestamp.valueOf(to));
+
+        return new UtilizationHistoryResponse(warehouseId, width, from, to, points);
+    }
+
+    static UtilizationResolution resolutionFor(Duration span) {
+        if (span.compareTo(Duration.ofDays(2)) <= 0) {
+            return UtilizationResolution.FIVE_MINUTES;
+        }
+        if (span.compareTo(Duration.ofDays(30)) <= 0) {
+            return UtilizationResolution.HOURLY;
+        }
+        return UtilizationResolution.DAILY;
+    }
+}
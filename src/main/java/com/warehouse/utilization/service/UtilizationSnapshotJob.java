@@ -0,0 +1,123 @@
+package com.warehouse.utilization.service;
+
+import com.warehouse.config.UtilizationProperties;
+import com.warehouse.shards.service.TenantShards;
+import com.warehouse.utilization.entity.UtilizationResolution;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+
+/**
+ * Records every warehouse's utilization every five minutes with one set-based insert, and
+ * periodically rolls old points into coarser ones: 5-minute points into hourly, hourly
+ * into daily. Points that were rolled up are deleted in the same transaction. Both run on
+ * every shard.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class UtilizationSnapshotJob {
+    /** arbitrary key of the advisory lock that keeps compaction to one instance at a time */
+    private static final long COMPACTION_LOCK = 0x7574696c5f636d70L;
+
+    private static final String SNAPSHOT = """
+            INSERT INTO utilization_points (warehouse_id, resolution, bucket_start, tenant_id, total_units,
+                                            occupancy_avg, occupancy_min, occupancy_max, samples)
+            SELECT w.id, 'FIVE_MINUTES', ?, w.tenant_id, stats.total, stats.rate, stats.rate, stats.rate, 1
+            FROM warehouses w
+            CROSS JOIN LATERAL (
+                SELECT COUNT(su.id) AS total,
+                       CASE WHEN COUNT(su.id) = 0 THEN 0
+                            ELSE COUNT(su.id) FILTER (WHERE su.status = 'OCCUPIED') * 100.0 / COUNT(su.id)
+                       END AS rate
+                FROM storage_units su
+                WHERE su.warehouse_id = w.id
+            ) stats
+            ON CONFLICT DO NOTHING
+            """;
+
+    private static final String ROLL_UP = """
+            INSERT INTO utilization_points (warehouse_id, resolution, bucket_start, tenant_id, total_units,
+                                            occupancy_avg, occupancy_min, occupancy_max, samples)
+            SELECT warehouse_id, ?, bucket, tenant_id, MAX(total_units),
+                   SUM(occupancy_avg * samples) / SUM(samples), MIN(occupancy_min), MAX(occupancy_max), SUM(samples)
+            FROM (
+                SELECT p.*, date_bin(CAST(? AS interval), p.bucket_start, TIMESTAMP '2000-01-01') AS bucket
+                FROM utilization_points p
+                WHERE p.resolution = ?
+                AND p.bucket_start < ?
+            ) fine
+            GROUP BY warehouse_id, tenant_id, bucket
+            ON CONFLICT (warehouse_id, resolution, bucket_start) DO UPDATE SET
+                occupancy_avg = (utilization_points.occupancy_avg * utilization_points.samples
+                                 + EXCLUDED.occupancy_avg * EXCLUDED.samples)
+                                / (utilization_points.samples + EXCLUDED.samples),
+                occupancy_min = LEAST(utilization_points.occupancy_min, EXCLUDED.occupancy_min),
+                occupancy_max = GREATEST(utilization_points.occupancy_max, EXCLUDED.occupancy_max),
+                total_units = GREATEST(utilization_points.total_units, EXCLUDED.total_units),
+                samples = utilization_points.samples + EXCLUDED.samples
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final UtilizationProperties properties;
+    private final TenantShards tenantShards;
+    private final TransactionTemplate transactionTemplate;
+
+    @Scheduled(cron = "0 */5 * * * *")
+    public void snapshot() {
+        if (!properties.enabled()) {
+            return;
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime bucketStart = now.truncatedTo(ChronoUnit.HOURS)
+                .plusMinutes(now.getMinute() / 5 * 5L);
+
+        tenantShards.forEachShard(shard -> {
+            int recorded = jdbcTemplate.update(SNAPSHOT, Timestamp.valueOf(bucketStart));
+            log.debug("Recorded utilization of {} warehouses on shard {} at {}", recorded, shard, bucketStart);
+        });
+    }
+
+    @Scheduled(cron = "0 7 * * * *")
+    public void compact() {
+        if (!properties.enabled()) {
+            return;
+        }
+        tenantShards.forEachShard(shard -> transactionTemplate.executeWithoutResult(status -> compact(shard)));
+    }
+
+    private void compact(String shard) {
+        Boolean locked = jdbcTemplate.queryForObject("SELECT pg_try_advisory_xact_lock(?)", Boolean.class, COMPACTION_LOCK);
+        if (!Boolean.TRUE.equals(locked)) {
+            return;
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime hourlyCutoff = now.minus(properties.fiveMinuteRetention()).truncatedTo(ChronoUnit.HOURS);
+        LocalDateTime dailyCutoff = now.minus(properties.hourlyRetention()).truncatedTo(ChronoUnit.DAYS);
+
+        int hourly = rollUp(UtilizationResolution.FIVE_MINUTES, UtilizationResolution.HOURLY, hourlyCutoff);
+        int daily = rollUp(UtilizationResolution.HOURLY, UtilizationResolution.DAILY, dailyCutoff);
+
+        log.info("Utilization compaction on shard {}: {} 5-minute and {} hourly points rolled up", shard, hourly, daily);
+    }
+
+    /**
+     * @return number of fine points rolled up and deleted
+     */
+    private int rollUp(UtilizationResolution from, UtilizationResolution to, LocalDateTime cutoff) {
+        Timestamp before = Timestamp.valueOf(cutoff);
+        jdbcTemplate.update(ROLL_UP, to.name(), to.interval(), from.name(), before);
+        return jdbcTemplate.update(
+                "DELETE FROM utilization_points WHERE resolution = ? AND bucket_start < ?",
+                from.name(), before);
+    }
+}
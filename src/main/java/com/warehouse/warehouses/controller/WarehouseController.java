@@ -3,6 +3,8 @@ package com.warehouse.warehouses.controller;
 import com.warehouse.common.dto.CreateWarehouse;
 import com.warehouse.common.dto.UpdateWarehouse;
 import com.warehouse.common.response.ResponseHandler;
+import com.warehouse.purge.service.PurgeJobs;
+import com.warehouse.warehouses.service.OccupancyForecastService;
 import com.warehouse.warehouses.service.WarehouseService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -28,6 +30,8 @@ import java.util.UUID;
 public class WarehouseController {
 
     private final WarehouseService warehouseService;
+    private final OccupancyForecastService occupancyForecastService;
+    private final PurgeJobs purgeJobs;
 
     // Get all warehouses for tenant
     @Operation(
@@ -48,6 +52,24 @@ public class WarehouseController {
         );
     }
 
+    @Operation(
+            summary = "Get occupancy forecast",
+            description = "Projected booked units and occupancy rate of each warehouse for each of the next days, from active bookings"
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Forecast successfully returned")
+    })
+    @GetMapping("/forecast")
+    public ResponseEntity<Object> getOccupancyForecast(
+            @RequestParam UUID tenantId,
+            @RequestParam(defaultValue = "90") int days) {
+        return ResponseHandler.responseBuilder(
+                "Forecast successfully returned",
+                HttpStatus.OK,
+                occupancyForecastService.getForecast(tenantId, days)
+        );
+    }
+
     // Get specific warehouse
     @Operation(
             summary = "Get a warehouse",
@@ -143,10 +165,12 @@ public class WarehouseController {
     // Delete warehouse (if no storage units)
     @Operation(
             summary = "Delete a warehouse",
-            description = "Delete a physical warehouse for the specified tenant."
+            description = "Delete a physical warehouse with its storage units and bookings for the specified tenant. " +
+                    "With async=true the delete runs in the background and its progress can be followed at /api/v1/purges/{jobId}."
     )
     @ApiResponses(value = {
             @ApiResponse(responseCode = "204", description = "Warehouse successfully deleted"),
+            @ApiResponse(responseCode = "202", description = "Warehouse purge started"),
             @ApiResponse(responseCode = "400", description = "Invalid input data"),
             @ApiResponse(responseCode = "404", description = "Tenant not found"),
             @ApiResponse(responseCode = "404", description = "Warehouse not found")
@@ -162,8 +186,17 @@ public class WarehouseController {
                     description = "ID of the tenant (warehouse company). In production, this would come from JWT claims rather than a query parameter",
                     required = true
             )
-            @RequestParam UUID tenantId
+            @RequestParam UUID tenantId,
+            @Parameter(description = "Delete in the background, for warehouses with very many bookings")
+            @RequestParam(defaultValue = "false") boolean async
     ) {
+        if (async) {
+            return ResponseHandler.responseBuilder(
+                    "Warehouse purge started",
+                    HttpStatus.ACCEPTED,
+                    purgeJobs.purgeWarehouse(tenantId, warehouseId)
+            );
+        }
         warehouseService.deleteWarehouse(tenantId, warehouseId);
         return ResponseHandler.responseBuilder(
                 "Warehouse successfully deleted",
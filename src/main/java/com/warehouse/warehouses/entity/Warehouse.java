@@ -1,9 +1,12 @@
 package com.warehouse.warehouses.entity;
 
+import com.warehouse.common.id.TimeOrderedId;
 import com.warehouse.storage.entity.StorageUnit;
 import com.warehouse.tenants.entity.Tenant;
 import jakarta.persistence.*;
 import lombok.Data;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.CreationTimestamp;
 
 import java.time.LocalDateTime;
@@ -13,9 +16,11 @@ import java.util.UUID;
 @Entity
 @Data
 @Table(name = "warehouses")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "warehouses")
 public class Warehouse {
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
+    @TimeOrderedId
     private UUID id;
 
     @Column(name = "tenant_id", nullable = false)
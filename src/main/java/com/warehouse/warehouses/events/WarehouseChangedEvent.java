@@ -0,0 +1,20 @@
+package com.warehouse.warehouses.events;
+
+import lombok.Getter;
+
+import java.util.UUID;
+
+/**
+ * Published inside the transaction that changes a warehouse's name or location, so stores
+ * that copy those fields can refresh them.
+ */
+@Getter
+public class WarehouseChangedEvent {
+    private final UUID tenantId;
+    private final UUID warehouseId;
+
+    public WarehouseChangedEvent(UUID tenantId, UUID warehouseId) {
+        this.tenantId = tenantId;
+        this.warehouseId = warehouseId;
+    }
+}
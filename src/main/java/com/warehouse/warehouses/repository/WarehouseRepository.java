@@ -1,7 +1,10 @@
 package com.warehouse.warehouses.repository;
 
 import com.warehouse.warehouses.entity.Warehouse;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -12,5 +15,9 @@ import java.util.UUID;
 public interface WarehouseRepository extends JpaRepository<Warehouse, UUID> {
     List<Warehouse> findByTenantId(UUID tenantId);
 
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = "warehouse-lookups")
+    })
     Optional<Warehouse> findByIdAndTenantId( UUID warehouseId, UUID tenantId);
 }
@@ -0,0 +1,97 @@
+package com.warehouse.warehouses.service;
+
+import com.warehouse.bookings.repository.BookingsRepository;
+import com.warehouse.common.dto.BookingInterval;
+import com.warehouse.common.dto.DailyOccupancy;
+import com.warehouse.common.dto.OccupancyForecastResponse;
+import com.warehouse.common.dto.WarehouseForecast;
+import com.warehouse.common.dto.WarehouseUnits;
+import com.warehouse.config.ReadFromPrimary;
+import com.warehouse.storage.repository.StorageRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Projects how many units of each warehouse are booked on each of the coming days.
+ * <p>
+ * The tenant's active booking intervals are loaded with one query; each interval adds +1
+ * on its first day and -1 after its last day to its warehouse's difference array, and a
+ * running sum over the array gives the occupied units per day. Results are cached under
+ * the tenant's list generation, so they live until the next booking, unit or warehouse
+ * change (or until the day rolls over).
+ */
+@Service
+@RequiredArgsConstructor
+public class OccupancyForecastService {
+    static final int MAX_DAYS = 365;
+
+    private final BookingsRepository bookingsRepository;
+    private final StorageRepository storageRepository;
+
+    /**
+     * Get projected occupancy per warehouse for each of the next days, starting today
+     *
+     * @param tenantId tenant
+     * @param days     number of days to project
+     */
+    @Transactional(readOnly = true)
+    @ReadFromPrimary
+    @Cacheable(value = "occupancyForecast",
+            key = "@tenantCacheGenerations.key(#tenantId) + ':' + T(java.time.LocalDate).now() + ':' + #days")
+    public OccupancyForecastResponse getForecast(UUID tenantId, int days) {
+        if (days <= 0 || days > MAX_DAYS) {
+            throw new IllegalArgumentException("Forecast must cover between 1 and " + MAX_DAYS + " days");
+        }
+
+        LocalDate from = LocalDate.now();
+        LocalDate to = from.plusDays(days - 1);
+
+        List<WarehouseUnits> warehouses = storageRepository.countUnitsByTenant(tenantId);
+        Map<UUID, int[]> deltas = new HashMap<>();
+        for (WarehouseUnits warehouse : warehouses) {
+            deltas.put(warehouse.warehouseId(), new int[days + 1]);
+        }
+
+        for (BookingInterval interval : bookingsRepository.findActiveIntervalsByTenantId(tenantId, from, to)) {
+            int[] delta = deltas.get(interval.warehouseId());
+            if (delta == null) {
+                continue;
+            }
+            LocalDate start = interval.startDate().isBefore(from) ? from : interval.startDate();
+            LocalDate end = interval.endDate().isAfter(to) ? to : interval.endDate();
+            delta[(int) ChronoUnit.DAYS.between(from, start)]++;
+            delta[(int) ChronoUnit.DAYS.between(from, end) + 1]--;
+        }
+
+        List<WarehouseForecast> forecasts = new ArrayList<>(warehouses.size());
+        for (WarehouseUnits warehouse : warehouses) {
+            forecasts.add(sweep(warehouse, deltas.get(warehouse.warehouseId()), from, days));
+        }
+
+        return new OccupancyForecastResponse(from, days, forecasts);
+    }
+
+    private static WarehouseForecast sweep(WarehouseUnits warehouse, int[] delta, LocalDate from, int days) {
+        List<DailyOccupancy> series = new ArrayList<>(days);
+        long totalUnits = warehouse.totalUnits();
+        int occupied = 0;
+
+        for (int day = 0; day < days; day++) {
+            occupied += delta[day];
+            double rate = totalUnits == 0 ? 0 : Math.min(occupied, totalUnits) * 100.0 / totalUnits;
+            series.add(new DailyOccupancy(from.plusDays(day), occupied, rate));
+        }
+
+        return new WarehouseForecast(warehouse.warehouseId(), warehouse.warehouseName(), totalUnits, series);
+    }
+}
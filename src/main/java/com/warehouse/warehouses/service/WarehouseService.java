@@ -1,17 +1,29 @@
 package com.warehouse.warehouses.service;
 
+import com.warehouse.audit.entity.AuditAction;
+import com.warehouse.audit.service.AuditLog;
+import com.warehouse.bookings.index.ExpiringBookingIndexer;
+import com.warehouse.changefeed.service.ChangeFeed;
 import com.warehouse.common.dto.CreateWarehouse;
 import com.warehouse.common.dto.UpdateWarehouse;
 import com.warehouse.common.dto.WarehouseResponse;
 import com.warehouse.common.exceptions.NotFoundException;
 import com.warehouse.common.mapper.WarehouseMapper;
+import com.warehouse.config.ReadFromPrimary;
+import com.warehouse.config.TenantCacheGenerations;
+import com.warehouse.purge.service.PurgeService;
+import com.warehouse.storage.service.AvailableUnitsCache;
 import com.warehouse.tenants.entity.Tenant;
 import com.warehouse.tenants.repository.TenantRepository;
+import com.warehouse.tenants.service.TenantMembership;
 import com.warehouse.warehouses.entity.Warehouse;
+import com.warehouse.warehouses.events.WarehouseChangedEvent;
 import com.warehouse.warehouses.repository.WarehouseRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -28,8 +40,18 @@ public class WarehouseService {
     private final WarehouseRepository warehouseRepository;
     private final WarehouseMapper warehouseMapper;
     private final TenantRepository tenantRepository;
+    private final TenantCacheGenerations cacheGenerations;
+    private final ExpiringBookingIndexer expiringBookingIndexer;
+    private final AvailableUnitsCache availableUnitsCache;
+    private final TenantMembership tenantMembership;
+    private final PurgeService purgeService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ChangeFeed changeFeed;
+    private final AuditLog auditLog;
 
     @Transactional(readOnly = true)
+    @ReadFromPrimary
+    @Cacheable(value = "warehouseLists", key = "@tenantCacheGenerations.key(#tenantId)")
     public List<WarehouseResponse> getWarehouses(UUID tenantId) {
         return warehouseRepository
                 .findByTenantId(tenantId)
@@ -62,6 +84,9 @@ public class WarehouseService {
         newWarehouse.setTotalUnits(0);
 
         Warehouse savedWarehouse = warehouseRepository.save(newWarehouse);
+        changeFeed.publish(ChangeFeed.Entity.WAREHOUSE, tenantId, savedWarehouse.getId());
+        auditLog.record(tenantId, AuditAction.WAREHOUSE_CREATED, savedWarehouse.getId());
+        cacheGenerations.bump(tenantId);
         return warehouseMapper.toDto(savedWarehouse);
     }
 
@@ -74,14 +99,31 @@ public class WarehouseService {
         warehouse.setLocation(request.location());
 
         Warehouse updatedWarehouse = warehouseRepository.save(warehouse);
+        changeFeed.publish(ChangeFeed.Entity.WAREHOUSE, tenantId, warehouseId);
+        auditLog.record(tenantId, AuditAction.WAREHOUSE_UPDATED, warehouseId);
+        cacheGenerations.bump(tenantId);
+        expiringBookingIndexer.invalidate(tenantId);
+        eventPublisher.publishEvent(new WarehouseChangedEvent(tenantId, warehouseId));
         return warehouseMapper.toDto(updatedWarehouse);
     }
 
-    public void deleteWarehouse(UUID tenantId, UUID warehouseId) {
+    /**
+     * delete a warehouse; its bookings and units are removed with set-based deletes first
+     *
+     * @return number of bookings deleted with the warehouse
+     */
+    public long deleteWarehouse(UUID tenantId, UUID warehouseId) {
         Warehouse warehouse = warehouseRepository
                 .findByIdAndTenantId(warehouseId, tenantId)
                 .orElseThrow(() -> new NotFoundException("Warehouse not found"));
 
+        long bookingsDeleted = purgeService.purgeWarehouse(tenantId, warehouseId);
         warehouseRepository.delete(warehouse);
+        tenantMembership.forgetUnitsOf(tenantId);
+        changeFeed.publish(ChangeFeed.Entity.WAREHOUSE, tenantId, warehouseId);
+        auditLog.record(tenantId, AuditAction.WAREHOUSE_DELETED, warehouseId);
+        cacheGenerations.bump(tenantId);
+        availableUnitsCache.invalidate(tenantId);
+        return bookingsDeleted;
     }
 }
@@ -0,0 +1,35 @@
+-- Bookings made before the ledger existed have no events, so the first change to one would
+-- be an update carrying only the changed fields, with no state to apply it to. Give each
+-- such booking a BOOKING_CREATED event (type 1) at version 1 holding its current state,
+-- encoded as LedgerCodec.encodeBooking(null, booking) does: mask 0xff, customer, unit and
+-- warehouse ids, unit capacity, start and end epoch days, rate in hundredths, status
+-- ordinal plus one; big-endian, with INT_MIN / LONG_MIN for a missing capacity / rate.
+--
+-- The event id is a time-ordered UUID for the booking's creation time, never later than
+-- now, so the event sorts before any event recorded after the upgrade.
+
+insert into ledger_events (id, tenant_id, aggregate_id, version, type, payload)
+select (lpad(to_hex(floor(least(extract(epoch from b.created_at), extract(epoch from now())) * 1000)::bigint), 12, '0')
+            || '7' || substr(replace(gen_random_uuid()::text, '-', ''), 14))::uuid,
+       w.tenant_id,
+       b.id,
+       1,
+       1,
+       '\xff'::bytea
+           || decode(replace(b.customer_id::text, '-', ''), 'hex')
+           || decode(replace(b.storage_unit_id::text, '-', ''), 'hex')
+           || decode(replace(su.warehouse_id::text, '-', ''), 'hex')
+           || int4send(coalesce(su.capacity_kg, (-2147483648)::integer))
+           || int4send(b.start_date - date '1970-01-01')
+           || int4send(b.end_date - date '1970-01-01')
+           || int8send(coalesce(round(b.monthly_rate * 100)::bigint, (-9223372036854775808)::bigint))
+           || set_byte('\x00'::bytea, 0, case b.status
+                                             when 'ACTIVE' then 1
+                                             when 'CANCELLED' then 2
+                                             when 'COMPLETED' then 3
+                                             else 0
+                                         end)
+from bookings b
+join storage_units su on su.id = b.storage_unit_id
+join warehouses w on w.id = su.warehouse_id
+where not exists (select 1 from ledger_events e where e.aggregate_id = b.id);
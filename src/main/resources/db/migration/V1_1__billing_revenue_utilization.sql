@@ -0,0 +1,63 @@
+-- Tables added for billing, revenue rollups and utilization history before migrations
+-- were introduced. They are not part of the baseline, so a database baselined at version 1
+-- gets them here; one where ddl-auto already created them keeps its tables as they are.
+
+create table if not exists billing_checkpoints (
+    id uuid not null,
+    billing_month date not null,
+    completed boolean not null,
+    last_booking_id uuid,
+    lines_written bigint not null,
+    tenant_id uuid not null,
+    updated_at timestamp(6) not null,
+    primary key (id),
+    constraint uk_billing_checkpoints_partition unique (billing_month, tenant_id)
+);
+
+create table if not exists invoice_lines (
+    id uuid not null,
+    amount numeric(12,2) not null,
+    billing_month date not null,
+    booking_id uuid not null,
+    created_at timestamp(6) not null,
+    customer_id uuid not null,
+    days_billed integer not null,
+    monthly_rate numeric(10,2) not null,
+    period_end date not null,
+    period_start date not null,
+    storage_unit_id uuid not null,
+    tenant_id uuid not null,
+    primary key (id),
+    constraint uk_invoice_lines_booking_month unique (booking_id, billing_month)
+);
+
+create table if not exists revenue_rollups (
+    id uuid not null,
+    amount numeric(19,6) not null,
+    bucket_start date not null,
+    granularity varchar(16) not null check (granularity in ('DAY','MONTH')),
+    scope varchar(16) not null check (scope in ('WAREHOUSE','TENANT')),
+    scope_id uuid not null,
+    tenant_id uuid not null,
+    primary key (id),
+    constraint uk_revenue_rollups_bucket unique (scope, scope_id, granularity, bucket_start)
+);
+
+create table if not exists utilization_points (
+    bucket_start timestamp(6) not null,
+    resolution varchar(16) not null check (resolution in ('FIVE_MINUTES','HOURLY','DAILY')),
+    warehouse_id uuid not null,
+    occupancy_avg float4 not null,
+    occupancy_max float4 not null,
+    occupancy_min float4 not null,
+    samples smallint not null,
+    tenant_id uuid not null,
+    total_units integer not null,
+    primary key (bucket_start, resolution, warehouse_id)
+);
+
+create index if not exists idx_invoice_lines_tenant_month on invoice_lines (tenant_id, billing_month);
+
+create index if not exists idx_revenue_rollups_tenant on revenue_rollups (tenant_id);
+
+create index if not exists idx_utilization_points_warehouse_time on utilization_points (warehouse_id, bucket_start);
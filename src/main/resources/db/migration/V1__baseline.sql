@@ -0,0 +1,73 @@
+-- Schema as it stood when migrations were introduced: exactly what Hibernate generated
+-- for the entities of the original application. Databases created by ddl-auto before this
+-- are baselined at version 1 (spring.flyway.baseline-on-migrate) and skip this script;
+-- constraint names are the ones Hibernate generated, so both kinds of database end up
+-- identical. Tables added since then are created by the later migrations.
+
+create table bookings (
+    id uuid not null,
+    created_at timestamp(6),
+    customer_id uuid not null,
+    end_date date not null,
+    monthly_rate numeric(10,2),
+    notification_status varchar(255) check (notification_status in ('PENDING','PROCESSED','FAILED','ABANDONED')),
+    retry_count integer not null,
+    start_date date not null,
+    status varchar(255) check (status in ('ACTIVE','CANCELLED','COMPLETED')),
+    storage_unit_id uuid not null,
+    version integer not null,
+    primary key (id)
+);
+
+create table customers (
+    id uuid not null,
+    company_name varchar(255) not null,
+    contact_email varchar(255),
+    created_at timestamp(6),
+    tenant_id uuid not null,
+    primary key (id)
+);
+
+create table storage_units (
+    id uuid not null,
+    capacity_kg integer not null,
+    created_at timestamp(6),
+    status varchar(255) check (status in ('AVAILABLE','BOOKED','OCCUPIED','MAINTENANCE')),
+    unit_number varchar(255) not null,
+    version integer,
+    warehouse_id uuid not null,
+    primary key (id)
+);
+
+create table tenants (
+    id uuid not null,
+    company_name varchar(255) not null,
+    created_at timestamp(6),
+    email varchar(255) not null unique,
+    primary key (id)
+);
+
+create table warehouses (
+    id uuid not null,
+    created_at timestamp(6),
+    location varchar(255),
+    name varchar(255) not null,
+    tenant_id uuid not null,
+    total_units integer,
+    primary key (id)
+);
+
+alter table bookings
+    add constraint FKbvfibgflhsb0g2hnjauiv5khs foreign key (customer_id) references customers;
+
+alter table bookings
+    add constraint FKswf30fap7bjlt6vf5m5bxw0nc foreign key (storage_unit_id) references storage_units;
+
+alter table customers
+    add constraint FKpd6k5i4wnbhgk8fwug35v2x5t foreign key (tenant_id) references tenants;
+
+alter table storage_units
+    add constraint FKpw2nrx4mw0qnd47ncw0flqlms foreign key (warehouse_id) references warehouses;
+
+alter table warehouses
+    add constraint FKn4qn12pkyk7u3o462u7n7sf5n foreign key (tenant_id) references tenants;
@@ -0,0 +1,41 @@
+-- Indexes for the tenant-scoped queries in BookingsRepository, StorageRepository and
+-- TenantRepository. Tenant scoping always walks warehouses -> storage_units -> bookings or
+-- customers -> bookings, so every hop gets an index on its join column; the booking
+-- filters that only ever look at ACTIVE bookings get partial indexes.
+-- Built CONCURRENTLY so existing databases keep taking writes; Flyway runs this script
+-- outside a transaction.
+
+-- warehouses of a tenant (tenant stats, utilization, every tenant-scoped join)
+create index concurrently if not exists idx_warehouses_tenant
+    on warehouses (tenant_id) include (name);
+
+-- customers of a tenant (customer lists, findByTenantId on bookings, tenant stats)
+create index concurrently if not exists idx_customers_tenant
+    on customers (tenant_id);
+
+-- units of a warehouse by status and size: available-unit search, utilization counts and
+-- findByWarehouseIdAndStatus are answered from the index alone
+create index concurrently if not exists idx_storage_units_warehouse_status_capacity
+    on storage_units (warehouse_id, status, capacity_kg);
+
+-- bookings of a unit / of a customer (snapshots, cascades, tenant joins through customers)
+create index concurrently if not exists idx_bookings_storage_unit
+    on bookings (storage_unit_id);
+
+create index concurrently if not exists idx_bookings_customer
+    on bookings (customer_id);
+
+-- active bookings of a unit with the dates the forecast and expiring lookups filter on
+create index concurrently if not exists idx_bookings_active_unit
+    on bookings (storage_unit_id) include (start_date, end_date, customer_id)
+    where status = 'ACTIVE';
+
+-- cross-tenant expiry sweep (getAllExpiringBookings)
+create index concurrently if not exists idx_bookings_active_end_date
+    on bookings (end_date)
+    where status = 'ACTIVE';
+
+-- notification scheduler: pending and failed active bookings by end date
+create index concurrently if not exists idx_bookings_notification_due
+    on bookings (notification_status, end_date)
+    where status = 'ACTIVE' and notification_status in ('PENDING', 'FAILED');
@@ -0,0 +1,91 @@
+-- Range-partitions bookings by end_date into monthly partitions, and adds the archive that
+-- finished bookings are moved into (BookingArchiveJob). Partitions cover the last 12 and
+-- the next 24 months; BookingPartitionMaintainer keeps creating them ahead of time.
+-- Anything outside those months lands in bookings_default until a partition for it exists.
+-- A partitioned table's primary key has to include the partition key, hence (id, end_date);
+-- ids are still unique on their own since nothing else generates them.
+
+alter table bookings rename to bookings_unpartitioned;
+
+create table bookings (
+    id uuid not null,
+    created_at timestamp(6),
+    customer_id uuid not null,
+    end_date date not null,
+    monthly_rate numeric(10,2),
+    notification_status varchar(255) check (notification_status in ('PENDING','PROCESSED','FAILED','ABANDONED')),
+    retry_count integer not null,
+    start_date date not null,
+    status varchar(255) check (status in ('ACTIVE','CANCELLED','COMPLETED')),
+    storage_unit_id uuid not null,
+    version integer not null,
+    primary key (id, end_date)
+) partition by range (end_date);
+
+do $$
+declare
+    month date := date_trunc('month', current_date - interval '12 months');
+begin
+    while month < date_trunc('month', current_date + interval '24 months') loop
+        execute format('create table %I partition of bookings for values from (%L) to (%L)',
+                       'bookings_' || to_char(month, 'YYYY_MM'), month, (month + interval '1 month')::date);
+        month := (month + interval '1 month')::date;
+    end loop;
+end
+$$;
+
+create table bookings_default partition of bookings default;
+
+insert into bookings (id, created_at, customer_id, end_date, monthly_rate, notification_status, retry_count,
+                      start_date, status, storage_unit_id, version)
+select id, created_at, customer_id, end_date, monthly_rate, notification_status, retry_count,
+       start_date, status, storage_unit_id, version
+from bookings_unpartitioned;
+
+drop table bookings_unpartitioned;
+
+alter table bookings
+    add constraint FKbvfibgflhsb0g2hnjauiv5khs foreign key (customer_id) references customers;
+
+alter table bookings
+    add constraint FKswf30fap7bjlt6vf5m5bxw0nc foreign key (storage_unit_id) references storage_units;
+
+-- the indexes of V2, now created on every partition
+create index idx_bookings_storage_unit
+    on bookings (storage_unit_id);
+
+create index idx_bookings_customer
+    on bookings (customer_id);
+
+create index idx_bookings_active_unit
+    on bookings (storage_unit_id) include (start_date, end_date, customer_id)
+    where status = 'ACTIVE';
+
+create index idx_bookings_active_end_date
+    on bookings (end_date)
+    where status = 'ACTIVE';
+
+create index idx_bookings_notification_due
+    on bookings (notification_status, end_date)
+    where status = 'ACTIVE' and notification_status in ('PENDING', 'FAILED');
+
+-- Finished bookings older than warehouse.bookings.partitions.archive-after-months. Tenant,
+-- warehouse and capacity are copied in so the rows stay meaningful after the unit or
+-- warehouse is deleted; nothing here is updated, so pages are packed full.
+create table bookings_archive (
+    id uuid not null,
+    tenant_id uuid not null,
+    warehouse_id uuid not null,
+    customer_id uuid not null,
+    storage_unit_id uuid not null,
+    capacity_kg integer not null,
+    start_date date not null,
+    end_date date not null,
+    monthly_rate numeric(10,2),
+    status varchar(16) not null,
+    created_at timestamp(6),
+    archived_at timestamp(6) not null,
+    primary key (id)
+) with (fillfactor = 100);
+
+create index idx_bookings_archive_tenant on bookings_archive (tenant_id, end_date);
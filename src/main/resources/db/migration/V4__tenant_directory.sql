@@ -0,0 +1,16 @@
+-- Which shard (database) each tenant lives on; read only from the primary database,
+-- though like every table it also exists, empty, on the other shards. Tenants without a
+-- row live on the primary. moving is set while TenantShardMover copies a tenant.
+
+create table tenant_shards (
+    tenant_id uuid not null,
+    shard varchar(64) not null,
+    moving boolean not null default false,
+    created_at timestamp(6) not null default now(),
+    primary key (tenant_id)
+);
+
+create index idx_tenant_shards_shard on tenant_shards (shard);
+
+insert into tenant_shards (tenant_id, shard)
+select id, 'primary' from tenants;
@@ -0,0 +1,51 @@
+-- Read model for the tenant-facing booking queries: one flat row per booking with the
+-- customer, unit and warehouse fields those queries would otherwise join for. Kept up to
+-- date by BookingViewProjector from booking_view_changes, which the services' domain
+-- events fill in the same transaction as the change itself.
+
+create table booking_view (
+    booking_id uuid not null,
+    tenant_id uuid not null,
+    customer_id uuid not null,
+    customer_company_name varchar(255) not null,
+    customer_email varchar(255),
+    warehouse_id uuid not null,
+    warehouse_name varchar(255) not null,
+    storage_unit_id uuid not null,
+    unit_number varchar(255) not null,
+    capacity_kg integer not null,
+    start_date date not null,
+    end_date date not null,
+    monthly_rate numeric(10,2),
+    status varchar(255),
+    projected_at timestamp(6) not null default now(),
+    primary key (booking_id)
+);
+
+create index idx_booking_view_tenant_active_end on booking_view (tenant_id, end_date) where status = 'ACTIVE';
+create index idx_booking_view_customer on booking_view (customer_id);
+create index idx_booking_view_warehouse on booking_view (warehouse_id);
+
+-- scope says which bookings to re-project: the one booking, or every booking of a
+-- customer or warehouse whose name changed
+create table booking_view_changes (
+    id uuid not null,
+    tenant_id uuid not null,
+    scope varchar(16) not null check (scope in ('BOOKING','CUSTOMER','WAREHOUSE')),
+    key uuid not null,
+    queued_at timestamp(6) not null default now(),
+    primary key (id)
+);
+
+create index idx_booking_view_changes_tenant on booking_view_changes (tenant_id, id);
+
+insert into booking_view (booking_id, tenant_id, customer_id, customer_company_name, customer_email,
+                          warehouse_id, warehouse_name, storage_unit_id, unit_number, capacity_kg,
+                          start_date, end_date, monthly_rate, status)
+select b.id, w.tenant_id, c.id, c.company_name, c.contact_email,
+       w.id, w.name, su.id, su.unit_number, su.capacity_kg,
+       b.start_date, b.end_date, b.monthly_rate, b.status
+from bookings b
+join customers c on c.id = b.customer_id
+join storage_units su on su.id = b.storage_unit_id
+join warehouses w on w.id = su.warehouse_id;
@@ -0,0 +1,27 @@
+-- Append-only ledger of booking and unit changes. Rows are kept small: the event type is
+-- a smallint code, the time is the one inside the time-ordered id, and the payload is a
+-- binary encoding of only the fields the event changed (see LedgerCodec).
+
+create table ledger_events (
+    id uuid not null,
+    tenant_id uuid not null,
+    aggregate_id uuid not null,
+    version integer not null,
+    type smallint not null,
+    payload bytea not null,
+    primary key (id),
+    unique (aggregate_id, version)
+) with (fillfactor = 100);
+
+create index idx_ledger_events_tenant on ledger_events (tenant_id, id);
+
+-- latest full state of an aggregate, taken every warehouse.ledger.snapshot-every events,
+-- so rebuilding it reads at most that many events
+create table ledger_snapshots (
+    aggregate_id uuid not null,
+    tenant_id uuid not null,
+    version integer not null,
+    type smallint not null,
+    state bytea not null,
+    primary key (aggregate_id)
+);
@@ -0,0 +1,16 @@
+-- Who changed what: one row per mutating service call, written in batches by AuditWriter
+-- (or with the change itself when warehouse.audit.durability is SYNC_ON_COMMIT). Rows
+-- live on the tenant's shard and move with it.
+
+create table audit_log (
+    id uuid not null,
+    tenant_id uuid not null,
+    actor varchar(255) not null,
+    action varchar(32) not null,
+    entity_id uuid,
+    detail varchar(1000),
+    occurred_at timestamp(6) not null,
+    primary key (id)
+);
+
+create index idx_audit_log_tenant on audit_log (tenant_id, id);
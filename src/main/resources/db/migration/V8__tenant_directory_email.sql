@@ -0,0 +1,13 @@
+-- Tenant emails are unique across all shards, not only within one: the directory keeps
+-- each tenant's email under a unique index and TenantService registers new tenants here.
+-- Tenants on the primary are filled in below; those on other shards are filled in by
+-- TenantShards when the application starts.
+
+alter table tenant_shards add column email varchar(255);
+
+update tenant_shards ts
+set email = t.email
+from tenants t
+where t.id = ts.tenant_id;
+
+create unique index uk_tenant_shards_email on tenant_shards (email);
@@ -0,0 +1,11 @@
+-- The booking list is read from booking_view too: it returns when each booking was made
+-- and lists every booking of a tenant, not only the active ones.
+
+alter table booking_view add column created_at timestamp(6);
+
+update booking_view v
+set created_at = b.created_at
+from bookings b
+where b.id = v.booking_id;
+
+create index idx_booking_view_tenant on booking_view (tenant_id);
@@ -0,0 +1,82 @@
+package com.warehouse.audit;
+
+import com.warehouse.BaseIntegrationTest;
+import com.warehouse.audit.entity.AuditAction;
+import com.warehouse.audit.service.AuditLog;
+import com.warehouse.audit.service.AuditWriter;
+import com.warehouse.common.dto.AuditEntry;
+import com.warehouse.common.dto.CreateWarehouse;
+import com.warehouse.common.dto.CustomerRequest;
+import com.warehouse.common.dto.UpdateCustomer;
+import com.warehouse.customers.service.CustomerService;
+import com.warehouse.tenants.entity.Tenant;
+import com.warehouse.tenants.repository.TenantRepository;
+import com.warehouse.warehouses.service.WarehouseService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AuditTest extends BaseIntegrationTest {
+    @Autowired
+    private AuditLog auditLog;
+
+    @Autowired
+    private AuditWriter auditWriter;
+
+    @Autowired
+    private TenantRepository tenantRepository;
+
+    @Autowired
+    private WarehouseService warehouseService;
+
+    @Autowired
+    private CustomerService customerService;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @AfterEach
+    void clearRequest() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    void shouldRecordCommittedChangesWithTheirActor_andSkipRolledBackOnes() {
+        Tenant tenant = new Tenant();
+        tenant.setCompanyName("Audit Tenant");
+        tenant.setEmail("audit-" + UUID.randomUUID() + "@test.com");
+        UUID tenantId = tenantRepository.save(tenant).getId();
+
+        UUID warehouseId = warehouseService.createWarehouse(
+                tenantId, new CreateWarehouse("Audit Warehouse", "Lagos")).id();
+        UUID customerId = customerService.createCustomer(
+                tenantId, new CustomerRequest("Audit Customer", "audit-" + UUID.randomUUID() + "@test.com")).id();
+
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader(AuditLog.ACTOR_HEADER, "ops@warehouse.test");
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+        customerService.updateCustomer(tenantId, customerId, new UpdateCustomer("Audit Customer Ltd", null));
+
+        transactionTemplate.executeWithoutResult(status -> {
+            warehouseService.createWarehouse(tenantId, new CreateWarehouse("Rolled Back", "Abuja"));
+            status.setRollbackOnly();
+        });
+
+        auditWriter.flush();
+        List<AuditEntry> entries = auditLog.getRecent(tenantId, 10);
+
+        assertThat(entries).extracting(AuditEntry::action).containsExactly(
+                AuditAction.CUSTOMER_UPDATED, AuditAction.CUSTOMER_CREATED, AuditAction.WAREHOUSE_CREATED);
+        assertThat(entries).extracting(AuditEntry::entityId).containsExactly(customerId, customerId, warehouseId);
+        assertThat(entries).extracting(AuditEntry::actor).containsExactly("ops@warehouse.test", "system", "system");
+    }
+}
@@ -0,0 +1,116 @@
+package com.warehouse.audit;
+
+import com.warehouse.BaseIntegrationTest;
+import com.warehouse.audit.entity.AuditAction;
+import com.warehouse.audit.service.AuditLog;
+import com.warehouse.audit.service.AuditWriter;
+import com.warehouse.common.dto.AuditEntry;
+import com.warehouse.common.id.TimeOrderedUuid;
+import com.warehouse.tenants.entity.Tenant;
+import com.warehouse.tenants.repository.TenantRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * SYNC_ON_COMMIT for {@link AuditLog}, and a buffer of 4 so {@link AuditWriter#enqueue}
+ * overflows. The hourly flush leaves queued entries alone until the test flushes.
+ */
+@TestPropertySource(properties = {
+        "warehouse.audit.durability=SYNC_ON_COMMIT",
+        "warehouse.audit.buffer-capacity=4",
+        "warehouse.audit.flush-interval=1h"
+})
+class AuditWriterTest extends BaseIntegrationTest {
+    private static final String AUDIT_ROWS = "SELECT COUNT(*) FROM audit_log WHERE tenant_id = ?";
+
+    @Autowired
+    private AuditLog auditLog;
+
+    @Autowired
+    private AuditWriter auditWriter;
+
+    @Autowired
+    private TenantRepository tenantRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void shouldWriteEntriesInTheCommittingTransaction_whenSyncOnCommit() {
+        UUID tenantId = createTenant();
+        double writtenBefore = entries("written");
+
+        transactionTemplate.executeWithoutResult(status -> {
+            auditLog.record(tenantId, AuditAction.CUSTOMER_CREATED, UUID.randomUUID());
+            auditLog.record(tenantId, AuditAction.CUSTOMER_UPDATED, UUID.randomUUID());
+            assertThat(count(tenantId)).isZero();
+        });
+        transactionTemplate.executeWithoutResult(status -> {
+            auditLog.record(tenantId, AuditAction.CUSTOMER_DELETED, UUID.randomUUID());
+            status.setRollbackOnly();
+        });
+
+        // in the database as soon as the transaction committed, without a flush
+        assertThat(count(tenantId)).isEqualTo(2);
+        assertThat(auditLog.getRecent(tenantId, 10)).extracting(AuditEntry::action)
+                .containsExactlyInAnyOrder(AuditAction.CUSTOMER_CREATED, AuditAction.CUSTOMER_UPDATED);
+        // and never through the writer
+        assertThat(entries("written")).isEqualTo(writtenBefore);
+    }
+
+    @Test
+    void shouldWriteEntriesThatDoNotFit_rightAway() {
+        UUID tenantId = createTenant();
+        double writtenBefore = entries("written");
+        double overflowedBefore = entries("overflowed");
+
+        List<AuditEntry> entries = new ArrayList<>();
+        for (int i = 0; i < 6; i++) {
+            entries.add(new AuditEntry(TimeOrderedUuid.next(), tenantId, "system",
+                    AuditAction.WAREHOUSE_CREATED, UUID.randomUUID(), null, Instant.now()));
+        }
+        auditWriter.enqueue(entries);
+
+        assertThat(count(tenantId)).isEqualTo(2);
+        assertThat(entries("overflowed") - overflowedBefore).isEqualTo(2);
+        assertThat(entries("written") - writtenBefore).isEqualTo(2);
+
+        auditWriter.flush();
+
+        assertThat(count(tenantId)).isEqualTo(6);
+        assertThat(entries("written") - writtenBefore).isEqualTo(6);
+        assertThat(entries("dropped")).isZero();
+    }
+
+    private UUID createTenant() {
+        Tenant tenant = new Tenant();
+        tenant.setCompanyName("Audit Writer Tenant");
+        tenant.setEmail("audit-writer-" + UUID.randomUUID() + "@test.com");
+        return tenantRepository.save(tenant).getId();
+    }
+
+    private long count(UUID tenantId) {
+        return jdbcTemplate.queryForObject(AUDIT_ROWS, Long.class, tenantId);
+    }
+
+    private double entries(String result) {
+        return meterRegistry.get("warehouse.audit.entries").tag("result", result).counter().count();
+    }
+}
@@ -0,0 +1,126 @@
+package com.warehouse.audit.service;
+
+import com.warehouse.audit.entity.AuditAction;
+import com.warehouse.common.dto.AuditEntry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AuditRingBufferTest {
+
+    @Test
+    void shouldRoundCapacityUpToPowerOfTwo() {
+        assertThat(new AuditRingBuffer(5).capacity()).isEqualTo(8);
+        assertThat(new AuditRingBuffer(8).capacity()).isEqualTo(8);
+        assertThat(new AuditRingBuffer(1000).capacity()).isEqualTo(1024);
+        assertThat(new AuditRingBuffer(65536).capacity()).isEqualTo(65536);
+    }
+
+    @Test
+    void shouldRejectOffer_whenFull_andAcceptAgainAfterDrain() {
+        AuditRingBuffer buffer = new AuditRingBuffer(4);
+        for (int i = 0; i < 4; i++) {
+            assertThat(buffer.offer(entry(0, i))).isTrue();
+        }
+
+        assertThat(buffer.offer(entry(0, 4))).isFalse();
+        assertThat(buffer.size()).isEqualTo(4);
+
+        List<AuditEntry> drained = new ArrayList<>();
+        assertThat(buffer.drainTo(drained, 1)).isEqualTo(1);
+        assertThat(buffer.offer(entry(0, 4))).isTrue();
+        assertThat(buffer.offer(entry(0, 5))).isFalse();
+    }
+
+    @Test
+    void shouldKeepOrder_whenWrappingAroundPastCapacity() {
+        AuditRingBuffer buffer = new AuditRingBuffer(4);
+        List<AuditEntry> drained = new ArrayList<>();
+        List<AuditEntry> offered = new ArrayList<>();
+
+        AuditEntry first = entry(0, 0);
+        buffer.offer(first);
+        offered.add(first);
+        // one entry always left behind and 3 per lap against a capacity of 4, so every
+        // lap fills the buffer and slots are reused at shifting offsets
+        for (int lap = 1; lap <= 10; lap++) {
+            for (int i = 0; i < 3; i++) {
+                AuditEntry entry = entry(lap, i);
+                assertThat(buffer.offer(entry)).isTrue();
+                offered.add(entry);
+            }
+            assertThat(buffer.size()).isEqualTo(4);
+            assertThat(buffer.drainTo(drained, 3)).isEqualTo(3);
+        }
+        while (buffer.drainTo(drained, 100) > 0) {
+            // drain the rest
+        }
+
+        assertThat(drained).containsExactlyElementsOf(offered);
+        assertThat(buffer.size()).isZero();
+    }
+
+    @Test
+    void shouldNotLoseOrDuplicateEntries_withConcurrentProducers() throws Exception {
+        int producers = 4;
+        int perProducer = 20_000;
+        AuditRingBuffer buffer = new AuditRingBuffer(256);
+        ExecutorService executor = Executors.newFixedThreadPool(producers);
+
+        List<Future<?>> futures = new ArrayList<>();
+        for (int p = 0; p < producers; p++) {
+            int producer = p;
+            futures.add(executor.submit(() -> {
+                for (int i = 0; i < perProducer; i++) {
+                    AuditEntry entry = entry(producer, i);
+                    while (!buffer.offer(entry)) {
+                        Thread.onSpinWait();
+                    }
+                }
+            }));
+        }
+
+        List<AuditEntry> drained = new ArrayList<>();
+        long deadline = System.currentTimeMillis() + 30_000;
+        while (drained.size() < producers * perProducer && System.currentTimeMillis() < deadline) {
+            if (buffer.drainTo(drained, 100) == 0) {
+                Thread.onSpinWait();
+            }
+        }
+        for (Future<?> future : futures) {
+            future.get(1, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+
+        assertThat(drained).hasSize(producers * perProducer);
+        Set<UUID> ids = new HashSet<>();
+        long[] lastSequence = new long[producers];
+        Arrays.fill(lastSequence, -1);
+        for (AuditEntry entry : drained) {
+            assertThat(ids.add(entry.id())).isTrue();
+            int producer = (int) entry.id().getMostSignificantBits();
+            long sequence = entry.id().getLeastSignificantBits();
+            // each producer's entries come out in the order it offered them
+            assertThat(sequence).isGreaterThan(lastSequence[producer]);
+            lastSequence[producer] = sequence;
+        }
+        assertThat(buffer.size()).isZero();
+    }
+
+    private static AuditEntry entry(long producer, long sequence) {
+        return new AuditEntry(new UUID(producer, sequence), UUID.randomUUID(), "system",
+                AuditAction.CUSTOMER_CREATED, UUID.randomUUID(), null, Instant.now());
+    }
+}
@@ -0,0 +1,96 @@
+package com.warehouse.benchmarks;
+
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.type.TypeFactory;
+import com.warehouse.common.dto.TenantStatResponse;
+import com.warehouse.common.dto.WarehouseUtilization;
+import com.warehouse.config.CompactCacheSerializer;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the default JSON cache serializer with the compact codec for a small value
+ * (tenant stats) and a large one (utilization of 200 warehouses, which gets compressed).
+ * Payload sizes are printed once per trial.
+ * <p>
+ * Not a test; run {@link #main} after {@code ./mvnw test-compile}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CacheSerializerBenchmark {
+
+    @Param({"JSON", "COMPACT"})
+    private String codec;
+
+    private RedisSerializer<Object> statsSerializer;
+    private RedisSerializer<Object> utilizationSerializer;
+
+    private TenantStatResponse stats;
+    private List<WarehouseUtilization> utilization;
+    private byte[] encodedStats;
+    private byte[] encodedUtilization;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        stats = new TenantStatResponse(12, 340, 2_150, 73.5);
+        utilization = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            utilization.add(new WarehouseUtilization(
+                    UUID.randomUUID(), "Warehouse " + i, "Ikeja, Lagos", 120, 30, 90, 75.0));
+        }
+
+        TypeFactory types = TypeFactory.defaultInstance();
+        if (codec.equals("JSON")) {
+            statsSerializer = new GenericJackson2JsonRedisSerializer();
+            utilizationSerializer = new GenericJackson2JsonRedisSerializer();
+        } else {
+            JavaType utilizationType = types.constructCollectionType(List.class, WarehouseUtilization.class);
+            statsSerializer = new CompactCacheSerializer<>(types.constructType(TenantStatResponse.class), 1024);
+            utilizationSerializer = new CompactCacheSerializer<>(utilizationType, 1024);
+        }
+
+        encodedStats = statsSerializer.serialize(stats);
+        encodedUtilization = utilizationSerializer.serialize(utilization);
+        System.out.printf("%n[%s] tenantStats: %d bytes, warehouseUtilization x200: %d bytes%n",
+                codec, encodedStats.length, encodedUtilization.length);
+    }
+
+    @Benchmark
+    public byte[] encodeStats() {
+        return statsSerializer.serialize(stats);
+    }
+
+    @Benchmark
+    public Object decodeStats() {
+        return statsSerializer.deserialize(encodedStats);
+    }
+
+    @Benchmark
+    public byte[] encodeUtilization() {
+        return utilizationSerializer.serialize(utilization);
+    }
+
+    @Benchmark
+    public Object decodeUtilization() {
+        return utilizationSerializer.deserialize(encodedUtilization);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(CacheSerializerBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
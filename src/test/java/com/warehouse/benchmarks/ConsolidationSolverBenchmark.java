@@ -0,0 +1,78 @@
+package com.warehouse.benchmarks;
+
+import com.warehouse.bookings.entity.BookingStatus;
+import com.warehouse.bookings.events.BookingSnapshot;
+import com.warehouse.common.dto.ConsolidationPlan;
+import com.warehouse.common.dto.PricedUnit;
+import com.warehouse.consolidation.service.ConsolidationSolver;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Plans consolidation of a tenant with 10k and 100k units over 500 warehouses, with each
+ * warehouse between 10% and 90% occupied and unit sizes from 50 to 1000 kg.
+ * <p>
+ * Not a test; run {@link #main} after {@code ./mvnw test-compile}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ConsolidationSolverBenchmark {
+    private static final int WAREHOUSES = 500;
+
+    @Param({"10000", "100000"})
+    private int units;
+
+    private UUID tenantId;
+    private List<BookingSnapshot> occupied;
+    private List<PricedUnit> available;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Random random = new Random(42);
+        tenantId = UUID.randomUUID();
+        occupied = new ArrayList<>();
+        available = new ArrayList<>();
+
+        int perWarehouse = units / WAREHOUSES;
+        for (int w = 0; w < WAREHOUSES; w++) {
+            UUID warehouseId = UUID.randomUUID();
+            double occupancy = 0.1 + random.nextDouble() * 0.8;
+            for (int u = 0; u < perWarehouse; u++) {
+                UUID unitId = UUID.randomUUID();
+                int capacityKg = 50 + random.nextInt(20) * 50;
+                if (random.nextDouble() < occupancy) {
+                    occupied.add(new BookingSnapshot(UUID.randomUUID(), tenantId, UUID.randomUUID(), unitId,
+                            warehouseId, capacityKg, LocalDate.now(), LocalDate.now().plusMonths(6),
+                            new BigDecimal("100.00"), BookingStatus.ACTIVE));
+                } else {
+                    available.add(new PricedUnit(unitId, warehouseId, capacityKg));
+                }
+            }
+        }
+    }
+
+    @Benchmark
+    public ConsolidationPlan plan() {
+        return ConsolidationSolver.plan(tenantId, occupied, available);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(ConsolidationSolverBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
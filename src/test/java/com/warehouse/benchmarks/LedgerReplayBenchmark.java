@@ -0,0 +1,106 @@
+package com.warehouse.benchmarks;
+
+import com.warehouse.ledger.repository.LedgerRepository;
+import com.warehouse.ledger.service.AggregateStateProjection;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Replays a ledger of 10M events (100k bookings, each created once and then updated 99
+ * times with a new end date) into an {@link AggregateStateProjection}, streaming rows the
+ * way {@code LedgerReplayer} does. Events per second are printed after each replay.
+ * <p>
+ * Starts a PostgreSQL container, so Docker must be available. Not a test; run
+ * {@link #main} after {@code ./mvnw test-compile}.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+@Fork(1)
+@State(Scope.Benchmark)
+public class LedgerReplayBenchmark {
+    private static final int BOOKINGS = 100_000;
+    private static final int EVENTS_PER_BOOKING = 100;
+
+    @Param({"1000", "10000"})
+    private int fetchSize;
+
+    private PostgreSQLContainer<?> postgres;
+    private LedgerRepository ledgerRepository;
+    private TransactionTemplate transactionTemplate;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        postgres = new PostgreSQLContainer<>("postgres:16-alpine");
+        postgres.start();
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                postgres.getJdbcUrl(), postgres.getUsername(), postgres.getPassword());
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("""
+                create table ledger_events (
+                    id uuid not null,
+                    tenant_id uuid not null,
+                    aggregate_id uuid not null,
+                    version integer not null,
+                    type smallint not null,
+                    payload bytea not null,
+                    primary key (id),
+                    unique (aggregate_id, version)
+                ) with (fillfactor = 100)""");
+        // ids sort by (version, booking), so replay interleaves bookings as live traffic
+        // would; version 1 is a full created payload, later ones an end date (mask 0x20)
+        jdbcTemplate.execute("""
+                insert into ledger_events (id, tenant_id, aggregate_id, version, type, payload)
+                select lpad(to_hex(v::bigint * %1$d + b), 32, '0')::uuid,
+                       '00000000-0000-0000-0000-000000000001'::uuid,
+                       lpad(to_hex(b), 32, 'f')::uuid,
+                       v,
+                       case when v = 1 then 1 else 2 end,
+                       case when v = 1
+                            then '\\xff'::bytea || uuid_send(gen_random_uuid()) || uuid_send(gen_random_uuid())
+                                 || uuid_send(gen_random_uuid()) || int4send(100) || int4send(20000)
+                                 || int4send(20030) || int8send(10000) || '\\x01'::bytea
+                            else '\\x20'::bytea || int4send(20030 + v)
+                       end
+                from generate_series(1, %2$d) v, generate_series(0, %1$d - 1) b
+                """.formatted(BOOKINGS, EVENTS_PER_BOOKING));
+        jdbcTemplate.execute("vacuum analyze ledger_events");
+
+        ledgerRepository = new LedgerRepository(jdbcTemplate);
+        transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+        transactionTemplate.setReadOnly(true);
+    }
+
+    @Benchmark
+    public AggregateStateProjection replay() {
+        AggregateStateProjection projection = new AggregateStateProjection();
+        long start = System.nanoTime();
+        Long events = transactionTemplate.execute(status ->
+                ledgerRepository.stream(null, fetchSize, projection::apply));
+        long nanos = System.nanoTime() - start;
+        System.out.printf("%nfetch size %d: %d events, %d aggregates, %d events/s%n",
+                fetchSize, events, projection.states().size(), events * 1_000_000_000L / nanos);
+        return projection;
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        postgres.stop();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(LedgerReplayBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
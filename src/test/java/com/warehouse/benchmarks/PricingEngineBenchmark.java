@@ -0,0 +1,90 @@
+package com.warehouse.benchmarks;
+
+import com.warehouse.common.dto.WarehouseOccupancy;
+import com.warehouse.config.PricingProperties;
+import com.warehouse.pricing.service.OccupancySnapshot;
+import com.warehouse.pricing.service.PricingEngine;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Prices a batch of units spread over 200 warehouses: {@code price} runs the engine over
+ * prepared arrays, {@code lookupAndPrice} also resolves each unit's occupancy from the
+ * snapshot, as a quote request does. Run with {@code -prof gc} to confirm neither
+ * allocates per unit.
+ * <p>
+ * Not a test; run {@link #main} after {@code ./mvnw test-compile}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PricingEngineBenchmark {
+
+    @Param({"1000", "10000"})
+    private int units;
+
+    private PricingEngine engine;
+    private OccupancySnapshot snapshot;
+    private UUID[] warehouseIds;
+    private int[] capacityKg;
+    private double[] occupancyRates;
+    private long[] rateCents;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        engine = new PricingEngine(new PricingProperties(
+                new BigDecimal("1.50"), new BigDecimal("25.00"), 40, 0.15, 80, 0.5, Duration.ofSeconds(30), units));
+
+        Random random = new Random(42);
+        List<WarehouseOccupancy> warehouses = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            warehouses.add(new WarehouseOccupancy(UUID.randomUUID(), random.nextDouble() * 100));
+        }
+        snapshot = OccupancySnapshot.of(warehouses, Instant.now());
+
+        warehouseIds = new UUID[units];
+        capacityKg = new int[units];
+        occupancyRates = new double[units];
+        rateCents = new long[units];
+        for (int i = 0; i < units; i++) {
+            warehouseIds[i] = warehouses.get(random.nextInt(warehouses.size())).warehouseId();
+            capacityKg[i] = 50 + random.nextInt(950);
+            occupancyRates[i] = snapshot.occupancyOf(warehouseIds[i]);
+        }
+    }
+
+    @Benchmark
+    public long[] price() {
+        engine.quote(capacityKg, occupancyRates, rateCents, units);
+        return rateCents;
+    }
+
+    @Benchmark
+    public long[] lookupAndPrice() {
+        for (int i = 0; i < units; i++) {
+            occupancyRates[i] = snapshot.occupancyOf(warehouseIds[i]);
+        }
+        engine.quote(capacityKg, occupancyRates, rateCents, units);
+        return rateCents;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(PricingEngineBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
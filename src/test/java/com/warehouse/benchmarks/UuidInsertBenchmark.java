@@ -0,0 +1,115 @@
+package com.warehouse.benchmarks;
+
+import com.warehouse.common.id.TimeOrderedUuid;
+import com.warehouse.common.id.TimeOrderedUuidGenerator;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.testcontainers.containers.PostgreSQLContainer;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Inserts bookings-shaped rows in batches of 1000 into a PostgreSQL table keyed by a uuid
+ * primary key with a second uuid index, comparing random (v4) and time-ordered (v7) ids.
+ * Index sizes and the number of rows written are printed at the end of each trial.
+ * <p>
+ * Starts a PostgreSQL container, so Docker must be available. Not a test; run
+ * {@link #main} after {@code ./mvnw test-compile}.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 10)
+@Fork(1)
+@State(Scope.Benchmark)
+public class UuidInsertBenchmark {
+    private static final int BATCH = 1000;
+
+    @Param({"RANDOM", "TIME_ORDERED"})
+    private TimeOrderedUuidGenerator.Style style;
+
+    private PostgreSQLContainer<?> postgres;
+    private Connection connection;
+    private PreparedStatement insert;
+    private UUID[] customers;
+    private long rows;
+
+    @Setup(Level.Trial)
+    public void setUp() throws SQLException {
+        postgres = new PostgreSQLContainer<>("postgres:16-alpine");
+        postgres.start();
+        connection = DriverManager.getConnection(postgres.getJdbcUrl(), postgres.getUsername(), postgres.getPassword());
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("""
+                    create table bench_bookings (
+                        id uuid not null primary key,
+                        customer_id uuid not null,
+                        storage_unit_id uuid not null,
+                        start_date date not null,
+                        end_date date not null
+                    )""");
+            statement.execute("create index bench_bookings_unit on bench_bookings (storage_unit_id)");
+        }
+        connection.setAutoCommit(false);
+        insert = connection.prepareStatement(
+                "insert into bench_bookings (id, customer_id, storage_unit_id, start_date, end_date) values (?, ?, ?, ?, ?)");
+
+        customers = new UUID[1000];
+        for (int i = 0; i < customers.length; i++) {
+            customers[i] = UUID.randomUUID();
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public void insertBatch() throws SQLException {
+        java.sql.Date start = java.sql.Date.valueOf(LocalDate.now());
+        java.sql.Date end = java.sql.Date.valueOf(LocalDate.now().plusMonths(3));
+        for (int i = 0; i < BATCH; i++) {
+            insert.setObject(1, nextId());
+            insert.setObject(2, customers[(int) (rows + i) % customers.length]);
+            insert.setObject(3, nextId());
+            insert.setDate(4, start);
+            insert.setDate(5, end);
+            insert.addBatch();
+        }
+        insert.executeBatch();
+        connection.commit();
+        rows += BATCH;
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws SQLException {
+        try (Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery("""
+                     select pg_size_pretty(pg_relation_size('bench_bookings_pkey')),
+                            pg_size_pretty(pg_relation_size('bench_bookings_unit')),
+                            pg_size_pretty(pg_relation_size('bench_bookings'))""")) {
+            rs.next();
+            System.out.printf("%n%s: %d rows, pkey %s, unit index %s, heap %s%n",
+                    style, rows, rs.getString(1), rs.getString(2), rs.getString(3));
+        }
+        connection.close();
+        postgres.stop();
+    }
+
+    private UUID nextId() {
+        return style == TimeOrderedUuidGenerator.Style.TIME_ORDERED ? TimeOrderedUuid.next() : UUID.randomUUID();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(UuidInsertBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
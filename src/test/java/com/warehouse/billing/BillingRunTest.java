@@ -0,0 +1,80 @@
+package com.warehouse.billing;
+
+import com.warehouse.BaseIntegrationTest;
+import com.warehouse.billing.service.BillingRunService;
+import com.warehouse.bookings.service.BookingService;
+import com.warehouse.common.dto.BookingResponse;
+import com.warehouse.common.dto.CreateBooking;
+import com.warehouse.common.dto.CreateStorageUnit;
+import com.warehouse.common.dto.CreateWarehouse;
+import com.warehouse.common.dto.CustomerRequest;
+import com.warehouse.customers.service.CustomerService;
+import com.warehouse.storage.service.StorageService;
+import com.warehouse.tenants.entity.Tenant;
+import com.warehouse.tenants.repository.TenantRepository;
+import com.warehouse.warehouses.service.WarehouseService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BillingRunTest extends BaseIntegrationTest {
+    @Autowired
+    private BillingRunService billingRunService;
+
+    @Autowired
+    private TenantRepository tenantRepository;
+
+    @Autowired
+    private WarehouseService warehouseService;
+
+    @Autowired
+    private StorageService storageService;
+
+    @Autowired
+    private CustomerService customerService;
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void shouldProrateAndBillEachBookingOnce_whenRunIsRepeated() {
+        Tenant tenant = new Tenant();
+        tenant.setCompanyName("Billing Tenant");
+        tenant.setEmail("billing-" + UUID.randomUUID() + "@test.com");
+        UUID tenantId = tenantRepository.save(tenant).getId();
+
+        UUID warehouseId = warehouseService.createWarehouse(
+                tenantId, new CreateWarehouse("Billing Warehouse", "Lagos")).id();
+        UUID unitId = storageService.createStorage(
+                tenantId, new CreateStorageUnit("B-1", 100, warehouseId)).id();
+        UUID customerId = customerService.createCustomer(
+                tenantId, new CustomerRequest("Billed Customer", "billed-" + UUID.randomUUID() + "@test.com")).id();
+
+        BookingResponse booking = (BookingResponse) bookingService.createBooking(tenantId, new CreateBooking(
+                customerId, unitId, LocalDate.of(2025, 1, 10), LocalDate.of(2025, 2, 20), new BigDecimal("310.00")));
+
+        billingRunService.run(YearMonth.of(2025, 1));
+        billingRunService.run(YearMonth.of(2025, 1));
+        billingRunService.run(YearMonth.of(2025, 2));
+
+        List<BigDecimal> amounts = jdbcTemplate.queryForList(
+                "SELECT amount FROM invoice_lines WHERE booking_id = ? ORDER BY billing_month",
+                BigDecimal.class, booking.id());
+
+        assertThat(amounts).hasSize(2);
+        assertThat(amounts.get(0)).isEqualByComparingTo("220.00");
+        assertThat(amounts.get(1)).isEqualByComparingTo("221.43");
+        assertThat(billingRunService.getStatus(YearMonth.of(2025, 1)).partitionsCompleted()).isPositive();
+    }
+}
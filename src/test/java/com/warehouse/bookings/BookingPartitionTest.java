@@ -0,0 +1,128 @@
+package com.warehouse.bookings;
+
+import com.warehouse.BaseIntegrationTest;
+import com.warehouse.bookings.entity.BookingStatus;
+import com.warehouse.bookings.service.BookingArchiveJob;
+import com.warehouse.bookings.service.BookingPartitionMaintainer;
+import com.warehouse.bookings.service.BookingService;
+import com.warehouse.common.dto.BookingResponse;
+import com.warehouse.common.dto.CreateBooking;
+import com.warehouse.common.dto.CreateStorageUnit;
+import com.warehouse.common.dto.CreateWarehouse;
+import com.warehouse.common.dto.CustomerRequest;
+import com.warehouse.common.dto.RevenueResponse;
+import com.warehouse.common.dto.UpdateBooking;
+import com.warehouse.customers.service.CustomerService;
+import com.warehouse.revenue.entity.RevenueGranularity;
+import com.warehouse.revenue.service.RevenueRollupService;
+import com.warehouse.storage.service.StorageService;
+import com.warehouse.tenants.entity.Tenant;
+import com.warehouse.tenants.repository.TenantRepository;
+import com.warehouse.warehouses.service.WarehouseService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BookingPartitionTest extends BaseIntegrationTest {
+    @Autowired
+    private BookingPartitionMaintainer bookingPartitionMaintainer;
+
+    @Autowired
+    private BookingArchiveJob bookingArchiveJob;
+
+    @Autowired
+    private RevenueRollupService revenueRollupService;
+
+    @Autowired
+    private TenantRepository tenantRepository;
+
+    @Autowired
+    private WarehouseService warehouseService;
+
+    @Autowired
+    private StorageService storageService;
+
+    @Autowired
+    private CustomerService customerService;
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private UUID tenantId;
+    private UUID warehouseId;
+    private UUID customerId;
+
+    @BeforeEach
+    void setup() {
+        Tenant tenant = new Tenant();
+        tenant.setCompanyName("Partition Tenant");
+        tenant.setEmail("partition-" + UUID.randomUUID() + "@test.com");
+        tenantId = tenantRepository.save(tenant).getId();
+
+        warehouseId = warehouseService.createWarehouse(
+                tenantId, new CreateWarehouse("Partition Warehouse", "Lagos")).id();
+        customerId = customerService.createCustomer(
+                tenantId, new CustomerRequest("Partition Customer", "partition-" + UUID.randomUUID() + "@test.com")).id();
+    }
+
+    @Test
+    void shouldMoveParkedBookingsIntoNewPartition() {
+        YearMonth farMonth = YearMonth.now().plusMonths(40);
+        BookingResponse booking = book("P-1", LocalDate.now(), farMonth.atDay(15));
+        assertThat(partitionOf(booking.id())).isEqualTo("bookings_default");
+
+        bookingPartitionMaintainer.ensurePartitions(farMonth);
+
+        assertThat(partitionOf(booking.id()))
+                .isEqualTo("bookings_" + farMonth.format(DateTimeFormatter.ofPattern("yyyy_MM")));
+        assertThat(bookingService.getBookings(tenantId)).hasSize(1);
+    }
+
+    @Test
+    void shouldArchiveOldFinishedBookings_andKeepTheirRevenue() {
+        LocalDate start = LocalDate.now().minusMonths(20).withDayOfMonth(1);
+        LocalDate end = start.plusMonths(1).minusDays(1);
+        BookingResponse completed = book("A-1", start, end);
+        BookingResponse active = book("A-2", start, end);
+        bookingService.updateBooking(completed.id(), tenantId, new UpdateBooking(null, null, BookingStatus.COMPLETED));
+
+        RevenueResponse before = revenueRollupService.getTenantRevenue(tenantId, start, end, RevenueGranularity.MONTH);
+
+        bookingArchiveJob.archiveBefore(LocalDate.now().minusMonths(12));
+
+        assertThat(bookingService.getBookings(tenantId))
+                .extracting(BookingResponse::id)
+                .containsExactly(active.id());
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT tenant_id FROM bookings_archive WHERE id = ?", UUID.class, completed.id()))
+                .isEqualTo(tenantId);
+
+        revenueRollupService.rebuildTenant(tenantId);
+        assertThat(revenueRollupService.getTenantRevenue(tenantId, start, end, RevenueGranularity.MONTH))
+                .isEqualTo(before);
+    }
+
+    private BookingResponse book(String unitNumber, LocalDate start, LocalDate end) {
+        UUID unitId = storageService.createStorage(
+                tenantId, new CreateStorageUnit(unitNumber, 100, warehouseId)).id();
+        return (BookingResponse) bookingService.createBooking(tenantId,
+                new CreateBooking(customerId, unitId, start, end, new BigDecimal("100.00")));
+    }
+
+    private String partitionOf(UUID bookingId) {
+        return jdbcTemplate.queryForObject(
+                "SELECT tableoid::regclass::text FROM bookings WHERE id = ?", String.class, bookingId);
+    }
+}
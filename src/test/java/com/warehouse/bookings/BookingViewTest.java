@@ -0,0 +1,118 @@
+package com.warehouse.bookings;
+
+import com.warehouse.BaseIntegrationTest;
+import com.warehouse.bookings.entity.BookingStatus;
+import com.warehouse.bookings.repository.BookingViewRepository;
+import com.warehouse.bookings.service.BookingService;
+import com.warehouse.bookings.service.BookingViewProjector;
+import com.warehouse.common.dto.BookingResponse;
+import com.warehouse.common.dto.CreateBooking;
+import com.warehouse.common.dto.CreateStorageUnit;
+import com.warehouse.common.dto.CreateWarehouse;
+import com.warehouse.common.dto.CustomerRequest;
+import com.warehouse.common.dto.ExpiringBooking;
+import com.warehouse.common.dto.UpdateBooking;
+import com.warehouse.common.dto.UpdateWarehouse;
+import com.warehouse.customers.service.CustomerService;
+import com.warehouse.storage.service.StorageService;
+import com.warehouse.tenants.entity.Tenant;
+import com.warehouse.tenants.repository.TenantRepository;
+import com.warehouse.warehouses.service.WarehouseService;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+class BookingViewTest extends BaseIntegrationTest {
+    @Autowired
+    private BookingViewRepository bookingViewRepository;
+
+    @Autowired
+    private BookingViewProjector bookingViewProjector;
+
+    @Autowired
+    private TenantRepository tenantRepository;
+
+    @Autowired
+    private WarehouseService warehouseService;
+
+    @Autowired
+    private StorageService storageService;
+
+    @Autowired
+    private CustomerService customerService;
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void shouldProjectQueuedChanges_includingWarehouseRenames() {
+        Tenant tenant = new Tenant();
+        tenant.setCompanyName("View Tenant");
+        tenant.setEmail("view-" + UUID.randomUUID() + "@test.com");
+        UUID tenantId = tenantRepository.save(tenant).getId();
+
+        UUID warehouseId = warehouseService.createWarehouse(
+                tenantId, new CreateWarehouse("View Warehouse", "Lagos")).id();
+        UUID unitId = storageService.createStorage(tenantId, new CreateStorageUnit("V-1", 100, warehouseId)).id();
+        UUID customerId = customerService.createCustomer(
+                tenantId, new CustomerRequest("View Customer", "view-" + UUID.randomUUID() + "@test.com")).id();
+        BookingResponse booking = (BookingResponse) bookingService.createBooking(tenantId, new CreateBooking(
+                customerId, unitId, LocalDate.now(), LocalDate.now().plusDays(5), new BigDecimal("100.00")));
+
+        bookingViewProjector.projectPending();
+        assertThat(bookingViewRepository.hasPending(tenantId)).isFalse();
+
+        assertThat(bookingViewRepository.findActiveByTenantId(tenantId))
+                .extracting(ExpiringBooking::bookingId, ExpiringBooking::customerCompanyName,
+                        ExpiringBooking::warehouseName, ExpiringBooking::unitNumber)
+                .containsExactly(tuple(booking.id(), "View Customer", "View Warehouse", "V-1"));
+
+        warehouseService.updateWarehouse(tenantId, warehouseId, new UpdateWarehouse("Renamed Warehouse", "Abuja"));
+        bookingViewProjector.catchUp(tenantId);
+
+        assertThat(bookingViewRepository.findActiveByTenantId(tenantId))
+                .extracting(ExpiringBooking::warehouseName)
+                .containsExactly("Renamed Warehouse");
+
+        bookingViewProjector.project();
+        assertThat(meterRegistry.get("warehouse.bookings.view.lag").timeGauge().value()).isNotNegative();
+    }
+
+    @Test
+    void shouldListBookingsFromView_includingChangesNotYetProjected() {
+        Tenant tenant = new Tenant();
+        tenant.setCompanyName("View List Tenant");
+        tenant.setEmail("view-list-" + UUID.randomUUID() + "@test.com");
+        UUID tenantId = tenantRepository.save(tenant).getId();
+
+        UUID warehouseId = warehouseService.createWarehouse(
+                tenantId, new CreateWarehouse("View List Warehouse", "Lagos")).id();
+        UUID unitId = storageService.createStorage(tenantId, new CreateStorageUnit("VL-1", 100, warehouseId)).id();
+        UUID customerId = customerService.createCustomer(
+                tenantId, new CustomerRequest("View List Customer", "view-list-" + UUID.randomUUID() + "@test.com")).id();
+        BookingResponse booking = (BookingResponse) bookingService.createBooking(tenantId, new CreateBooking(
+                customerId, unitId, LocalDate.now(), LocalDate.now().plusDays(5), new BigDecimal("100.00")));
+
+        assertThat(bookingService.getBookings(tenantId))
+                .extracting(BookingResponse::id, BookingResponse::customerId, BookingResponse::storageUnitId,
+                        BookingResponse::status)
+                .containsExactly(tuple(booking.id(), customerId, unitId, BookingStatus.ACTIVE));
+        assertThat(bookingService.getBookings(tenantId).get(0).createdAt()).isNotNull();
+
+        bookingService.updateBooking(booking.id(), tenantId, new UpdateBooking(null, null, BookingStatus.CANCELLED));
+
+        assertThat(bookingService.getBookings(tenantId))
+                .extracting(BookingResponse::id, BookingResponse::status)
+                .containsExactly(tuple(booking.id(), BookingStatus.CANCELLED));
+    }
+}
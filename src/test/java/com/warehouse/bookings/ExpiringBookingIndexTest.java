@@ -0,0 +1,88 @@
+package com.warehouse.bookings;
+
+import com.warehouse.BaseIntegrationTest;
+import com.warehouse.bookings.entity.BookingStatus;
+import com.warehouse.bookings.service.BookingService;
+import com.warehouse.common.dto.BookingResponse;
+import com.warehouse.common.dto.CreateBooking;
+import com.warehouse.common.dto.CreateStorageUnit;
+import com.warehouse.common.dto.CreateWarehouse;
+import com.warehouse.common.dto.CustomerRequest;
+import com.warehouse.common.dto.ExpiringBooking;
+import com.warehouse.common.dto.UpdateBooking;
+import com.warehouse.common.dto.UpdateCustomer;
+import com.warehouse.customers.service.CustomerService;
+import com.warehouse.storage.service.StorageService;
+import com.warehouse.tenants.entity.Tenant;
+import com.warehouse.tenants.repository.TenantRepository;
+import com.warehouse.warehouses.service.WarehouseService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+class ExpiringBookingIndexTest extends BaseIntegrationTest {
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private TenantRepository tenantRepository;
+
+    @Autowired
+    private WarehouseService warehouseService;
+
+    @Autowired
+    private StorageService storageService;
+
+    @Autowired
+    private CustomerService customerService;
+
+    @Test
+    void shouldServeRangeFromIndex_andFollowBookingAndCustomerChanges() {
+        Tenant tenant = new Tenant();
+        tenant.setCompanyName("Expiring Tenant");
+        tenant.setEmail("expiring-" + UUID.randomUUID() + "@test.com");
+        UUID tenantId = tenantRepository.save(tenant).getId();
+
+        UUID warehouseId = warehouseService.createWarehouse(
+                tenantId, new CreateWarehouse("Expiring Warehouse", "Lagos")).id();
+        UUID customerId = customerService.createCustomer(
+                tenantId, new CustomerRequest("Expiring Customer", "expiring-" + UUID.randomUUID() + "@test.com")).id();
+
+        LocalDate today = LocalDate.now();
+        BookingResponse soon = book(tenantId, customerId, warehouseId, "E-1", today.plusDays(5));
+        BookingResponse later = book(tenantId, customerId, warehouseId, "E-2", today.plusDays(40));
+
+        assertThat(bookingService.getExpiringBookings(tenantId, today.plusDays(10)))
+                .extracting(ExpiringBooking::bookingId)
+                .containsExactly(soon.id());
+
+        BookingResponse sooner = book(tenantId, customerId, warehouseId, "E-3", today.plusDays(2));
+        bookingService.updateBooking(later.id(), tenantId, new UpdateBooking(today.plusDays(8), null, null));
+
+        assertThat(bookingService.getExpiringBookings(tenantId, today.plusDays(10)))
+                .extracting(ExpiringBooking::bookingId)
+                .containsExactly(sooner.id(), soon.id(), later.id());
+
+        bookingService.updateBooking(soon.id(), tenantId, new UpdateBooking(null, null, BookingStatus.CANCELLED));
+        customerService.updateCustomer(tenantId, customerId,
+                new UpdateCustomer("Renamed Customer", "renamed-" + UUID.randomUUID() + "@test.com"));
+
+        assertThat(bookingService.getExpiringBookings(tenantId, today.plusDays(10)))
+                .extracting(ExpiringBooking::bookingId, ExpiringBooking::customerCompanyName)
+                .containsExactly(
+                        tuple(sooner.id(), "Renamed Customer"),
+                        tuple(later.id(), "Renamed Customer"));
+    }
+
+    private BookingResponse book(UUID tenantId, UUID customerId, UUID warehouseId, String unitNumber, LocalDate endDate) {
+        UUID unitId = storageService.createStorage(tenantId, new CreateStorageUnit(unitNumber, 100, warehouseId)).id();
+        return (BookingResponse) bookingService.createBooking(tenantId, new CreateBooking(
+                customerId, unitId, LocalDate.now(), endDate, new BigDecimal("100.00")));
+    }
+}
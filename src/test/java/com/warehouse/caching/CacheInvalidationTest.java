@@ -1,8 +1,15 @@
 package com.warehouse.caching;
 
 import com.warehouse.BaseIntegrationTest;
+import com.warehouse.common.dto.CreateStorageUnit;
 import com.warehouse.common.dto.CreateWarehouse;
+import com.warehouse.common.dto.StorageUnitResponse;
 import com.warehouse.common.dto.TenantStatResponse;
+import com.warehouse.common.dto.UpdateUnit;
+import com.warehouse.common.dto.UpdateWarehouse;
+import com.warehouse.common.dto.WarehouseResponse;
+import com.warehouse.storage.entity.StorageStatus;
+import com.warehouse.storage.service.StorageService;
 import com.warehouse.tenants.entity.Tenant;
 import com.warehouse.tenants.repository.TenantRepository;
 import com.warehouse.tenants.service.TenantService;
@@ -12,6 +19,7 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.List;
 import java.util.UUID;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -23,6 +31,9 @@ class CacheInvalidationTest extends BaseIntegrationTest {
     @Autowired
     private WarehouseService warehouseService;
 
+    @Autowired
+    private StorageService storageService;
+
     @Autowired
     private TenantRepository tenantRepository;
 
@@ -33,7 +44,7 @@ class CacheInvalidationTest extends BaseIntegrationTest {
     void setup() {
         Tenant tenant = new Tenant();
         tenant.setCompanyName("Test Tenant");
-        tenant.setEmail("cache@test.com");
+        tenant.setEmail("cache-" + UUID.randomUUID() + "@test.com");
         tenant = tenantRepository.save(tenant);
         tenantId = tenant.getId();
     }
@@ -59,4 +70,39 @@ class CacheInvalidationTest extends BaseIntegrationTest {
         TenantStatResponse finalStats = tenantService.getStats(tenantId);
         assertThat(finalStats.totalWarehouses()).isEqualTo(2);
     }
+
+    @Test
+    void shouldServeNewGeneration_whenTenantListChanges() {
+        assertThat(warehouseService.getWarehouses(tenantId)).isEmpty();
+
+        WarehouseResponse created = warehouseService.createWarehouse(
+                tenantId, new CreateWarehouse("Cached Warehouse", "Lagos"));
+
+        List<WarehouseResponse> afterCreate = warehouseService.getWarehouses(tenantId);
+        assertThat(afterCreate).extracting(WarehouseResponse::name).containsExactly("Cached Warehouse");
+        assertThat(warehouseService.getWarehouses(tenantId)).isEqualTo(afterCreate);
+
+        warehouseService.updateWarehouse(tenantId, created.id(), new UpdateWarehouse("Renamed Warehouse", "Abuja"));
+
+        assertThat(warehouseService.getWarehouses(tenantId))
+                .extracting(WarehouseResponse::name)
+                .containsExactly("Renamed Warehouse");
+    }
+
+    @Test
+    void shouldInvalidateAvailableUnits_whenUnitStatusChanges() {
+        WarehouseResponse warehouse = warehouseService.createWarehouse(
+                tenantId, new CreateWarehouse("Search Warehouse", "Lagos"));
+        StorageUnitResponse unit = storageService.createStorage(
+                tenantId, new CreateStorageUnit("SU-100", 120, warehouse.id()));
+
+        assertThat(storageService.getAvailableUnits(tenantId, 110))
+                .extracting(StorageUnitResponse::id)
+                .containsExactly(unit.id());
+        assertThat(storageService.getAvailableUnits(tenantId, 130)).isEmpty();
+
+        storageService.updateUnit(new UpdateUnit(StorageStatus.MAINTENANCE, null), unit.id(), tenantId);
+
+        assertThat(storageService.getAvailableUnits(tenantId, 110)).isEmpty();
+    }
 }
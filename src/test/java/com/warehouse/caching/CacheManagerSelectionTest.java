@@ -0,0 +1,94 @@
+package com.warehouse.caching;
+
+import com.warehouse.bookings.index.ExpiringBookingIndex;
+import com.warehouse.bookings.index.LocalExpiringBookingIndex;
+import com.warehouse.bookings.index.RedisExpiringBookingIndex;
+import com.warehouse.config.CacheCodecProperties;
+import com.warehouse.config.CacheGenerationConfig;
+import com.warehouse.config.CacheGenerationStore;
+import com.warehouse.config.CacheTtlProperties;
+import com.warehouse.config.ExpiringBookingIndexConfig;
+import com.warehouse.config.LocalCacheGenerationStore;
+import com.warehouse.config.RedisCacheGenerationStore;
+import com.warehouse.config.RedisConfig;
+import com.warehouse.config.TenantCacheGenerations;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.AutoConfigurations;
+import org.springframework.boot.autoconfigure.cache.CacheAutoConfiguration;
+import org.springframework.boot.autoconfigure.data.redis.RedisAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.convert.ApplicationConversionService;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.jcache.JCacheCacheManager;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.core.env.PropertiesPropertySource;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.support.PropertiesLoaderUtils;
+import org.springframework.data.redis.cache.RedisCacheManager;
+
+import java.io.IOException;
+import java.util.Properties;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Checks which cache manager the shipped properties give, outside the test profile's simple
+ * caches. Redis is not contacted: the cache manager connects on first use.
+ */
+class CacheManagerSelectionTest {
+    private final ApplicationContextRunner contextRunner = new ApplicationContextRunner()
+            .withConfiguration(AutoConfigurations.of(
+                    CacheAutoConfiguration.class, RedisAutoConfiguration.class, JacksonAutoConfiguration.class,
+                    CacheGenerationConfig.class, ExpiringBookingIndexConfig.class))
+            .withUserConfiguration(CacheConfig.class)
+            // binds @Value durations like "24h", as SpringApplication does
+            .withInitializer(context -> context.getBeanFactory()
+                    .setConversionService(ApplicationConversionService.getSharedInstance()));
+
+    @Test
+    void shouldUseRedis_withProdProperties() throws IOException {
+        Properties properties = PropertiesLoaderUtils.loadProperties(
+                new FileSystemResource("src/main/resources/application.properties"));
+        properties.putAll(PropertiesLoaderUtils.loadProperties(
+                new ClassPathResource("application-prod.properties")));
+
+        contextRunner
+                .withInitializer(context -> context.getEnvironment().getPropertySources()
+                        .addFirst(new PropertiesPropertySource("application", properties)))
+                .run(context -> {
+                    assertThat(context.getBean(CacheManager.class)).isInstanceOf(RedisCacheManager.class);
+                    assertThat(context.getBean(CacheGenerationStore.class))
+                            .isInstanceOf(RedisCacheGenerationStore.class);
+                    assertThat(context.getBean(ExpiringBookingIndex.class))
+                            .isInstanceOf(RedisExpiringBookingIndex.class);
+                });
+    }
+
+    @Test
+    void shouldPickJCache_whenCacheTypeIsNotSet() {
+        contextRunner.run(context -> assertThat(context.getBean(CacheManager.class))
+                .isInstanceOf(JCacheCacheManager.class));
+    }
+
+    @Test
+    void shouldKeepGenerationsAndIndexLocal_withSimpleCaches() {
+        contextRunner
+                .withPropertyValues("spring.cache.type=simple")
+                .run(context -> {
+                    assertThat(context.getBean(CacheGenerationStore.class))
+                            .isInstanceOf(LocalCacheGenerationStore.class);
+                    assertThat(context.getBean(ExpiringBookingIndex.class))
+                            .isInstanceOf(LocalExpiringBookingIndex.class);
+                });
+    }
+
+    @Configuration
+    @Import({RedisConfig.class, TenantCacheGenerations.class})
+    @EnableConfigurationProperties({CacheCodecProperties.class, CacheTtlProperties.class})
+    static class CacheConfig {
+    }
+}
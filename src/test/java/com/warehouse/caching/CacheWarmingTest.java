@@ -0,0 +1,127 @@
+package com.warehouse.caching;
+
+import com.warehouse.BaseIntegrationTest;
+import com.warehouse.bookings.service.BookingService;
+import com.warehouse.common.dto.CreateBooking;
+import com.warehouse.common.dto.CreateStorageUnit;
+import com.warehouse.common.dto.CreateWarehouse;
+import com.warehouse.common.dto.CustomerRequest;
+import com.warehouse.common.dto.TenantStatResponse;
+import com.warehouse.config.CacheWarmingService;
+import com.warehouse.customers.service.CustomerService;
+import com.warehouse.storage.service.StorageService;
+import com.warehouse.tenants.entity.Tenant;
+import com.warehouse.tenants.repository.TenantRepository;
+import com.warehouse.warehouses.service.WarehouseService;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.test.context.TestPropertySource;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+/**
+ * Chunks of 2 so the tenants below are spread over several aggregate queries, which run
+ * concurrently.
+ */
+@TestPropertySource(properties = {
+        "warehouse.cache.warming.mode=BULK",
+        "warehouse.cache.warming.chunk-size=2",
+        "warehouse.cache.warming.parallelism=2"
+})
+class CacheWarmingTest extends BaseIntegrationTest {
+    @Autowired
+    private CacheWarmingService cacheWarmingService;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private TenantRepository tenantRepository;
+
+    @Autowired
+    private WarehouseService warehouseService;
+
+    @Autowired
+    private StorageService storageService;
+
+    @Autowired
+    private CustomerService customerService;
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void shouldWarmStatsInBulk_matchingThePerTenantQuery() {
+        List<UUID> tenantIds = List.of(
+                createTenant(2, 3, 2, 1),
+                createTenant(1, 0, 0, 0),
+                createTenant(0, 0, 0, 0),
+                createTenant(1, 4, 1, 4),
+                createTenant(3, 5, 3, 2));
+        Cache tenantStats = cacheManager.getCache("tenantStats");
+        tenantStats.clear();
+        double failedBefore = meterRegistry.get("warehouse.cache.warming.tenants")
+                .tag("result", "failed").counter().count();
+
+        cacheWarmingService.warmCache();
+
+        for (UUID tenantId : tenantIds) {
+            TenantStatResponse warmed = tenantStats.get(tenantId, TenantStatResponse.class);
+            TenantStatResponse expected = tenantRepository.getStatisticsForTenant(tenantId);
+            assertThat(warmed).as("stats of tenant %s", tenantId).isNotNull();
+            assertThat(warmed.totalWarehouses()).isEqualTo(expected.totalWarehouses());
+            assertThat(warmed.totalCustomers()).isEqualTo(expected.totalCustomers());
+            assertThat(warmed.totalBookings()).isEqualTo(expected.totalBookings());
+            assertThat(warmed.occupancyRate()).isCloseTo(expected.occupancyRate(), within(1e-9));
+        }
+        assertThat(tenantStats.get(tenantIds.get(0), TenantStatResponse.class).occupancyRate())
+                .isCloseTo(100.0 / 3, within(1e-9));
+        assertThat(meterRegistry.get("warehouse.cache.warming.tenants")
+                .tag("result", "failed").counter().count()).isEqualTo(failedBefore);
+    }
+
+    /**
+     * units go into the first warehouse, and the first bookings occupy them
+     */
+    private UUID createTenant(int warehouses, int units, int customers, int bookings) {
+        Tenant tenant = new Tenant();
+        tenant.setCompanyName("Warming Tenant");
+        tenant.setEmail("warming-" + UUID.randomUUID() + "@test.com");
+        UUID tenantId = tenantRepository.save(tenant).getId();
+
+        List<UUID> warehouseIds = new ArrayList<>();
+        for (int i = 0; i < warehouses; i++) {
+            warehouseIds.add(warehouseService.createWarehouse(
+                    tenantId, new CreateWarehouse("Warehouse " + i, "Lagos")).id());
+        }
+        List<UUID> unitIds = new ArrayList<>();
+        for (int i = 0; i < units; i++) {
+            unitIds.add(storageService.createStorage(
+                    tenantId, new CreateStorageUnit("W-" + i, 100, warehouseIds.get(0))).id());
+        }
+        List<UUID> customerIds = new ArrayList<>();
+        for (int i = 0; i < customers; i++) {
+            customerIds.add(customerService.createCustomer(
+                    tenantId, new CustomerRequest("Customer " + i, "warming-" + UUID.randomUUID() + "@test.com")).id());
+        }
+        LocalDate start = LocalDate.now();
+        for (int i = 0; i < bookings; i++) {
+            bookingService.createBooking(tenantId, new CreateBooking(
+                    customerIds.get(i % customers), unitIds.get(i), start, start.plusDays(30), new BigDecimal("100.00")));
+        }
+        return tenantId;
+    }
+}
@@ -0,0 +1,155 @@
+package com.warehouse.caching;
+
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.type.TypeFactory;
+import com.warehouse.bookings.entity.BookingStatus;
+import com.warehouse.common.dto.AvailableUnitsSnapshot;
+import com.warehouse.common.dto.BookingResponse;
+import com.warehouse.common.dto.CustomerResponse;
+import com.warehouse.common.dto.DailyOccupancy;
+import com.warehouse.common.dto.OccupancyForecastResponse;
+import com.warehouse.common.dto.RevenueMetrics;
+import com.warehouse.common.dto.StorageUnitResponse;
+import com.warehouse.common.dto.TenantStatResponse;
+import com.warehouse.common.dto.WarehouseForecast;
+import com.warehouse.common.dto.WarehouseResponse;
+import com.warehouse.config.CompactCacheSerializer;
+import com.warehouse.config.RedisConfig;
+import com.warehouse.storage.entity.StorageStatus;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CompactCacheSerializerTest {
+    private static final byte PLAIN = 1;
+    private static final byte DEFLATED = 2;
+    private static final TypeFactory TYPES = TypeFactory.defaultInstance();
+    private static final LocalDateTime CREATED_AT = LocalDateTime.of(2025, 3, 14, 9, 30, 15, 123_000_000);
+
+    @Test
+    void shouldRoundTripEveryCachedType() {
+        UUID tenantId = UUID.randomUUID();
+        UUID warehouseId = UUID.randomUUID();
+        StorageUnitResponse unit = new StorageUnitResponse(
+                UUID.randomUUID(), warehouseId, "A-01", 250, StorageStatus.AVAILABLE, CREATED_AT);
+
+        assertRoundTrip(TYPES.constructType(TenantStatResponse.class),
+                new TenantStatResponse(12, 340, 2_150, 73.5));
+        assertRoundTrip(listOf(WarehouseResponse.class),
+                List.of(new WarehouseResponse(warehouseId, tenantId, "Main", "Ikeja, Lagos", 120, CREATED_AT)));
+        assertRoundTrip(listOf(CustomerResponse.class),
+                List.of(new CustomerResponse(UUID.randomUUID(), tenantId, "Acme", "ops@acme.test", CREATED_AT)));
+        assertRoundTrip(listOf(StorageUnitResponse.class), List.of(unit));
+        assertRoundTrip(listOf(BookingResponse.class),
+                List.of(new BookingResponse(UUID.randomUUID(), UUID.randomUUID(), unit.id(),
+                        LocalDate.of(2025, 4, 1), LocalDate.of(2025, 6, 30), new BigDecimal("375.00"),
+                        BookingStatus.ACTIVE, CREATED_AT)));
+        assertRoundTrip(TYPES.constructType(AvailableUnitsSnapshot.class),
+                new AvailableUnitsSnapshot(List.of(unit), 1_741_944_615_000L));
+        assertRoundTrip(TYPES.constructType(RevenueMetrics.class),
+                new RevenueMetrics(new BigDecimal("12.50"), new BigDecimal("1250.00"), BigDecimal.ZERO));
+        assertRoundTrip(TYPES.constructType(OccupancyForecastResponse.class),
+                new OccupancyForecastResponse(LocalDate.of(2025, 4, 1), 2, List.of(new WarehouseForecast(
+                        warehouseId, "Main", 120, List.of(
+                        new DailyOccupancy(LocalDate.of(2025, 4, 1), 90, 75.0),
+                        new DailyOccupancy(LocalDate.of(2025, 4, 2), 84, 70.0))))));
+    }
+
+    @Test
+    void shouldDeflate_onlyAboveTheThreshold() {
+        JavaType type = listOf(WarehouseResponse.class);
+        List<WarehouseResponse> warehouses = warehouses(50);
+        int encodedLength = new CompactCacheSerializer<List<WarehouseResponse>>(type, 0).serialize(warehouses).length - 1;
+
+        byte[] atThreshold = new CompactCacheSerializer<List<WarehouseResponse>>(type, encodedLength).serialize(warehouses);
+        assertThat(atThreshold[0]).isEqualTo(PLAIN);
+        assertThat(atThreshold).hasSize(encodedLength + 1);
+
+        CompactCacheSerializer<List<WarehouseResponse>> belowLength = new CompactCacheSerializer<>(type, encodedLength - 1);
+        byte[] aboveThreshold = belowLength.serialize(warehouses);
+        assertThat(aboveThreshold[0]).isEqualTo(DEFLATED);
+        assertThat(aboveThreshold.length).isLessThan(encodedLength);
+        assertThat(belowLength.deserialize(aboveThreshold)).isEqualTo(warehouses);
+    }
+
+    @Test
+    void shouldReadNothing_fromEmptyOrMissingBytes() {
+        CompactCacheSerializer<TenantStatResponse> serializer =
+                new CompactCacheSerializer<>(TYPES.constructType(TenantStatResponse.class), 1024);
+
+        assertThat(serializer.serialize(null)).isEmpty();
+        assertThat(serializer.deserialize(null)).isNull();
+        assertThat(serializer.deserialize(new byte[0])).isNull();
+    }
+
+    @Test
+    void shouldRejectUnknownAndCorruptPayloads_withSerializationException() {
+        JavaType type = listOf(WarehouseResponse.class);
+        CompactCacheSerializer<List<WarehouseResponse>> serializer = new CompactCacheSerializer<>(type, 64);
+        // written by the JSON serializer before the cache was switched to the compact codec
+        byte[] legacyJson = new GenericJackson2JsonRedisSerializer().serialize(new TenantStatResponse(1, 2, 3, 4.0));
+        byte[] deflated = serializer.serialize(warehouses(50));
+        byte[] truncated = Arrays.copyOf(deflated, deflated.length / 2);
+        byte[] corrupt = {DEFLATED, 0x01, 0x02, 0x03};
+        byte[] plainGarbage = {PLAIN, (byte) 0xFF, 0x00};
+
+        for (byte[] bytes : List.of(legacyJson, new byte[]{0}, new byte[]{9, 1, 2}, truncated, corrupt, plainGarbage)) {
+            assertThatThrownBy(() -> serializer.deserialize(bytes)).isInstanceOf(SerializationException.class);
+        }
+    }
+
+    @Test
+    void shouldTreatUnreadableEntriesAsCacheMisses() {
+        CompactCacheSerializer<TenantStatResponse> serializer =
+                new CompactCacheSerializer<>(TYPES.constructType(TenantStatResponse.class), 1024);
+        SerializationException error = null;
+        try {
+            serializer.deserialize(new byte[]{'{', '"', '}'});
+        } catch (SerializationException e) {
+            error = e;
+        }
+        assertThat(error).isNotNull();
+
+        // what the cache interceptor does with the exception: log it and load from the database
+        SerializationException readError = error;
+        assertThatCode(() -> new RedisConfig().errorHandler()
+                .handleCacheGetError(readError, new ConcurrentMapCache("tenantStats"), UUID.randomUUID()))
+                .doesNotThrowAnyException();
+    }
+
+    private static <T> void assertRoundTrip(JavaType type, T value) {
+        for (int threshold : new int[]{0, 1}) {
+            CompactCacheSerializer<T> serializer = new CompactCacheSerializer<>(type, threshold);
+            byte[] bytes = serializer.serialize(value);
+            assertThat(bytes[0]).isEqualTo(threshold == 0 ? PLAIN : DEFLATED);
+            assertThat(serializer.deserialize(bytes)).isEqualTo(value);
+        }
+    }
+
+    private static JavaType listOf(Class<?> elementType) {
+        return TYPES.constructCollectionType(List.class, elementType);
+    }
+
+    private static List<WarehouseResponse> warehouses(int count) {
+        UUID tenantId = UUID.randomUUID();
+        List<WarehouseResponse> warehouses = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            warehouses.add(new WarehouseResponse(
+                    UUID.randomUUID(), tenantId, "Warehouse " + i, "Ikeja, Lagos", 120, CREATED_AT));
+        }
+        return warehouses;
+    }
+}
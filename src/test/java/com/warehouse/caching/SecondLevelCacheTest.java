@@ -0,0 +1,161 @@
+package com.warehouse.caching;
+
+import com.warehouse.BaseIntegrationTest;
+import com.warehouse.common.dto.CreateWarehouse;
+import com.warehouse.common.dto.CustomerRequest;
+import com.warehouse.common.dto.UpdateCustomer;
+import com.warehouse.common.dto.UpdateWarehouse;
+import com.warehouse.common.exceptions.NotFoundException;
+import com.warehouse.customers.entity.Customer;
+import com.warehouse.customers.service.CustomerService;
+import com.warehouse.tenants.entity.Tenant;
+import com.warehouse.tenants.repository.TenantRepository;
+import com.warehouse.warehouses.entity.Warehouse;
+import com.warehouse.warehouses.service.WarehouseService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.TestPropertySource;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * The test application.properties replaces the main one, so the second-level cache
+ * settings are repeated here as they are in production.
+ */
+@TestPropertySource(properties = {
+        "spring.jpa.properties.jakarta.persistence.sharedCache.mode=ENABLE_SELECTIVE",
+        "spring.jpa.properties.hibernate.cache.use_second_level_cache=true",
+        "spring.jpa.properties.hibernate.cache.use_query_cache=true",
+        "spring.jpa.properties.hibernate.cache.region.factory_class=jcache",
+        "spring.jpa.properties.hibernate.javax.cache.provider=com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider",
+        "spring.jpa.properties.hibernate.javax.cache.uri=hibernate-cache.conf",
+        "spring.jpa.properties.hibernate.javax.cache.missing_cache_strategy=fail",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+class SecondLevelCacheTest extends BaseIntegrationTest {
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private TenantRepository tenantRepository;
+
+    @Autowired
+    private WarehouseService warehouseService;
+
+    @Autowired
+    private CustomerService customerService;
+
+    private SessionFactory sessionFactory;
+    private Statistics statistics;
+
+    @BeforeEach
+    void resetCaches() {
+        sessionFactory = entityManagerFactory.unwrap(SessionFactory.class);
+        statistics = sessionFactory.getStatistics();
+        sessionFactory.getCache().evictAllRegions();
+        statistics.clear();
+    }
+
+    @Test
+    void shouldServeRepeatedLookupsFromTheCache() {
+        UUID tenantId = createTenant();
+        UUID warehouseId = warehouseService.createWarehouse(tenantId, new CreateWarehouse("Main", "Lagos")).id();
+        UUID customerId = createCustomer(tenantId);
+        sessionFactory.getCache().evictAllRegions();
+        statistics.clear();
+
+        for (int i = 0; i < 3; i++) {
+            assertThat(tenantRepository.findById(tenantId)).isPresent();
+            assertThat(warehouseService.getWarehouse(tenantId, warehouseId).id()).isEqualTo(warehouseId);
+            assertThat(customerService.getCustomer(customerId, tenantId).id()).isEqualTo(customerId);
+        }
+
+        // one load from the database, then hits for the repeats
+        assertThat(entityRegion("tenants").getHitCount()).isGreaterThanOrEqualTo(2);
+        assertThat(queryRegion("warehouse-lookups").getMissCount()).isEqualTo(1);
+        assertThat(queryRegion("warehouse-lookups").getHitCount()).isEqualTo(2);
+        assertThat(entityRegion("warehouses").getHitCount()).isGreaterThanOrEqualTo(2);
+        assertThat(queryRegion("customer-lookups").getMissCount()).isEqualTo(1);
+        assertThat(queryRegion("customer-lookups").getHitCount()).isEqualTo(2);
+        assertThat(entityRegion("customers").getHitCount()).isGreaterThanOrEqualTo(2);
+    }
+
+    @Test
+    void shouldNotServeStaleEntries_afterUpdate() {
+        UUID tenantId = createTenant();
+        UUID warehouseId = warehouseService.createWarehouse(tenantId, new CreateWarehouse("Main", "Lagos")).id();
+        UUID customerId = createCustomer(tenantId);
+        warehouseService.getWarehouse(tenantId, warehouseId);
+        customerService.getCustomer(customerId, tenantId);
+        tenantRepository.findById(tenantId);
+
+        warehouseService.updateWarehouse(tenantId, warehouseId, new UpdateWarehouse("Renamed", "Abuja"));
+        customerService.updateCustomer(tenantId, customerId, new UpdateCustomer("Renamed Customer", null));
+        Tenant tenant = tenantRepository.findById(tenantId).orElseThrow();
+        tenant.setCompanyName("Renamed Tenant");
+        tenantRepository.save(tenant);
+        long warehouseLookupMisses = queryRegion("warehouse-lookups").getMissCount();
+        long customerLookupMisses = queryRegion("customer-lookups").getMissCount();
+
+        assertThat(warehouseService.getWarehouse(tenantId, warehouseId).name()).isEqualTo("Renamed");
+        assertThat(customerService.getCustomer(customerId, tenantId).companyName()).isEqualTo("Renamed Customer");
+        assertThat(tenantRepository.findById(tenantId).orElseThrow().getCompanyName()).isEqualTo("Renamed Tenant");
+
+        // the write made the cached query results stale, so the lookups went to the database
+        assertThat(queryRegion("warehouse-lookups").getMissCount()).isEqualTo(warehouseLookupMisses + 1);
+        assertThat(queryRegion("customer-lookups").getMissCount()).isEqualTo(customerLookupMisses + 1);
+        // while the entity regions hold the updated state
+        assertThat(sessionFactory.getCache().containsEntity(Warehouse.class, warehouseId)).isTrue();
+        assertThat(sessionFactory.getCache().containsEntity(Customer.class, customerId)).isTrue();
+        assertThat(sessionFactory.getCache().containsEntity(Tenant.class, tenantId)).isTrue();
+    }
+
+    @Test
+    void shouldEvictEntries_afterDelete() {
+        UUID tenantId = createTenant();
+        UUID warehouseId = warehouseService.createWarehouse(tenantId, new CreateWarehouse("Main", "Lagos")).id();
+        UUID customerId = createCustomer(tenantId);
+        warehouseService.getWarehouse(tenantId, warehouseId);
+        customerService.getCustomer(customerId, tenantId);
+        assertThat(sessionFactory.getCache().containsEntity(Warehouse.class, warehouseId)).isTrue();
+        assertThat(sessionFactory.getCache().containsEntity(Customer.class, customerId)).isTrue();
+
+        warehouseService.deleteWarehouse(tenantId, warehouseId);
+        customerService.deleteCustomer(customerId, tenantId);
+
+        assertThat(sessionFactory.getCache().containsEntity(Warehouse.class, warehouseId)).isFalse();
+        assertThat(sessionFactory.getCache().containsEntity(Customer.class, customerId)).isFalse();
+        assertThatThrownBy(() -> warehouseService.getWarehouse(tenantId, warehouseId))
+                .isInstanceOf(NotFoundException.class);
+        assertThatThrownBy(() -> customerService.getCustomer(customerId, tenantId))
+                .isInstanceOf(NotFoundException.class);
+    }
+
+    private CacheRegionStatistics entityRegion(String region) {
+        return statistics.getDomainDataRegionStatistics(region);
+    }
+
+    private CacheRegionStatistics queryRegion(String region) {
+        return statistics.getQueryRegionStatistics(region);
+    }
+
+    private UUID createTenant() {
+        Tenant tenant = new Tenant();
+        tenant.setCompanyName("Cached Tenant");
+        tenant.setEmail("cached-" + UUID.randomUUID() + "@test.com");
+        return tenantRepository.save(tenant).getId();
+    }
+
+    private UUID createCustomer(UUID tenantId) {
+        return customerService.createCustomer(
+                tenantId, new CustomerRequest("Cached Customer", "cached-" + UUID.randomUUID() + "@test.com")).id();
+    }
+}
@@ -0,0 +1,100 @@
+package com.warehouse.changefeed;
+
+import com.warehouse.BaseIntegrationTest;
+import com.warehouse.bookings.service.BookingService;
+import com.warehouse.common.dto.BookingResponse;
+import com.warehouse.common.dto.CreateBooking;
+import com.warehouse.common.dto.CreateStorageUnit;
+import com.warehouse.common.dto.CreateWarehouse;
+import com.warehouse.common.dto.CustomerCapacity;
+import com.warehouse.common.dto.CustomerRequest;
+import com.warehouse.customers.service.CustomerService;
+import com.warehouse.storage.service.StorageService;
+import com.warehouse.storage.service.TopCustomersIndex;
+import com.warehouse.tenants.entity.Tenant;
+import com.warehouse.tenants.repository.TenantRepository;
+import com.warehouse.warehouses.service.WarehouseService;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The other node is simulated by writing straight to the database and sending its
+ * notification by hand.
+ */
+@TestPropertySource(properties = "warehouse.change-feed.enabled=true")
+class ChangeFeedTest extends BaseIntegrationTest {
+    @Autowired
+    private TopCustomersIndex topCustomersIndex;
+
+    @Autowired
+    private TenantRepository tenantRepository;
+
+    @Autowired
+    private WarehouseService warehouseService;
+
+    @Autowired
+    private StorageService storageService;
+
+    @Autowired
+    private CustomerService customerService;
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void shouldDropLocalState_whenAnotherNodeReportsAChange() throws InterruptedException {
+        Tenant tenant = new Tenant();
+        tenant.setCompanyName("Feed Tenant");
+        tenant.setEmail("feed-" + UUID.randomUUID() + "@test.com");
+        UUID tenantId = tenantRepository.save(tenant).getId();
+
+        UUID warehouseId = warehouseService.createWarehouse(
+                tenantId, new CreateWarehouse("Feed Warehouse", "Lagos")).id();
+        UUID unitId = storageService.createStorage(tenantId, new CreateStorageUnit("N-1", 100, warehouseId)).id();
+        UUID customerId = customerService.createCustomer(
+                tenantId, new CustomerRequest("Feed Customer", "feed-" + UUID.randomUUID() + "@test.com")).id();
+        BookingResponse booking = (BookingResponse) bookingService.createBooking(tenantId, new CreateBooking(
+                customerId, unitId, LocalDate.now(), LocalDate.now().plusDays(5), new BigDecimal("100.00")));
+
+        assertThat(topCustomersIndex.top(tenantId, 5))
+                .extracting(CustomerCapacity::customerId)
+                .containsExactly(customerId);
+        double receivedBefore = meterRegistry.get("warehouse.change_feed.changes").counter().count();
+
+        jdbcTemplate.update("UPDATE bookings SET status = 'CANCELLED' WHERE id = ?", booking.id());
+        jdbcTemplate.queryForList("SELECT pg_notify('warehouse_changes', ?)",
+                "BOOKING:" + tenantId + ":" + booking.id() + ":" + UUID.randomUUID() + ":" + System.currentTimeMillis());
+
+        assertThat(eventually(() -> topCustomersIndex.top(tenantId, 5))).isEmpty();
+        assertThat(meterRegistry.get("warehouse.change_feed.changes").counter().count())
+                .isEqualTo(receivedBefore + 1);
+    }
+
+    private static List<CustomerCapacity> eventually(Supplier<List<CustomerCapacity>> ranking)
+            throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5_000;
+        List<CustomerCapacity> current = ranking.get();
+        while (!current.isEmpty() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+            current = ranking.get();
+        }
+        return current;
+    }
+}
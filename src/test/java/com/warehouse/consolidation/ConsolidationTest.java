@@ -0,0 +1,104 @@
+package com.warehouse.consolidation;
+
+import com.warehouse.BaseIntegrationTest;
+import com.warehouse.bookings.repository.BookingsRepository;
+import com.warehouse.bookings.service.BookingService;
+import com.warehouse.common.dto.BookingResponse;
+import com.warehouse.common.dto.ConsolidationPlan;
+import com.warehouse.common.dto.ConsolidationResult;
+import com.warehouse.common.dto.CreateBooking;
+import com.warehouse.common.dto.CreateStorageUnit;
+import com.warehouse.common.dto.CreateWarehouse;
+import com.warehouse.common.dto.CustomerRequest;
+import com.warehouse.consolidation.service.ConsolidationService;
+import com.warehouse.customers.service.CustomerService;
+import com.warehouse.storage.entity.StorageStatus;
+import com.warehouse.storage.repository.StorageRepository;
+import com.warehouse.storage.service.StorageService;
+import com.warehouse.tenants.entity.Tenant;
+import com.warehouse.tenants.repository.TenantRepository;
+import com.warehouse.warehouses.service.WarehouseService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ConsolidationTest extends BaseIntegrationTest {
+    @Autowired
+    private ConsolidationService consolidationService;
+
+    @Autowired
+    private TenantRepository tenantRepository;
+
+    @Autowired
+    private WarehouseService warehouseService;
+
+    @Autowired
+    private StorageService storageService;
+
+    @Autowired
+    private CustomerService customerService;
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private BookingsRepository bookingsRepository;
+
+    @Autowired
+    private StorageRepository storageRepository;
+
+    @Test
+    void shouldEmptyLeastUsedWarehouse_intoBestFittingUnits() {
+        Tenant tenant = new Tenant();
+        tenant.setCompanyName("Consolidation Tenant");
+        tenant.setEmail("consolidation-" + UUID.randomUUID() + "@test.com");
+        UUID tenantId = tenantRepository.save(tenant).getId();
+
+        UUID busy = warehouseService.createWarehouse(tenantId, new CreateWarehouse("Busy", "Lagos")).id();
+        UUID quiet = warehouseService.createWarehouse(tenantId, new CreateWarehouse("Quiet", "Ibadan")).id();
+
+        UUID busyFirst = unit(tenantId, busy, "B-1", 100);
+        UUID busySecond = unit(tenantId, busy, "B-2", 100);
+        UUID busyLarge = unit(tenantId, busy, "B-3", 500);
+        UUID busyFit = unit(tenantId, busy, "B-4", 150);
+        UUID quietUnit = unit(tenantId, quiet, "Q-1", 120);
+
+        UUID customerId = customerService.createCustomer(
+                tenantId, new CustomerRequest("Mover", "mover-" + UUID.randomUUID() + "@test.com")).id();
+        book(tenantId, customerId, busyFirst);
+        book(tenantId, customerId, busySecond);
+        BookingResponse moving = book(tenantId, customerId, quietUnit);
+
+        ConsolidationPlan plan = consolidationService.plan(tenantId);
+        assertThat(plan.warehousesEmptied()).containsExactly(quiet);
+        assertThat(plan.moves()).hasSize(1);
+        assertThat(plan.moves().get(0).toUnitId()).isEqualTo(busyFit);
+
+        ConsolidationResult result = consolidationService.apply(tenantId, plan);
+        assertThat(result.bookingsMoved()).isEqualTo(1);
+        assertThat(result.warehousesSkipped()).isEmpty();
+
+        assertThat(bookingsRepository.findById(moving.id()).orElseThrow().getStorageUnitId()).isEqualTo(busyFit);
+        assertThat(storageRepository.findById(quietUnit).orElseThrow().getStatus()).isEqualTo(StorageStatus.AVAILABLE);
+        assertThat(storageRepository.findById(busyFit).orElseThrow().getStatus()).isEqualTo(StorageStatus.OCCUPIED);
+        assertThat(storageRepository.findById(busyLarge).orElseThrow().getStatus()).isEqualTo(StorageStatus.AVAILABLE);
+
+        ConsolidationResult replay = consolidationService.apply(tenantId, plan);
+        assertThat(replay.bookingsMoved()).isZero();
+        assertThat(replay.warehousesSkipped()).containsExactly(quiet);
+    }
+
+    private UUID unit(UUID tenantId, UUID warehouseId, String number, int capacityKg) {
+        return storageService.createStorage(tenantId, new CreateStorageUnit(number, capacityKg, warehouseId)).id();
+    }
+
+    private BookingResponse book(UUID tenantId, UUID customerId, UUID unitId) {
+        return (BookingResponse) bookingService.createBooking(tenantId, new CreateBooking(
+                customerId, unitId, LocalDate.now(), LocalDate.now().plusMonths(1), new BigDecimal("100.00")));
+    }
+}
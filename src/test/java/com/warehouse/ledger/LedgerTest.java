@@ -0,0 +1,165 @@
+package com.warehouse.ledger;
+
+import com.warehouse.BaseIntegrationTest;
+import com.warehouse.bookings.entity.BookingStatus;
+import com.warehouse.bookings.events.BookingSnapshot;
+import com.warehouse.bookings.service.BookingService;
+import com.warehouse.common.dto.BookingResponse;
+import com.warehouse.common.dto.CreateBooking;
+import com.warehouse.common.dto.CreateStorageUnit;
+import com.warehouse.common.dto.CreateWarehouse;
+import com.warehouse.common.dto.CustomerRequest;
+import com.warehouse.common.dto.LedgerEntry;
+import com.warehouse.common.dto.UpdateBooking;
+import com.warehouse.customers.service.CustomerService;
+import com.warehouse.ledger.events.LedgerCodec;
+import com.warehouse.ledger.events.LedgerEventType;
+import com.warehouse.ledger.repository.LedgerRepository;
+import com.warehouse.ledger.service.AggregateStateProjection;
+import com.warehouse.ledger.service.LedgerReplayer;
+import com.warehouse.ledger.service.LedgerService;
+import com.warehouse.storage.entity.StorageStatus;
+import com.warehouse.storage.service.StorageService;
+import com.warehouse.tenants.entity.Tenant;
+import com.warehouse.tenants.repository.TenantRepository;
+import com.warehouse.warehouses.service.WarehouseService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.util.StreamUtils;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@TestPropertySource(properties = "warehouse.ledger.snapshot-every=2")
+class LedgerTest extends BaseIntegrationTest {
+    @Autowired
+    private LedgerService ledgerService;
+
+    @Autowired
+    private LedgerReplayer ledgerReplayer;
+
+    @Autowired
+    private LedgerRepository ledgerRepository;
+
+    @Autowired
+    private TenantRepository tenantRepository;
+
+    @Autowired
+    private WarehouseService warehouseService;
+
+    @Autowired
+    private StorageService storageService;
+
+    @Autowired
+    private CustomerService customerService;
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void shouldRecordBookingHistory_andRebuildStateFromSnapshotsAndReplay() {
+        Tenant tenant = new Tenant();
+        tenant.setCompanyName("Ledger Tenant");
+        tenant.setEmail("ledger-" + UUID.randomUUID() + "@test.com");
+        UUID tenantId = tenantRepository.save(tenant).getId();
+
+        UUID warehouseId = warehouseService.createWarehouse(
+                tenantId, new CreateWarehouse("Ledger Warehouse", "Lagos")).id();
+        UUID unitId = storageService.createStorage(tenantId, new CreateStorageUnit("L-1", 100, warehouseId)).id();
+        UUID customerId = customerService.createCustomer(
+                tenantId, new CustomerRequest("Ledger Customer", "ledger-" + UUID.randomUUID() + "@test.com")).id();
+
+        LocalDate start = LocalDate.now();
+        BookingResponse booking = (BookingResponse) bookingService.createBooking(tenantId, new CreateBooking(
+                customerId, unitId, start, start.plusDays(10), new BigDecimal("100.00")));
+        UUID bookingId = booking.id();
+        bookingService.updateBooking(bookingId, tenantId, new UpdateBooking(start.plusDays(20), null, null));
+        bookingService.updateBooking(bookingId, tenantId, new UpdateBooking(null, null, BookingStatus.CANCELLED));
+        bookingService.deleteBooking(bookingId, tenantId);
+
+        List<LedgerEntry> history = ledgerService.getHistory(tenantId, bookingId);
+        assertThat(history).extracting(LedgerEntry::version).containsExactly(1, 2, 3, 4);
+        assertThat(history).extracting(LedgerEntry::type).containsExactly(
+                LedgerEventType.BOOKING_CREATED, LedgerEventType.BOOKING_UPDATED,
+                LedgerEventType.BOOKING_UPDATED, LedgerEventType.BOOKING_DELETED);
+        assertThat(history.get(3).state()).isNull();
+
+        assertThat(ledgerRepository.findSnapshot(tenantId, bookingId))
+                .hasValueSatisfying(snapshot -> assertThat(snapshot.version()).isEqualTo(2));
+        BookingSnapshot cancelled = (BookingSnapshot) ledgerService.stateAt(tenantId, bookingId, 3);
+        assertThat(cancelled.endDate()).isEqualTo(start.plusDays(20));
+        assertThat(cancelled.status()).isEqualTo(BookingStatus.CANCELLED);
+        assertThat(cancelled.monthlyRate()).isEqualByComparingTo("100.00");
+        assertThat(cancelled).isEqualTo(history.get(2).state());
+
+        assertThat(ledgerService.getHistory(tenantId, unitId))
+                .extracting(LedgerEntry::state)
+                .containsExactly(StorageStatus.AVAILABLE, StorageStatus.OCCUPIED);
+
+        AggregateStateProjection projection = new AggregateStateProjection();
+        assertThat(ledgerReplayer.replay(tenantId, projection)).isEqualTo(6);
+        assertThat(projection.state(bookingId)).isNull();
+        assertThat(projection.state(unitId)).isEqualTo(StorageStatus.OCCUPIED);
+    }
+
+    @Test
+    void shouldSeedBookingsMadeBeforeTheLedger_soTheirFirstUpdateReplays() throws IOException {
+        Tenant tenant = new Tenant();
+        tenant.setCompanyName("Ledger Seed Tenant");
+        tenant.setEmail("ledger-seed-" + UUID.randomUUID() + "@test.com");
+        UUID tenantId = tenantRepository.save(tenant).getId();
+
+        UUID warehouseId = warehouseService.createWarehouse(
+                tenantId, new CreateWarehouse("Ledger Seed Warehouse", "Lagos")).id();
+        UUID unitId = storageService.createStorage(tenantId, new CreateStorageUnit("LS-1", 100, warehouseId)).id();
+        UUID customerId = customerService.createCustomer(
+                tenantId, new CustomerRequest("Ledger Seed Customer", "ledger-seed-" + UUID.randomUUID() + "@test.com")).id();
+        LocalDate start = LocalDate.now();
+        UUID bookingId = ((BookingResponse) bookingService.createBooking(tenantId, new CreateBooking(
+                customerId, unitId, start, start.plusDays(10), new BigDecimal("100.00")))).id();
+        BookingSnapshot created = (BookingSnapshot) ledgerService.stateAt(tenantId, bookingId, 1);
+
+        // as if the booking had been made before the ledger existed
+        jdbcTemplate.update("DELETE FROM ledger_events WHERE aggregate_id = ?", bookingId);
+        jdbcTemplate.update("DELETE FROM ledger_snapshots WHERE aggregate_id = ?", bookingId);
+        jdbcTemplate.execute(StreamUtils.copyToString(
+                new ClassPathResource("db/migration/V10__ledger_seed_bookings.sql").getInputStream(), StandardCharsets.UTF_8));
+
+        bookingService.updateBooking(bookingId, tenantId, new UpdateBooking(null, null, BookingStatus.CANCELLED));
+
+        List<LedgerEntry> history = ledgerService.getHistory(tenantId, bookingId);
+        assertThat(history).extracting(LedgerEntry::type).containsExactly(
+                LedgerEventType.BOOKING_CREATED, LedgerEventType.BOOKING_UPDATED);
+        assertThat(history.get(0).state()).isEqualTo(created);
+        assertThat(((BookingSnapshot) history.get(1).state()).status()).isEqualTo(BookingStatus.CANCELLED);
+        assertThat(ledgerRepository.findSnapshot(tenantId, bookingId))
+                .hasValueSatisfying(snapshot -> assertThat(snapshot.version()).isEqualTo(2));
+    }
+
+    @Test
+    void shouldRejectPartialBookingPayload_withoutEarlierState() {
+        BookingSnapshot before = new BookingSnapshot(UUID.randomUUID(), UUID.randomUUID(), UUID.randomUUID(),
+                UUID.randomUUID(), UUID.randomUUID(), 100, LocalDate.now(), LocalDate.now().plusDays(5),
+                new BigDecimal("100.00"), BookingStatus.ACTIVE);
+        byte[] statusChange = LedgerCodec.encodeBooking(before, new BookingSnapshot(before.bookingId(), before.tenantId(),
+                before.customerId(), before.storageUnitId(), before.warehouseId(), 100, before.startDate(),
+                before.endDate(), before.monthlyRate(), BookingStatus.CANCELLED));
+
+        assertThatThrownBy(() -> LedgerCodec.applyBooking(null, before.bookingId(), before.tenantId(), statusChange))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining(before.bookingId().toString());
+    }
+}
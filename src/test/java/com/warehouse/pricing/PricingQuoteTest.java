@@ -0,0 +1,86 @@
+package com.warehouse.pricing;
+
+import com.warehouse.BaseIntegrationTest;
+import com.warehouse.bookings.service.BookingService;
+import com.warehouse.common.dto.CreateBooking;
+import com.warehouse.common.dto.CreateStorageUnit;
+import com.warehouse.common.dto.CreateWarehouse;
+import com.warehouse.common.dto.CustomerRequest;
+import com.warehouse.common.dto.QuoteRequest;
+import com.warehouse.common.dto.QuoteResponse;
+import com.warehouse.customers.service.CustomerService;
+import com.warehouse.pricing.service.OccupancySnapshotHolder;
+import com.warehouse.pricing.service.PricingService;
+import com.warehouse.storage.service.StorageService;
+import com.warehouse.tenants.entity.Tenant;
+import com.warehouse.tenants.repository.TenantRepository;
+import com.warehouse.warehouses.service.WarehouseService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PricingQuoteTest extends BaseIntegrationTest {
+    @Autowired
+    private PricingService pricingService;
+
+    @Autowired
+    private OccupancySnapshotHolder occupancySnapshots;
+
+    @Autowired
+    private TenantRepository tenantRepository;
+
+    @Autowired
+    private WarehouseService warehouseService;
+
+    @Autowired
+    private StorageService storageService;
+
+    @Autowired
+    private CustomerService customerService;
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Test
+    void shouldQuoteByCapacity_andFollowOccupancyAfterRefresh() {
+        Tenant tenant = new Tenant();
+        tenant.setCompanyName("Pricing Tenant");
+        tenant.setEmail("pricing-" + UUID.randomUUID() + "@test.com");
+        UUID tenantId = tenantRepository.save(tenant).getId();
+
+        UUID warehouseId = warehouseService.createWarehouse(
+                tenantId, new CreateWarehouse("Pricing Warehouse", "Lagos")).id();
+        UUID small = storageService.createStorage(tenantId, new CreateStorageUnit("P-1", 100, warehouseId)).id();
+        UUID large = storageService.createStorage(tenantId, new CreateStorageUnit("P-2", 200, warehouseId)).id();
+        UUID customerId = customerService.createCustomer(
+                tenantId, new CustomerRequest("Pricing Customer", "pricing-" + UUID.randomUUID() + "@test.com")).id();
+
+        occupancySnapshots.refresh();
+        QuoteResponse empty = pricingService.quote(tenantId, new QuoteRequest(List.of(small, large)));
+        assertThat(empty.quotes()).hasSize(2);
+        assertThat(rateOf(empty, small)).isEqualByComparingTo("127.50");
+        assertThat(rateOf(empty, large)).isEqualByComparingTo("255.00");
+
+        bookingService.createBooking(tenantId, new CreateBooking(
+                customerId, large, LocalDate.now(), LocalDate.now().plusMonths(1), new BigDecimal("300.00")));
+        occupancySnapshots.refresh();
+
+        QuoteResponse halfFull = pricingService.quote(tenantId, null);
+        assertThat(halfFull.quotes()).hasSize(1);
+        assertThat(rateOf(halfFull, small)).isEqualByComparingTo("150.00");
+    }
+
+    private static BigDecimal rateOf(QuoteResponse response, UUID unitId) {
+        return response.quotes().stream()
+                .filter(quote -> quote.unitId().equals(unitId))
+                .findFirst()
+                .orElseThrow()
+                .monthlyRate();
+    }
+}
@@ -0,0 +1,168 @@
+package com.warehouse.purge;
+
+import com.warehouse.BaseIntegrationTest;
+import com.warehouse.audit.entity.AuditAction;
+import com.warehouse.audit.service.AuditLog;
+import com.warehouse.audit.service.AuditWriter;
+import com.warehouse.bookings.service.BookingService;
+import com.warehouse.common.dto.AuditEntry;
+import com.warehouse.common.dto.BookingResponse;
+import com.warehouse.common.dto.CreateBooking;
+import com.warehouse.common.dto.CreateStorageUnit;
+import com.warehouse.common.dto.CreateWarehouse;
+import com.warehouse.common.dto.CustomerRequest;
+import com.warehouse.common.dto.LedgerEntry;
+import com.warehouse.common.dto.PurgeJobStatus;
+import com.warehouse.customers.service.CustomerService;
+import com.warehouse.ledger.events.LedgerEventType;
+import com.warehouse.ledger.service.LedgerService;
+import com.warehouse.purge.service.PurgeJobs;
+import com.warehouse.storage.service.StorageService;
+import com.warehouse.tenants.entity.Tenant;
+import com.warehouse.tenants.repository.TenantRepository;
+import com.warehouse.warehouses.service.WarehouseService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@TestPropertySource(properties = "warehouse.purge.chunk-size=2")
+class PurgeTest extends BaseIntegrationTest {
+    @Autowired
+    private PurgeJobs purgeJobs;
+
+    @Autowired
+    private AuditLog auditLog;
+
+    @Autowired
+    private AuditWriter auditWriter;
+
+    @Autowired
+    private LedgerService ledgerService;
+
+    @Autowired
+    private TenantRepository tenantRepository;
+
+    @Autowired
+    private WarehouseService warehouseService;
+
+    @Autowired
+    private StorageService storageService;
+
+    @Autowired
+    private CustomerService customerService;
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @AfterEach
+    void clearRequest() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    void shouldDeleteWarehouseWithItsUnitsAndBookings_inChunks() {
+        UUID tenantId = createTenant();
+        UUID warehouseId = warehouseService.createWarehouse(tenantId, new CreateWarehouse("Purged", "Lagos")).id();
+        UUID customerId = createCustomer(tenantId);
+        List<UUID> bookingIds = book(tenantId, warehouseId, customerId, 3);
+
+        assertThat(warehouseService.deleteWarehouse(tenantId, warehouseId)).isEqualTo(3);
+
+        assertThat(count("SELECT COUNT(*) FROM bookings WHERE customer_id = ?", customerId)).isZero();
+        assertThat(count("SELECT COUNT(*) FROM storage_units WHERE warehouse_id = ?", warehouseId)).isZero();
+        assertThat(count("SELECT COUNT(*) FROM warehouses WHERE id = ?", warehouseId)).isZero();
+        assertThat(count("SELECT COUNT(*) FROM customers WHERE id = ?", customerId)).isEqualTo(1);
+        for (UUID bookingId : bookingIds) {
+            List<LedgerEntry> history = ledgerService.getHistory(tenantId, bookingId);
+            assertThat(history).extracting(LedgerEntry::version).containsExactly(1, 2);
+            assertThat(history.getLast().type()).isEqualTo(LedgerEventType.BOOKING_DELETED);
+        }
+        assertThat(bookingService.getBookings(tenantId)).isEmpty();
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT COALESCE(SUM(amount), 0) FROM revenue_rollups WHERE tenant_id = ?", BigDecimal.class, tenantId))
+                .isZero();
+    }
+
+    @Test
+    void shouldPurgeCustomerInBackground_andReportProgress() throws InterruptedException {
+        UUID tenantId = createTenant();
+        UUID warehouseId = warehouseService.createWarehouse(tenantId, new CreateWarehouse("Kept", "Abuja")).id();
+        UUID customerId = createCustomer(tenantId);
+        book(tenantId, warehouseId, customerId, 5);
+
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader(AuditLog.ACTOR_HEADER, "ops@warehouse.test");
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+        PurgeJobStatus started = purgeJobs.purgeCustomer(tenantId, customerId);
+        RequestContextHolder.resetRequestAttributes();
+        assertThat(started.target()).isEqualTo(PurgeJobStatus.Target.CUSTOMER);
+
+        PurgeJobStatus finished = awaitFinished(started.jobId());
+        assertThat(finished.state()).isEqualTo(PurgeJobStatus.State.COMPLETED);
+        assertThat(finished.bookingsDeleted()).isEqualTo(5);
+        assertThat(count("SELECT COUNT(*) FROM customers WHERE id = ?", customerId)).isZero();
+        assertThat(count("SELECT COUNT(*) FROM bookings WHERE customer_id = ?", customerId)).isZero();
+        assertThat(count("SELECT COUNT(*) FROM storage_units WHERE warehouse_id = ?", warehouseId)).isEqualTo(5);
+
+        auditWriter.flush();
+        assertThat(auditLog.getRecent(tenantId, 10))
+                .filteredOn(entry -> entry.action() == AuditAction.CUSTOMER_DELETED)
+                .extracting(AuditEntry::actor)
+                .containsExactly("ops@warehouse.test");
+    }
+
+    private PurgeJobStatus awaitFinished(UUID jobId) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 10_000;
+        PurgeJobStatus status = purgeJobs.getStatus(jobId);
+        while (status.state() == PurgeJobStatus.State.RUNNING && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+            status = purgeJobs.getStatus(jobId);
+        }
+        return status;
+    }
+
+    private UUID createTenant() {
+        Tenant tenant = new Tenant();
+        tenant.setCompanyName("Purge Tenant");
+        tenant.setEmail("purge-" + UUID.randomUUID() + "@test.com");
+        return tenantRepository.save(tenant).getId();
+    }
+
+    private UUID createCustomer(UUID tenantId) {
+        return customerService.createCustomer(
+                tenantId, new CustomerRequest("Purge Customer", "purge-" + UUID.randomUUID() + "@test.com")).id();
+    }
+
+    private List<UUID> book(UUID tenantId, UUID warehouseId, UUID customerId, int bookings) {
+        LocalDate start = LocalDate.now();
+        List<UUID> ids = new ArrayList<>();
+        for (int i = 0; i < bookings; i++) {
+            UUID unitId = storageService.createStorage(
+                    tenantId, new CreateStorageUnit("P-" + i, 100, warehouseId)).id();
+            BookingResponse booking = (BookingResponse) bookingService.createBooking(tenantId, new CreateBooking(
+                    customerId, unitId, start, start.plusDays(30), new BigDecimal("100.00")));
+            ids.add(booking.id());
+        }
+        return ids;
+    }
+
+    private long count(String sql, UUID id) {
+        return jdbcTemplate.queryForObject(sql, Long.class, id);
+    }
+}
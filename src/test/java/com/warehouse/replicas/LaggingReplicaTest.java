@@ -0,0 +1,133 @@
+package com.warehouse.replicas;
+
+import com.warehouse.BaseIntegrationTest;
+import com.warehouse.bookings.service.BookingService;
+import com.warehouse.common.dto.BookingResponse;
+import com.warehouse.common.dto.CreateBooking;
+import com.warehouse.common.dto.CreateStorageUnit;
+import com.warehouse.common.dto.CreateWarehouse;
+import com.warehouse.common.dto.CustomerRequest;
+import com.warehouse.common.dto.CustomerResponse;
+import com.warehouse.common.dto.StorageUnitResponse;
+import com.warehouse.common.dto.WarehouseResponse;
+import com.warehouse.config.ReplicaRoutingDataSource;
+import com.warehouse.customers.service.CustomerService;
+import com.warehouse.storage.service.StorageService;
+import com.warehouse.tenants.entity.Tenant;
+import com.warehouse.tenants.repository.TenantRepository;
+import com.warehouse.tenants.service.TenantService;
+import com.warehouse.warehouses.service.WarehouseService;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The "replica" is another database in the same container with the schema but none of the
+ * writes, like a replica that has fallen behind before a lag check noticed. Reads that fill
+ * caches right after a write must still see it.
+ */
+class LaggingReplicaTest extends BaseIntegrationTest {
+    private static final String REPLICA_DATABASE = "replica_lagging";
+
+    @DynamicPropertySource
+    static void configureReplica(DynamicPropertyRegistry registry) {
+        registry.add("warehouse.replicas.enabled", () -> "true");
+        registry.add("warehouse.replicas.nodes[0].name", () -> "replica-lagging");
+        registry.add("warehouse.replicas.nodes[0].url", LaggingReplicaTest::replicaUrl);
+        registry.add("warehouse.replicas.nodes[0].maximum-pool-size", () -> "2");
+    }
+
+    @Autowired
+    private ReplicaRoutingDataSource replicaRoutingDataSource;
+
+    @Autowired
+    private TenantRepository tenantRepository;
+
+    @Autowired
+    private TenantService tenantService;
+
+    @Autowired
+    private WarehouseService warehouseService;
+
+    @Autowired
+    private CustomerService customerService;
+
+    @Autowired
+    private StorageService storageService;
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void shouldFillListCachesFromPrimary_rightAfterWrites() {
+        replicaRoutingDataSource.checkLag();
+
+        Tenant tenant = new Tenant();
+        tenant.setCompanyName("Replica Tenant");
+        tenant.setEmail("replica-" + UUID.randomUUID() + "@test.com");
+        UUID tenantId = tenantRepository.save(tenant).getId();
+        UUID warehouseId = warehouseService.createWarehouse(tenantId, new CreateWarehouse("Fresh", "Lagos")).id();
+        UUID customerId = customerService.createCustomer(
+                tenantId, new CustomerRequest("Fresh Customer", "replica-" + UUID.randomUUID() + "@test.com")).id();
+        UUID unitId = storageService.createStorage(tenantId, new CreateStorageUnit("R-1", 100, warehouseId)).id();
+        LocalDate start = LocalDate.now();
+        BookingResponse booking = (BookingResponse) bookingService.createBooking(tenantId, new CreateBooking(
+                customerId, unitId, start, start.plusDays(30), new BigDecimal("100.00")));
+
+        // any other read-only transaction lands on the replica, which has none of it
+        assertThat(readOnlyCount("SELECT COUNT(*) FROM warehouses WHERE tenant_id = ?", tenantId)).isZero();
+
+        assertThat(warehouseService.getWarehouses(tenantId))
+                .extracting(WarehouseResponse::id).containsExactly(warehouseId);
+        assertThat(customerService.getCustomers(tenantId))
+                .extracting(CustomerResponse::id).containsExactly(customerId);
+        assertThat(storageService.getAllStorageUnits(tenantId))
+                .extracting(StorageUnitResponse::id).containsExactly(unitId);
+        assertThat(bookingService.getBookings(tenantId))
+                .extracting(BookingResponse::id).containsExactly(booking.id());
+        assertThat(bookingService.getExpiringBookings(tenantId, start.plusDays(30))).hasSize(1);
+        assertThat(tenantService.getStats(tenantId).totalWarehouses()).isEqualTo(1);
+    }
+
+    private long readOnlyCount(String sql, UUID id) {
+        TransactionTemplate template = new TransactionTemplate(transactionManager);
+        template.setReadOnly(true);
+        return template.execute(status -> jdbcTemplate.queryForObject(sql, Long.class, id));
+    }
+
+    private static String replicaUrl() {
+        JdbcTemplate admin = new JdbcTemplate(new DriverManagerDataSource(
+                postgres.getJdbcUrl(), postgres.getUsername(), postgres.getPassword()));
+        Boolean exists = admin.queryForObject(
+                "SELECT EXISTS (SELECT 1 FROM pg_database WHERE datname = ?)", Boolean.class, REPLICA_DATABASE);
+        if (!Boolean.TRUE.equals(exists)) {
+            admin.execute("CREATE DATABASE " + REPLICA_DATABASE);
+        }
+        String url = postgres.getJdbcUrl().replace("/" + postgres.getDatabaseName(), "/" + REPLICA_DATABASE);
+        Flyway.configure()
+                .configuration(Map.of("flyway.postgresql.transactional.lock", "false"))
+                .dataSource(url, postgres.getUsername(), postgres.getPassword())
+                .load()
+                .migrate();
+        return url;
+    }
+}
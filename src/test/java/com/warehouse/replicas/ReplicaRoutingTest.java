@@ -0,0 +1,50 @@
+package com.warehouse.replicas;
+
+import com.warehouse.BaseIntegrationTest;
+import com.warehouse.config.ReplicaRoutingDataSource;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The "replica" is the same database reached through a read-only pool, so a read-only
+ * transaction landing on it shows up as {@code transaction_read_only = on}.
+ */
+class ReplicaRoutingTest extends BaseIntegrationTest {
+    @DynamicPropertySource
+    static void configureReplica(DynamicPropertyRegistry registry) {
+        registry.add("warehouse.replicas.enabled", () -> "true");
+        registry.add("warehouse.replicas.nodes[0].name", () -> "replica-test");
+        registry.add("warehouse.replicas.nodes[0].url", postgres::getJdbcUrl);
+        registry.add("warehouse.replicas.nodes[0].maximum-pool-size", () -> "2");
+    }
+
+    @Autowired
+    private ReplicaRoutingDataSource replicaRoutingDataSource;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void shouldSendReadOnlyTransactionsToReplica_andWritesToPrimary() {
+        replicaRoutingDataSource.checkLag();
+
+        assertThat(transactionReadOnly(true)).isEqualTo("on");
+        assertThat(transactionReadOnly(false)).isEqualTo("off");
+    }
+
+    private String transactionReadOnly(boolean readOnly) {
+        TransactionTemplate template = new TransactionTemplate(transactionManager);
+        template.setReadOnly(readOnly);
+        return template.execute(status -> jdbcTemplate.queryForObject("SHOW transaction_read_only", String.class));
+    }
+}
@@ -0,0 +1,129 @@
+package com.warehouse.revenue;
+
+import com.warehouse.BaseIntegrationTest;
+import com.warehouse.bookings.service.BookingService;
+import com.warehouse.common.dto.BookingResponse;
+import com.warehouse.common.dto.CreateBooking;
+import com.warehouse.common.dto.CreateStorageUnit;
+import com.warehouse.common.dto.CreateWarehouse;
+import com.warehouse.common.dto.CustomerRequest;
+import com.warehouse.common.dto.CustomerResponse;
+import com.warehouse.common.dto.RevenueResponse;
+import com.warehouse.common.dto.StorageUnitResponse;
+import com.warehouse.common.dto.UpdateBooking;
+import com.warehouse.common.dto.WarehouseResponse;
+import com.warehouse.customers.service.CustomerService;
+import com.warehouse.revenue.entity.RevenueGranularity;
+import com.warehouse.revenue.service.RevenueRollupService;
+import com.warehouse.storage.service.StorageService;
+import com.warehouse.tenants.entity.Tenant;
+import com.warehouse.tenants.repository.TenantRepository;
+import com.warehouse.warehouses.service.WarehouseService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RevenueRollupTest extends BaseIntegrationTest {
+    private static final LocalDate JAN_1 = LocalDate.of(2025, 1, 1);
+    private static final LocalDate JAN_31 = LocalDate.of(2025, 1, 31);
+
+    @Autowired
+    private RevenueRollupService revenueRollupService;
+
+    @Autowired
+    private TenantRepository tenantRepository;
+
+    @Autowired
+    private WarehouseService warehouseService;
+
+    @Autowired
+    private StorageService storageService;
+
+    @Autowired
+    private CustomerService customerService;
+
+    @Autowired
+    private BookingService bookingService;
+
+    private UUID tenantId;
+    private UUID warehouseId;
+    private UUID unitId;
+    private UUID customerId;
+
+    @BeforeEach
+    void setup() {
+        Tenant tenant = new Tenant();
+        tenant.setCompanyName("Revenue Tenant");
+        tenant.setEmail("revenue-" + UUID.randomUUID() + "@test.com");
+        tenantId = tenantRepository.save(tenant).getId();
+
+        WarehouseResponse warehouse = warehouseService.createWarehouse(
+                tenantId, new CreateWarehouse("Revenue Warehouse", "Lagos"));
+        warehouseId = warehouse.id();
+
+        StorageUnitResponse unit = storageService.createStorage(
+                tenantId, new CreateStorageUnit("R-1", 100, warehouseId));
+        unitId = unit.id();
+
+        CustomerResponse customer = customerService.createCustomer(
+                tenantId, new CustomerRequest("Revenue Customer", "customer-" + UUID.randomUUID() + "@test.com"));
+        customerId = customer.id();
+    }
+
+    @Test
+    void shouldRollUpBookingRevenue_perDayAndMonth() {
+        bookingService.createBooking(tenantId,
+                new CreateBooking(customerId, unitId, JAN_1, JAN_31, new BigDecimal("310.00")));
+
+        RevenueResponse daily = revenueRollupService.getWarehouseRevenue(
+                tenantId, warehouseId, JAN_1, JAN_31, RevenueGranularity.DAY);
+        assertThat(daily.buckets()).hasSize(31);
+        assertThat(daily.buckets().get(0).amount()).isEqualByComparingTo("10.00");
+        assertThat(daily.total()).isEqualByComparingTo("310.00");
+
+        RevenueResponse monthly = revenueRollupService.getTenantRevenue(
+                tenantId, JAN_1, JAN_31, RevenueGranularity.MONTH);
+        assertThat(monthly.buckets()).hasSize(1);
+        assertThat(monthly.total()).isEqualByComparingTo("310.00");
+    }
+
+    @Test
+    void shouldApplyDeltas_whenBookingIsUpdatedAndDeleted() {
+        BookingResponse booking = (BookingResponse) bookingService.createBooking(tenantId,
+                new CreateBooking(customerId, unitId, JAN_1, JAN_31, new BigDecimal("310.00")));
+
+        bookingService.updateBooking(booking.id(), tenantId,
+                new UpdateBooking(LocalDate.of(2025, 1, 10), new BigDecimal("620.00"), null));
+
+        RevenueResponse afterUpdate = revenueRollupService.getTenantRevenue(
+                tenantId, JAN_1, JAN_31, RevenueGranularity.DAY);
+        assertThat(afterUpdate.total()).isEqualByComparingTo("200.00");
+
+        bookingService.deleteBooking(booking.id(), tenantId);
+
+        RevenueResponse afterDelete = revenueRollupService.getTenantRevenue(
+                tenantId, JAN_1, JAN_31, RevenueGranularity.MONTH);
+        assertThat(afterDelete.total()).isEqualByComparingTo("0.00");
+    }
+
+    @Test
+    void shouldRebuildSameTotals_whenBackfilled() {
+        bookingService.createBooking(tenantId,
+                new CreateBooking(customerId, unitId, JAN_1, LocalDate.of(2025, 3, 15), new BigDecimal("310.00")));
+
+        RevenueResponse incremental = revenueRollupService.getTenantRevenue(
+                tenantId, JAN_1, LocalDate.of(2025, 3, 31), RevenueGranularity.MONTH);
+
+        revenueRollupService.rebuildTenant(tenantId);
+
+        RevenueResponse rebuilt = revenueRollupService.getTenantRevenue(
+                tenantId, JAN_1, LocalDate.of(2025, 3, 31), RevenueGranularity.MONTH);
+        assertThat(rebuilt).isEqualTo(incremental);
+    }
+}
@@ -0,0 +1,190 @@
+package com.warehouse.schema;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.warehouse.BaseIntegrationTest;
+import com.warehouse.bookings.repository.BookingsRepository;
+import com.warehouse.bookings.service.BookingService;
+import com.warehouse.common.dto.BookingResponse;
+import com.warehouse.common.dto.CreateBooking;
+import com.warehouse.common.dto.CreateStorageUnit;
+import com.warehouse.common.dto.CreateWarehouse;
+import com.warehouse.common.dto.CustomerRequest;
+import com.warehouse.customers.service.CustomerService;
+import com.warehouse.storage.entity.StorageStatus;
+import com.warehouse.storage.repository.StorageRepository;
+import com.warehouse.storage.service.StorageService;
+import com.warehouse.tenants.entity.Tenant;
+import com.warehouse.tenants.repository.TenantRepository;
+import com.warehouse.warehouses.service.WarehouseService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs every tenant-scoped repository query, then asks PostgreSQL for the generic plan of
+ * the SQL Hibernate produced with sequential scans disabled. A sequential scan left in the
+ * plan means no index can serve that table, i.e. a query or index change regressed.
+ */
+@TestPropertySource(properties =
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector=com.warehouse.schema.CapturingStatementInspector")
+class QueryPlanTest extends BaseIntegrationTest {
+    @Autowired
+    private BookingsRepository bookingsRepository;
+
+    @Autowired
+    private StorageRepository storageRepository;
+
+    @Autowired
+    private TenantRepository tenantRepository;
+
+    @Autowired
+    private WarehouseService warehouseService;
+
+    @Autowired
+    private StorageService storageService;
+
+    @Autowired
+    private CustomerService customerService;
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private UUID tenantId;
+    private UUID warehouseId;
+    private UUID unitId;
+    private UUID customerId;
+    private UUID bookingId;
+
+    @BeforeEach
+    void setup() {
+        Tenant tenant = new Tenant();
+        tenant.setCompanyName("Plan Tenant");
+        tenant.setEmail("plan-" + UUID.randomUUID() + "@test.com");
+        tenantId = tenantRepository.save(tenant).getId();
+
+        warehouseId = warehouseService.createWarehouse(tenantId, new CreateWarehouse("Plan Warehouse", "Lagos")).id();
+        unitId = storageService.createStorage(tenantId, new CreateStorageUnit("PL-1", 100, warehouseId)).id();
+        storageService.createStorage(tenantId, new CreateStorageUnit("PL-2", 200, warehouseId));
+        customerId = customerService.createCustomer(
+                tenantId, new CustomerRequest("Plan Customer", "plan-" + UUID.randomUUID() + "@test.com")).id();
+        bookingId = ((BookingResponse) bookingService.createBooking(tenantId, new CreateBooking(
+                customerId, unitId, LocalDate.now(), LocalDate.now().plusDays(10), new BigDecimal("100.00")))).id();
+    }
+
+    @Test
+    void tenantScopedQueries_shouldNotNeedSequentialScans() {
+        LocalDate today = LocalDate.now();
+        LocalDate inMonth = today.plusMonths(1);
+
+        Map<String, Runnable> queries = new LinkedHashMap<>();
+        queries.put("findExpiringBookingById", () -> bookingsRepository.findExpiringBookingById(bookingId));
+        queries.put("getAllExpiringBookings", () -> bookingsRepository.getAllExpiringBookings(inMonth));
+        queries.put("bookings.findByTenantId", () -> bookingsRepository.findByTenantId(tenantId));
+        queries.put("findSnapshotsByStorageUnitId", () -> bookingsRepository.findSnapshotsByStorageUnitId(unitId));
+        queries.put("findSnapshotsByWarehouseId", () -> bookingsRepository.findSnapshotsByWarehouseId(warehouseId));
+        queries.put("findSnapshotsByCustomerId", () -> bookingsRepository.findSnapshotsByCustomerId(customerId));
+        queries.put("findSnapshotsByTenantId", () -> bookingsRepository.findSnapshotsByTenantId(tenantId));
+        queries.put("findActiveSnapshotsByTenantId", () -> bookingsRepository.findActiveSnapshotsByTenantId(tenantId));
+        queries.put("getCustomerCapacitiesByTenantId", () -> bookingsRepository.getCustomerCapacitiesByTenantId(tenantId));
+        queries.put("findActiveIntervalsByTenantId", () -> bookingsRepository.findActiveIntervalsByTenantId(tenantId, today, inMonth));
+        queries.put("bookings.findByIdAndTenantId", () -> bookingsRepository.findByIdAndTenantId(bookingId, tenantId));
+        queries.put("getUnprocessedExpiringBookings", () -> bookingsRepository.getUnprocessedExpiringBookings(inMonth, PageRequest.of(0, 100)));
+        queries.put("getFailedExpiringBookings", () -> bookingsRepository.getFailedExpiringBookings(inMonth, PageRequest.of(0, 100)));
+
+        queries.put("findAvailableUnitsByTenantAndCapacity", () -> storageRepository.findAvailableUnitsByTenantAndCapacity(tenantId, 50, StorageStatus.AVAILABLE));
+        queries.put("getWarehouseUtilizationByTenant", () -> storageRepository.getWarehouseUtilizationByTenant(tenantId));
+        queries.put("getSingleWarehouseUtilizationByTenant", () -> storageRepository.getSingleWarehouseUtilizationByTenant(warehouseId, tenantId));
+        queries.put("countUnitsByTenant", () -> storageRepository.countUnitsByTenant(tenantId));
+        queries.put("findPricedUnits", () -> storageRepository.findPricedUnits(tenantId, List.of(unitId)));
+        queries.put("findPricedUnitsByStatus", () -> storageRepository.findPricedUnitsByStatus(tenantId, StorageStatus.AVAILABLE, Limit.of(100)));
+        queries.put("findByWarehouseIdAndStatus", () -> storageRepository.findByWarehouseIdAndStatus(warehouseId, StorageStatus.AVAILABLE));
+        queries.put("findByWarehouseIdAndWarehouse_TenantId", () -> storageRepository.findByWarehouseIdAndWarehouse_TenantId(warehouseId, tenantId));
+        queries.put("findByWarehouse_TenantId", () -> storageRepository.findByWarehouse_TenantId(tenantId));
+        queries.put("findUnitByTenantId", () -> storageRepository.findUnitByTenantId(unitId, tenantId));
+        queries.put("findTenantIdByUnitId", () -> storageRepository.findTenantIdByUnitId(unitId));
+
+        queries.put("getStatisticsForTenant", () -> tenantRepository.getStatisticsForTenant(tenantId));
+        queries.put("getStatisticsForTenants", () -> tenantRepository.getStatisticsForTenants(List.of(tenantId)));
+
+        List<String> regressions = new ArrayList<>();
+        queries.forEach((name, query) -> {
+            CapturingStatementInspector.drain();
+            transactionTemplate.executeWithoutResult(status -> query.run());
+            List<String> statements = CapturingStatementInspector.drain();
+            assertThat(statements).as(name + " issued no SQL").isNotEmpty();
+
+            for (String sql : statements) {
+                for (String table : sequentialScans(sql)) {
+                    regressions.add(name + ": seq scan on " + table);
+                }
+            }
+        });
+
+        assertThat(regressions).isEmpty();
+    }
+
+    private List<String> sequentialScans(String sql) {
+        String explain = "EXPLAIN (GENERIC_PLAN, FORMAT JSON) " + numberParameters(sql);
+        String plan = transactionTemplate.execute(status -> {
+            jdbcTemplate.execute("SET LOCAL enable_seqscan = off");
+            return jdbcTemplate.queryForObject(explain, String.class);
+        });
+
+        List<String> tables = new ArrayList<>();
+        try {
+            collectSequentialScans(objectMapper.readTree(plan).get(0).get("Plan"), tables);
+        } catch (Exception e) {
+            throw new IllegalStateException("Could not read plan of: " + sql, e);
+        }
+        return tables;
+    }
+
+    private static void collectSequentialScans(JsonNode node, List<String> tables) {
+        if ("Seq Scan".equals(node.path("Node Type").asText())) {
+            tables.add(node.path("Relation Name").asText());
+        }
+        for (JsonNode child : node.path("Plans")) {
+            collectSequentialScans(child, tables);
+        }
+    }
+
+    /**
+     * JDBC placeholders to the $n parameters EXPLAIN (GENERIC_PLAN) expects
+     */
+    private static String numberParameters(String sql) {
+        StringBuilder numbered = new StringBuilder(sql.length() + 16);
+        int parameter = 0;
+        for (char c : sql.toCharArray()) {
+            if (c == '?') {
+                numbered.append('$').append(++parameter);
+            } else {
+                numbered.append(c);
+            }
+        }
+        return numbered.toString();
+    }
+}
@@ -0,0 +1,141 @@
+package com.warehouse.shards;
+
+import com.warehouse.BaseIntegrationTest;
+import com.warehouse.audit.service.AuditWriter;
+import com.warehouse.common.dto.CreateTenant;
+import com.warehouse.common.dto.CreateWarehouse;
+import com.warehouse.common.dto.TenantMoveStatus;
+import com.warehouse.common.dto.TenantResponse;
+import com.warehouse.common.dto.WarehouseResponse;
+import com.warehouse.common.exceptions.TenantEmailTakenException;
+import com.warehouse.config.ShardContext;
+import com.warehouse.shards.service.TenantMoveJobs;
+import com.warehouse.shards.service.TenantShardMover;
+import com.warehouse.shards.service.TenantShards;
+import com.warehouse.tenants.service.TenantService;
+import com.warehouse.warehouses.service.WarehouseService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * The second shard is another database in the same container; new tenants are placed on it
+ * and then moved back to the primary.
+ */
+class TenantShardingTest extends BaseIntegrationTest {
+    private static final String SHARD_DATABASE = "shard_b";
+    private static final String TENANT_ROWS = "SELECT COUNT(*) FROM tenants WHERE id = ?";
+    private static final String AUDIT_ROWS = "SELECT COUNT(*) FROM audit_log WHERE tenant_id = ?";
+
+    @DynamicPropertySource
+    static void configureShards(DynamicPropertyRegistry registry) {
+        registry.add("warehouse.shards.enabled", () -> "true");
+        registry.add("warehouse.shards.directory-ttl", () -> "0s");
+        registry.add("warehouse.shards.new-tenant-shards[0]", () -> "secondary");
+        registry.add("warehouse.shards.nodes[0].name", () -> "secondary");
+        registry.add("warehouse.shards.nodes[0].url", TenantShardingTest::shardUrl);
+        registry.add("warehouse.shards.nodes[0].maximum-pool-size", () -> "2");
+    }
+
+    @Autowired
+    private TenantService tenantService;
+
+    @Autowired
+    private WarehouseService warehouseService;
+
+    @Autowired
+    private TenantShards tenantShards;
+
+    @Autowired
+    private TenantShardMover tenantShardMover;
+
+    @Autowired
+    private TenantMoveJobs tenantMoveJobs;
+
+    @Autowired
+    private AuditWriter auditWriter;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void shouldPlaceNewTenantOnShard_andServeItAfterMove() throws InterruptedException {
+        TenantResponse tenant = (TenantResponse) tenantService.createTenant(
+                new CreateTenant("Sharded Tenant", "sharded-" + UUID.randomUUID() + "@test.com"));
+        UUID tenantId = tenant.id();
+        assertThat(tenantShards.shardOf(tenantId)).isEqualTo("secondary");
+
+        WarehouseResponse warehouse = warehouseService.createWarehouse(
+                tenantId, new CreateWarehouse("Sharded Warehouse", "Lagos"));
+        assertThat(warehouseCount(tenantId)).isZero();
+        assertThat(ShardContext.callOn("secondary", () -> warehouseCount(tenantId))).isEqualTo(1);
+
+        // the audit entries of the creates are written to the shard in the background; write
+        // them now so they are copied with the rest rather than racing the move
+        auditWriter.flush();
+        long auditRows = ShardContext.callOn("secondary", () -> count(AUDIT_ROWS, tenantId));
+
+        TenantMoveStatus started = tenantMoveJobs.move(tenantId, ShardContext.PRIMARY);
+        assertThat(started.fromShard()).isEqualTo("secondary");
+
+        TenantMoveStatus finished = awaitFinished(started.jobId());
+        assertThat(finished.state()).isEqualTo(TenantMoveStatus.State.COMPLETED);
+        assertThat(finished.rowsCopied()).isEqualTo(2 + auditRows);
+        assertThat(tenantShards.shardOf(tenantId)).isEqualTo(ShardContext.PRIMARY);
+        assertThat(count(TENANT_ROWS, tenantId)).isEqualTo(1);
+        assertThat(warehouseCount(tenantId)).isEqualTo(1);
+        assertThat(ShardContext.callOn("secondary", () -> count(TENANT_ROWS, tenantId))).isZero();
+        assertThat(ShardContext.callOn("secondary", () -> warehouseCount(tenantId))).isZero();
+        assertThat(ShardContext.callOn("secondary", () -> count(AUDIT_ROWS, tenantId))).isZero();
+        assertThat(warehouseService.getWarehouse(tenantId, warehouse.id()).name()).isEqualTo("Sharded Warehouse");
+    }
+
+    @Test
+    void shouldRejectEmailOfTenantOnAnotherShard() {
+        String email = "taken-" + UUID.randomUUID() + "@test.com";
+        TenantResponse tenant = (TenantResponse) tenantService.createTenant(new CreateTenant("First Tenant", email));
+        tenantShardMover.move(tenant.id(), ShardContext.PRIMARY);
+
+        assertThatThrownBy(() -> tenantService.createTenant(new CreateTenant("Second Tenant", email)))
+                .isInstanceOf(TenantEmailTakenException.class);
+        assertThat(ShardContext.callOn("secondary", () -> jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM tenants WHERE email = ?", Long.class, email))).isZero();
+    }
+
+    private TenantMoveStatus awaitFinished(UUID jobId) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 10_000;
+        TenantMoveStatus status = tenantMoveJobs.getStatus(jobId);
+        while (status.state() == TenantMoveStatus.State.RUNNING && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+            status = tenantMoveJobs.getStatus(jobId);
+        }
+        return status;
+    }
+
+    private long warehouseCount(UUID tenantId) {
+        return count("SELECT COUNT(*) FROM warehouses WHERE tenant_id = ?", tenantId);
+    }
+
+    private long count(String sql, UUID tenantId) {
+        return jdbcTemplate.queryForObject(sql, Long.class, tenantId);
+    }
+
+    private static String shardUrl() {
+        JdbcTemplate admin = new JdbcTemplate(new DriverManagerDataSource(
+                postgres.getJdbcUrl(), postgres.getUsername(), postgres.getPassword()));
+        Boolean exists = admin.queryForObject(
+                "SELECT EXISTS (SELECT 1 FROM pg_database WHERE datname = ?)", Boolean.class, SHARD_DATABASE);
+        if (!Boolean.TRUE.equals(exists)) {
+            admin.execute("CREATE DATABASE " + SHARD_DATABASE);
+        }
+        return postgres.getJdbcUrl().replace("/" + postgres.getDatabaseName(), "/" + SHARD_DATABASE);
+    }
+}
@@ -0,0 +1,129 @@
+package com.warehouse.storage;
+
+import com.warehouse.BaseIntegrationTest;
+import com.warehouse.bookings.entity.BookingStatus;
+import com.warehouse.bookings.service.BookingService;
+import com.warehouse.common.dto.BookingResponse;
+import com.warehouse.common.dto.CreateBooking;
+import com.warehouse.common.dto.CreateStorageUnit;
+import com.warehouse.common.dto.CreateWarehouse;
+import com.warehouse.common.dto.CustomerRequest;
+import com.warehouse.common.dto.TopCustomerResponse;
+import com.warehouse.common.dto.UpdateBooking;
+import com.warehouse.customers.service.CustomerService;
+import com.warehouse.storage.service.StorageService;
+import com.warehouse.tenants.entity.Tenant;
+import com.warehouse.tenants.repository.TenantRepository;
+import com.warehouse.warehouses.service.WarehouseService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.Ordered;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+class TopCustomersTest extends BaseIntegrationTest {
+    @Autowired
+    private StorageService storageService;
+
+    @Autowired
+    private TenantRepository tenantRepository;
+
+    @Autowired
+    private WarehouseService warehouseService;
+
+    @Autowired
+    private CustomerService customerService;
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Test
+    void shouldRankCustomersByBookedCapacity_andFollowBookingChanges() {
+        Tenant tenant = new Tenant();
+        tenant.setCompanyName("Top Customers Tenant");
+        tenant.setEmail("top-" + UUID.randomUUID() + "@test.com");
+        UUID tenantId = tenantRepository.save(tenant).getId();
+
+        UUID warehouseId = warehouseService.createWarehouse(
+                tenantId, new CreateWarehouse("Top Warehouse", "Lagos")).id();
+        UUID small = storageService.createStorage(tenantId, new CreateStorageUnit("T-1", 100, warehouseId)).id();
+        UUID medium = storageService.createStorage(tenantId, new CreateStorageUnit("T-2", 150, warehouseId)).id();
+        UUID large = storageService.createStorage(tenantId, new CreateStorageUnit("T-3", 400, warehouseId)).id();
+
+        UUID alpha = customerService.createCustomer(
+                tenantId, new CustomerRequest("Alpha", "alpha-" + UUID.randomUUID() + "@test.com")).id();
+        UUID beta = customerService.createCustomer(
+                tenantId, new CustomerRequest("Beta", "beta-" + UUID.randomUUID() + "@test.com")).id();
+
+        book(tenantId, alpha, small);
+        book(tenantId, alpha, medium);
+
+        assertThat(storageService.getTopCustomersByCapacity(tenantId, 5))
+                .extracting(TopCustomerResponse::companyName, TopCustomerResponse::bookedCapacityKg)
+                .containsExactly(tuple("Alpha", 250L));
+
+        BookingResponse betaBooking = book(tenantId, beta, large);
+
+        assertThat(storageService.getTopCustomersByCapacity(tenantId, 1))
+                .extracting(TopCustomerResponse::customerId)
+                .containsExactly(beta);
+
+        bookingService.updateBooking(betaBooking.id(), tenantId,
+                new UpdateBooking(null, null, BookingStatus.CANCELLED));
+
+        assertThat(storageService.getTopCustomersByCapacity(tenantId, 5))
+                .extracting(TopCustomerResponse::customerId)
+                .containsExactly(alpha);
+    }
+
+    @Test
+    void shouldNotCountABookingTwice_whenRankingLoadsBetweenItsCommitAndItsDelta() {
+        Tenant tenant = new Tenant();
+        tenant.setCompanyName("Top Customers Race Tenant");
+        tenant.setEmail("top-race-" + UUID.randomUUID() + "@test.com");
+        UUID tenantId = tenantRepository.save(tenant).getId();
+
+        UUID warehouseId = warehouseService.createWarehouse(
+                tenantId, new CreateWarehouse("Race Warehouse", "Lagos")).id();
+        UUID unit = storageService.createStorage(tenantId, new CreateStorageUnit("R-1", 300, warehouseId)).id();
+        UUID gamma = customerService.createCustomer(
+                tenantId, new CustomerRequest("Gamma", "gamma-" + UUID.randomUUID() + "@test.com")).id();
+
+        transactionTemplate.executeWithoutResult(status -> {
+            book(tenantId, gamma, unit);
+            // runs after the commit but before the index applies the booking's delta
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public int getOrder() {
+                    return Ordered.HIGHEST_PRECEDENCE;
+                }
+
+                @Override
+                public void afterCommit() {
+                    CompletableFuture.runAsync(() -> storageService.getTopCustomersByCapacity(tenantId, 5)).join();
+                }
+            });
+        });
+
+        assertThat(storageService.getTopCustomersByCapacity(tenantId, 5))
+                .extracting(TopCustomerResponse::customerId, TopCustomerResponse::bookedCapacityKg)
+                .containsExactly(tuple(gamma, 300L));
+    }
+
+    private BookingResponse book(UUID tenantId, UUID customerId, UUID unitId) {
+        return (BookingResponse) bookingService.createBooking(tenantId, new CreateBooking(
+                customerId, unitId, LocalDate.now(), LocalDate.now().plusMonths(1), new BigDecimal("100.00")));
+    }
+}
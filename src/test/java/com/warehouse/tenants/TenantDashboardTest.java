@@ -0,0 +1,81 @@
+package com.warehouse.tenants;
+
+import com.warehouse.BaseIntegrationTest;
+import com.warehouse.bookings.service.BookingService;
+import com.warehouse.common.dto.CreateBooking;
+import com.warehouse.common.dto.CreateStorageUnit;
+import com.warehouse.common.dto.CreateWarehouse;
+import com.warehouse.common.dto.CustomerRequest;
+import com.warehouse.common.dto.CustomerResponse;
+import com.warehouse.common.dto.StorageUnitResponse;
+import com.warehouse.common.dto.TenantDashboardResponse;
+import com.warehouse.common.dto.WarehouseResponse;
+import com.warehouse.common.exceptions.NotFoundException;
+import com.warehouse.customers.service.CustomerService;
+import com.warehouse.storage.service.StorageService;
+import com.warehouse.tenants.entity.Tenant;
+import com.warehouse.tenants.repository.TenantRepository;
+import com.warehouse.tenants.service.TenantDashboardService;
+import com.warehouse.warehouses.service.WarehouseService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class TenantDashboardTest extends BaseIntegrationTest {
+    @Autowired
+    private TenantDashboardService tenantDashboardService;
+
+    @Autowired
+    private TenantRepository tenantRepository;
+
+    @Autowired
+    private WarehouseService warehouseService;
+
+    @Autowired
+    private StorageService storageService;
+
+    @Autowired
+    private CustomerService customerService;
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Test
+    void shouldReturnEveryComponent_whenAllLoadInTime() {
+        Tenant tenant = new Tenant();
+        tenant.setCompanyName("Dashboard Tenant");
+        tenant.setEmail("dashboard-" + UUID.randomUUID() + "@test.com");
+        UUID tenantId = tenantRepository.save(tenant).getId();
+
+        WarehouseResponse warehouse = warehouseService.createWarehouse(
+                tenantId, new CreateWarehouse("Dashboard Warehouse", "Lagos"));
+        StorageUnitResponse unit = storageService.createStorage(
+                tenantId, new CreateStorageUnit("D-1", 100, warehouse.id()));
+        CustomerResponse customer = customerService.createCustomer(
+                tenantId, new CustomerRequest("Dashboard Customer", "customer-" + UUID.randomUUID() + "@test.com"));
+        bookingService.createBooking(tenantId, new CreateBooking(
+                customer.id(), unit.id(), LocalDate.now(), LocalDate.now().plusDays(5), new BigDecimal("250.00")));
+
+        TenantDashboardResponse dashboard = tenantDashboardService.getDashboard(tenantId);
+
+        assertThat(dashboard.degradedComponents()).isEmpty();
+        assertThat(dashboard.companyInfo().companyName()).isEqualTo("Dashboard Tenant");
+        assertThat(dashboard.warehouseSummary().totalWarehouses()).isEqualTo(1);
+        assertThat(dashboard.recentBookings()).hasSize(1);
+        assertThat(dashboard.expiringBookings()).hasSize(1);
+        assertThat(dashboard.revenueMetrics().today()).isPositive();
+        assertThat(dashboard.revenueMetrics().currentMonth()).isPositive();
+    }
+
+    @Test
+    void shouldThrowNotFound_whenTenantDoesNotExist() {
+        assertThatThrownBy(() -> tenantDashboardService.getDashboard(UUID.randomUUID()))
+                .isInstanceOf(NotFoundException.class);
+    }
+}
@@ -0,0 +1,236 @@
+package com.warehouse.tenants;
+
+import com.warehouse.BaseIntegrationTest;
+import com.warehouse.bookings.entity.BookingStatus;
+import com.warehouse.bookings.service.BookingService;
+import com.warehouse.changefeed.service.ChangeFeed;
+import com.warehouse.common.dto.BookingResponse;
+import com.warehouse.common.dto.CreateBooking;
+import com.warehouse.common.dto.CreateStorageUnit;
+import com.warehouse.common.dto.CreateWarehouse;
+import com.warehouse.common.dto.CustomerRequest;
+import com.warehouse.common.dto.UpdateBooking;
+import com.warehouse.common.dto.UpdateCustomer;
+import com.warehouse.common.exceptions.NotFoundException;
+import com.warehouse.common.exceptions.UnauthorizedAccessException;
+import com.warehouse.customers.service.CustomerService;
+import com.warehouse.storage.service.StorageService;
+import com.warehouse.tenants.entity.Tenant;
+import com.warehouse.tenants.repository.TenantRepository;
+import com.warehouse.tenants.service.TenantMembership;
+import com.warehouse.warehouses.service.WarehouseService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Rows are deleted behind the service's back with plain SQL, so the only thing still
+ * vouching for them is the cached owner, until it is forgotten.
+ */
+class TenantMembershipTest extends BaseIntegrationTest {
+    @Autowired
+    private TenantMembership tenantMembership;
+
+    @Autowired
+    private TenantRepository tenantRepository;
+
+    @Autowired
+    private WarehouseService warehouseService;
+
+    @Autowired
+    private StorageService storageService;
+
+    @Autowired
+    private CustomerService customerService;
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void shouldAnswerNotFound_forBookingCustomerAndUnitOfAnotherTenant() {
+        UUID tenantA = createTenant();
+        UUID tenantB = createTenant();
+        UUID warehouseId = warehouseService.createWarehouse(tenantA, new CreateWarehouse("Main", "Lagos")).id();
+        UUID unitId = createUnit(tenantA, warehouseId);
+        UUID customerId = createCustomer(tenantA);
+        LocalDate start = LocalDate.now();
+        BookingResponse booking = (BookingResponse) bookingService.createBooking(tenantA, new CreateBooking(
+                customerId, unitId, start, start.plusDays(30), new BigDecimal("100.00")));
+
+        // the same answer as for a booking that does not exist, so ids of other tenants can't be probed
+        assertThatThrownBy(() -> bookingService.getBooking(booking.id(), tenantB))
+                .isInstanceOf(NotFoundException.class).hasMessage("Booking not found");
+        assertThatThrownBy(() -> bookingService.getBooking(UUID.randomUUID(), tenantB))
+                .isInstanceOf(NotFoundException.class).hasMessage("Booking not found");
+        assertThatThrownBy(() -> bookingService.updateBooking(booking.id(), tenantB,
+                new UpdateBooking(null, null, BookingStatus.CANCELLED)))
+                .isInstanceOf(NotFoundException.class);
+        assertThatThrownBy(() -> bookingService.deleteBooking(booking.id(), tenantB))
+                .isInstanceOf(NotFoundException.class);
+        assertThatThrownBy(() -> customerService.getCustomer(customerId, tenantB))
+                .isInstanceOf(NotFoundException.class);
+        assertThatThrownBy(() -> customerService.updateCustomer(tenantB, customerId, new UpdateCustomer("Taken", null)))
+                .isInstanceOf(NotFoundException.class);
+        assertThatThrownBy(() -> customerService.deleteCustomer(customerId, tenantB))
+                .isInstanceOf(NotFoundException.class);
+        assertThatThrownBy(() -> storageService.getStorageUnit(unitId, tenantB))
+                .isInstanceOf(NotFoundException.class);
+        assertThatThrownBy(() -> storageService.deleteStorageUnit(unitId, tenantB))
+                .isInstanceOf(NotFoundException.class);
+
+        // and none of it touched tenant A's data
+        BookingResponse unchanged = (BookingResponse) bookingService.getBooking(booking.id(), tenantA);
+        assertThat(unchanged.status()).isEqualTo(booking.status());
+        assertThat(customerService.getCustomer(customerId, tenantA).companyName()).isNotEqualTo("Taken");
+        assertThat(storageService.getStorageUnit(unitId, tenantA).id()).isEqualTo(unitId);
+    }
+
+    @Test
+    void shouldRejectBooking_withCustomerOrUnitOfAnotherTenant() {
+        UUID tenantA = createTenant();
+        UUID tenantB = createTenant();
+        UUID unitA = createUnit(tenantA, warehouseService.createWarehouse(tenantA, new CreateWarehouse("A", "Lagos")).id());
+        UUID unitB = createUnit(tenantB, warehouseService.createWarehouse(tenantB, new CreateWarehouse("B", "Kano")).id());
+        UUID customerA = createCustomer(tenantA);
+        UUID customerB = createCustomer(tenantB);
+        LocalDate start = LocalDate.now();
+
+        assertThatThrownBy(() -> bookingService.createBooking(tenantB, new CreateBooking(
+                customerA, unitB, start, start.plusDays(30), new BigDecimal("100.00"))))
+                .isInstanceOf(UnauthorizedAccessException.class);
+        assertThatThrownBy(() -> bookingService.createBooking(tenantB, new CreateBooking(
+                customerB, unitA, start, start.plusDays(30), new BigDecimal("100.00"))))
+                .isInstanceOf(UnauthorizedAccessException.class);
+        assertThatThrownBy(() -> bookingService.createBooking(tenantB, new CreateBooking(
+                UUID.randomUUID(), unitB, start, start.plusDays(30), new BigDecimal("100.00"))))
+                .isInstanceOf(NotFoundException.class);
+        assertThatThrownBy(() -> bookingService.createBooking(tenantB, new CreateBooking(
+                customerB, UUID.randomUUID(), start, start.plusDays(30), new BigDecimal("100.00"))))
+                .isInstanceOf(NotFoundException.class);
+        assertThat(bookingService.getBookings(tenantA)).isEmpty();
+        assertThat(bookingService.getBookings(tenantB)).isEmpty();
+    }
+
+    @Test
+    void shouldKeepOwnerCached_untilForgotten() {
+        UUID tenantId = createTenant();
+        UUID unitId = createUnit(tenantId, warehouseService.createWarehouse(tenantId, new CreateWarehouse("Main", "Lagos")).id());
+        UUID customerId = createCustomer(tenantId);
+        tenantMembership.requireCustomer(customerId, tenantId);
+        tenantMembership.requireUnit(unitId, tenantId);
+
+        jdbcTemplate.update("DELETE FROM customers WHERE id = ?", customerId);
+        jdbcTemplate.update("DELETE FROM storage_units WHERE id = ?", unitId);
+
+        assertThatCode(() -> tenantMembership.requireCustomer(customerId, tenantId)).doesNotThrowAnyException();
+        assertThatCode(() -> tenantMembership.requireUnit(unitId, tenantId)).doesNotThrowAnyException();
+
+        tenantMembership.forgetCustomer(customerId);
+        tenantMembership.forgetUnit(unitId);
+
+        assertThatThrownBy(() -> tenantMembership.requireCustomer(customerId, tenantId))
+                .isInstanceOf(NotFoundException.class);
+        assertThatThrownBy(() -> tenantMembership.requireUnit(unitId, tenantId))
+                .isInstanceOf(NotFoundException.class);
+    }
+
+    @Test
+    void shouldForgetOwner_whenDeletedThroughTheService() {
+        UUID tenantId = createTenant();
+        UUID unitId = createUnit(tenantId, warehouseService.createWarehouse(tenantId, new CreateWarehouse("Main", "Lagos")).id());
+        UUID customerId = createCustomer(tenantId);
+        tenantMembership.requireCustomer(customerId, tenantId);
+        tenantMembership.requireUnit(unitId, tenantId);
+
+        customerService.deleteCustomer(customerId, tenantId);
+        storageService.deleteStorageUnit(unitId, tenantId);
+
+        assertThatThrownBy(() -> tenantMembership.requireCustomer(customerId, tenantId))
+                .isInstanceOf(NotFoundException.class);
+        assertThatThrownBy(() -> tenantMembership.requireUnit(unitId, tenantId))
+                .isInstanceOf(NotFoundException.class);
+    }
+
+    @Test
+    void shouldForgetOwners_reportedByTheChangeFeed() {
+        UUID tenantId = createTenant();
+        UUID otherTenantId = createTenant();
+        UUID warehouseId = warehouseService.createWarehouse(tenantId, new CreateWarehouse("Main", "Lagos")).id();
+        UUID unitId = createUnit(tenantId, warehouseId);
+        UUID siblingUnitId = createUnit(tenantId, warehouseId);
+        UUID otherUnitId = createUnit(otherTenantId,
+                warehouseService.createWarehouse(otherTenantId, new CreateWarehouse("Other", "Kano")).id());
+        UUID customerId = createCustomer(tenantId);
+        UUID keptCustomerId = createCustomer(tenantId);
+        for (UUID id : List.of(unitId, siblingUnitId)) {
+            tenantMembership.requireUnit(id, tenantId);
+        }
+        tenantMembership.requireUnit(otherUnitId, otherTenantId);
+        tenantMembership.requireCustomer(customerId, tenantId);
+        tenantMembership.requireCustomer(keptCustomerId, tenantId);
+        jdbcTemplate.update("DELETE FROM customers WHERE id IN (?, ?)", customerId, keptCustomerId);
+        jdbcTemplate.update("DELETE FROM storage_units WHERE id IN (?, ?, ?)", unitId, siblingUnitId, otherUnitId);
+
+        // deleted on another node
+        tenantMembership.onChanges(List.of(
+                change(ChangeFeed.Entity.CUSTOMER, tenantId, customerId),
+                change(ChangeFeed.Entity.UNIT, tenantId, unitId),
+                change(ChangeFeed.Entity.BOOKING, tenantId, UUID.randomUUID())));
+
+        assertThatThrownBy(() -> tenantMembership.requireCustomer(customerId, tenantId))
+                .isInstanceOf(NotFoundException.class);
+        assertThatThrownBy(() -> tenantMembership.requireUnit(unitId, tenantId))
+                .isInstanceOf(NotFoundException.class);
+        assertThatCode(() -> tenantMembership.requireCustomer(keptCustomerId, tenantId)).doesNotThrowAnyException();
+        assertThatCode(() -> tenantMembership.requireUnit(siblingUnitId, tenantId)).doesNotThrowAnyException();
+
+        // a warehouse change drops every unit of that tenant, and only of that tenant
+        tenantMembership.onChanges(List.of(change(ChangeFeed.Entity.WAREHOUSE, tenantId, warehouseId)));
+
+        assertThatThrownBy(() -> tenantMembership.requireUnit(siblingUnitId, tenantId))
+                .isInstanceOf(NotFoundException.class);
+        assertThatCode(() -> tenantMembership.requireUnit(otherUnitId, otherTenantId)).doesNotThrowAnyException();
+        assertThatCode(() -> tenantMembership.requireCustomer(keptCustomerId, tenantId)).doesNotThrowAnyException();
+
+        // missed changes: nothing cached can be trusted
+        tenantMembership.onGap();
+
+        assertThatThrownBy(() -> tenantMembership.requireUnit(otherUnitId, otherTenantId))
+                .isInstanceOf(NotFoundException.class);
+        assertThatThrownBy(() -> tenantMembership.requireCustomer(keptCustomerId, tenantId))
+                .isInstanceOf(NotFoundException.class);
+    }
+
+    private UUID createTenant() {
+        Tenant tenant = new Tenant();
+        tenant.setCompanyName("Membership Tenant");
+        tenant.setEmail("membership-" + UUID.randomUUID() + "@test.com");
+        return tenantRepository.save(tenant).getId();
+    }
+
+    private UUID createUnit(UUID tenantId, UUID warehouseId) {
+        return storageService.createStorage(
+                tenantId, new CreateStorageUnit("M-" + UUID.randomUUID(), 100, warehouseId)).id();
+    }
+
+    private UUID createCustomer(UUID tenantId) {
+        return customerService.createCustomer(
+                tenantId, new CustomerRequest("Membership Customer", "membership-" + UUID.randomUUID() + "@test.com")).id();
+    }
+
+    private static ChangeFeed.Change change(ChangeFeed.Entity entity, UUID tenantId, UUID id) {
+        return new ChangeFeed.Change(entity, tenantId, id, UUID.randomUUID(), System.currentTimeMillis());
+    }
+}
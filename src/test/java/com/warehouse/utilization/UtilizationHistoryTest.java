@@ -0,0 +1,96 @@
+package com.warehouse.utilization;
+
+import com.warehouse.BaseIntegrationTest;
+import com.warehouse.common.dto.CreateStorageUnit;
+import com.warehouse.common.dto.CreateWarehouse;
+import com.warehouse.common.dto.UtilizationHistoryResponse;
+import com.warehouse.common.dto.UtilizationPointResponse;
+import com.warehouse.storage.service.StorageService;
+import com.warehouse.tenants.entity.Tenant;
+import com.warehouse.tenants.repository.TenantRepository;
+import com.warehouse.utilization.entity.UtilizationResolution;
+import com.warehouse.utilization.service.UtilizationHistoryService;
+import com.warehouse.utilization.service.UtilizationSnapshotJob;
+import com.warehouse.warehouses.service.WarehouseService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class UtilizationHistoryTest extends BaseIntegrationTest {
+    @Autowired
+    private UtilizationSnapshotJob utilizationSnapshotJob;
+
+    @Autowired
+    private UtilizationHistoryService utilizationHistoryService;
+
+    @Autowired
+    private TenantRepository tenantRepository;
+
+    @Autowired
+    private WarehouseService warehouseService;
+
+    @Autowired
+    private StorageService storageService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void shouldSnapshotAndCompactOldPoints_intoHourlyPoints() {
+        Tenant tenant = new Tenant();
+        tenant.setCompanyName("Utilization Tenant");
+        tenant.setEmail("utilization-" + UUID.randomUUID() + "@test.com");
+        UUID tenantId = tenantRepository.save(tenant).getId();
+
+        UUID warehouseId = warehouseService.createWarehouse(
+                tenantId, new CreateWarehouse("Utilization Warehouse", "Lagos")).id();
+        storageService.createStorage(tenantId, new CreateStorageUnit("U-1", 100, warehouseId));
+        storageService.createStorage(tenantId, new CreateStorageUnit("U-2", 100, warehouseId));
+
+        utilizationSnapshotJob.snapshot();
+
+        LocalDateTime now = LocalDateTime.now();
+        UtilizationHistoryResponse recent = utilizationHistoryService.getHistory(
+                tenantId, warehouseId, now.minusHours(1), now.plusMinutes(5), null);
+        assertThat(recent.resolution()).isEqualTo(UtilizationResolution.FIVE_MINUTES);
+        assertThat(recent.points()).hasSize(1);
+        assertThat(recent.points().get(0).totalUnits()).isEqualTo(2);
+
+        LocalDateTime hour = now.minusDays(3).truncatedTo(ChronoUnit.HOURS);
+        insertFiveMinutePoint(tenantId, warehouseId, hour, 10);
+        insertFiveMinutePoint(tenantId, warehouseId, hour.plusMinutes(5), 50);
+        insertFiveMinutePoint(tenantId, warehouseId, hour.plusMinutes(10), 30);
+
+        utilizationSnapshotJob.compact();
+
+        UtilizationHistoryResponse old = utilizationHistoryService.getHistory(
+                tenantId, warehouseId, hour, hour.plusHours(1), UtilizationResolution.HOURLY);
+        assertThat(old.points()).hasSize(1);
+        UtilizationPointResponse point = old.points().get(0);
+        assertThat(point.occupancyAvg()).isEqualTo(30.0);
+        assertThat(point.occupancyMin()).isEqualTo(10.0);
+        assertThat(point.occupancyMax()).isEqualTo(50.0);
+        assertThat(point.samples()).isEqualTo(3);
+
+        Integer fine = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM utilization_points WHERE warehouse_id = ? AND resolution = 'FIVE_MINUTES' AND bucket_start < ?",
+                Integer.class, warehouseId, Timestamp.valueOf(hour.plusHours(1)));
+        assertThat(fine).isZero();
+    }
+
+    private void insertFiveMinutePoint(UUID tenantId, UUID warehouseId, LocalDateTime bucketStart, double rate) {
+        jdbcTemplate.update("""
+                        INSERT INTO utilization_points (warehouse_id, resolution, bucket_start, tenant_id, total_units,
+                                                        occupancy_avg, occupancy_min, occupancy_max, samples)
+                        VALUES (?, 'FIVE_MINUTES', ?, ?, 2, ?, ?, ?, 1)
+                        """,
+                warehouseId, Timestamp.valueOf(bucketStart), tenantId, rate, rate, rate);
+    }
+}
@@ -0,0 +1,81 @@
+package com.warehouse.warehouses;
+
+import com.warehouse.BaseIntegrationTest;
+import com.warehouse.bookings.service.BookingService;
+import com.warehouse.common.dto.CreateBooking;
+import com.warehouse.common.dto.CreateStorageUnit;
+import com.warehouse.common.dto.CreateWarehouse;
+import com.warehouse.common.dto.CustomerRequest;
+import com.warehouse.common.dto.DailyOccupancy;
+import com.warehouse.common.dto.WarehouseForecast;
+import com.warehouse.customers.service.CustomerService;
+import com.warehouse.storage.service.StorageService;
+import com.warehouse.tenants.entity.Tenant;
+import com.warehouse.tenants.repository.TenantRepository;
+import com.warehouse.warehouses.service.OccupancyForecastService;
+import com.warehouse.warehouses.service.WarehouseService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class OccupancyForecastTest extends BaseIntegrationTest {
+    @Autowired
+    private OccupancyForecastService occupancyForecastService;
+
+    @Autowired
+    private TenantRepository tenantRepository;
+
+    @Autowired
+    private WarehouseService warehouseService;
+
+    @Autowired
+    private StorageService storageService;
+
+    @Autowired
+    private CustomerService customerService;
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Test
+    void shouldProjectDailyOccupancy_andRefreshAfterBookingChange() {
+        Tenant tenant = new Tenant();
+        tenant.setCompanyName("Forecast Tenant");
+        tenant.setEmail("forecast-" + UUID.randomUUID() + "@test.com");
+        UUID tenantId = tenantRepository.save(tenant).getId();
+
+        UUID warehouseId = warehouseService.createWarehouse(
+                tenantId, new CreateWarehouse("Forecast Warehouse", "Lagos")).id();
+        UUID first = storageService.createStorage(tenantId, new CreateStorageUnit("F-1", 100, warehouseId)).id();
+        UUID second = storageService.createStorage(tenantId, new CreateStorageUnit("F-2", 100, warehouseId)).id();
+        UUID customerId = customerService.createCustomer(
+                tenantId, new CustomerRequest("Forecast Customer", "forecast-" + UUID.randomUUID() + "@test.com")).id();
+
+        LocalDate today = LocalDate.now();
+        book(tenantId, customerId, first, today, today.plusDays(4));
+
+        WarehouseForecast before = occupancyForecastService.getForecast(tenantId, 30).warehouses().get(0);
+        assertThat(before.days()).hasSize(30);
+        assertThat(before.days().get(0).occupiedUnits()).isEqualTo(1);
+        assertThat(before.days().get(0).occupancyRate()).isEqualTo(50.0);
+        assertThat(before.days().get(5).occupiedUnits()).isZero();
+
+        book(tenantId, customerId, second, today.plusDays(3), today.plusDays(100));
+
+        WarehouseForecast after = occupancyForecastService.getForecast(tenantId, 30).warehouses().get(0);
+        assertThat(after.days())
+                .extracting(DailyOccupancy::occupiedUnits)
+                .startsWith(1, 1, 1, 2, 2, 1);
+        assertThat(after.days().get(29).occupiedUnits()).isEqualTo(1);
+    }
+
+    private void book(UUID tenantId, UUID customerId, UUID unitId, LocalDate start, LocalDate end) {
+        bookingService.createBooking(tenantId,
+                new CreateBooking(customerId, unitId, start, end, new BigDecimal("100.00")));
+    }
+}